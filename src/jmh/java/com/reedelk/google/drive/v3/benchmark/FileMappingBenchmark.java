@@ -0,0 +1,90 @@
+package com.reedelk.google.drive.v3.benchmark;
+
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.services.drive.model.File;
+import com.google.api.services.drive.model.FileList;
+import com.google.api.services.drive.model.User;
+import com.reedelk.google.drive.v3.internal.type.FileType;
+import com.reedelk.google.drive.v3.internal.type.ListOfFiles;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Mapping of a files list response to the types returned by the components,
+// with and without the parsing of the JSON response.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileMappingBenchmark {
+
+    private static final JsonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
+    private static final List<String> ADDITIONAL_FIELDS = Arrays.asList("mimeType", "size", "md5Checksum", "modifiedTime");
+
+    @Param({"1000", "10000", "100000"})
+    private int fileCount;
+
+    private List<File> files;
+    private String json;
+
+    @Setup
+    public void setUp() throws IOException {
+        files = files(fileCount);
+        json = JSON_FACTORY.toString(new FileList().setFiles(files).setNextPageToken("next-page-token"));
+    }
+
+    @Benchmark
+    public ListOfFiles mapFiles() {
+        return new ListOfFiles(files, null, Collections.emptyList());
+    }
+
+    @Benchmark
+    public ListOfFiles mapFilesWithAdditionalFields() {
+        return new ListOfFiles(files, null, ADDITIONAL_FIELDS);
+    }
+
+    // As the folder walk does: only the name and the mime type of each file are read.
+    @Benchmark
+    public int mapFilesAndReadEntries() {
+        int length = 0;
+        for (FileType file : new ListOfFiles(files, null, ADDITIONAL_FIELDS)) {
+            length += ((String) file.get("name")).length() + ((String) file.get("mimeType")).length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public ListOfFiles parseAndMapFiles() throws IOException {
+        FileList fileList = JSON_FACTORY.fromString(json, FileList.class);
+        return new ListOfFiles(fileList.getFiles(), fileList.getNextPageToken(), ADDITIONAL_FIELDS);
+    }
+
+    static List<File> files(int count) {
+        List<File> files = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            files.add(new File()
+                    .setId("1aBcDeFgHiJkLmNoPqRsTuVwXyZ" + index)
+                    .setName("report-" + index + ".pdf")
+                    .setKind("drive#file")
+                    .setMimeType("application/pdf")
+                    .setOwnedByMe(true)
+                    .setWebViewLink("https://drive.google.com/file/d/" + index + "/view")
+                    .setWebContentLink("https://drive.google.com/uc?id=" + index + "&export=download")
+                    .setDescription("Monthly report " + index)
+                    .setFileExtension("pdf")
+                    .setOriginalFilename("report-" + index + ".pdf")
+                    .setSize(1024L * index)
+                    .setMd5Checksum("d41d8cd98f00b204e9800998ecf8427e")
+                    .setOwners(Collections.singletonList(new User().setEmailAddress("owner@example.com"))));
+        }
+        return files;
+    }
+}
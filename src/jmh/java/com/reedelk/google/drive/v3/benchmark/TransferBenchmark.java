@@ -0,0 +1,83 @@
+package com.reedelk.google.drive.v3.benchmark;
+
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.services.drive.Drive;
+import com.google.api.services.drive.model.File;
+import com.reedelk.google.drive.v3.emulator.DriveEmulator;
+import com.reedelk.google.drive.v3.internal.command.FileDownloadCommand;
+import com.reedelk.google.drive.v3.internal.command.FileUploadCommand;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Upload and download commands against the in process Drive emulator: the measured time is spent in the
+// client (request building, chunking, buffering and response parsing) and in the emulator, not in Google Drive.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransferBenchmark {
+
+    private static final int CHUNK_SIZE = 1024 * 1024;
+
+    @Param({"1024", "1048576", "16777216"})
+    private int contentSize;
+
+    private DriveEmulator emulator;
+    private String downloadFileId;
+    private String uploadedFileId;
+    private byte[] content;
+    private Drive drive;
+
+    @Setup
+    public void setUp() throws IOException {
+        content = new byte[contentSize];
+        new Random(42).nextBytes(content);
+        emulator = DriveEmulator.start();
+        downloadFileId = emulator.addFile("benchmark.bin", null, "application/octet-stream", content).getId();
+        drive = new Drive.Builder(new NetHttpTransport(), JacksonFactory.getDefaultInstance(), null)
+                .setRootUrl(emulator.rootUrl())
+                .setApplicationName("benchmark")
+                .build();
+    }
+
+    // The emulator keeps the uploaded content in memory, therefore each uploaded file is deleted.
+    @TearDown(Level.Invocation)
+    public void deleteUploaded() throws IOException {
+        if (uploadedFileId != null) {
+            drive.files().delete(uploadedFileId).execute();
+            uploadedFileId = null;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        emulator.close();
+    }
+
+    @Benchmark
+    public File uploadBytes() throws IOException {
+        File file = new FileUploadCommand("benchmark.bin", null, null, false, content).execute(drive);
+        uploadedFileId = file.getId();
+        return file;
+    }
+
+    @Benchmark
+    public File uploadStreamInChunks() throws IOException {
+        ByteArrayInputStream stream = new ByteArrayInputStream(content);
+        File file = new FileUploadCommand("benchmark.bin", null, null, false, stream, CHUNK_SIZE).execute(drive);
+        uploadedFileId = file.getId();
+        return file;
+    }
+
+    @Benchmark
+    public byte[] download() throws IOException {
+        return new FileDownloadCommand(downloadFileId).execute(drive);
+    }
+}
@@ -0,0 +1,57 @@
+package com.reedelk.google.drive.v3.component;
+
+import com.reedelk.google.drive.v3.internal.attribute.ChangeListenerAttributes;
+import com.reedelk.google.drive.v3.internal.type.ChangeType;
+import com.reedelk.google.drive.v3.internal.type.ListOfChanges;
+import com.reedelk.runtime.api.component.AbstractInbound;
+import com.reedelk.runtime.api.component.OnResult;
+import com.reedelk.runtime.api.flow.FlowContext;
+import com.reedelk.runtime.api.message.Message;
+import com.reedelk.runtime.api.message.MessageBuilder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+abstract class AbstractChangeInbound extends AbstractInbound {
+
+    // Triggers the flow and waits for it to complete:
+    // returns true if the flow was successfully executed.
+    boolean process(ListOfChanges changes, String driveId) {
+        Message message = MessageBuilder.get(getClass())
+                .withList(changes, ChangeType.class)
+                .attributes(new ChangeListenerAttributes(changes.size(), driveId))
+                .build();
+
+        CompletableFuture<Boolean> completed = new CompletableFuture<>();
+        onEvent(message, new OnResult() {
+            @Override
+            public void onResult(FlowContext flowContext, Message message) {
+                completed.complete(true);
+            }
+
+            @Override
+            public void onError(FlowContext flowContext, Exception exception) {
+                completed.complete(false);
+            }
+        });
+
+        try {
+            return completed.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException exception) {
+            return false;
+        }
+    }
+
+    static ScheduledExecutorService newScheduler(String name) {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
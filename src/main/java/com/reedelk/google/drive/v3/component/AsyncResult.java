@@ -0,0 +1,48 @@
+package com.reedelk.google.drive.v3.component;
+
+import com.reedelk.runtime.api.component.OnResult;
+import com.reedelk.runtime.api.flow.FlowContext;
+import com.reedelk.runtime.api.message.Message;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import static com.reedelk.google.drive.v3.internal.commons.Futures.exceptionOf;
+
+// Completes the callback of an asynchronous component with the message produced by the future,
+// or with the error thrown while the request was prepared (on the flow thread) or executed.
+// The rest of the flow runs on the thread completing the callback, which might block (e.g. consuming a
+// stream of files): the callback is therefore never completed on the I/O threads of the client.
+class AsyncResult {
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final Executor CALLBACK_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "drive-flow-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private AsyncResult() {
+    }
+
+    static void complete(FlowContext flowContext, OnResult callback, Supplier<CompletableFuture<Message>> result) {
+        CompletableFuture<Message> future;
+        try {
+            future = result.get();
+        } catch (RuntimeException exception) {
+            callback.onError(flowContext, exception);
+            return;
+        }
+        BiConsumer<Message, Throwable> completion = (message, throwable) -> {
+            if (throwable == null) callback.onResult(flowContext, message);
+            else callback.onError(flowContext, exceptionOf(throwable));
+        };
+        // A future completed already (e.g. a lazy stream) is completed on the flow thread.
+        if (future.isDone()) future.whenComplete(completion);
+        else future.whenCompleteAsync(completion, CALLBACK_EXECUTOR);
+    }
+}
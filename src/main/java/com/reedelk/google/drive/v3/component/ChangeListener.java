@@ -0,0 +1,150 @@
+package com.reedelk.google.drive.v3.component;
+
+import com.reedelk.google.drive.v3.internal.DriveApi;
+import com.reedelk.google.drive.v3.internal.DriveApiPool;
+import com.reedelk.google.drive.v3.internal.attribute.ChangeListenerAttributes;
+import com.reedelk.google.drive.v3.internal.change.ChangePoller;
+import com.reedelk.google.drive.v3.internal.change.PageTokenStore;
+import com.reedelk.google.drive.v3.internal.type.ListOfChanges;
+import com.reedelk.runtime.api.annotation.*;
+import org.osgi.service.component.annotations.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.reedelk.google.drive.v3.internal.commons.Default.*;
+import static com.reedelk.runtime.api.commons.StringUtils.isNotBlank;
+import static org.osgi.service.component.annotations.ServiceScope.PROTOTYPE;
+
+@ModuleComponent("Drive Change Listener")
+@Component(service = ChangeListener.class, scope = PROTOTYPE)
+@ComponentOutput(
+        attributes = ChangeListenerAttributes.class,
+        payload = ListOfChanges.class,
+        description = "A page of changes made to the files in Google Drive since the previous event.")
+@Description("Listens for changes made to the files in Google Drive, or in a shared drive, using the Google Drive Changes API. " +
+        "At each poll only the changes made since the previous poll are fetched, regardless of the number of files in the drive, " +
+        "and a flow is triggered for each page of changes. The position in the change feed (page token) is moved forward " +
+        "only after the flow processing a page completes successfully: if the flow fails, the same page is emitted again " +
+        "at the next poll. If the 'Page Token File' property is set, the position is persisted and polling resumes from it " +
+        "after a restart; otherwise only the changes made after the component started are emitted. " +
+        "This component requires the configuration of a Service Account to make authorized API calls " +
+        "on behalf of the user. The component's configuration uses the private key (in JSON format) " +
+        "of the Google Service Account which can be generated and downloaded from the Service Account page. " +
+        "More info about Service Accounts and how they can be created and configured can " +
+        "be found in the official Google Service Accounts <a href=\"https://cloud.google.com/iam/docs/service-accounts\">Documentation</a> page.")
+public class ChangeListener extends AbstractChangeInbound {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeListener.class);
+
+    @DialogTitle("Service Account Configuration")
+    @Property("Configuration")
+    @Description("The Google Service Account Configuration to be used to connect to Google Drive." +
+            "This component requires the configuration of a Service Account to make authorized API calls " +
+            "on behalf of the user. More info about Service Accounts and how they can be configured can " +
+            "be found at the following <a href=\"https://cloud.google.com/iam/docs/service-accounts\">link</a>.")
+    private DriveConfiguration configuration;
+
+    @Property("Poll Interval (s)")
+    @Hint("30")
+    @Example("60")
+    @DefaultValue("30")
+    @Description("The number of seconds between the end of a poll and the start of the next one.")
+    private Integer pollInterval;
+
+    @Property("Page Token File")
+    @Hint("${RUNTIME_CONFIG}/drive-changes.token")
+    @Example("${RUNTIME_CONFIG}/drive-changes.token")
+    @Description("The path of the file where the position in the change feed is persisted. " +
+            "If empty, the position is kept in memory and changes made while the runtime is stopped are not emitted.")
+    private String pageTokenFile;
+
+    @Property("Drive ID")
+    @Hint("0AE6aA2fe3w5sUk9PVA")
+    @Example("0AE6aA2fe3w5sUk9PVA")
+    @Description("The ID of the shared drive to listen for changes. If empty, the changes of the user's drive are emitted.")
+    private String driveId;
+
+    @Property("Page Size")
+    @Group("Advanced")
+    @Hint("100")
+    @Example("1000")
+    @DefaultValue("100")
+    @Description("The maximum number of changes in a page, between 1 and 1000. " +
+            "Bigger pages require fewer requests when many files change at once.")
+    private Integer pageSize;
+
+    @Property("Include Removed")
+    @Group("Advanced")
+    @InitValue("true")
+    @DefaultValue("true")
+    @Description("Whether to emit changes of files which have been removed from the drive or to which access has been lost.")
+    private Boolean includeRemoved;
+
+    private DriveApi driveApi;
+    private ScheduledExecutorService scheduler;
+
+    @Override
+    public void onStart() {
+        driveApi = createApi();
+
+        PageTokenStore store = new PageTokenStore(isNotBlank(pageTokenFile) ? Paths.get(pageTokenFile) : null);
+        int realPageSize = Optional.ofNullable(pageSize).orElse(CHANGE_PAGE_SIZE);
+        int realPollInterval = Optional.ofNullable(pollInterval).orElse(CHANGE_POLL_INTERVAL_SECONDS);
+        boolean realIncludeRemoved = Optional.ofNullable(includeRemoved).orElse(CHANGE_INCLUDE_REMOVED);
+
+        ChangePoller poller = new ChangePoller(driveApi, store, driveId, realPageSize, realIncludeRemoved, changes -> process(changes, driveId));
+
+        scheduler = newScheduler("drive-change-listener");
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                poller.poll();
+            } catch (Exception exception) {
+                // The next poll starts again from the last successfully processed page.
+                logger.warn(exception.getMessage(), exception);
+            }
+        }, 0, realPollInterval, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void onShutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        DriveApiPool.release(driveApi);
+        driveApi = null;
+    }
+
+    public void setConfiguration(DriveConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    public void setPollInterval(Integer pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public void setPageTokenFile(String pageTokenFile) {
+        this.pageTokenFile = pageTokenFile;
+    }
+
+    public void setDriveId(String driveId) {
+        this.driveId = driveId;
+    }
+
+    public void setPageSize(Integer pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public void setIncludeRemoved(Boolean includeRemoved) {
+        this.includeRemoved = includeRemoved;
+    }
+
+    DriveApi createApi() {
+        return DriveApiPool.acquire(ChangeListener.class, configuration);
+    }
+}
@@ -0,0 +1,85 @@
+package com.reedelk.google.drive.v3.component;
+
+import com.reedelk.google.drive.v3.internal.attribute.ChangeNotificationAttributes;
+import com.reedelk.google.drive.v3.internal.change.ChannelRegistry;
+import com.reedelk.google.drive.v3.internal.exception.ChangeWatchException;
+import com.reedelk.runtime.api.annotation.ComponentInput;
+import com.reedelk.runtime.api.annotation.ComponentOutput;
+import com.reedelk.runtime.api.annotation.Description;
+import com.reedelk.runtime.api.annotation.ModuleComponent;
+import com.reedelk.runtime.api.component.ProcessorSync;
+import com.reedelk.runtime.api.flow.FlowContext;
+import com.reedelk.runtime.api.message.Message;
+import com.reedelk.runtime.api.message.MessageAttributes;
+import com.reedelk.runtime.api.message.MessageBuilder;
+import com.reedelk.runtime.api.message.content.MimeType;
+import org.osgi.service.component.annotations.Component;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.reedelk.google.drive.v3.internal.commons.Messages.ChangeWatch.CHANNEL_ID_MISSING;
+import static org.osgi.service.component.annotations.ServiceScope.PROTOTYPE;
+
+@ModuleComponent("Drive Change Notification")
+@Component(service = ChangeNotification.class, scope = PROTOTYPE)
+@ComponentOutput(
+        attributes = ChangeNotificationAttributes.class,
+        payload = String.class,
+        description = "The state of the notified resource (e.g. 'sync' or 'change').")
+@ComponentInput(
+        payload = Object.class,
+        description = "A push notification sent by Google Drive, as received by a REST Listener: " +
+                "the notification is read from the 'X-Goog-*' request headers.")
+@Description("Receives the push notifications sent by Google Drive for the channels opened by the 'Drive Change Watcher' components. " +
+        "This component must follow a REST Listener listening on the 'Notification Address' of the Drive Change Watcher. " +
+        "A notification triggers the fetch of the changes in the Drive Change Watcher, which emits them in its own flow. " +
+        "Notifications for unknown or expired channels are ignored, while notifications with a wrong channel token are rejected.")
+public class ChangeNotification implements ProcessorSync {
+
+    static final String HEADERS = "headers";
+    static final String CHANNEL_ID = "X-Goog-Channel-ID";
+    static final String CHANNEL_TOKEN = "X-Goog-Channel-Token";
+    static final String RESOURCE_STATE = "X-Goog-Resource-State";
+    static final String MESSAGE_NUMBER = "X-Goog-Message-Number";
+
+    // The first notification sent on a new channel, it does not signal any change.
+    private static final String SYNC = "sync";
+
+    @Override
+    public Message apply(FlowContext flowContext, Message message) {
+        MessageAttributes attributes = message.getAttributes();
+        Object headers = attributes != null ? attributes.get(HEADERS) : null;
+
+        String channelId = headerOf(headers, CHANNEL_ID);
+        if (channelId == null) {
+            throw new ChangeWatchException(CHANNEL_ID_MISSING.format());
+        }
+        String channelToken = headerOf(headers, CHANNEL_TOKEN);
+        String resourceState = headerOf(headers, RESOURCE_STATE);
+        String messageNumber = headerOf(headers, MESSAGE_NUMBER);
+
+        boolean accepted = !SYNC.equals(resourceState) && ChannelRegistry.notify(channelId, channelToken);
+
+        return MessageBuilder.get(ChangeNotification.class)
+                .withString(resourceState, MimeType.TEXT_PLAIN)
+                .attributes(new ChangeNotificationAttributes(channelId, resourceState, messageNumber, accepted))
+                .build();
+    }
+
+    // Header names are case insensitive, and each header might be mapped to a single value or to a list of values.
+    static String headerOf(Object headers, String name) {
+        if (!(headers instanceof Map)) return null;
+        for (Map.Entry<?, ?> header : ((Map<?, ?>) headers).entrySet()) {
+            if (name.equalsIgnoreCase(String.valueOf(header.getKey()))) {
+                Object value = header.getValue();
+                if (value instanceof List) {
+                    List<?> values = (List<?>) value;
+                    return values.isEmpty() ? null : String.valueOf(values.get(0));
+                }
+                return value != null ? String.valueOf(value) : null;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,171 @@
+package com.reedelk.google.drive.v3.component;
+
+import com.reedelk.google.drive.v3.internal.DriveApi;
+import com.reedelk.google.drive.v3.internal.DriveApiPool;
+import com.reedelk.google.drive.v3.internal.attribute.ChangeListenerAttributes;
+import com.reedelk.google.drive.v3.internal.change.ChangePoller;
+import com.reedelk.google.drive.v3.internal.change.ChangeWatch;
+import com.reedelk.google.drive.v3.internal.change.PageTokenStore;
+import com.reedelk.google.drive.v3.internal.type.ListOfChanges;
+import com.reedelk.runtime.api.annotation.*;
+import org.osgi.service.component.annotations.Component;
+
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.reedelk.google.drive.v3.internal.commons.Default.*;
+import static com.reedelk.runtime.api.commons.ComponentPrecondition.Configuration.requireNotBlank;
+import static com.reedelk.runtime.api.commons.StringUtils.isNotBlank;
+import static org.osgi.service.component.annotations.ServiceScope.PROTOTYPE;
+
+@ModuleComponent("Drive Change Watcher")
+@Component(service = ChangeWatcher.class, scope = PROTOTYPE)
+@ComponentOutput(
+        attributes = ChangeListenerAttributes.class,
+        payload = ListOfChanges.class,
+        description = "A page of changes made to the files in Google Drive since the previous event.")
+@Description("Reacts in near real time to changes made to the files in Google Drive, or in a shared drive, " +
+        "using Google Drive push notifications. The component opens a notification channel for the changes of the drive, " +
+        "and renews it before it expires. Google Drive sends the notifications to the 'Notification Address', " +
+        "which must be the public HTTPS address of a REST Listener followed by the 'Drive Change Notification' component: " +
+        "when a notification is received, the changes made since the previous event are fetched and a flow is triggered " +
+        "for each page of changes. If no notification is received within the fallback poll interval, the changes are polled anyway, " +
+        "so that lost notifications (or a channel which could not be renewed) only delay the events. " +
+        "This component requires the configuration of a Service Account to make authorized API calls " +
+        "on behalf of the user. The component's configuration uses the private key (in JSON format) " +
+        "of the Google Service Account which can be generated and downloaded from the Service Account page. " +
+        "More info about Service Accounts and how they can be created and configured can " +
+        "be found in the official Google Service Accounts <a href=\"https://cloud.google.com/iam/docs/service-accounts\">Documentation</a> page.")
+public class ChangeWatcher extends AbstractChangeInbound {
+
+    @DialogTitle("Service Account Configuration")
+    @Property("Configuration")
+    @Description("The Google Service Account Configuration to be used to connect to Google Drive." +
+            "This component requires the configuration of a Service Account to make authorized API calls " +
+            "on behalf of the user. More info about Service Accounts and how they can be configured can " +
+            "be found at the following <a href=\"https://cloud.google.com/iam/docs/service-accounts\">link</a>.")
+    private DriveConfiguration configuration;
+
+    @Property("Notification Address")
+    @Hint("https://myhost.mydomain.com/drive/notifications")
+    @Example("https://myhost.mydomain.com/drive/notifications")
+    @Description("The HTTPS address to which Google Drive sends the notifications. The domain must be verified " +
+            "for the Google Cloud project of the Service Account.")
+    private String address;
+
+    @Property("Page Token File")
+    @Hint("${RUNTIME_CONFIG}/drive-changes.token")
+    @Example("${RUNTIME_CONFIG}/drive-changes.token")
+    @Description("The path of the file where the position in the change feed is persisted. " +
+            "If empty, the position is kept in memory and changes made while the runtime is stopped are not emitted.")
+    private String pageTokenFile;
+
+    @Property("Drive ID")
+    @Hint("0AE6aA2fe3w5sUk9PVA")
+    @Example("0AE6aA2fe3w5sUk9PVA")
+    @Description("The ID of the shared drive to watch. If empty, the changes of the user's drive are emitted.")
+    private String driveId;
+
+    @Property("Channel Time To Live (s)")
+    @Group("Advanced")
+    @Hint("86400")
+    @Example("3600")
+    @DefaultValue("86400")
+    @Description("The requested lifetime in seconds of a notification channel. Google Drive might grant a shorter lifetime: " +
+            "the channel is renewed when 90% of its actual lifetime has elapsed.")
+    private Long channelTtl;
+
+    @Property("Fallback Poll Interval (s)")
+    @Group("Advanced")
+    @Hint("300")
+    @Example("600")
+    @DefaultValue("300")
+    @Description("The number of seconds without notifications after which the changes are polled anyway.")
+    private Integer fallbackPollInterval;
+
+    @Property("Page Size")
+    @Group("Advanced")
+    @Hint("100")
+    @Example("1000")
+    @DefaultValue("100")
+    @Description("The maximum number of changes in a page, between 1 and 1000.")
+    private Integer pageSize;
+
+    @Property("Include Removed")
+    @Group("Advanced")
+    @InitValue("true")
+    @DefaultValue("true")
+    @Description("Whether to emit changes of files which have been removed from the drive or to which access has been lost.")
+    private Boolean includeRemoved;
+
+    private DriveApi driveApi;
+    private ChangeWatch changeWatch;
+
+    @Override
+    public void onStart() {
+        requireNotBlank(ChangeWatcher.class, address, "Notification Address must not be empty.");
+
+        driveApi = createApi();
+
+        PageTokenStore store = new PageTokenStore(isNotBlank(pageTokenFile) ? Paths.get(pageTokenFile) : null);
+        int realPageSize = Optional.ofNullable(pageSize).orElse(CHANGE_PAGE_SIZE);
+        boolean realIncludeRemoved = Optional.ofNullable(includeRemoved).orElse(CHANGE_INCLUDE_REMOVED);
+        long realChannelTtl = Optional.ofNullable(channelTtl).orElse(CHANNEL_TTL_SECONDS);
+        int realFallbackPollInterval = Optional.ofNullable(fallbackPollInterval).orElse(CHANGE_FALLBACK_POLL_INTERVAL_SECONDS);
+
+        ChangePoller poller = new ChangePoller(driveApi, store, driveId, realPageSize, realIncludeRemoved, changes -> process(changes, driveId));
+
+        changeWatch = new ChangeWatch(driveApi, store, poller, driveId, address,
+                TimeUnit.SECONDS.toMillis(realChannelTtl),
+                TimeUnit.SECONDS.toMillis(realFallbackPollInterval),
+                newScheduler("drive-change-watcher"));
+        changeWatch.start();
+    }
+
+    @Override
+    public void onShutdown() {
+        if (changeWatch != null) {
+            changeWatch.stop();
+            changeWatch = null;
+        }
+        DriveApiPool.release(driveApi);
+        driveApi = null;
+    }
+
+    public void setConfiguration(DriveConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    public void setPageTokenFile(String pageTokenFile) {
+        this.pageTokenFile = pageTokenFile;
+    }
+
+    public void setDriveId(String driveId) {
+        this.driveId = driveId;
+    }
+
+    public void setChannelTtl(Long channelTtl) {
+        this.channelTtl = channelTtl;
+    }
+
+    public void setFallbackPollInterval(Integer fallbackPollInterval) {
+        this.fallbackPollInterval = fallbackPollInterval;
+    }
+
+    public void setPageSize(Integer pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public void setIncludeRemoved(Boolean includeRemoved) {
+        this.includeRemoved = includeRemoved;
+    }
+
+    DriveApi createApi() {
+        return DriveApiPool.acquire(ChangeWatcher.class, configuration);
+    }
+}
@@ -0,0 +1,28 @@
+package com.reedelk.google.drive.v3.component;
+
+import com.reedelk.google.drive.v3.internal.commons.GoogleMimeTypes;
+import com.reedelk.runtime.api.annotation.DisplayName;
+
+public enum ConversionTarget {
+
+    @DisplayName("No conversion")
+    NONE(null),
+    @DisplayName("Google Docs")
+    DOCUMENT(GoogleMimeTypes.DOCUMENT),
+    @DisplayName("Google Sheets")
+    SPREADSHEET(GoogleMimeTypes.SPREADSHEET),
+    @DisplayName("Google Slides")
+    PRESENTATION(GoogleMimeTypes.PRESENTATION),
+    @DisplayName("Google Drawings")
+    DRAWING(GoogleMimeTypes.DRAWING);
+
+    private final String mimeType;
+
+    ConversionTarget(String mimeType) {
+        this.mimeType = mimeType;
+    }
+
+    public String mimeType() {
+        return mimeType;
+    }
+}
@@ -0,0 +1,13 @@
+package com.reedelk.google.drive.v3.component;
+
+import com.reedelk.runtime.api.annotation.DisplayName;
+
+public enum DownloadMode {
+
+    @DisplayName("In memory")
+    IN_MEMORY,
+    @DisplayName("Stream")
+    STREAM,
+    @DisplayName("To file")
+    FILE
+}
@@ -26,6 +26,143 @@ public class DriveConfiguration implements Implementor {
             "flag is activated for the Service Account.")
     private String credentialsEmail;
 
+    @Property("Root URL")
+    @Hint("http://localhost:8181/")
+    @Example("http://localhost:8181/")
+    @Description("The root URL of the Google Drive API. If empty, the Google Drive service is used: set it to " +
+            "point the components to a local Google Drive emulator (e.g. for integration and load tests).")
+    private String rootUrl;
+
+    @Property("Max Attempts")
+    @Group("Retry")
+    @Hint("3")
+    @Example("5")
+    @DefaultValue("3")
+    @Description("The maximum number of attempts for a Google Drive request, including the first one. " +
+            "A value of 1 disables retries.")
+    private Integer retryMaxAttempts;
+
+    @Property("Base Delay (ms)")
+    @Group("Retry")
+    @Hint("1000")
+    @Example("500")
+    @DefaultValue("1000")
+    @Description("The delay in milliseconds before the first retry. The delay doubles at each further retry.")
+    private Long retryBaseDelay;
+
+    @Property("Max Delay (ms)")
+    @Group("Retry")
+    @Hint("32000")
+    @Example("60000")
+    @DefaultValue("32000")
+    @Description("The maximum delay in milliseconds between two attempts. " +
+            "It also caps the delay requested by Google Drive with the 'Retry-After' header.")
+    private Long retryMaxDelay;
+
+    @Property("Jitter")
+    @Group("Retry")
+    @Hint("0.5")
+    @Example("0.2")
+    @DefaultValue("0.5")
+    @Description("The randomization factor (between 0 and 1) applied to each delay, so that clients " +
+            "failing at the same time do not retry at the same time. A value of 0 disables jitter.")
+    private Double retryJitter;
+
+    @Property("Retryable Status Codes")
+    @Group("Retry")
+    @Hint("429,500,502,503,504")
+    @Example("429,503")
+    @DefaultValue("429,500,502,503,504")
+    @Description("Comma separated list of HTTP status codes for which a request is retried. " +
+            "Requests creating new resources (files, folders and permissions) are only retried when " +
+            "rate limited (429), because on server errors the resource might have been created anyway.")
+    private String retryStatusCodes;
+
+    @Property("Requests Per Second")
+    @Group("Rate Limit")
+    @Hint("10")
+    @Example("8.5")
+    @Description("The maximum number of requests per second sent to Google Drive by all the components " +
+            "sharing this configuration. Each call in a batch request counts as one request. " +
+            "If empty or 0, requests are not rate limited.")
+    private Double rateLimit;
+
+    @Property("Burst")
+    @Group("Rate Limit")
+    @Hint("10")
+    @Example("20")
+    @Description("The number of requests which can be sent at once, exceeding the requests per second, " +
+            "after a period of inactivity. If empty, it is equal to the requests per second (at least 1).")
+    private Integer rateLimitBurst;
+
+    @Property("When Limit Is Reached")
+    @Group("Rate Limit")
+    @InitValue("WAIT")
+    @DefaultValue("WAIT")
+    @Example("FAIL")
+    @Description("Whether a request exceeding the rate limit should wait until it can be sent, " +
+            "or fail immediately without being sent to Google Drive.")
+    private RateLimitStrategy rateLimitStrategy;
+
+    @Property("Enable Metadata Cache")
+    @Group("Metadata Cache")
+    @Example("true")
+    @DefaultValue("false")
+    @Description("If true, file metadata fetched by the components sharing this configuration is cached, " +
+            "so that repeated lookups of the same file ID do not require a request to Google Drive. " +
+            "The cache is invalidated by updates, deletes and uploads issued through this module, but not " +
+            "by changes made by other clients: the time to live bounds how stale a cached entry can be.")
+    private Boolean metadataCache;
+
+    @Property("Max Size")
+    @Group("Metadata Cache")
+    @Hint("1000")
+    @Example("5000")
+    @DefaultValue("1000")
+    @Description("The maximum number of files kept in the cache. " +
+            "When the cache is full, the least recently used file is evicted.")
+    @When(propertyName = "metadataCache", propertyValue = "true")
+    private Integer metadataCacheMaxSize;
+
+    @Property("Time To Live (s)")
+    @Group("Metadata Cache")
+    @Hint("60")
+    @Example("300")
+    @DefaultValue("60")
+    @Description("The number of seconds after which a cached file is fetched again from Google Drive.")
+    @When(propertyName = "metadataCache", propertyValue = "true")
+    private Long metadataCacheTtl;
+
+    @Property("Enable JMX Metrics")
+    @Group("Metrics")
+    @Example("true")
+    @DefaultValue("false")
+    @Description("If true, latency percentiles, error counts by HTTP status code and retries of each type of " +
+            "Google Drive request, the time spent waiting for the rate limit and the bytes uploaded and downloaded " +
+            "by the components sharing this configuration are exposed as MBeans in the 'com.reedelk.google.drive.v3' domain.")
+    private Boolean metrics;
+
+    @Property("Metrics Name")
+    @Group("Metrics")
+    @Hint("default")
+    @Example("invoices-drive")
+    @DefaultValue("default")
+    @Description("The name identifying this configuration in the MBean object names.")
+    @When(propertyName = "metrics", propertyValue = "true")
+    private String metricsName;
+
+    @Property("I/O Threads")
+    @Group("Concurrency")
+    @Hint("16")
+    @Example("32")
+    @DefaultValue("16")
+    @Description("The number of threads sending the requests of the components sharing this configuration. " +
+            "Components do not block the flow threads while waiting for Google Drive: at most this number " +
+            "of requests are in flight at the same time, the others are queued. Waits for the client side rate " +
+            "limit and the delays between retries are spent sleeping on these threads, therefore a throttled " +
+            "configuration can delay all the requests queued behind it.")
+    private Integer ioThreads;
+
     public String getCredentialsFile() {
         return credentialsFile;
     }
@@ -41,4 +178,124 @@ public class DriveConfiguration implements Implementor {
     public void setCredentialsEmail(String credentialsEmail) {
         this.credentialsEmail = credentialsEmail;
     }
+
+    public String getRootUrl() {
+        return rootUrl;
+    }
+
+    public void setRootUrl(String rootUrl) {
+        this.rootUrl = rootUrl;
+    }
+
+    public Integer getRetryMaxAttempts() {
+        return retryMaxAttempts;
+    }
+
+    public void setRetryMaxAttempts(Integer retryMaxAttempts) {
+        this.retryMaxAttempts = retryMaxAttempts;
+    }
+
+    public Long getRetryBaseDelay() {
+        return retryBaseDelay;
+    }
+
+    public void setRetryBaseDelay(Long retryBaseDelay) {
+        this.retryBaseDelay = retryBaseDelay;
+    }
+
+    public Long getRetryMaxDelay() {
+        return retryMaxDelay;
+    }
+
+    public void setRetryMaxDelay(Long retryMaxDelay) {
+        this.retryMaxDelay = retryMaxDelay;
+    }
+
+    public Double getRetryJitter() {
+        return retryJitter;
+    }
+
+    public void setRetryJitter(Double retryJitter) {
+        this.retryJitter = retryJitter;
+    }
+
+    public String getRetryStatusCodes() {
+        return retryStatusCodes;
+    }
+
+    public void setRetryStatusCodes(String retryStatusCodes) {
+        this.retryStatusCodes = retryStatusCodes;
+    }
+
+    public Double getRateLimit() {
+        return rateLimit;
+    }
+
+    public void setRateLimit(Double rateLimit) {
+        this.rateLimit = rateLimit;
+    }
+
+    public Integer getRateLimitBurst() {
+        return rateLimitBurst;
+    }
+
+    public void setRateLimitBurst(Integer rateLimitBurst) {
+        this.rateLimitBurst = rateLimitBurst;
+    }
+
+    public RateLimitStrategy getRateLimitStrategy() {
+        return rateLimitStrategy;
+    }
+
+    public void setRateLimitStrategy(RateLimitStrategy rateLimitStrategy) {
+        this.rateLimitStrategy = rateLimitStrategy;
+    }
+
+    public Boolean getMetadataCache() {
+        return metadataCache;
+    }
+
+    public void setMetadataCache(Boolean metadataCache) {
+        this.metadataCache = metadataCache;
+    }
+
+    public Integer getMetadataCacheMaxSize() {
+        return metadataCacheMaxSize;
+    }
+
+    public void setMetadataCacheMaxSize(Integer metadataCacheMaxSize) {
+        this.metadataCacheMaxSize = metadataCacheMaxSize;
+    }
+
+    public Long getMetadataCacheTtl() {
+        return metadataCacheTtl;
+    }
+
+    public void setMetadataCacheTtl(Long metadataCacheTtl) {
+        this.metadataCacheTtl = metadataCacheTtl;
+    }
+
+    public Boolean getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(Boolean metrics) {
+        this.metrics = metrics;
+    }
+
+    public String getMetricsName() {
+        return metricsName;
+    }
+
+    public void setMetricsName(String metricsName) {
+        this.metricsName = metricsName;
+    }
+
+    public Integer getIoThreads() {
+        return ioThreads;
+    }
+
+    public void setIoThreads(Integer ioThreads) {
+        this.ioThreads = ioThreads;
+    }
 }
@@ -0,0 +1,45 @@
+package com.reedelk.google.drive.v3.component;
+
+import com.reedelk.runtime.api.annotation.DisplayName;
+
+public enum ExportFormat {
+
+    @DisplayName("PDF")
+    PDF("application/pdf"),
+    @DisplayName("Microsoft Word (DOCX)")
+    DOCX("application/vnd.openxmlformats-officedocument.wordprocessingml.document"),
+    @DisplayName("Microsoft Excel (XLSX)")
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+    @DisplayName("Microsoft PowerPoint (PPTX)")
+    PPTX("application/vnd.openxmlformats-officedocument.presentationml.presentation"),
+    @DisplayName("CSV (first sheet only)")
+    CSV("text/csv"),
+    @DisplayName("TSV (first sheet only)")
+    TSV("text/tab-separated-values"),
+    @DisplayName("Plain text")
+    TEXT("text/plain"),
+    @DisplayName("HTML")
+    HTML("text/html"),
+    @DisplayName("Rich text (RTF)")
+    RTF("application/rtf"),
+    @DisplayName("OpenDocument text (ODT)")
+    ODT("application/vnd.oasis.opendocument.text"),
+    @DisplayName("OpenDocument spreadsheet (ODS)")
+    ODS("application/x-vnd.oasis.opendocument.spreadsheet"),
+    @DisplayName("PNG image")
+    PNG("image/png"),
+    @DisplayName("JPEG image")
+    JPEG("image/jpeg"),
+    @DisplayName("SVG image")
+    SVG("image/svg+xml");
+
+    private final String mimeType;
+
+    ExportFormat(String mimeType) {
+        this.mimeType = mimeType;
+    }
+
+    public String mimeType() {
+        return mimeType;
+    }
+}
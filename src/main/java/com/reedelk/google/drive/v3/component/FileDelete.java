@@ -1,12 +1,13 @@
 package com.reedelk.google.drive.v3.component;
 
 import com.reedelk.google.drive.v3.internal.DriveApi;
-import com.reedelk.google.drive.v3.internal.DriveApiFactory;
+import com.reedelk.google.drive.v3.internal.DriveApiPool;
 import com.reedelk.google.drive.v3.internal.attribute.FileDeleteAttributes;
 import com.reedelk.google.drive.v3.internal.command.FileDeleteCommand;
 import com.reedelk.google.drive.v3.internal.exception.FileDeleteException;
 import com.reedelk.runtime.api.annotation.*;
-import com.reedelk.runtime.api.component.ProcessorSync;
+import com.reedelk.runtime.api.component.OnResult;
+import com.reedelk.runtime.api.component.ProcessorAsync;
 import com.reedelk.runtime.api.converter.ConverterService;
 import com.reedelk.runtime.api.flow.FlowContext;
 import com.reedelk.runtime.api.message.Message;
@@ -17,6 +18,8 @@ import com.reedelk.runtime.api.script.dynamicvalue.DynamicString;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 
+import java.util.concurrent.CompletableFuture;
+
 import static com.reedelk.google.drive.v3.internal.commons.Messages.FileDelete.FILE_ID_NULL;
 import static com.reedelk.runtime.api.commons.ComponentPrecondition.Input;
 import static com.reedelk.runtime.api.commons.DynamicValueUtils.isNullOrBlank;
@@ -39,7 +42,7 @@ import static org.osgi.service.component.annotations.ServiceScope.PROTOTYPE;
         "of the Google Service Account which can be generated and downloaded from the Service Account page. " +
         "More info about Service Accounts and how they can be created and configured can " +
         "be found in the official Google Service Accounts <a href=\"https://cloud.google.com/iam/docs/service-accounts\">Documentation</a> page.")
-public class FileDelete implements ProcessorSync {
+public class FileDelete implements ProcessorAsync {
 
     @DialogTitle("Service Account Configuration")
     @Property("Configuration")
@@ -64,11 +67,21 @@ public class FileDelete implements ProcessorSync {
 
     @Override
     public void initialize() {
-        driveApi = DriveApiFactory.create(FileDelete.class, configuration);
+        driveApi = DriveApiPool.acquire(FileDelete.class, configuration);
+    }
+
+    @Override
+    public void dispose() {
+        DriveApiPool.release(driveApi);
+        driveApi = null;
     }
 
     @Override
-    public Message apply(FlowContext flowContext, Message message) {
+    public void apply(FlowContext flowContext, Message message, OnResult callback) {
+        AsyncResult.complete(flowContext, callback, () -> applyAsync(flowContext, message));
+    }
+
+    private CompletableFuture<Message> applyAsync(FlowContext flowContext, Message message) {
 
         String realFileId;
         if (isNullOrBlank(fileId)) {
@@ -88,14 +101,16 @@ public class FileDelete implements ProcessorSync {
 
         FileDeleteCommand command = new FileDeleteCommand(realFileId);
 
-        driveApi.execute(command);
+        return driveApi.executeAsync(command).thenApply(deleted -> {
+            driveApi.invalidateMetadata(realFileId);
 
-        FileDeleteAttributes attributes = new FileDeleteAttributes(realFileId);
+            FileDeleteAttributes attributes = new FileDeleteAttributes(realFileId);
 
-        return MessageBuilder.get(FileDelete.class)
-                .withString(realFileId, MimeType.TEXT_PLAIN)
-                .attributes(attributes)
-                .build();
+            return MessageBuilder.get(FileDelete.class)
+                    .withString(realFileId, MimeType.TEXT_PLAIN)
+                    .attributes(attributes)
+                    .build();
+        });
     }
 
     public void setConfiguration(DriveConfiguration configuration) {
@@ -0,0 +1,116 @@
+package com.reedelk.google.drive.v3.component;
+
+import com.reedelk.google.drive.v3.internal.BatchResult;
+import com.reedelk.google.drive.v3.internal.DriveApi;
+import com.reedelk.google.drive.v3.internal.DriveApiPool;
+import com.reedelk.google.drive.v3.internal.attribute.BatchAttributes;
+import com.reedelk.google.drive.v3.internal.command.FileDeleteCommand;
+import com.reedelk.google.drive.v3.internal.type.ItemResult;
+import com.reedelk.google.drive.v3.internal.type.ListOfItemResults;
+import com.reedelk.runtime.api.annotation.*;
+import com.reedelk.runtime.api.component.OnResult;
+import com.reedelk.runtime.api.component.ProcessorAsync;
+import com.reedelk.runtime.api.converter.ConverterService;
+import com.reedelk.runtime.api.flow.FlowContext;
+import com.reedelk.runtime.api.message.Message;
+import com.reedelk.runtime.api.message.MessageBuilder;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static com.reedelk.runtime.api.commons.ComponentPrecondition.Input;
+import static org.osgi.service.component.annotations.ServiceScope.PROTOTYPE;
+
+@ModuleComponent("Drive File Delete Many")
+@Component(service = FileDeleteMany.class, scope = PROTOTYPE)
+@ComponentOutput(
+        attributes = BatchAttributes.class,
+        payload = ListOfItemResults.class,
+        description = "The result of each delete, in the same order as the input file IDs.")
+@ComponentInput(
+        payload = List.class,
+        description = "The input payload is used as list of file IDs of the files to delete from Google Drive.")
+@Description("Deletes many files from Google Drive using batch requests, grouping up to 100 deletes " +
+        "in a single HTTP round-trip. The IDs of the files to be deleted are taken from the input message payload. " +
+        "A file which could not be deleted does not stop the deletion of the other files: the error is reported " +
+        "in the result of the item instead. " +
+        "This component requires the configuration of a Service Account to make authorized API calls " +
+        "on behalf of the user. The component's configuration uses the private key (in JSON format) " +
+        "of the Google Service Account which can be generated and downloaded from the Service Account page. " +
+        "More info about Service Accounts and how they can be created and configured can " +
+        "be found in the official Google Service Accounts <a href=\"https://cloud.google.com/iam/docs/service-accounts\">Documentation</a> page.")
+public class FileDeleteMany implements ProcessorAsync {
+
+    @DialogTitle("Service Account Configuration")
+    @Property("Configuration")
+    @Description("The Google Service Account Configuration to be used to connect to Google Drive." +
+            "This component requires the configuration of a Service Account to make authorized API calls " +
+            "on behalf of the user. More info about Service Accounts and how they can be configured can " +
+            "be found at the following <a href=\"https://cloud.google.com/iam/docs/service-accounts\">link</a>.")
+    private DriveConfiguration configuration;
+
+    @Reference
+    ConverterService converterService;
+
+    DriveApi driveApi;
+
+    @Override
+    public void initialize() {
+        driveApi = createApi();
+    }
+
+    @Override
+    public void dispose() {
+        DriveApiPool.release(driveApi);
+        driveApi = null;
+    }
+
+    @Override
+    public void apply(FlowContext flowContext, Message message, OnResult callback) {
+        AsyncResult.complete(flowContext, callback, () -> applyAsync(flowContext, message));
+    }
+
+    private CompletableFuture<Message> applyAsync(FlowContext flowContext, Message message) {
+        Object payload = message.payload();
+
+        Input.requireTypeMatchesAny(FileDeleteMany.class, payload, List.class);
+
+        List<String> fileIds = ((List<?>) payload).stream()
+                .map(item -> converterService.convert(item, String.class))
+                .collect(Collectors.toList());
+
+        List<FileDeleteCommand> commands = fileIds.stream()
+                .map(FileDeleteCommand::new)
+                .collect(Collectors.toList());
+
+        return driveApi.supplyAsync(() -> {
+            List<BatchResult<Void>> results = driveApi.executeBatch(commands);
+
+            ListOfItemResults itemResults = new ListOfItemResults();
+            for (int i = 0; i < fileIds.size(); i++) {
+                String fileId = fileIds.get(i);
+                BatchResult<Void> result = results.get(i);
+                if (result.isSuccess()) driveApi.invalidateMetadata(fileId);
+                itemResults.add(result.isSuccess() ?
+                        ItemResult.success(fileId, fileId) :
+                        ItemResult.failure(fileId, result.getError()));
+            }
+
+            return MessageBuilder.get(FileDeleteMany.class)
+                    .withList(itemResults, ItemResult.class)
+                    .attributes(new BatchAttributes(itemResults))
+                    .build();
+        });
+    }
+
+    public void setConfiguration(DriveConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    DriveApi createApi() {
+        return DriveApiPool.acquire(FileDeleteMany.class, configuration);
+    }
+}
@@ -1,12 +1,19 @@
 package com.reedelk.google.drive.v3.component;
 
+import com.google.api.services.drive.model.File;
 import com.reedelk.google.drive.v3.internal.DriveApi;
-import com.reedelk.google.drive.v3.internal.DriveApiFactory;
+import com.reedelk.google.drive.v3.internal.DriveApiPool;
 import com.reedelk.google.drive.v3.internal.attribute.FileDownloadAttributes;
 import com.reedelk.google.drive.v3.internal.command.FileDownloadCommand;
+import com.reedelk.google.drive.v3.internal.command.FileDownloadStreamCommand;
+import com.reedelk.google.drive.v3.internal.command.FileDownloadToPathCommand;
+import com.reedelk.google.drive.v3.internal.command.FileGetCommand;
+import com.reedelk.google.drive.v3.internal.download.RangedDownload;
 import com.reedelk.google.drive.v3.internal.exception.FileDownloadException;
+import com.reedelk.google.drive.v3.internal.stream.ByteStreams;
 import com.reedelk.runtime.api.annotation.*;
-import com.reedelk.runtime.api.component.ProcessorSync;
+import com.reedelk.runtime.api.component.OnResult;
+import com.reedelk.runtime.api.component.ProcessorAsync;
 import com.reedelk.runtime.api.converter.ConverterService;
 import com.reedelk.runtime.api.flow.FlowContext;
 import com.reedelk.runtime.api.message.Message;
@@ -16,10 +23,20 @@ import com.reedelk.runtime.api.script.ScriptEngineService;
 import com.reedelk.runtime.api.script.dynamicvalue.DynamicString;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
+import reactor.core.publisher.Flux;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+
+import static com.reedelk.google.drive.v3.internal.commons.Default.DOWNLOAD_PARALLELISM;
+import static com.reedelk.google.drive.v3.internal.commons.Default.DOWNLOAD_PART_SIZE_MB;
 import static com.reedelk.google.drive.v3.internal.commons.Messages.FileDownload.FILE_ID_NULL;
+import static com.reedelk.google.drive.v3.internal.commons.Messages.FileDownload.TARGET_PATH_NULL;
+import static com.reedelk.runtime.api.commons.ComponentPrecondition.Configuration.requireNotNull;
 import static com.reedelk.runtime.api.commons.ComponentPrecondition.Input;
 import static com.reedelk.runtime.api.commons.DynamicValueUtils.isNullOrBlank;
+import static java.util.Optional.ofNullable;
 import static org.osgi.service.component.annotations.ServiceScope.PROTOTYPE;
 
 @ModuleComponent("Drive File Download")
@@ -27,17 +44,22 @@ import static org.osgi.service.component.annotations.ServiceScope.PROTOTYPE;
 @ComponentOutput(
         attributes = FileDownloadAttributes.class,
         payload = { String.class, byte[].class},
-        description = "The content of the downloaded file in bytes or string if the mime type is a string type mime type (e.g text/plain).")
+        description = "The content of the downloaded file in bytes or string if the mime type is a string type mime type (e.g text/plain). " +
+                "When the download mode is 'Stream' the content is a stream of bytes, when the download mode is 'To file' " +
+                "the payload is the path of the file the content was written to.")
 @ComponentInput(
         payload = { String.class, byte[].class },
         description = "The input payload is used as file id of the file to download from Google Drive.")
 @Description("Downloads the content of the file with the given file ID from Google Drive. " +
+        "The content can be downloaded in memory, as a stream or directly to a file on the local file system. " +
+        "Large files should be downloaded as a stream or to a file, in order to avoid loading the whole content in memory. " +
+        "Google Workspace files (e.g. Google Docs or Sheets) cannot be downloaded: use the 'Drive File Export' component instead. " +
         "This component requires the configuration of a Service Account to make authorized API calls " +
         "on behalf of the user. The component's configuration uses the private key (in JSON format) " +
         "of the Google Service Account which can be generated and downloaded from the Service Account page. " +
         "More info about Service Accounts and how they can be created and configured can " +
         "be found in the official Google Service Accounts <a href=\"https://cloud.google.com/iam/docs/service-accounts\">Documentation</a> page.")
-public class FileDownload implements ProcessorSync {
+public class FileDownload implements ProcessorAsync {
 
     @DialogTitle("Service Account Configuration")
     @Property("Configuration")
@@ -61,6 +83,44 @@ public class FileDownload implements ProcessorSync {
     @Description("The mime type of the file to download from Google Drive.")
     private String mimeType;
 
+    @Property("Download mode")
+    @Example("STREAM")
+    @InitValue("IN_MEMORY")
+    @DefaultValue("IN_MEMORY")
+    @Description("How the content of the file is downloaded. 'In memory' downloads the whole content in the output payload, " +
+            "'Stream' streams the content in the output payload as it is downloaded and 'To file' writes the content " +
+            "directly to the file with the given target path.")
+    private DownloadMode mode = DownloadMode.IN_MEMORY;
+
+    @Property("Target path")
+    @Hint("/var/downloads/my_file.pdf")
+    @Example("<code>'/var/downloads/' + message.attributes().fileName</code>")
+    @When(propertyName = "mode", propertyValue = "FILE")
+    @Description("The path of the local file the content is written to. " +
+            "Missing parent directories are created and an existing file is overwritten.")
+    private DynamicString targetPath;
+
+    @Property("Parallel connections")
+    @Group("Advanced")
+    @DefaultValue("1")
+    @Example("4")
+    @When(propertyName = "mode", propertyValue = "STREAM")
+    @When(propertyName = "mode", propertyValue = "FILE")
+    @Description("The number of connections used to download the file. If greater than 1, files larger than " +
+            "the part size are split in parts (byte ranges) which are downloaded concurrently. " +
+            "In 'Stream' mode at most this number of parts are kept in memory at the same time.")
+    private Integer parallelism;
+
+    @Property("Part size (MB)")
+    @Group("Advanced")
+    @DefaultValue("16")
+    @Example("64")
+    @When(propertyName = "mode", propertyValue = "STREAM")
+    @When(propertyName = "mode", propertyValue = "FILE")
+    @Description("The size in MB of each part of the file downloaded on its own connection when the number of " +
+            "parallel connections is greater than 1.")
+    private Integer partSize;
+
     @Reference
     ScriptEngineService scriptEngine;
     @Reference
@@ -68,15 +128,32 @@ public class FileDownload implements ProcessorSync {
 
     DriveApi driveApi;
     private MimeType finalMimeType;
+    private int realParallelism;
+    private long realPartSize;
 
     @Override
     public void initialize() {
         driveApi = createApi();
         finalMimeType = MimeType.parse(mimeType, MimeType.APPLICATION_BINARY);
+        realParallelism = Math.max(1, ofNullable(parallelism).orElse(DOWNLOAD_PARALLELISM));
+        realPartSize = Math.max(1, ofNullable(partSize).orElse(DOWNLOAD_PART_SIZE_MB)) * 1024L * 1024L;
+        if (DownloadMode.FILE.equals(mode)) {
+            requireNotNull(FileDownload.class, targetPath, "Target path must not be empty when download mode is 'To file'.");
+        }
+    }
+
+    @Override
+    public void dispose() {
+        DriveApiPool.release(driveApi);
+        driveApi = null;
     }
 
     @Override
-    public Message apply(FlowContext flowContext, Message message) {
+    public void apply(FlowContext flowContext, Message message, OnResult callback) {
+        AsyncResult.complete(flowContext, callback, () -> applyAsync(flowContext, message));
+    }
+
+    private CompletableFuture<Message> applyAsync(FlowContext flowContext, Message message) {
 
         String realFileId;
         if (isNullOrBlank(fileId)) {
@@ -94,22 +171,58 @@ public class FileDownload implements ProcessorSync {
                     .orElseThrow(() -> new FileDownloadException(FILE_ID_NULL.format(fileId.value())));
         }
 
-        FileDownloadCommand command = new FileDownloadCommand(realFileId);
+        FileDownloadAttributes attributes = new FileDownloadAttributes(realFileId);
+
+        if (DownloadMode.FILE.equals(mode)) {
+            String realTargetPath = scriptEngine.evaluate(targetPath, flowContext, message)
+                    .orElseThrow(() -> new FileDownloadException(TARGET_PATH_NULL.format(targetPath.value())));
 
-        byte[] content = driveApi.execute(command);
+            Path realPath = Paths.get(realTargetPath);
+            // A ranged download sends a request for the metadata and one for each part: the
+            // parts are downloaded on the I/O threads, no thread waits for them to complete.
+            return driveApi.supplyAsync(() -> rangedDownloadOf(realFileId))
+                    .thenCompose(rangedDownload -> rangedDownload != null ?
+                            rangedDownload.toPath(realPath) :
+                            driveApi.executeAsync(new FileDownloadToPathCommand(realFileId, realPath)))
+                    .thenApply(written -> MessageBuilder.get(FileDownload.class)
+                            .withString(realTargetPath, MimeType.TEXT_PLAIN)
+                            .attributes(attributes)
+                            .build());
 
-        Object mappedContent = content;
-        if (String.class == finalMimeType.javaType()) {
-            // If the mime type is string, we convert it to string.
-            mappedContent = new String(content);
+        } else if (DownloadMode.STREAM.equals(mode)) {
+            // The download starts only when the stream is consumed.
+            Flux<byte[]> content = Flux.defer(() -> {
+                RangedDownload rangedDownload = rangedDownloadOf(realFileId);
+                if (rangedDownload != null) {
+                    return rangedDownload.toStream();
+                }
+                FileDownloadStreamCommand command = new FileDownloadStreamCommand(realFileId);
+                return ByteStreams.from(
+                        () -> driveApi.execute(command),
+                        ByteStreams.DEFAULT_CHUNK_SIZE,
+                        command::onException);
+            });
+
+            return CompletableFuture.completedFuture(MessageBuilder.get(FileDownload.class)
+                    .withBinary(content, finalMimeType)
+                    .attributes(attributes)
+                    .build());
         }
 
-        FileDownloadAttributes attributes = new FileDownloadAttributes(realFileId);
+        FileDownloadCommand command = new FileDownloadCommand(realFileId);
+
+        return driveApi.executeAsync(command).thenApply(content -> {
+            Object mappedContent = content;
+            if (String.class == finalMimeType.javaType()) {
+                // If the mime type is string, we convert it to string.
+                mappedContent = new String(content);
+            }
 
-        return MessageBuilder.get(FileDownload.class)
-                .withJavaObject(mappedContent, finalMimeType)
-                .attributes(attributes)
-                .build();
+            return MessageBuilder.get(FileDownload.class)
+                    .withJavaObject(mappedContent, finalMimeType)
+                    .attributes(attributes)
+                    .build();
+        });
     }
 
     public void setConfiguration(DriveConfiguration configuration) {
@@ -124,7 +237,34 @@ public class FileDownload implements ProcessorSync {
         this.mimeType = mimeType;
     }
 
+    public void setMode(DownloadMode mode) {
+        this.mode = mode;
+    }
+
+    public void setTargetPath(DynamicString targetPath) {
+        this.targetPath = targetPath;
+    }
+
+    public void setParallelism(Integer parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public void setPartSize(Integer partSize) {
+        this.partSize = partSize;
+    }
+
+    // Returns a ranged download if the file should be downloaded in parts over parallel connections,
+    // null otherwise. Google Workspace documents have no size and they can not be downloaded in parts.
+    private RangedDownload rangedDownloadOf(String realFileId) {
+        if (realParallelism <= 1) return null;
+        File metadata = driveApi.execute(new FileGetCommand(realFileId, "size"));
+        Long size = metadata.getSize();
+        return size != null && size > realPartSize ?
+                new RangedDownload(driveApi, realFileId, size, realPartSize, realParallelism) :
+                null;
+    }
+
     DriveApi createApi() {
-        return DriveApiFactory.create(FileDownload.class, configuration);
+        return DriveApiPool.acquire(FileDownload.class, configuration);
     }
 }
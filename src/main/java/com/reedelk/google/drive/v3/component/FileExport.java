@@ -0,0 +1,148 @@
+package com.reedelk.google.drive.v3.component;
+
+import com.reedelk.google.drive.v3.internal.DriveApi;
+import com.reedelk.google.drive.v3.internal.DriveApiPool;
+import com.reedelk.google.drive.v3.internal.attribute.FileExportAttributes;
+import com.reedelk.google.drive.v3.internal.command.FileExportCommand;
+import com.reedelk.google.drive.v3.internal.exception.FileExportException;
+import com.reedelk.google.drive.v3.internal.stream.ByteStreams;
+import com.reedelk.runtime.api.annotation.*;
+import com.reedelk.runtime.api.component.ProcessorSync;
+import com.reedelk.runtime.api.converter.ConverterService;
+import com.reedelk.runtime.api.flow.FlowContext;
+import com.reedelk.runtime.api.message.Message;
+import com.reedelk.runtime.api.message.MessageBuilder;
+import com.reedelk.runtime.api.message.content.MimeType;
+import com.reedelk.runtime.api.script.ScriptEngineService;
+import com.reedelk.runtime.api.script.dynamicvalue.DynamicString;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import reactor.core.publisher.Flux;
+
+import static com.reedelk.google.drive.v3.internal.commons.Messages.FileExport.FILE_ID_EMPTY;
+import static com.reedelk.google.drive.v3.internal.commons.Messages.FileExport.FILE_ID_NULL;
+import static com.reedelk.runtime.api.commons.ComponentPrecondition.Input;
+import static com.reedelk.runtime.api.commons.DynamicValueUtils.isNullOrBlank;
+import static com.reedelk.runtime.api.commons.StringUtils.isBlank;
+import static java.util.Optional.ofNullable;
+import static org.osgi.service.component.annotations.ServiceScope.PROTOTYPE;
+
+@ModuleComponent("Drive File Export")
+@Component(service = FileExport.class, scope = PROTOTYPE)
+@ComponentOutput(
+        attributes = FileExportAttributes.class,
+        payload = byte[].class,
+        description = "The content of the exported file as a stream of bytes, with the mime type of the export format.")
+@ComponentInput(
+        payload = { String.class, byte[].class },
+        description = "The input payload is used as file id of the file to export from Google Drive.")
+@Description("Exports a Google Workspace file (Google Docs, Sheets, Slides or Drawings) with the given file ID " +
+        "to the given format, for example a Google Sheets file to XLSX or CSV. Google Workspace files have no binary " +
+        "content and they cannot be downloaded with the 'Drive File Download' component. " +
+        "The converted content is streamed in the output payload as it is received from Google Drive. " +
+        "Not all the formats are supported by all the file types (e.g. CSV is supported by Google Sheets only) and " +
+        "Google Drive limits the size of the exported content to 10 MB. " +
+        "This component requires the configuration of a Service Account to make authorized API calls " +
+        "on behalf of the user. The component's configuration uses the private key (in JSON format) " +
+        "of the Google Service Account which can be generated and downloaded from the Service Account page. " +
+        "More info about Service Accounts and how they can be created and configured can " +
+        "be found in the official Google Service Accounts <a href=\"https://cloud.google.com/iam/docs/service-accounts\">Documentation</a> page.")
+public class FileExport implements ProcessorSync {
+
+    @DialogTitle("Service Account Configuration")
+    @Property("Configuration")
+    @Mandatory
+    @Description("The Google Service Account Configuration to be used to connect to Google Drive." +
+            "This component requires the configuration of a Service Account to make authorized API calls " +
+            "on behalf of the user. More info about Service Accounts and how they can be configured can " +
+            "be found at the following <a href=\"https://cloud.google.com/iam/docs/service-accounts\">link</a>.")
+    private DriveConfiguration configuration;
+
+    @Property("File ID")
+    @Hint("1f1Vx-AanOdkVEQoewRhUQibOiyXq_RHG")
+    @Example("1f1Vx-AanOdkVEQoewRhUQibOiyXq_RHG")
+    @Description("The ID of the Google Workspace file to export. If not defined, the file ID is taken from the message payload.")
+    private DynamicString fileId;
+
+    @Property("Export format")
+    @Example("XLSX")
+    @InitValue("PDF")
+    @DefaultValue("PDF")
+    @Description("The format the file is converted to.")
+    private ExportFormat format = ExportFormat.PDF;
+
+    @Reference
+    ScriptEngineService scriptEngine;
+    @Reference
+    ConverterService converterService;
+
+    DriveApi driveApi;
+    private ExportFormat realFormat;
+    private MimeType finalMimeType;
+
+    @Override
+    public void initialize() {
+        driveApi = createApi();
+        realFormat = ofNullable(format).orElse(ExportFormat.PDF);
+        finalMimeType = MimeType.parse(realFormat.mimeType(), MimeType.APPLICATION_BINARY);
+    }
+
+    @Override
+    public void dispose() {
+        DriveApiPool.release(driveApi);
+        driveApi = null;
+    }
+
+    @Override
+    public Message apply(FlowContext flowContext, Message message) {
+
+        String realFileId;
+        if (isNullOrBlank(fileId)) {
+            // We take it from the message payload. The payload might not be a string,
+            // for example when we upload the File ID from a rest listener and we forget
+            // the mime type, therefore we have to convert it to a string type.
+            Object payload = message.payload();
+
+            Input.requireTypeMatchesAny(FileExport.class, payload, String.class, byte[].class);
+
+            realFileId = converterService.convert(payload, String.class);
+
+        } else {
+            realFileId = scriptEngine.evaluate(fileId, flowContext, message)
+                    .orElseThrow(() -> new FileExportException(FILE_ID_NULL.format(fileId.value())));
+        }
+
+        if (isBlank(realFileId)) {
+            throw new FileExportException(FILE_ID_EMPTY.format());
+        }
+
+        FileExportCommand command = new FileExportCommand(realFileId, realFormat.mimeType());
+
+        // The export starts only when the stream is consumed.
+        Flux<byte[]> content = ByteStreams.from(
+                () -> driveApi.execute(command),
+                ByteStreams.DEFAULT_CHUNK_SIZE,
+                command::onException);
+
+        return MessageBuilder.get(FileExport.class)
+                .withBinary(content, finalMimeType)
+                .attributes(new FileExportAttributes(realFileId, realFormat.mimeType()))
+                .build();
+    }
+
+    public void setConfiguration(DriveConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    public void setFileId(DynamicString fileId) {
+        this.fileId = fileId;
+    }
+
+    public void setFormat(ExportFormat format) {
+        this.format = format;
+    }
+
+    DriveApi createApi() {
+        return DriveApiPool.acquire(FileExport.class, configuration);
+    }
+}
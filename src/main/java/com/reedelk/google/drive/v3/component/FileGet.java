@@ -0,0 +1,138 @@
+package com.reedelk.google.drive.v3.component;
+
+import com.reedelk.google.drive.v3.internal.DriveApi;
+import com.reedelk.google.drive.v3.internal.DriveApiPool;
+import com.reedelk.google.drive.v3.internal.attribute.FileGetAttributes;
+import com.reedelk.google.drive.v3.internal.command.FileGetCommand;
+import com.reedelk.google.drive.v3.internal.exception.FileGetException;
+import com.reedelk.google.drive.v3.internal.type.FileType;
+import com.reedelk.runtime.api.annotation.*;
+import com.reedelk.runtime.api.component.OnResult;
+import com.reedelk.runtime.api.component.ProcessorAsync;
+import com.reedelk.runtime.api.converter.ConverterService;
+import com.reedelk.runtime.api.flow.FlowContext;
+import com.reedelk.runtime.api.message.Message;
+import com.reedelk.runtime.api.message.MessageBuilder;
+import com.reedelk.runtime.api.script.ScriptEngineService;
+import com.reedelk.runtime.api.script.dynamicvalue.DynamicString;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static com.reedelk.google.drive.v3.internal.commons.Messages.FileGet.FILE_ID_NULL;
+import static com.reedelk.runtime.api.commons.ComponentPrecondition.Input;
+import static com.reedelk.runtime.api.commons.DynamicValueUtils.isNullOrBlank;
+import static java.lang.String.join;
+import static org.osgi.service.component.annotations.ServiceScope.PROTOTYPE;
+
+@ModuleComponent("Drive File Get")
+@Component(service = FileGet.class, scope = PROTOTYPE)
+@ComponentOutput(
+        attributes = FileGetAttributes.class,
+        payload = FileType.class,
+        description = "The metadata of the file with the given ID.")
+@ComponentInput(
+        payload = { String.class, byte[].class },
+        description = "The input payload is used as file id of the file to get the metadata of.")
+@Description("Gets the metadata of a file with the given file ID from Google Drive. " +
+        "The ID of the file is taken from the input message payload if not defined in the 'File ID' property. " +
+        "An expression can be used to dynamically evaluate the file ID. " +
+        "If the metadata cache is enabled in the configuration, the metadata is read from the cache when present. " +
+        "This component requires the configuration of a Service Account to make authorized API calls " +
+        "on behalf of the user. The component's configuration uses the private key (in JSON format) " +
+        "of the Google Service Account which can be generated and downloaded from the Service Account page. " +
+        "More info about Service Accounts and how they can be created and configured can " +
+        "be found in the official Google Service Accounts <a href=\"https://cloud.google.com/iam/docs/service-accounts\">Documentation</a> page.")
+public class FileGet implements ProcessorAsync {
+
+    @DialogTitle("Service Account Configuration")
+    @Property("Configuration")
+    @Description("The Google Service Account Configuration to be used to connect to Google Drive." +
+            "This component requires the configuration of a Service Account to make authorized API calls " +
+            "on behalf of the user. More info about Service Accounts and how they can be configured can " +
+            "be found at the following <a href=\"https://cloud.google.com/iam/docs/service-accounts\">link</a>.")
+    private DriveConfiguration configuration;
+
+    @Property("File ID")
+    @Hint("1f1Vx-AanOdkVEQoewRhUQibOiyXq_RHG")
+    @Example("1f1Vx-AanOdkVEQoewRhUQibOiyXq_RHG")
+    @Description("The ID of the file to get the metadata of. If not defined, the file ID is taken from the message payload.")
+    private DynamicString fileId;
+
+    @Reference
+    ScriptEngineService scriptEngine;
+    @Reference
+    ConverterService converterService;
+
+    DriveApi driveApi;
+
+    @Override
+    public void initialize() {
+        driveApi = createApi();
+    }
+
+    @Override
+    public void dispose() {
+        DriveApiPool.release(driveApi);
+        driveApi = null;
+    }
+
+    @Override
+    public void apply(FlowContext flowContext, Message message, OnResult callback) {
+        AsyncResult.complete(flowContext, callback, () -> applyAsync(flowContext, message));
+    }
+
+    private CompletableFuture<Message> applyAsync(FlowContext flowContext, Message message) {
+
+        String realFileId;
+        if (isNullOrBlank(fileId)) {
+            // We take it from the message payload. The payload might not be a string,
+            // for example when we upload the File ID from a rest listener and we forget
+            // the mime type, therefore we have to convert it to a string type.
+            Object payload = message.payload();
+
+            Input.requireTypeMatchesAny(FileGet.class, payload, String.class, byte[].class);
+
+            realFileId = converterService.convert(payload, String.class);
+
+        } else {
+            realFileId = scriptEngine.evaluate(fileId, flowContext, message)
+                    .orElseThrow(() -> new FileGetException(FILE_ID_NULL.format(fileId.value())));
+        }
+
+        Optional<FileType> cached = driveApi.cachedMetadata(realFileId);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(messageOf(realFileId, cached.get(), true));
+        }
+
+        FileGetCommand command = new FileGetCommand(realFileId, join(",", FileType.ALL_FIELDS));
+        return driveApi.executeAsync(command).thenApply(file -> {
+            FileType metadata = new FileType(file);
+            driveApi.cacheMetadata(metadata);
+            return messageOf(realFileId, metadata, false);
+        });
+    }
+
+    private static Message messageOf(String fileId, FileType metadata, boolean cached) {
+        FileGetAttributes attributes = new FileGetAttributes(fileId, cached);
+
+        return MessageBuilder.get(FileGet.class)
+                .withJavaObject(metadata)
+                .attributes(attributes)
+                .build();
+    }
+
+    public void setConfiguration(DriveConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    public void setFileId(DynamicString fileId) {
+        this.fileId = fileId;
+    }
+
+    DriveApi createApi() {
+        return DriveApiPool.acquire(FileGet.class, configuration);
+    }
+}
@@ -1,13 +1,16 @@
 package com.reedelk.google.drive.v3.component;
 
 import com.reedelk.google.drive.v3.internal.DriveApi;
-import com.reedelk.google.drive.v3.internal.DriveApiFactory;
+import com.reedelk.google.drive.v3.internal.DriveApiPool;
 import com.reedelk.google.drive.v3.internal.command.FileListCommand;
 import com.reedelk.google.drive.v3.internal.commons.Default;
+import com.reedelk.google.drive.v3.internal.commons.FieldUtils;
+import com.reedelk.google.drive.v3.internal.stream.FileListStream;
 import com.reedelk.google.drive.v3.internal.type.FileType;
 import com.reedelk.google.drive.v3.internal.type.ListOfFiles;
 import com.reedelk.runtime.api.annotation.*;
-import com.reedelk.runtime.api.component.ProcessorSync;
+import com.reedelk.runtime.api.component.OnResult;
+import com.reedelk.runtime.api.component.ProcessorAsync;
 import com.reedelk.runtime.api.flow.FlowContext;
 import com.reedelk.runtime.api.message.Message;
 import com.reedelk.runtime.api.message.MessageBuilder;
@@ -15,28 +18,32 @@ import com.reedelk.runtime.api.script.ScriptEngineService;
 import com.reedelk.runtime.api.script.dynamicvalue.DynamicString;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
+import reactor.core.publisher.Flux;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.osgi.service.component.annotations.ServiceScope.PROTOTYPE;
 
 @ModuleComponent("Drive Files List")
 @Component(service = FileList.class, scope = PROTOTYPE)
 @ComponentOutput(
-        payload = ListOfFiles.class,
-        description = "The list of files from Google Drive.")
+        payload = { ListOfFiles.class, FileType.class },
+        description = "The list of files from Google Drive or a stream of files when 'Fetch All Pages' is enabled.")
 @ComponentInput(
         payload = Object.class,
         description = "The input payload to evaluate the query or the next token expressions.")
 @Description("Lists files from Google Drive. " +
         "Optional search filters and order by sort keys can be applied to filter and order the returned results. " +
-        "If the number of returned files is potentially large it is recommended to use pagination by setting the page size and page token for subsequent listings." +
+        "If the number of returned files is potentially large it is recommended to use pagination by setting the page size and page token for subsequent listings " +
+        "or to enable 'Fetch All Pages' to stream the files of all the pages. " +
         "This component requires the configuration of a Service Account to make authorized API calls " +
         "on behalf of the user. The component's configuration uses the private key (in JSON format) " +
         "of the Google Service Account which can be generated and downloaded from the Service Account page. " +
         "More info about Service Accounts and how they can be created and configured can " +
         "be found in the official Google Service Accounts <a href=\"https://cloud.google.com/iam/docs/service-accounts\">Documentation</a> page.")
-public class FileList implements ProcessorSync {
+public class FileList implements ProcessorAsync {
 
     @DialogTitle("Service Account Configuration")
     @Property("Configuration")
@@ -71,6 +78,16 @@ public class FileList implements ProcessorSync {
             "This should be set to the value of 'nextPageToken' from the previous response.")
     private DynamicString nextPageToken;
 
+    @Property("Fetch All Pages")
+    @Group("Paging")
+    @DefaultValue("false")
+    @Example("true")
+    @Description("If true, all the pages of the list are fetched and the files are streamed in the output payload " +
+            "as soon as each page is available. Pages are fetched while the previous one is being consumed, " +
+            "therefore the memory used does not depend on the total number of files. " +
+            "If a page token is given, the listing starts from that page.")
+    private Boolean allPages;
+
     @Property("Filter Query")
     @Group("Filter And Order")
     @Hint("name contains 'hello' and name contains 'goodbye'")
@@ -106,21 +123,45 @@ public class FileList implements ProcessorSync {
             "Each key sorts ascending by default, but may be reversed with the 'desc' modifier.")
     private String orderBy;
 
+    @Property("Additional Fields")
+    @Group("Advanced")
+    @Hint("mimeType,size,modifiedTime")
+    @Example("mimeType,md5Checksum,capabilities/canEdit")
+    @Description("A comma-separated list of file fields to be returned in addition to the default ones. " +
+            "By default only the fields mapped in the output file type are requested to Google Drive. " +
+            "See the <a href=\"https://developers.google.com/drive/api/v3/reference/files\">Files resource</a> " +
+            "documentation for the list of available fields.")
+    private String additionalFields;
+
     @Reference
     ScriptEngineService scriptEngine;
 
     DriveApi driveApi;
 
     private int realPageSize;
+    private boolean realAllPages;
+    private List<String> realAdditionalFields;
 
     @Override
     public void initialize() {
         driveApi = createApi();
         realPageSize = Optional.ofNullable(pageSize).orElse(Default.PAGE_SIZE);
+        realAllPages = Optional.ofNullable(allPages).orElse(Default.ALL_PAGES);
+        realAdditionalFields = FieldUtils.parse(additionalFields);
+    }
+
+    @Override
+    public void dispose() {
+        DriveApiPool.release(driveApi);
+        driveApi = null;
     }
 
     @Override
-    public Message apply(FlowContext flowContext, Message message) {
+    public void apply(FlowContext flowContext, Message message, OnResult callback) {
+        AsyncResult.complete(flowContext, callback, () -> applyAsync(flowContext, message));
+    }
+
+    private CompletableFuture<Message> applyAsync(FlowContext flowContext, Message message) {
 
         String realNextPageToken =
                 scriptEngine.evaluate(nextPageToken, flowContext, message).orElse(null);
@@ -128,14 +169,23 @@ public class FileList implements ProcessorSync {
         String realQuery =
                 scriptEngine.evaluate(query, flowContext, message).orElse(null);
 
-        FileListCommand command =
-                new FileListCommand(driveId, orderBy, realPageSize, realNextPageToken, realQuery);
+        if (realAllPages) {
+            Flux<FileType> driveFiles = FileListStream.from(driveApi, realNextPageToken, (pageToken, consumer) ->
+                    new FileListCommand(driveId, orderBy, realPageSize, pageToken, realQuery, realAdditionalFields, consumer));
+
+            // Pages are listed only when the stream is consumed, and their files are streamed as they are parsed.
+            return CompletableFuture.completedFuture(MessageBuilder.get(FileList.class)
+                    .withStream(driveFiles, FileType.class)
+                    .build());
+        }
 
-        ListOfFiles driveFiles = driveApi.execute(command);
+        FileListCommand command =
+                new FileListCommand(driveId, orderBy, realPageSize, realNextPageToken, realQuery, realAdditionalFields);
 
-        return MessageBuilder.get(FileList.class)
-                .withList(driveFiles, FileType.class)
-                .build();
+        return driveApi.executeAsync(command).thenApply(driveFiles ->
+                MessageBuilder.get(FileList.class)
+                        .withList(driveFiles, FileType.class)
+                        .build());
     }
 
     public void setConfiguration(DriveConfiguration configuration) {
@@ -146,6 +196,10 @@ public class FileList implements ProcessorSync {
         this.nextPageToken = nextPageToken;
     }
 
+    public void setAllPages(Boolean allPages) {
+        this.allPages = allPages;
+    }
+
     public void setPageSize(Integer pageSize) {
         this.pageSize = pageSize;
     }
@@ -158,11 +212,15 @@ public class FileList implements ProcessorSync {
         this.orderBy = orderBy;
     }
 
+    public void setAdditionalFields(String additionalFields) {
+        this.additionalFields = additionalFields;
+    }
+
     public void setQuery(DynamicString query) {
         this.query = query;
     }
 
     DriveApi createApi() {
-        return DriveApiFactory.create(FileList.class, configuration);
+        return DriveApiPool.acquire(FileList.class, configuration);
     }
 }
@@ -1,12 +1,13 @@
 package com.reedelk.google.drive.v3.component;
 
 import com.reedelk.google.drive.v3.internal.DriveApi;
-import com.reedelk.google.drive.v3.internal.DriveApiFactory;
+import com.reedelk.google.drive.v3.internal.DriveApiPool;
 import com.reedelk.google.drive.v3.internal.attribute.FileUpdateAttributes;
 import com.reedelk.google.drive.v3.internal.command.FileUpdateCommand;
 import com.reedelk.google.drive.v3.internal.exception.FileUpdateException;
 import com.reedelk.runtime.api.annotation.*;
-import com.reedelk.runtime.api.component.ProcessorSync;
+import com.reedelk.runtime.api.component.OnResult;
+import com.reedelk.runtime.api.component.ProcessorAsync;
 import com.reedelk.runtime.api.converter.ConverterService;
 import com.reedelk.runtime.api.flow.FlowContext;
 import com.reedelk.runtime.api.message.Message;
@@ -17,6 +18,8 @@ import com.reedelk.runtime.api.script.dynamicvalue.DynamicString;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 
+import java.util.concurrent.CompletableFuture;
+
 import static com.reedelk.google.drive.v3.internal.commons.Messages.FileUpdate.FILE_ID_NULL;
 import static org.osgi.service.component.annotations.ServiceScope.PROTOTYPE;
 
@@ -38,7 +41,7 @@ import static org.osgi.service.component.annotations.ServiceScope.PROTOTYPE;
         "of the Google Service Account which can be generated and downloaded from the Service Account page. " +
         "More info about Service Accounts and how they can be created and configured can " +
         "be found in the official Google Service Accounts <a href=\"https://cloud.google.com/iam/docs/service-accounts\">Documentation</a> page.")
-public class FileUpdate implements ProcessorSync {
+public class FileUpdate implements ProcessorAsync {
 
     @DialogTitle("Service Account Configuration")
     @Property("Configuration")
@@ -63,11 +66,21 @@ public class FileUpdate implements ProcessorSync {
 
     @Override
     public void initialize() {
-        driveApi = DriveApiFactory.create(FileUpdate.class, configuration);
+        driveApi = DriveApiPool.acquire(FileUpdate.class, configuration);
+    }
+
+    @Override
+    public void dispose() {
+        DriveApiPool.release(driveApi);
+        driveApi = null;
     }
 
     @Override
-    public Message apply(FlowContext flowContext, Message message) {
+    public void apply(FlowContext flowContext, Message message, OnResult callback) {
+        AsyncResult.complete(flowContext, callback, () -> applyAsync(flowContext, message));
+    }
+
+    private CompletableFuture<Message> applyAsync(FlowContext flowContext, Message message) {
 
         String realFileId = scriptEngine.evaluate(fileId, flowContext, message)
                 .orElseThrow(() -> new FileUpdateException(FILE_ID_NULL.format(fileId.value())));
@@ -78,14 +91,16 @@ public class FileUpdate implements ProcessorSync {
 
         FileUpdateCommand command = new FileUpdateCommand(realFileId, fileContent);
 
-        driveApi.execute(command);
+        return driveApi.executeAsync(command).thenApply(updated -> {
+            driveApi.invalidateMetadata(realFileId);
 
-        FileUpdateAttributes attributes = new FileUpdateAttributes(realFileId);
+            FileUpdateAttributes attributes = new FileUpdateAttributes(realFileId);
 
-        return MessageBuilder.get(FileUpdate.class)
-                .withString(realFileId, MimeType.TEXT_PLAIN)
-                .attributes(attributes)
-                .build();
+            return MessageBuilder.get(FileUpdate.class)
+                    .withString(realFileId, MimeType.TEXT_PLAIN)
+                    .attributes(attributes)
+                    .build();
+        });
     }
 
     public void setConfiguration(DriveConfiguration configuration) {
@@ -2,23 +2,35 @@ package com.reedelk.google.drive.v3.component;
 
 import com.google.api.services.drive.model.File;
 import com.reedelk.google.drive.v3.internal.DriveApi;
-import com.reedelk.google.drive.v3.internal.DriveApiFactory;
+import com.reedelk.google.drive.v3.internal.DriveApiPool;
 import com.reedelk.google.drive.v3.internal.attribute.FileUploadAttributes;
 import com.reedelk.google.drive.v3.internal.command.FileUploadCommand;
+import com.reedelk.google.drive.v3.internal.command.UploadConversion;
 import com.reedelk.google.drive.v3.internal.exception.FileUploadException;
+import com.reedelk.google.drive.v3.internal.stream.ByteStreamInputStream;
+import com.reedelk.google.drive.v3.internal.upload.DeduplicatingUpload;
 import com.reedelk.runtime.api.annotation.*;
-import com.reedelk.runtime.api.component.ProcessorSync;
+import com.reedelk.runtime.api.component.OnResult;
+import com.reedelk.runtime.api.component.ProcessorAsync;
 import com.reedelk.runtime.api.converter.ConverterService;
 import com.reedelk.runtime.api.flow.FlowContext;
 import com.reedelk.runtime.api.message.Message;
 import com.reedelk.runtime.api.message.MessageBuilder;
 import com.reedelk.runtime.api.message.content.MimeType;
+import com.reedelk.runtime.api.message.content.TypedContent;
 import com.reedelk.runtime.api.script.ScriptEngineService;
 import com.reedelk.runtime.api.script.dynamicvalue.DynamicString;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
 
-import static com.reedelk.google.drive.v3.internal.commons.Default.CONTENT_AS_INDEXABLE_TEXT;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
+import static com.reedelk.google.drive.v3.internal.commons.Default.*;
 import static com.reedelk.google.drive.v3.internal.commons.Messages.FileUpload.FILE_NAME_EMPTY;
 import static com.reedelk.runtime.api.commons.ComponentPrecondition.Configuration.requireNotNull;
 import static java.util.Optional.ofNullable;
@@ -32,7 +44,8 @@ import static org.osgi.service.component.annotations.ServiceScope.PROTOTYPE;
 @ComponentOutput(
         attributes = FileUploadAttributes.class,
         payload = String.class,
-        description = "The ID of the new file created on Google Drive.")
+        description = "The ID of the new file created on Google Drive, or the ID of the existing file " +
+                "when 'If file exists' is not 'Create new' and a file with the same name exists.")
 @Description("Uploads a new file in Google Drive with the given name and optional description. " +
         "The content of the file is taken from the input message payload and if the file was successfully created " +
         "the ID of the file is returned in the output message payload. The default file owner will be the provided Service Account and permissions " +
@@ -43,7 +56,7 @@ import static org.osgi.service.component.annotations.ServiceScope.PROTOTYPE;
         "of the Google Service Account which can be generated and downloaded from the Service Account page. " +
         "More info about Service Accounts and how they can be created and configured can " +
         "be found in the official Google Service Accounts <a href=\"https://cloud.google.com/iam/docs/service-accounts\">Documentation</a> page.")
-public class FileUpload implements ProcessorSync {
+public class FileUpload implements ProcessorAsync {
 
     @DialogTitle("Service Account Configuration")
     @Property("Configuration")
@@ -74,6 +87,41 @@ public class FileUpload implements ProcessorSync {
             "If not specified, the file will be placed directly in the service account's My Drive folder. ")
     private DynamicString parentFolderId;
 
+    @Property("If file exists")
+    @Example("SKIP_IDENTICAL")
+    @DefaultValue("CREATE_NEW")
+    @Description("What to do when a file with the same name already exists in the parent folder. " +
+            "'Create new' always uploads a new file. 'Skip if identical' returns the existing file without uploading " +
+            "the content when its MD5 checksum is equal to the checksum of the content, otherwise a new file is uploaded. " +
+            "'Update existing' returns the identical file as well, otherwise it updates the content of the existing file " +
+            "instead of creating a new one. Files converted to a Google Workspace format have no checksum, " +
+            "therefore converted uploads are never skipped.")
+    private UploadIfExists ifExists = UploadIfExists.CREATE_NEW;
+
+    @Property("Source mime type")
+    @Group("Conversion")
+    @Hint("text/csv")
+    @Example("application/vnd.openxmlformats-officedocument.wordprocessingml.document")
+    @Description("The mime type of the uploaded content. If empty, the content is uploaded as binary content. " +
+            "The source mime type is required to convert the content to a Google Workspace format.")
+    private String sourceMimeType;
+
+    @Property("Convert to")
+    @Group("Conversion")
+    @Example("SPREADSHEET")
+    @InitValue("NONE")
+    @DefaultValue("NONE")
+    @Description("The Google Workspace format the content is converted to by Google Drive, e.g. a CSV file " +
+            "to Google Sheets or a DOCX file to Google Docs. When 'No conversion' the content is stored as it is.")
+    private ConversionTarget convertTo = ConversionTarget.NONE;
+
+    @Property("OCR language")
+    @Group("Conversion")
+    @Hint("en")
+    @Example("de")
+    @Description("The language hint (ISO 639-1 code) for the OCR applied to images and PDFs converted to Google Docs.")
+    private String ocrLanguage;
+
     @Property("Use content as indexable text")
     @DefaultValue("false")
     @Group("Advanced")
@@ -81,6 +129,25 @@ public class FileUpload implements ProcessorSync {
     @Description("Whether to use the uploaded content as indexable text.")
     private Boolean indexableText;
 
+    @Property("Streaming upload")
+    @DefaultValue("false")
+    @Group("Advanced")
+    @Example("true")
+    @Description("If true, the content of the file is uploaded in chunks using the resumable upload protocol. " +
+            "If the input payload is a stream, the stream is uploaded as it is consumed without loading the whole " +
+            "content in memory. A chunk which failed to upload because of a transient error is resumed from the last " +
+            "byte received by Google Drive.")
+    private Boolean streaming;
+
+    @Property("Upload chunk size (KB)")
+    @DefaultValue("10240")
+    @Group("Advanced")
+    @Example("2048")
+    @When(propertyName = "streaming", propertyValue = "true")
+    @Description("The size in KB of each chunk of the resumable upload. The chunk size is rounded up " +
+            "to the nearest multiple of 256 KB. Larger chunks are faster, smaller chunks use less memory.")
+    private Integer chunkSize;
+
     @Reference
     ScriptEngineService scriptEngine;
     @Reference
@@ -88,17 +155,35 @@ public class FileUpload implements ProcessorSync {
 
     DriveApi driveApi;
 
+    private UploadConversion conversion;
     private boolean realIndexableText;
+    private boolean realStreaming;
+    private int realChunkSize;
 
     @Override
     public void initialize() {
         requireNotNull(FileUpload.class, fileName, "Google Drive File name must not be empty.");
         driveApi = createApi();
         realIndexableText = ofNullable(indexableText).orElse(CONTENT_AS_INDEXABLE_TEXT);
+        realStreaming = ofNullable(streaming).orElse(STREAMING_UPLOAD);
+        realChunkSize = ofNullable(chunkSize).orElse(UPLOAD_CHUNK_SIZE_KB) * 1024;
+        conversion = new UploadConversion(sourceMimeType,
+                ofNullable(convertTo).orElse(ConversionTarget.NONE).mimeType(),
+                ocrLanguage);
     }
 
     @Override
-    public Message apply(FlowContext flowContext, Message message) {
+    public void dispose() {
+        DriveApiPool.release(driveApi);
+        driveApi = null;
+    }
+
+    @Override
+    public void apply(FlowContext flowContext, Message message, OnResult callback) {
+        AsyncResult.complete(flowContext, callback, () -> applyAsync(flowContext, message));
+    }
+
+    private CompletableFuture<Message> applyAsync(FlowContext flowContext, Message message) {
 
         String finalFileName = scriptEngine.evaluate(fileName, flowContext, message)
                 .orElseThrow(() -> new FileUploadException(FILE_NAME_EMPTY.format(fileName.value())));
@@ -109,21 +194,32 @@ public class FileUpload implements ProcessorSync {
         String finalParentFolderId = scriptEngine.evaluate(parentFolderId, flowContext, message)
                 .orElse(null); // Not mandatory.
 
-        Object payload = message.payload();
+        if (ifExists != null && ifExists != UploadIfExists.CREATE_NEW) {
+            // Searching for an existing file and uploading take more than one request.
+            return driveApi.supplyAsync(() ->
+                    deduplicatingUpload(message, finalFileName, finalFileDescription, finalParentFolderId));
+        }
 
-        byte[] fileContent = converterService.convert(payload, byte[].class);
+        if (realStreaming) {
+            // The stream is read by the I/O thread sending the request, and closed once the upload has completed.
+            InputStream fileStream = streamOf(message);
+            FileUploadCommand command =
+                    new FileUploadCommand(finalFileName, finalFileDescription, finalParentFolderId, realIndexableText, fileStream, realChunkSize, conversion);
+            return driveApi.executeAsync(command)
+                    .whenComplete((file, exception) -> closeQuietly(fileStream))
+                    .thenApply(FileUpload::uploaded);
 
-        FileUploadCommand command =
-                new FileUploadCommand(finalFileName, finalFileDescription, finalParentFolderId, realIndexableText, fileContent);
+        } else {
+            Object payload = message.payload();
 
-        File file = driveApi.execute(command);
+            byte[] fileContent = converterService.convert(payload, byte[].class);
 
-        FileUploadAttributes attributes = new FileUploadAttributes(file);
+            FileUploadCommand command =
+                    new FileUploadCommand(finalFileName, finalFileDescription, finalParentFolderId, realIndexableText, fileContent, conversion);
 
-        return MessageBuilder.get(FileUpload.class)
-                .withString(file.getId(), MimeType.TEXT_PLAIN)
-                .attributes(attributes)
-                .build();
+            return driveApi.executeAsync(command)
+                    .thenApply(FileUpload::uploaded);
+        }
     }
 
     public void setFileDescription(DynamicString fileDescription) {
@@ -138,15 +234,97 @@ public class FileUpload implements ProcessorSync {
         this.parentFolderId = parentFolderId;
     }
 
+    public void setIfExists(UploadIfExists ifExists) {
+        this.ifExists = ifExists;
+    }
+
+    public void setSourceMimeType(String sourceMimeType) {
+        this.sourceMimeType = sourceMimeType;
+    }
+
+    public void setConvertTo(ConversionTarget convertTo) {
+        this.convertTo = convertTo;
+    }
+
+    public void setOcrLanguage(String ocrLanguage) {
+        this.ocrLanguage = ocrLanguage;
+    }
+
     public void setIndexableText(Boolean indexableText) {
         this.indexableText = indexableText;
     }
 
+    public void setStreaming(Boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    public void setChunkSize(Integer chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
     public void setFileName(DynamicString fileName) {
         this.fileName = fileName;
     }
 
+    private Message deduplicatingUpload(Message message, String fileName, String fileDescription, String parentFolderId) {
+        DeduplicatingUpload upload = new DeduplicatingUpload(driveApi, ifExists,
+                fileName, fileDescription, parentFolderId, realIndexableText, realStreaming ? realChunkSize : 0, conversion);
+
+        File file;
+        if (realStreaming) {
+            try (InputStream fileStream = streamOf(message)) {
+                file = upload.upload(fileStream);
+            } catch (IOException exception) {
+                // Thrown only if the stream could not be closed, the file was uploaded anyway.
+                throw new FileUploadException(exception.getMessage(), exception);
+            }
+        } else {
+            byte[] fileContent = converterService.convert(message.payload(), byte[].class);
+            file = upload.upload(fileContent);
+        }
+
+        if (!upload.isDeduplicated()) {
+            driveApi.invalidateMetadata(file.getId());
+        }
+
+        return MessageBuilder.get(FileUpload.class)
+                .withString(file.getId(), MimeType.TEXT_PLAIN)
+                .attributes(new FileUploadAttributes(file, upload.isDeduplicated()))
+                .build();
+    }
+
+    private static Message uploaded(File file) {
+        FileUploadAttributes attributes = new FileUploadAttributes(file);
+
+        return MessageBuilder.get(FileUpload.class)
+                .withString(file.getId(), MimeType.TEXT_PLAIN)
+                .attributes(attributes)
+                .build();
+    }
+
+    private InputStream streamOf(Message message) {
+        TypedContent<?, ?> content = message.getContent();
+        if (content.isStream()) {
+            // The stream might be a stream of strings, therefore each chunk is converted to bytes.
+            Publisher<byte[]> chunks = Flux.from(content.stream())
+                    .map(chunk -> converterService.convert(chunk, byte[].class));
+            return new ByteStreamInputStream(chunks);
+
+        } else {
+            byte[] fileContent = converterService.convert(message.payload(), byte[].class);
+            return new ByteArrayInputStream(ofNullable(fileContent).orElse(new byte[0]));
+        }
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException exception) {
+            // The upload has completed or failed already: nothing else can be done.
+        }
+    }
+
     DriveApi createApi() {
-        return DriveApiFactory.create(FileUpload.class, configuration);
+        return DriveApiPool.acquire(FileUpload.class, configuration);
     }
 }
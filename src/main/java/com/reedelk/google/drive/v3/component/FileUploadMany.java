@@ -0,0 +1,208 @@
+package com.reedelk.google.drive.v3.component;
+
+import com.google.api.services.drive.model.File;
+import com.reedelk.google.drive.v3.internal.DriveApi;
+import com.reedelk.google.drive.v3.internal.DriveApiPool;
+import com.reedelk.google.drive.v3.internal.attribute.BatchAttributes;
+import com.reedelk.google.drive.v3.internal.command.FileUploadCommand;
+import com.reedelk.google.drive.v3.internal.exception.FileUploadException;
+import com.reedelk.google.drive.v3.internal.type.ItemResult;
+import com.reedelk.google.drive.v3.internal.type.ListOfItemResults;
+import com.reedelk.runtime.api.annotation.*;
+import com.reedelk.runtime.api.component.OnResult;
+import com.reedelk.runtime.api.component.ProcessorAsync;
+import com.reedelk.runtime.api.converter.ConverterService;
+import com.reedelk.runtime.api.flow.FlowContext;
+import com.reedelk.runtime.api.message.Message;
+import com.reedelk.runtime.api.message.MessageBuilder;
+import com.reedelk.runtime.api.script.ScriptEngineService;
+import com.reedelk.runtime.api.script.dynamicvalue.DynamicString;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.reedelk.google.drive.v3.internal.commons.Default.CONTENT_AS_INDEXABLE_TEXT;
+import static com.reedelk.google.drive.v3.internal.commons.Default.UPLOAD_PARALLELISM;
+import static com.reedelk.google.drive.v3.internal.commons.Messages.FileUpload.ITEM_INVALID;
+import static com.reedelk.runtime.api.commons.ComponentPrecondition.Input;
+import static com.reedelk.runtime.api.commons.StringUtils.isBlank;
+import static com.reedelk.runtime.api.commons.StringUtils.isNotBlank;
+import static org.osgi.service.component.annotations.ServiceScope.PROTOTYPE;
+
+@ModuleComponent("Drive File Upload Many")
+@Component(service = FileUploadMany.class, scope = PROTOTYPE)
+@ComponentOutput(
+        attributes = BatchAttributes.class,
+        payload = ListOfItemResults.class,
+        description = "The result of each upload, in the same order as the input items. " +
+                "The ID of each result is the ID of the new file created on Google Drive.")
+@ComponentInput(
+        payload = List.class,
+        description = "The list of files to upload. Each item is a map with the 'name' and 'content' of the file, " +
+                "and optionally the 'parentFolderId' and the 'description' of the file.")
+@Description("Uploads many files in Google Drive concurrently, using at most 'Parallelism' concurrent uploads. " +
+        "The files to be uploaded are taken from the input message payload: a list of maps each one with the " +
+        "'name' and 'content' of a file, and optionally its 'parentFolderId' and 'description'. If the parent folder ID of " +
+        "an item is not given, the 'Parent Folder ID' property is used. A file which could not be uploaded does not stop " +
+        "the upload of the other files: the error is reported in the result of the item instead. " +
+        "This component requires the configuration of a Service Account to make authorized API calls " +
+        "on behalf of the user. The component's configuration uses the private key (in JSON format) " +
+        "of the Google Service Account which can be generated and downloaded from the Service Account page. " +
+        "More info about Service Accounts and how they can be created and configured can " +
+        "be found in the official Google Service Accounts <a href=\"https://cloud.google.com/iam/docs/service-accounts\">Documentation</a> page.")
+public class FileUploadMany implements ProcessorAsync {
+
+    static final String NAME = "name";
+    static final String CONTENT = "content";
+    static final String PARENT_FOLDER_ID = "parentFolderId";
+    static final String DESCRIPTION = "description";
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    @DialogTitle("Service Account Configuration")
+    @Property("Configuration")
+    @Mandatory
+    @Description("The Google Service Account Configuration to be used to connect to Google Drive." +
+            "This component requires the configuration of a Service Account to make authorized API calls " +
+            "on behalf of the user. More info about Service Accounts and how they can be configured can " +
+            "be found at the following <a href=\"https://cloud.google.com/iam/docs/service-accounts\">link</a>.")
+    private DriveConfiguration configuration;
+
+    @Property("Parent Folder ID")
+    @Hint("0BwwA4oUTeiV1TGRPeTVjaWRDY1E")
+    @Example("0BwwA4oUTeiV1TGRPeTVjaWRDY1E")
+    @Description("The ID of the parent folder of the files which do not define a 'parentFolderId'. " +
+            "If not specified, those files are placed directly in the service account's My Drive folder.")
+    private DynamicString parentFolderId;
+
+    @Property("Parallelism")
+    @Hint("4")
+    @Example("8")
+    @DefaultValue("4")
+    @Description("The maximum number of files uploaded concurrently.")
+    private Integer parallelism;
+
+    @Property("Use content as indexable text")
+    @DefaultValue("false")
+    @Group("Advanced")
+    @Example("true")
+    @Description("Whether to use the uploaded content as indexable text.")
+    private Boolean indexableText;
+
+    @Reference
+    ScriptEngineService scriptEngine;
+    @Reference
+    ConverterService converterService;
+
+    DriveApi driveApi;
+
+    private ExecutorService executor;
+    private boolean realIndexableText;
+
+    @Override
+    public void initialize() {
+        driveApi = createApi();
+        realIndexableText = Optional.ofNullable(indexableText).orElse(CONTENT_AS_INDEXABLE_TEXT);
+        int realParallelism = Math.max(1, Optional.ofNullable(parallelism).orElse(UPLOAD_PARALLELISM));
+        // The executor is shared by all the messages processed by this component, therefore the number
+        // of concurrent uploads is bounded even when many messages are processed at the same time.
+        executor = Executors.newFixedThreadPool(realParallelism, runnable -> {
+            Thread thread = new Thread(runnable, "drive-file-upload-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void dispose() {
+        if (executor != null) executor.shutdownNow();
+        DriveApiPool.release(driveApi);
+        driveApi = null;
+    }
+
+    @Override
+    public void apply(FlowContext flowContext, Message message, OnResult callback) {
+        AsyncResult.complete(flowContext, callback, () -> applyAsync(flowContext, message));
+    }
+
+    private CompletableFuture<Message> applyAsync(FlowContext flowContext, Message message) {
+        Object payload = message.payload();
+
+        Input.requireTypeMatchesAny(FileUploadMany.class, payload, List.class);
+
+        String defaultParentFolderId = scriptEngine.evaluate(parentFolderId, flowContext, message)
+                .orElse(null); // Not mandatory.
+
+        List<?> items = (List<?>) payload;
+        List<CompletableFuture<ItemResult>> uploads = new ArrayList<>(items.size());
+        for (int index = 0; index < items.size(); index++) {
+            Object item = items.get(index);
+            int itemIndex = index;
+            uploads.add(CompletableFuture.supplyAsync(() -> upload(itemIndex, item, defaultParentFolderId), executor));
+        }
+
+        // No thread waits for the uploads: the message is built by the thread completing the last one.
+        return CompletableFuture.allOf(uploads.toArray(new CompletableFuture<?>[0])).thenApply(completed -> {
+            ListOfItemResults itemResults = new ListOfItemResults();
+            uploads.forEach(upload -> itemResults.add(upload.join()));
+
+            return MessageBuilder.get(FileUploadMany.class)
+                    .withList(itemResults, ItemResult.class)
+                    .attributes(new BatchAttributes(itemResults))
+                    .build();
+        });
+    }
+
+    public void setConfiguration(DriveConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    public void setParentFolderId(DynamicString parentFolderId) {
+        this.parentFolderId = parentFolderId;
+    }
+
+    public void setParallelism(Integer parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public void setIndexableText(Boolean indexableText) {
+        this.indexableText = indexableText;
+    }
+
+    private ItemResult upload(int index, Object item, String defaultParentFolderId) {
+        String fileName = item instanceof Map ? stringOf(((Map<?, ?>) item).get(NAME)) : null;
+        try {
+            if (isBlank(fileName) || !((Map<?, ?>) item).containsKey(CONTENT)) {
+                throw new FileUploadException(ITEM_INVALID.format(index));
+            }
+            Map<?, ?> entries = (Map<?, ?>) item;
+            String itemParentFolderId = stringOf(entries.get(PARENT_FOLDER_ID));
+            String finalParentFolderId = isNotBlank(itemParentFolderId) ? itemParentFolderId : defaultParentFolderId;
+            Object content = entries.get(CONTENT);
+            byte[] fileContent = content == null ? new byte[0] : converterService.convert(content, byte[].class);
+
+            FileUploadCommand command = new FileUploadCommand(fileName, stringOf(entries.get(DESCRIPTION)),
+                    finalParentFolderId, realIndexableText, fileContent);
+
+            File file = driveApi.execute(command);
+            return ItemResult.success(fileName, file.getId());
+
+        } catch (RuntimeException exception) {
+            return ItemResult.failure(fileName, exception);
+        }
+    }
+
+    private String stringOf(Object value) {
+        return value == null ? null : converterService.convert(value, String.class);
+    }
+
+    DriveApi createApi() {
+        return DriveApiPool.acquire(FileUploadMany.class, configuration);
+    }
+}
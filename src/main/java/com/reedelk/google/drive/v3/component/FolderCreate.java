@@ -1,13 +1,13 @@
 package com.reedelk.google.drive.v3.component;
 
-import com.google.api.services.drive.model.File;
 import com.reedelk.google.drive.v3.internal.DriveApi;
-import com.reedelk.google.drive.v3.internal.DriveApiFactory;
+import com.reedelk.google.drive.v3.internal.DriveApiPool;
 import com.reedelk.google.drive.v3.internal.attribute.FolderCreateAttributes;
 import com.reedelk.google.drive.v3.internal.command.FolderCreateCommand;
 import com.reedelk.google.drive.v3.internal.exception.FolderCreateException;
 import com.reedelk.runtime.api.annotation.*;
-import com.reedelk.runtime.api.component.ProcessorSync;
+import com.reedelk.runtime.api.component.OnResult;
+import com.reedelk.runtime.api.component.ProcessorAsync;
 import com.reedelk.runtime.api.converter.ConverterService;
 import com.reedelk.runtime.api.flow.FlowContext;
 import com.reedelk.runtime.api.message.Message;
@@ -18,6 +18,8 @@ import com.reedelk.runtime.api.script.dynamicvalue.DynamicString;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 
+import java.util.concurrent.CompletableFuture;
+
 import static com.reedelk.google.drive.v3.internal.commons.Messages.FolderCreate.FOLDER_NAME_NULL;
 import static com.reedelk.runtime.api.commons.ComponentPrecondition.Input;
 import static com.reedelk.runtime.api.commons.DynamicValueUtils.isNullOrBlank;
@@ -41,7 +43,7 @@ import static org.osgi.service.component.annotations.ServiceScope.PROTOTYPE;
         "of the Google Service Account which can be generated and downloaded from the Service Account page. " +
         "More info about Service Accounts and how they can be created and configured can " +
         "be found in the official Google Service Accounts <a href=\"https://cloud.google.com/iam/docs/service-accounts\">Documentation</a> page.")
-public class FolderCreate implements ProcessorSync {
+public class FolderCreate implements ProcessorAsync {
 
     @DialogTitle("Service Account Configuration")
     @Property("Configuration")
@@ -83,7 +85,17 @@ public class FolderCreate implements ProcessorSync {
     }
 
     @Override
-    public Message apply(FlowContext flowContext, Message message) {
+    public void dispose() {
+        DriveApiPool.release(driveApi);
+        driveApi = null;
+    }
+
+    @Override
+    public void apply(FlowContext flowContext, Message message, OnResult callback) {
+        AsyncResult.complete(flowContext, callback, () -> applyAsync(flowContext, message));
+    }
+
+    private CompletableFuture<Message> applyAsync(FlowContext flowContext, Message message) {
 
         String finalFolderName;
         if (isNullOrBlank(folderName)) {
@@ -110,14 +122,14 @@ public class FolderCreate implements ProcessorSync {
         FolderCreateCommand command =
                 new FolderCreateCommand(finalFolderName, finalFolderDescription, finalParentFolderId);
 
-        File folder = driveApi.execute(command);
-
-        FolderCreateAttributes attributes = new FolderCreateAttributes(folder);
+        return driveApi.executeAsync(command).thenApply(folder -> {
+            FolderCreateAttributes attributes = new FolderCreateAttributes(folder);
 
-        return MessageBuilder.get(FolderCreate.class)
-                .withString(folder.getId(), MimeType.TEXT_PLAIN)
-                .attributes(attributes)
-                .build();
+            return MessageBuilder.get(FolderCreate.class)
+                    .withString(folder.getId(), MimeType.TEXT_PLAIN)
+                    .attributes(attributes)
+                    .build();
+        });
     }
 
     public void setFolderDescription(DynamicString folderDescription) {
@@ -137,6 +149,6 @@ public class FolderCreate implements ProcessorSync {
     }
 
     DriveApi createApi() {
-        return DriveApiFactory.create(FolderCreate.class, configuration);
+        return DriveApiPool.acquire(FolderCreate.class, configuration);
     }
 }
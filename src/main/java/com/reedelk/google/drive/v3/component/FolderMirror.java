@@ -0,0 +1,196 @@
+package com.reedelk.google.drive.v3.component;
+
+import com.reedelk.google.drive.v3.internal.DriveApi;
+import com.reedelk.google.drive.v3.internal.DriveApiPool;
+import com.reedelk.google.drive.v3.internal.attribute.FolderSyncAttributes;
+import com.reedelk.google.drive.v3.internal.exception.FolderMirrorException;
+import com.reedelk.google.drive.v3.internal.sync.DriveToLocalMirror;
+import com.reedelk.google.drive.v3.internal.sync.MirrorManifest;
+import com.reedelk.google.drive.v3.internal.type.ListOfSyncedFiles;
+import com.reedelk.google.drive.v3.internal.type.SyncedFile;
+import com.reedelk.runtime.api.annotation.*;
+import com.reedelk.runtime.api.component.OnResult;
+import com.reedelk.runtime.api.component.ProcessorAsync;
+import com.reedelk.runtime.api.flow.FlowContext;
+import com.reedelk.runtime.api.message.Message;
+import com.reedelk.runtime.api.message.MessageBuilder;
+import com.reedelk.runtime.api.script.ScriptEngineService;
+import com.reedelk.runtime.api.script.dynamicvalue.DynamicString;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.reedelk.google.drive.v3.internal.commons.Default.*;
+import static com.reedelk.google.drive.v3.internal.commons.Messages.FolderMirror.*;
+import static com.reedelk.runtime.api.commons.StringUtils.isBlank;
+import static com.reedelk.runtime.api.commons.StringUtils.isNotBlank;
+import static org.osgi.service.component.annotations.ServiceScope.PROTOTYPE;
+
+@ModuleComponent("Drive Folder Mirror")
+@Component(service = FolderMirror.class, scope = PROTOTYPE)
+@ComponentOutput(
+        attributes = FolderSyncAttributes.class,
+        payload = ListOfSyncedFiles.class,
+        description = "The local files created, updated or deleted. Files which did not change are not included.")
+@ComponentInput(
+        payload = Object.class,
+        description = "The input payload to evaluate the folder ID and local directory expressions.")
+@Description("Mirrors the content of a Google Drive folder to a local directory. " +
+        "The whole folder hierarchy is listed from Google Drive first, and each file is compared with the version recorded " +
+        "in a local manifest when it was last downloaded: only new and changed files are downloaded, directly to disk " +
+        "and in parallel. If the mirror is interrupted, the next execution resumes from the files already downloaded. " +
+        "Local files mirrored from files which were removed from Google Drive can optionally be deleted. " +
+        "Google Docs files are not mirrored, since they have no binary content. " +
+        "This component requires the configuration of a Service Account to make authorized API calls " +
+        "on behalf of the user. The component's configuration uses the private key (in JSON format) " +
+        "of the Google Service Account which can be generated and downloaded from the Service Account page. " +
+        "More info about Service Accounts and how they can be created and configured can " +
+        "be found in the official Google Service Accounts <a href=\"https://cloud.google.com/iam/docs/service-accounts\">Documentation</a> page.")
+public class FolderMirror implements ProcessorAsync {
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    @DialogTitle("Service Account Configuration")
+    @Property("Configuration")
+    @Mandatory
+    @Description("The Google Service Account Configuration to be used to connect to Google Drive." +
+            "This component requires the configuration of a Service Account to make authorized API calls " +
+            "on behalf of the user. More info about Service Accounts and how they can be configured can " +
+            "be found at the following <a href=\"https://cloud.google.com/iam/docs/service-accounts\">link</a>.")
+    private DriveConfiguration configuration;
+
+    @Property("Folder ID")
+    @Hint("1f1Vx-AanOdkVEQoewRhUQibOiyXq_RHG")
+    @Example("1f1Vx-AanOdkVEQoewRhUQibOiyXq_RHG")
+    @Description("The ID of the Google Drive folder to be mirrored.")
+    private DynamicString folderId;
+
+    @Property("Local Directory")
+    @Hint("/var/imports/reports")
+    @Example("/var/imports/reports")
+    @Description("The path of the local directory where the content of the folder is mirrored to. " +
+            "The directory is created if it does not exist.")
+    private DynamicString localDirectory;
+
+    @Property("Delete Removed")
+    @DefaultValue("false")
+    @Description("If true, local files previously mirrored from files which were removed from Google Drive are deleted. " +
+            "Local files which were not mirrored from Google Drive are never deleted.")
+    private Boolean deleteRemoved;
+
+    @Property("Manifest File")
+    @Group("Advanced")
+    @Hint("/var/lib/mirror/reports.properties")
+    @Example("/var/lib/mirror/reports.properties")
+    @Description("The path of the file where the versions of the mirrored files are recorded. " +
+            "If empty, the file '.drive-mirror.properties' in the local directory is used.")
+    private String manifestFile;
+
+    @Property("Parallelism")
+    @Group("Advanced")
+    @Hint("4")
+    @Example("8")
+    @DefaultValue("4")
+    @Description("The maximum number of files downloaded concurrently. " +
+            "The same number of concurrent requests is used to list the Google Drive folder.")
+    private Integer parallelism;
+
+    @Reference
+    ScriptEngineService scriptEngine;
+
+    DriveApi driveApi;
+
+    private ExecutorService executor;
+    private int realParallelism;
+    private boolean realDeleteRemoved;
+
+    @Override
+    public void initialize() {
+        driveApi = createApi();
+        realParallelism = Math.max(1, Optional.ofNullable(parallelism).orElse(SYNC_PARALLELISM));
+        realDeleteRemoved = Optional.ofNullable(deleteRemoved).orElse(SYNC_DELETE_REMOVED);
+        // Each mirror has its own thread, which starts the transfers and waits for them: the transfers
+        // themselves run on the I/O threads of the client.
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "drive-folder-mirror-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void dispose() {
+        if (executor != null) executor.shutdownNow();
+        DriveApiPool.release(driveApi);
+        driveApi = null;
+    }
+
+    @Override
+    public void apply(FlowContext flowContext, Message message, OnResult callback) {
+        AsyncResult.complete(flowContext, callback, () -> applyAsync(flowContext, message));
+    }
+
+    private CompletableFuture<Message> applyAsync(FlowContext flowContext, Message message) {
+        String realFolderId = scriptEngine.evaluate(folderId, flowContext, message)
+                .orElseThrow(() -> new FolderMirrorException(FOLDER_ID_NULL.format(folderId == null ? null : folderId.value())));
+
+        if (isBlank(realFolderId)) {
+            throw new FolderMirrorException(FOLDER_ID_EMPTY.format());
+        }
+
+        String realLocalDirectory = scriptEngine.evaluate(localDirectory, flowContext, message)
+                .orElseThrow(() -> new FolderMirrorException(LOCAL_DIRECTORY_NULL.format(localDirectory == null ? null : localDirectory.value())));
+
+        Path directory = Paths.get(realLocalDirectory);
+        Path manifestPath = isNotBlank(manifestFile) ?
+                Paths.get(manifestFile) :
+                directory.resolve(MIRROR_MANIFEST_FILE_NAME);
+
+        DriveToLocalMirror mirror = new DriveToLocalMirror(driveApi, realFolderId, directory,
+                new MirrorManifest(manifestPath), realParallelism, realDeleteRemoved);
+
+        return CompletableFuture.supplyAsync(() -> {
+            ListOfSyncedFiles mirrored = mirror.mirror();
+
+            return MessageBuilder.get(FolderMirror.class)
+                    .withList(mirrored, SyncedFile.class)
+                    .attributes(new FolderSyncAttributes(mirrored, mirror.getSkipped()))
+                    .build();
+        }, executor);
+    }
+
+    public void setConfiguration(DriveConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    public void setFolderId(DynamicString folderId) {
+        this.folderId = folderId;
+    }
+
+    public void setLocalDirectory(DynamicString localDirectory) {
+        this.localDirectory = localDirectory;
+    }
+
+    public void setDeleteRemoved(Boolean deleteRemoved) {
+        this.deleteRemoved = deleteRemoved;
+    }
+
+    public void setManifestFile(String manifestFile) {
+        this.manifestFile = manifestFile;
+    }
+
+    public void setParallelism(Integer parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    DriveApi createApi() {
+        return DriveApiPool.acquire(FolderMirror.class, configuration);
+    }
+}
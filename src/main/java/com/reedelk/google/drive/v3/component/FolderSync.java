@@ -0,0 +1,190 @@
+package com.reedelk.google.drive.v3.component;
+
+import com.reedelk.google.drive.v3.internal.DriveApi;
+import com.reedelk.google.drive.v3.internal.DriveApiPool;
+import com.reedelk.google.drive.v3.internal.attribute.FolderSyncAttributes;
+import com.reedelk.google.drive.v3.internal.exception.FolderSyncException;
+import com.reedelk.google.drive.v3.internal.sync.LocalToDriveSync;
+import com.reedelk.google.drive.v3.internal.type.ListOfSyncedFiles;
+import com.reedelk.google.drive.v3.internal.type.SyncedFile;
+import com.reedelk.runtime.api.annotation.*;
+import com.reedelk.runtime.api.component.OnResult;
+import com.reedelk.runtime.api.component.ProcessorAsync;
+import com.reedelk.runtime.api.flow.FlowContext;
+import com.reedelk.runtime.api.message.Message;
+import com.reedelk.runtime.api.message.MessageBuilder;
+import com.reedelk.runtime.api.script.ScriptEngineService;
+import com.reedelk.runtime.api.script.dynamicvalue.DynamicString;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.reedelk.google.drive.v3.internal.commons.Default.*;
+import static com.reedelk.google.drive.v3.internal.commons.Messages.FolderSync.*;
+import static com.reedelk.runtime.api.commons.StringUtils.isBlank;
+import static org.osgi.service.component.annotations.ServiceScope.PROTOTYPE;
+
+@ModuleComponent("Drive Folder Sync")
+@Component(service = FolderSync.class, scope = PROTOTYPE)
+@ComponentOutput(
+        attributes = FolderSyncAttributes.class,
+        payload = ListOfSyncedFiles.class,
+        description = "The files and folders created, updated or deleted in Google Drive. " +
+                "Files which did not change are not included.")
+@ComponentInput(
+        payload = Object.class,
+        description = "The input payload to evaluate the local directory and folder ID expressions.")
+@Description("Synchronizes the content of a local directory to a folder in Google Drive. " +
+        "The whole folder hierarchy is listed from Google Drive first, and each local file is compared with the remote one " +
+        "using size and MD5 checksum: only new and changed files are uploaded, and the upload of many files is executed in parallel. " +
+        "Files and folders removed from the local directory can optionally be deleted from Google Drive. " +
+        "A file which could not be synced does not stop the sync of the other files: the error is reported " +
+        "in the result of the file instead. " +
+        "This component requires the configuration of a Service Account to make authorized API calls " +
+        "on behalf of the user. The component's configuration uses the private key (in JSON format) " +
+        "of the Google Service Account which can be generated and downloaded from the Service Account page. " +
+        "More info about Service Accounts and how they can be created and configured can " +
+        "be found in the official Google Service Accounts <a href=\"https://cloud.google.com/iam/docs/service-accounts\">Documentation</a> page.")
+public class FolderSync implements ProcessorAsync {
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    @DialogTitle("Service Account Configuration")
+    @Property("Configuration")
+    @Mandatory
+    @Description("The Google Service Account Configuration to be used to connect to Google Drive." +
+            "This component requires the configuration of a Service Account to make authorized API calls " +
+            "on behalf of the user. More info about Service Accounts and how they can be configured can " +
+            "be found at the following <a href=\"https://cloud.google.com/iam/docs/service-accounts\">link</a>.")
+    private DriveConfiguration configuration;
+
+    @Property("Local Directory")
+    @Hint("/var/exports/reports")
+    @Example("/var/exports/reports")
+    @Description("The path of the local directory to be synchronized to Google Drive.")
+    private DynamicString localDirectory;
+
+    @Property("Folder ID")
+    @Hint("1f1Vx-AanOdkVEQoewRhUQibOiyXq_RHG")
+    @Example("1f1Vx-AanOdkVEQoewRhUQibOiyXq_RHG")
+    @Description("The ID of the Google Drive folder where the content of the local directory is synchronized to.")
+    private DynamicString folderId;
+
+    @Property("Delete Removed")
+    @DefaultValue("false")
+    @Description("If true, files and folders in Google Drive which do not exist in the local directory are deleted.")
+    private Boolean deleteRemoved;
+
+    @Property("Parallelism")
+    @Group("Advanced")
+    @Hint("4")
+    @Example("8")
+    @DefaultValue("4")
+    @Description("The maximum number of files uploaded concurrently. " +
+            "The same number of concurrent requests is used to list the Google Drive folder.")
+    private Integer parallelism;
+
+    @Property("Upload chunk size (KB)")
+    @Group("Advanced")
+    @Hint("10240")
+    @Example("5120")
+    @DefaultValue("10240")
+    @Description("The size in KB of each chunk of the resumable uploads. The chunk size is rounded up " +
+            "to the nearest multiple of 256 KB. Larger chunks are faster, smaller chunks use less memory.")
+    private Integer chunkSize;
+
+    @Reference
+    ScriptEngineService scriptEngine;
+
+    DriveApi driveApi;
+
+    private ExecutorService executor;
+    private int realParallelism;
+    private int realChunkSize;
+    private boolean realDeleteRemoved;
+
+    @Override
+    public void initialize() {
+        driveApi = createApi();
+        realParallelism = Math.max(1, Optional.ofNullable(parallelism).orElse(SYNC_PARALLELISM));
+        realChunkSize = Optional.ofNullable(chunkSize).orElse(UPLOAD_CHUNK_SIZE_KB) * 1024;
+        realDeleteRemoved = Optional.ofNullable(deleteRemoved).orElse(SYNC_DELETE_REMOVED);
+        // Each sync has its own thread, which starts the transfers and waits for them: the transfers
+        // themselves run on the I/O threads of the client.
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "drive-folder-sync-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void dispose() {
+        if (executor != null) executor.shutdownNow();
+        DriveApiPool.release(driveApi);
+        driveApi = null;
+    }
+
+    @Override
+    public void apply(FlowContext flowContext, Message message, OnResult callback) {
+        AsyncResult.complete(flowContext, callback, () -> applyAsync(flowContext, message));
+    }
+
+    private CompletableFuture<Message> applyAsync(FlowContext flowContext, Message message) {
+        String realLocalDirectory = scriptEngine.evaluate(localDirectory, flowContext, message)
+                .orElseThrow(() -> new FolderSyncException(LOCAL_DIRECTORY_NULL.format(localDirectory == null ? null : localDirectory.value())));
+
+        String realFolderId = scriptEngine.evaluate(folderId, flowContext, message)
+                .orElseThrow(() -> new FolderSyncException(FOLDER_ID_NULL.format(folderId == null ? null : folderId.value())));
+
+        if (isBlank(realFolderId)) {
+            throw new FolderSyncException(FOLDER_ID_EMPTY.format());
+        }
+
+        LocalToDriveSync sync = new LocalToDriveSync(driveApi, Paths.get(realLocalDirectory),
+                realFolderId, realParallelism, realChunkSize, realDeleteRemoved);
+
+        return CompletableFuture.supplyAsync(() -> {
+            ListOfSyncedFiles synced = sync.sync();
+
+            return MessageBuilder.get(FolderSync.class)
+                    .withList(synced, SyncedFile.class)
+                    .attributes(new FolderSyncAttributes(synced, sync.getSkipped()))
+                    .build();
+        }, executor);
+    }
+
+    public void setConfiguration(DriveConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    public void setLocalDirectory(DynamicString localDirectory) {
+        this.localDirectory = localDirectory;
+    }
+
+    public void setFolderId(DynamicString folderId) {
+        this.folderId = folderId;
+    }
+
+    public void setDeleteRemoved(Boolean deleteRemoved) {
+        this.deleteRemoved = deleteRemoved;
+    }
+
+    public void setParallelism(Integer parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public void setChunkSize(Integer chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    DriveApi createApi() {
+        return DriveApiPool.acquire(FolderSync.class, configuration);
+    }
+}
@@ -0,0 +1,200 @@
+package com.reedelk.google.drive.v3.component;
+
+import com.reedelk.google.drive.v3.internal.DriveApi;
+import com.reedelk.google.drive.v3.internal.DriveApiPool;
+import com.reedelk.google.drive.v3.internal.commons.FieldUtils;
+import com.reedelk.google.drive.v3.internal.exception.FolderWalkException;
+import com.reedelk.google.drive.v3.internal.type.WalkedFile;
+import com.reedelk.google.drive.v3.internal.walk.FolderWalker;
+import com.reedelk.runtime.api.annotation.*;
+import com.reedelk.runtime.api.component.OnResult;
+import com.reedelk.runtime.api.component.ProcessorAsync;
+import com.reedelk.runtime.api.converter.ConverterService;
+import com.reedelk.runtime.api.flow.FlowContext;
+import com.reedelk.runtime.api.message.Message;
+import com.reedelk.runtime.api.message.MessageBuilder;
+import com.reedelk.runtime.api.script.ScriptEngineService;
+import com.reedelk.runtime.api.script.dynamicvalue.DynamicString;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static com.reedelk.google.drive.v3.internal.commons.Default.*;
+import static com.reedelk.google.drive.v3.internal.commons.Messages.FolderWalk.FOLDER_ID_EMPTY;
+import static com.reedelk.google.drive.v3.internal.commons.Messages.FolderWalk.FOLDER_ID_NULL;
+import static com.reedelk.runtime.api.commons.ComponentPrecondition.Input;
+import static com.reedelk.runtime.api.commons.DynamicValueUtils.isNullOrBlank;
+import static com.reedelk.runtime.api.commons.StringUtils.isBlank;
+import static org.osgi.service.component.annotations.ServiceScope.PROTOTYPE;
+
+@ModuleComponent("Drive Folder Walk")
+@Component(service = FolderWalk.class, scope = PROTOTYPE)
+@ComponentOutput(
+        payload = WalkedFile.class,
+        description = "A stream of all the files and folders contained in the folder hierarchy, " +
+                "each one with its path relative to the walked folder.")
+@ComponentInput(
+        payload = { String.class, byte[].class },
+        description = "The input payload is used as the ID of the folder to walk if the 'Folder ID' property is empty.")
+@Description("Walks a folder hierarchy in Google Drive breadth first, and streams in the output payload every file " +
+        "and folder found, with its path relative to the walked folder and its depth. " +
+        "Subfolders and pages of results are listed concurrently, using at most 'Parallelism' concurrent requests. " +
+        "Files are streamed as soon as they are listed, therefore the memory used does not depend on the size of the hierarchy. " +
+        "This component requires the configuration of a Service Account to make authorized API calls " +
+        "on behalf of the user. The component's configuration uses the private key (in JSON format) " +
+        "of the Google Service Account which can be generated and downloaded from the Service Account page. " +
+        "More info about Service Accounts and how they can be created and configured can " +
+        "be found in the official Google Service Accounts <a href=\"https://cloud.google.com/iam/docs/service-accounts\">Documentation</a> page.")
+public class FolderWalk implements ProcessorAsync {
+
+    @DialogTitle("Service Account Configuration")
+    @Property("Configuration")
+    @Description("The Google Service Account Configuration to be used to connect to Google Drive." +
+            "This component requires the configuration of a Service Account to make authorized API calls " +
+            "on behalf of the user. More info about Service Accounts and how they can be configured can " +
+            "be found at the following <a href=\"https://cloud.google.com/iam/docs/service-accounts\">link</a>.")
+    private DriveConfiguration configuration;
+
+    @Property("Folder ID")
+    @Hint("1f1Vx-AanOdkVEQoewRhUQibOiyXq_RHG")
+    @Example("1f1Vx-AanOdkVEQoewRhUQibOiyXq_RHG")
+    @Description("The ID of the folder to walk. If not defined, the folder ID is taken from the message payload.")
+    private DynamicString folderId;
+
+    @Property("Max Depth")
+    @Hint("3")
+    @Example("1")
+    @Description("The maximum depth of the walk: 1 walks only the files directly contained in the folder. " +
+            "If empty, the whole hierarchy is walked.")
+    private Integer maxDepth;
+
+    @Property("Mime Types")
+    @Hint("application/pdf,image/png")
+    @Example("application/vnd.google-apps.document,application/pdf")
+    @Description("A comma-separated list of mime types of the files to be returned. " +
+            "Subfolders are always walked, regardless of this filter. If empty, files of any type are returned.")
+    private String mimeTypes;
+
+    @Property("Include Folders")
+    @InitValue("true")
+    @DefaultValue("true")
+    @Description("If true, the walked subfolders are returned together with the files.")
+    private Boolean includeFolders;
+
+    @Property("Parallelism")
+    @Group("Advanced")
+    @Hint("4")
+    @Example("8")
+    @DefaultValue("4")
+    @Description("The maximum number of concurrent list requests sent to Google Drive.")
+    private Integer parallelism;
+
+    @Property("Page Size")
+    @Group("Advanced")
+    @Hint("1000")
+    @Example("500")
+    @DefaultValue("1000")
+    @Description("The maximum number of files returned by each list request. Acceptable values are 1 to 1000, inclusive.")
+    private Integer pageSize;
+
+    @Reference
+    ScriptEngineService scriptEngine;
+    @Reference
+    ConverterService converterService;
+
+    DriveApi driveApi;
+
+    private int realMaxDepth;
+    private int realParallelism;
+    private int realPageSize;
+    private boolean realIncludeFolders;
+    private List<String> realMimeTypes;
+
+    @Override
+    public void initialize() {
+        driveApi = createApi();
+        realMaxDepth = Optional.ofNullable(maxDepth).orElse(0);
+        realParallelism = Math.max(1, Optional.ofNullable(parallelism).orElse(WALK_PARALLELISM));
+        realPageSize = Optional.ofNullable(pageSize).orElse(WALK_PAGE_SIZE);
+        realIncludeFolders = Optional.ofNullable(includeFolders).orElse(WALK_INCLUDE_FOLDERS);
+        realMimeTypes = FieldUtils.parse(mimeTypes);
+    }
+
+    @Override
+    public void dispose() {
+        DriveApiPool.release(driveApi);
+        driveApi = null;
+    }
+
+    @Override
+    public void apply(FlowContext flowContext, Message message, OnResult callback) {
+        AsyncResult.complete(flowContext, callback, () -> applyAsync(flowContext, message));
+    }
+
+    private CompletableFuture<Message> applyAsync(FlowContext flowContext, Message message) {
+
+        String realFolderId;
+        if (isNullOrBlank(folderId)) {
+            // We take it from the message payload. The payload might not be a string,
+            // for example when we upload the Folder ID from a rest listener and we forget
+            // the mime type, therefore we have to convert it to a string type.
+            Object payload = message.payload();
+
+            Input.requireTypeMatchesAny(FolderWalk.class, payload, String.class, byte[].class);
+
+            realFolderId = converterService.convert(payload, String.class);
+
+        } else {
+            realFolderId = scriptEngine.evaluate(folderId, flowContext, message)
+                    .orElseThrow(() -> new FolderWalkException(FOLDER_ID_NULL.format(folderId.value())));
+        }
+
+        if (isBlank(realFolderId)) {
+            throw new FolderWalkException(FOLDER_ID_EMPTY.format());
+        }
+
+        Flux<WalkedFile> walkedFiles = FolderWalker.walk(driveApi, realFolderId,
+                realMaxDepth, realParallelism, realPageSize, realMimeTypes, realIncludeFolders);
+
+        // Folders are listed only when the stream is consumed.
+        return CompletableFuture.completedFuture(MessageBuilder.get(FolderWalk.class)
+                .withStream(walkedFiles, WalkedFile.class)
+                .build());
+    }
+
+    public void setConfiguration(DriveConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    public void setFolderId(DynamicString folderId) {
+        this.folderId = folderId;
+    }
+
+    public void setMaxDepth(Integer maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    public void setMimeTypes(String mimeTypes) {
+        this.mimeTypes = mimeTypes;
+    }
+
+    public void setIncludeFolders(Boolean includeFolders) {
+        this.includeFolders = includeFolders;
+    }
+
+    public void setParallelism(Integer parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public void setPageSize(Integer pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    DriveApi createApi() {
+        return DriveApiPool.acquire(FolderWalk.class, configuration);
+    }
+}
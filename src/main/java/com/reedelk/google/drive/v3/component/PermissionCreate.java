@@ -2,12 +2,13 @@ package com.reedelk.google.drive.v3.component;
 
 import com.google.api.services.drive.model.Permission;
 import com.reedelk.google.drive.v3.internal.DriveApi;
-import com.reedelk.google.drive.v3.internal.DriveApiFactory;
+import com.reedelk.google.drive.v3.internal.DriveApiPool;
 import com.reedelk.google.drive.v3.internal.attribute.PermissionCreateAttribute;
 import com.reedelk.google.drive.v3.internal.command.PermissionCreateCommand;
 import com.reedelk.google.drive.v3.internal.exception.PermissionCreateException;
 import com.reedelk.runtime.api.annotation.*;
-import com.reedelk.runtime.api.component.ProcessorSync;
+import com.reedelk.runtime.api.component.OnResult;
+import com.reedelk.runtime.api.component.ProcessorAsync;
 import com.reedelk.runtime.api.converter.ConverterService;
 import com.reedelk.runtime.api.flow.FlowContext;
 import com.reedelk.runtime.api.message.Message;
@@ -19,6 +20,7 @@ import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static com.reedelk.google.drive.v3.internal.commons.Default.SEND_NOTIFICATION_EMAIL;
 import static com.reedelk.google.drive.v3.internal.commons.Messages.PermissionCreate.FILE_ID_NULL;
@@ -44,7 +46,7 @@ import static org.osgi.service.component.annotations.ServiceScope.PROTOTYPE;
         "of the Google Service Account which can be generated and downloaded from the Service Account page. " +
         "More info about Service Accounts and how they can be created and configured can " +
         "be found in the official Google Service Accounts <a href=\"https://cloud.google.com/iam/docs/service-accounts\">Documentation</a> page.")
-public class PermissionCreate implements ProcessorSync {
+public class PermissionCreate implements ProcessorAsync {
 
     @DialogTitle("Service Account Configuration")
     @Property("Configuration")
@@ -117,7 +119,17 @@ public class PermissionCreate implements ProcessorSync {
     }
 
     @Override
-    public Message apply(FlowContext flowContext, Message message) {
+    public void dispose() {
+        DriveApiPool.release(driveApi);
+        driveApi = null;
+    }
+
+    @Override
+    public void apply(FlowContext flowContext, Message message, OnResult callback) {
+        AsyncResult.complete(flowContext, callback, () -> applyAsync(flowContext, message));
+    }
+
+    private CompletableFuture<Message> applyAsync(FlowContext flowContext, Message message) {
 
         String realFileId;
         if (isNullOrBlank(fileId)) {
@@ -141,16 +153,16 @@ public class PermissionCreate implements ProcessorSync {
         PermissionCreateCommand command =
                 new PermissionCreateCommand(realFileId, role, type, evaluatedEmailAddress, evaluatedDomain, realSendNotificationEmail);
 
-        Permission created = driveApi.execute(command);
-
-        String permissionId = created.getId();
+        return driveApi.executeAsync(command).thenApply(created -> {
+            String permissionId = created.getId();
 
-        PermissionCreateAttribute attribute = new PermissionCreateAttribute(realFileId, created);
+            PermissionCreateAttribute attribute = new PermissionCreateAttribute(realFileId, created);
 
-        return MessageBuilder.get(PermissionCreate.class)
-                .withString(permissionId, MimeType.TEXT_PLAIN)
-                .attributes(attribute)
-                .build();
+            return MessageBuilder.get(PermissionCreate.class)
+                    .withString(permissionId, MimeType.TEXT_PLAIN)
+                    .attributes(attribute)
+                    .build();
+        });
     }
 
     public void setConfiguration(DriveConfiguration configuration) {
@@ -182,6 +194,6 @@ public class PermissionCreate implements ProcessorSync {
     }
 
     DriveApi createApi() {
-        return DriveApiFactory.create(PermissionCreate.class, configuration);
+        return DriveApiPool.acquire(PermissionCreate.class, configuration);
     }
 }
@@ -0,0 +1,179 @@
+package com.reedelk.google.drive.v3.component;
+
+import com.google.api.services.drive.model.Permission;
+import com.reedelk.google.drive.v3.internal.BatchResult;
+import com.reedelk.google.drive.v3.internal.DriveApi;
+import com.reedelk.google.drive.v3.internal.DriveApiPool;
+import com.reedelk.google.drive.v3.internal.attribute.BatchAttributes;
+import com.reedelk.google.drive.v3.internal.command.PermissionCreateCommand;
+import com.reedelk.google.drive.v3.internal.exception.PermissionCreateException;
+import com.reedelk.google.drive.v3.internal.type.ItemResult;
+import com.reedelk.google.drive.v3.internal.type.ListOfItemResults;
+import com.reedelk.runtime.api.annotation.*;
+import com.reedelk.runtime.api.component.OnResult;
+import com.reedelk.runtime.api.component.ProcessorAsync;
+import com.reedelk.runtime.api.converter.ConverterService;
+import com.reedelk.runtime.api.flow.FlowContext;
+import com.reedelk.runtime.api.message.Message;
+import com.reedelk.runtime.api.message.MessageBuilder;
+import com.reedelk.runtime.api.script.ScriptEngineService;
+import com.reedelk.runtime.api.script.dynamicvalue.DynamicString;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static com.reedelk.google.drive.v3.internal.commons.Default.SEND_NOTIFICATION_EMAIL;
+import static com.reedelk.google.drive.v3.internal.commons.Messages.PermissionCreate.FILE_ID_NULL;
+import static com.reedelk.runtime.api.commons.ComponentPrecondition.Configuration.requireNotNullOrBlank;
+import static com.reedelk.runtime.api.commons.ComponentPrecondition.Input;
+import static org.osgi.service.component.annotations.ServiceScope.PROTOTYPE;
+
+@ModuleComponent("Drive Permission Create Many")
+@Component(service = PermissionCreateMany.class, scope = PROTOTYPE)
+@ComponentOutput(
+        attributes = BatchAttributes.class,
+        payload = ListOfItemResults.class,
+        description = "The result of each permission create, in the same order as the input grantees. " +
+                "The ID of a successful result is the ID of the new permission.")
+@ComponentInput(
+        payload = List.class,
+        description = "The input payload is used as list of grantees: email addresses when the permission type " +
+                "is user or group, domains when the permission type is domain.")
+@Description("Creates many permissions for a file in Google Drive using batch requests, grouping up to 100 " +
+        "permissions in a single HTTP round-trip. The grantees (email addresses or domains) are taken from the input message payload. " +
+        "A permission which could not be created does not stop the creation of the other permissions: the error is reported " +
+        "in the result of the item instead. " +
+        "This component requires the configuration of a Service Account to make authorized API calls " +
+        "on behalf of the user. The component's configuration uses the private key (in JSON format) " +
+        "of the Google Service Account which can be generated and downloaded from the Service Account page. " +
+        "More info about Service Accounts and how they can be created and configured can " +
+        "be found in the official Google Service Accounts <a href=\"https://cloud.google.com/iam/docs/service-accounts\">Documentation</a> page.")
+public class PermissionCreateMany implements ProcessorAsync {
+
+    @DialogTitle("Service Account Configuration")
+    @Property("Configuration")
+    @Description("The Google Service Account Configuration to be used to connect to Google Drive." +
+            "This component requires the configuration of a Service Account to make authorized API calls " +
+            "on behalf of the user. More info about Service Accounts and how they can be configured can " +
+            "be found at the following <a href=\"https://cloud.google.com/iam/docs/service-accounts\">link</a>.")
+    private DriveConfiguration configuration;
+
+    @Property("Permission File ID")
+    @Hint("1f1Vx-AanOdkVEQoewRhUQibOiyXq_RHG")
+    @Example("1f1Vx-AanOdkVEQoewRhUQibOiyXq_RHG")
+    @Description("The ID of the file or shared drive we want to create the permissions for.")
+    private DynamicString fileId;
+
+    @Property("Permission Type")
+    @InitValue("USER")
+    @Example("GROUP")
+    @DefaultValue("USER")
+    @Description("The type of the grantees. When type is user or group, the payload must be a list of email addresses. " +
+            "When type is domain, the payload must be a list of domains.")
+    private PermissionType type = PermissionType.USER;
+
+    @Property("Permission Role")
+    @Example("OWNER")
+    @InitValue("READER")
+    @DefaultValue("READER")
+    @Description("The role granted by the permissions.")
+    private PermissionRole role = PermissionRole.READER;
+
+    @Property("Send Notification Email")
+    @Group("Advanced")
+    @InitValue("true")
+    private Boolean sendNotificationEmail;
+
+    @Reference
+    ScriptEngineService scriptEngine;
+    @Reference
+    ConverterService converterService;
+
+    DriveApi driveApi;
+
+    private Boolean realSendNotificationEmail;
+
+    @Override
+    public void initialize() {
+        requireNotNullOrBlank(PermissionCreateMany.class, fileId, "Permission File ID must not be empty.");
+        driveApi = createApi();
+        realSendNotificationEmail =
+                Optional.ofNullable(sendNotificationEmail).orElse(SEND_NOTIFICATION_EMAIL);
+    }
+
+    @Override
+    public void dispose() {
+        DriveApiPool.release(driveApi);
+        driveApi = null;
+    }
+
+    @Override
+    public void apply(FlowContext flowContext, Message message, OnResult callback) {
+        AsyncResult.complete(flowContext, callback, () -> applyAsync(flowContext, message));
+    }
+
+    private CompletableFuture<Message> applyAsync(FlowContext flowContext, Message message) {
+        String realFileId = scriptEngine.evaluate(fileId, flowContext, message)
+                .orElseThrow(() -> new PermissionCreateException(FILE_ID_NULL.format(fileId.value())));
+
+        Object payload = message.payload();
+
+        Input.requireTypeMatchesAny(PermissionCreateMany.class, payload, List.class);
+
+        List<String> grantees = ((List<?>) payload).stream()
+                .map(item -> converterService.convert(item, String.class))
+                .collect(Collectors.toList());
+
+        List<PermissionCreateCommand> commands = grantees.stream()
+                .map(grantee -> PermissionType.DOMAIN.equals(type) ?
+                        new PermissionCreateCommand(realFileId, role, type, null, grantee, realSendNotificationEmail) :
+                        new PermissionCreateCommand(realFileId, role, type, grantee, null, realSendNotificationEmail))
+                .collect(Collectors.toList());
+
+        return driveApi.supplyAsync(() -> {
+            List<BatchResult<Permission>> results = driveApi.executeBatch(commands);
+
+            ListOfItemResults itemResults = new ListOfItemResults();
+            for (int i = 0; i < grantees.size(); i++) {
+                String grantee = grantees.get(i);
+                BatchResult<Permission> result = results.get(i);
+                itemResults.add(result.isSuccess() ?
+                        ItemResult.success(grantee, result.getValue().getId()) :
+                        ItemResult.failure(grantee, result.getError()));
+            }
+
+            return MessageBuilder.get(PermissionCreateMany.class)
+                    .withList(itemResults, ItemResult.class)
+                    .attributes(new BatchAttributes(itemResults))
+                    .build();
+        });
+    }
+
+    public void setConfiguration(DriveConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    public void setFileId(DynamicString fileId) {
+        this.fileId = fileId;
+    }
+
+    public void setSendNotificationEmail(Boolean sendNotificationEmail) {
+        this.sendNotificationEmail = sendNotificationEmail;
+    }
+
+    public void setRole(PermissionRole role) {
+        this.role = role;
+    }
+
+    public void setType(PermissionType type) {
+        this.type = type;
+    }
+
+    DriveApi createApi() {
+        return DriveApiPool.acquire(PermissionCreateMany.class, configuration);
+    }
+}
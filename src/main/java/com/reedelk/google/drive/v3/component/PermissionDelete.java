@@ -1,12 +1,13 @@
 package com.reedelk.google.drive.v3.component;
 
 import com.reedelk.google.drive.v3.internal.DriveApi;
-import com.reedelk.google.drive.v3.internal.DriveApiFactory;
+import com.reedelk.google.drive.v3.internal.DriveApiPool;
 import com.reedelk.google.drive.v3.internal.attribute.PermissionDeleteAttribute;
 import com.reedelk.google.drive.v3.internal.command.PermissionDeleteCommand;
 import com.reedelk.google.drive.v3.internal.exception.PermissionDeleteException;
 import com.reedelk.runtime.api.annotation.*;
-import com.reedelk.runtime.api.component.ProcessorSync;
+import com.reedelk.runtime.api.component.OnResult;
+import com.reedelk.runtime.api.component.ProcessorAsync;
 import com.reedelk.runtime.api.converter.ConverterService;
 import com.reedelk.runtime.api.flow.FlowContext;
 import com.reedelk.runtime.api.message.Message;
@@ -17,6 +18,8 @@ import com.reedelk.runtime.api.script.dynamicvalue.DynamicString;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 
+import java.util.concurrent.CompletableFuture;
+
 import static com.reedelk.google.drive.v3.internal.commons.Messages.PermissionDelete.FILE_ID_NULL;
 import static com.reedelk.google.drive.v3.internal.commons.Messages.PermissionDelete.PERMISSION_ID_NULL;
 import static com.reedelk.runtime.api.commons.ComponentPrecondition.Input;
@@ -40,7 +43,7 @@ import static org.osgi.service.component.annotations.ServiceScope.PROTOTYPE;
         "of the Google Service Account which can be generated and downloaded from the Service Account page. " +
         "More info about Service Accounts and how they can be created and configured can " +
         "be found in the official Google Service Accounts <a href=\"https://cloud.google.com/iam/docs/service-accounts\">Documentation</a> page.")
-public class PermissionDelete implements ProcessorSync {
+public class PermissionDelete implements ProcessorAsync {
 
     @DialogTitle("Service Account Configuration")
     @Property("Configuration")
@@ -72,11 +75,21 @@ public class PermissionDelete implements ProcessorSync {
 
     @Override
     public void initialize() {
-        driveApi = DriveApiFactory.create(PermissionDelete.class, configuration);
+        driveApi = DriveApiPool.acquire(PermissionDelete.class, configuration);
     }
 
     @Override
-    public Message apply(FlowContext flowContext, Message message) {
+    public void dispose() {
+        DriveApiPool.release(driveApi);
+        driveApi = null;
+    }
+
+    @Override
+    public void apply(FlowContext flowContext, Message message, OnResult callback) {
+        AsyncResult.complete(flowContext, callback, () -> applyAsync(flowContext, message));
+    }
+
+    private CompletableFuture<Message> applyAsync(FlowContext flowContext, Message message) {
 
         String realPermissionId;
         if (isNullOrBlank(permissionId)) {
@@ -99,14 +112,14 @@ public class PermissionDelete implements ProcessorSync {
 
         PermissionDeleteCommand command = new PermissionDeleteCommand(realPermissionId, realFileId);
 
-        driveApi.execute(command);
-
-        PermissionDeleteAttribute attribute = new PermissionDeleteAttribute(realPermissionId, realFileId);
+        return driveApi.executeAsync(command).thenApply(deleted -> {
+            PermissionDeleteAttribute attribute = new PermissionDeleteAttribute(realPermissionId, realFileId);
 
-        return MessageBuilder.get(PermissionDelete.class)
-                .withString(realPermissionId, MimeType.TEXT_PLAIN)
-                .attributes(attribute)
-                .build();
+            return MessageBuilder.get(PermissionDelete.class)
+                    .withString(realPermissionId, MimeType.TEXT_PLAIN)
+                    .attributes(attribute)
+                    .build();
+        });
     }
 
     public void setConfiguration(DriveConfiguration configuration) {
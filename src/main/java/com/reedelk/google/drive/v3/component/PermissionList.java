@@ -1,14 +1,15 @@
 package com.reedelk.google.drive.v3.component;
 
 import com.reedelk.google.drive.v3.internal.DriveApi;
-import com.reedelk.google.drive.v3.internal.DriveApiFactory;
+import com.reedelk.google.drive.v3.internal.DriveApiPool;
 import com.reedelk.google.drive.v3.internal.attribute.PermissionListAttribute;
 import com.reedelk.google.drive.v3.internal.command.PermissionListCommand;
 import com.reedelk.google.drive.v3.internal.exception.PermissionListException;
 import com.reedelk.google.drive.v3.internal.type.ListOfPermissions;
 import com.reedelk.google.drive.v3.internal.type.Permission;
 import com.reedelk.runtime.api.annotation.*;
-import com.reedelk.runtime.api.component.ProcessorSync;
+import com.reedelk.runtime.api.component.OnResult;
+import com.reedelk.runtime.api.component.ProcessorAsync;
 import com.reedelk.runtime.api.converter.ConverterService;
 import com.reedelk.runtime.api.flow.FlowContext;
 import com.reedelk.runtime.api.message.Message;
@@ -18,6 +19,8 @@ import com.reedelk.runtime.api.script.dynamicvalue.DynamicString;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 
+import java.util.concurrent.CompletableFuture;
+
 import static com.reedelk.google.drive.v3.internal.commons.Messages.PermissionList.FILE_ID_NULL;
 import static com.reedelk.runtime.api.commons.ComponentPrecondition.Input;
 import static com.reedelk.runtime.api.commons.DynamicValueUtils.isNullOrBlank;
@@ -39,7 +42,7 @@ import static org.osgi.service.component.annotations.ServiceScope.PROTOTYPE;
         "of the Google Service Account which can be generated and downloaded from the Service Account page. " +
         "More info about Service Accounts and how they can be created and configured can " +
         "be found in the official Google Service Accounts <a href=\"https://cloud.google.com/iam/docs/service-accounts\">Documentation</a> page.")
-public class PermissionList implements ProcessorSync {
+public class PermissionList implements ProcessorAsync {
 
     @DialogTitle("Service Account Configuration")
     @Property("Configuration")
@@ -65,11 +68,21 @@ public class PermissionList implements ProcessorSync {
 
     @Override
     public void initialize() {
-        driveApi = DriveApiFactory.create(PermissionList.class, configuration);
+        driveApi = DriveApiPool.acquire(PermissionList.class, configuration);
     }
 
     @Override
-    public Message apply(FlowContext flowContext, Message message) {
+    public void dispose() {
+        DriveApiPool.release(driveApi);
+        driveApi = null;
+    }
+
+    @Override
+    public void apply(FlowContext flowContext, Message message, OnResult callback) {
+        AsyncResult.complete(flowContext, callback, () -> applyAsync(flowContext, message));
+    }
+
+    private CompletableFuture<Message> applyAsync(FlowContext flowContext, Message message) {
 
         String realFileId;
         if (isNullOrBlank(fileId)) {
@@ -89,14 +102,14 @@ public class PermissionList implements ProcessorSync {
 
         PermissionListCommand command = new PermissionListCommand(realFileId);
 
-        ListOfPermissions permissions = driveApi.execute(command);
-
-        PermissionListAttribute attribute = new PermissionListAttribute(realFileId);
+        return driveApi.executeAsync(command).thenApply(permissions -> {
+            PermissionListAttribute attribute = new PermissionListAttribute(realFileId);
 
-        return MessageBuilder.get(PermissionList.class)
-                .withList(permissions, Permission.class)
-                .attributes(attribute)
-                .build();
+            return MessageBuilder.get(PermissionList.class)
+                    .withList(permissions, Permission.class)
+                    .attributes(attribute)
+                    .build();
+        });
     }
 
     public void setConfiguration(DriveConfiguration configuration) {
@@ -2,12 +2,13 @@ package com.reedelk.google.drive.v3.component;
 
 import com.google.api.services.drive.model.Permission;
 import com.reedelk.google.drive.v3.internal.DriveApi;
-import com.reedelk.google.drive.v3.internal.DriveApiFactory;
+import com.reedelk.google.drive.v3.internal.DriveApiPool;
 import com.reedelk.google.drive.v3.internal.attribute.PermissionUpdateAttribute;
 import com.reedelk.google.drive.v3.internal.command.PermissionUpdateCommand;
 import com.reedelk.google.drive.v3.internal.exception.PermissionUpdateException;
 import com.reedelk.runtime.api.annotation.*;
-import com.reedelk.runtime.api.component.ProcessorSync;
+import com.reedelk.runtime.api.component.OnResult;
+import com.reedelk.runtime.api.component.ProcessorAsync;
 import com.reedelk.runtime.api.converter.ConverterService;
 import com.reedelk.runtime.api.flow.FlowContext;
 import com.reedelk.runtime.api.message.Message;
@@ -18,6 +19,8 @@ import com.reedelk.runtime.api.script.dynamicvalue.DynamicString;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 
+import java.util.concurrent.CompletableFuture;
+
 import static com.reedelk.google.drive.v3.internal.commons.Messages.PermissionUpdate.FILE_ID_NULL;
 import static com.reedelk.google.drive.v3.internal.commons.Messages.PermissionUpdate.PERMISSION_ID_NULL;
 import static com.reedelk.runtime.api.commons.ComponentPrecondition.Input;
@@ -41,7 +44,7 @@ import static org.osgi.service.component.annotations.ServiceScope.PROTOTYPE;
         "of the Google Service Account which can be generated and downloaded from the Service Account page. " +
         "More info about Service Accounts and how they can be created and configured can " +
         "be found in the official Google Service Accounts <a href=\"https://cloud.google.com/iam/docs/service-accounts\">Documentation</a> page.")
-public class PermissionUpdate implements ProcessorSync {
+public class PermissionUpdate implements ProcessorAsync {
 
     @DialogTitle("Service Account Configuration")
     @Property("Configuration")
@@ -83,7 +86,17 @@ public class PermissionUpdate implements ProcessorSync {
     }
 
     @Override
-    public Message apply(FlowContext flowContext, Message message) {
+    public void dispose() {
+        DriveApiPool.release(driveApi);
+        driveApi = null;
+    }
+
+    @Override
+    public void apply(FlowContext flowContext, Message message, OnResult callback) {
+        AsyncResult.complete(flowContext, callback, () -> applyAsync(flowContext, message));
+    }
+
+    private CompletableFuture<Message> applyAsync(FlowContext flowContext, Message message) {
 
         String realFileId = scriptEngine.evaluate(fileId, flowContext, message)
                 .orElseThrow(() -> new PermissionUpdateException(FILE_ID_NULL.format(fileId.value())));
@@ -107,14 +120,14 @@ public class PermissionUpdate implements ProcessorSync {
         PermissionUpdateCommand command =
                 new PermissionUpdateCommand(realFileId, realPermissionId, role);
 
-        Permission updated = driveApi.execute(command);
-
-        PermissionUpdateAttribute attribute = new PermissionUpdateAttribute(realFileId, updated);
+        return driveApi.executeAsync(command).thenApply(updated -> {
+            PermissionUpdateAttribute attribute = new PermissionUpdateAttribute(realFileId, updated);
 
-        return MessageBuilder.get(PermissionUpdate.class)
-                .withString(updated.getId(), MimeType.TEXT_PLAIN)
-                .attributes(attribute)
-                .build();
+            return MessageBuilder.get(PermissionUpdate.class)
+                    .withString(updated.getId(), MimeType.TEXT_PLAIN)
+                    .attributes(attribute)
+                    .build();
+        });
     }
 
     public void setConfiguration(DriveConfiguration configuration) {
@@ -134,6 +147,6 @@ public class PermissionUpdate implements ProcessorSync {
     }
 
     DriveApi createApi() {
-        return DriveApiFactory.create(PermissionUpdate.class, configuration);
+        return DriveApiPool.acquire(PermissionUpdate.class, configuration);
     }
 }
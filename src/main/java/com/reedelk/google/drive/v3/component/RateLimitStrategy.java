@@ -0,0 +1,11 @@
+package com.reedelk.google.drive.v3.component;
+
+import com.reedelk.runtime.api.annotation.DisplayName;
+
+public enum RateLimitStrategy {
+
+    @DisplayName("Wait")
+    WAIT,
+    @DisplayName("Fail")
+    FAIL
+}
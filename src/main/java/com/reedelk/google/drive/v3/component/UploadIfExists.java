@@ -0,0 +1,13 @@
+package com.reedelk.google.drive.v3.component;
+
+import com.reedelk.runtime.api.annotation.DisplayName;
+
+public enum UploadIfExists {
+
+    @DisplayName("Create new")
+    CREATE_NEW,
+    @DisplayName("Skip if identical")
+    SKIP_IDENTICAL,
+    @DisplayName("Update existing")
+    UPDATE_EXISTING
+}
@@ -0,0 +1,34 @@
+package com.reedelk.google.drive.v3.internal;
+
+import com.reedelk.runtime.api.exception.PlatformException;
+
+public class BatchResult<T> {
+
+    private final T value;
+    private final PlatformException error;
+
+    private BatchResult(T value, PlatformException error) {
+        this.value = value;
+        this.error = error;
+    }
+
+    public static <T> BatchResult<T> success(T value) {
+        return new BatchResult<>(value, null);
+    }
+
+    public static <T> BatchResult<T> failure(PlatformException error) {
+        return new BatchResult<>(null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public PlatformException getError() {
+        return error;
+    }
+}
@@ -1,23 +1,280 @@
 package com.reedelk.google.drive.v3.internal;
 
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.http.HttpHeaders;
 import com.google.api.services.drive.Drive;
+import com.reedelk.google.drive.v3.internal.cache.MetadataCache;
+import com.reedelk.google.drive.v3.internal.command.BatchableCommand;
 import com.reedelk.google.drive.v3.internal.command.Command;
+import com.reedelk.google.drive.v3.internal.exception.RateLimitException;
+import com.reedelk.google.drive.v3.internal.http.RateLimiter;
+import com.reedelk.google.drive.v3.internal.http.RetryPolicy;
+import com.reedelk.google.drive.v3.internal.metrics.DriveMetrics;
+import com.reedelk.google.drive.v3.internal.type.FileType;
 
 import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.reedelk.google.drive.v3.internal.commons.Default.IO_THREADS;
 
 public class DriveApi {
 
+    // Google Drive accepts at most 100 calls in a single batch request.
+    static final int MAX_BATCH_SIZE = 100;
+
     private final Drive drive;
+    private final RetryPolicy retryPolicy;
+    private final RateLimiter rateLimiter;
+    private final MetadataCache metadataCache;
+    private final DriveMetrics metrics;
+    private final IoExecutor ioExecutor;
 
     public DriveApi(Drive drive) {
+        this(drive, RetryPolicy.NONE, RateLimiter.UNLIMITED, MetadataCache.DISABLED);
+    }
+
+    public DriveApi(Drive drive, RetryPolicy retryPolicy, RateLimiter rateLimiter, MetadataCache metadataCache) {
+        this(drive, retryPolicy, rateLimiter, metadataCache, DriveMetrics.NONE);
+    }
+
+    public DriveApi(Drive drive, RetryPolicy retryPolicy, RateLimiter rateLimiter, MetadataCache metadataCache, DriveMetrics metrics) {
+        this(drive, retryPolicy, rateLimiter, metadataCache, metrics, new IoExecutor(IO_THREADS));
+    }
+
+    DriveApi(Drive drive, RetryPolicy retryPolicy, RateLimiter rateLimiter, MetadataCache metadataCache, DriveMetrics metrics, IoExecutor ioExecutor) {
         this.drive = drive;
+        this.ioExecutor = ioExecutor;
+        this.retryPolicy = retryPolicy;
+        this.rateLimiter = rateLimiter;
+        this.metadataCache = metadataCache;
+        this.metrics = metrics;
     }
 
+    // Each attempt is measured separately: the duration excludes the rate limit wait and the retry delay.
+    // Commands returning a stream (e.g. downloads) are measured until the response headers are received.
     public <T> T execute(Command<T> command) {
+        Class<?> type = command.getClass();
+        for (int attempt = 1; ; attempt++) {
+            acquire(1);
+            long start = System.nanoTime();
+            try {
+                T result = command.execute(drive);
+                metrics.commandSucceeded(type, System.nanoTime() - start);
+                return result;
+            } catch (IOException exception) {
+                metrics.commandFailed(type, System.nanoTime() - start, RetryPolicy.statusCodeOf(exception));
+                if (attempt >= retryPolicy.getMaxAttempts() ||
+                        !command.replayable() ||
+                        !retryPolicy.isRetryable(exception, command.idempotent()) ||
+                        !sleep(retryPolicy.delayOf(attempt, RetryPolicy.retryAfterOf(exception)))) {
+                    throw command.onException(exception);
+                }
+                metrics.commandRetried(type);
+            }
+        }
+    }
+
+    // Executes the command on the I/O threads of this client, retrying it as 'execute' does: the calling
+    // thread is not blocked. The future fails with the exception 'execute' would have thrown.
+    public <T> CompletableFuture<T> executeAsync(Command<T> command) {
+        return supplyAsync(() -> execute(command), command::onException);
+    }
+
+    // Runs on the I/O threads a task sending more than one request (e.g. a lookup followed by an upload).
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+        return supplyAsync(task, exception -> exception);
+    }
+
+    // The I/O threads of this client, for blocking reads which are not commands (e.g. of a response stream).
+    public Executor ioExecutor() {
+        return ioExecutor::execute;
+    }
+
+    // Executes the given commands using as few HTTP batch requests as possible. The results are
+    // returned in the same order of the given commands. A failed command does not fail the others.
+    public <T> List<BatchResult<T>> executeBatch(List<? extends BatchableCommand<T>> commands) {
+        List<BatchResult<T>> results = new ArrayList<>(commands.size());
+        for (int start = 0; start < commands.size(); start += MAX_BATCH_SIZE) {
+            List<? extends BatchableCommand<T>> batch =
+                    commands.subList(start, Math.min(commands.size(), start + MAX_BATCH_SIZE));
+            results.addAll(executeSingleBatch(batch));
+        }
+        return results;
+    }
+
+    public Optional<FileType> cachedMetadata(String fileId) {
+        return metadataCache.get(fileId);
+    }
+
+    public void cacheMetadata(FileType file) {
+        metadataCache.put(file);
+    }
+
+    public void invalidateMetadata(String fileId) {
+        metadataCache.invalidate(fileId);
+    }
+
+    void dispose() {
+        // Requests already queued are still sent.
+        ioExecutor.shutdown();
+        metrics.close();
+        try {
+            drive.getRequestFactory()
+                    .getTransport()
+                    .shutdown();
+        } catch (IOException exception) {
+            // Nothing we can do if the transport could not be shut down cleanly,
+            // the underlying connections are released anyway.
+        }
+    }
+
+    // Commands failing with a retryable error are sent again in a new batch request
+    // containing only the failed commands, until they succeed or attempts are exhausted.
+    @SuppressWarnings("unchecked")
+    private <T> List<BatchResult<T>> executeSingleBatch(List<? extends BatchableCommand<T>> commands) {
+        BatchResult<T>[] results = new BatchResult[commands.size()];
+
+        Collection<Integer> pending = new ArrayList<>();
+        for (int index = 0; index < commands.size(); index++) pending.add(index);
+
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            // Index of the command to retry -> value of the Retry-After header (if any).
+            Map<Integer, String> retries = new TreeMap<>();
+            boolean canRetry = attempt < retryPolicy.getMaxAttempts();
+
+            // Set when the batch request is sent, after the rate limit wait.
+            long[] start = new long[1];
+            BatchRequest batchRequest = drive.batch();
+            for (int index : pending) {
+                BatchableCommand<T> command = commands.get(index);
+                results[index] = null;
+                try {
+                    command.request(drive).queue(batchRequest, new Callback<>(command, results, retries, index, canRetry, start));
+                } catch (IOException | RuntimeException exception) {
+                    // The request could not be built (e.g. a precondition failed).
+                    results[index] = BatchResult.failure(command.onException(exception));
+                }
+            }
+
+            if (batchRequest.size() > 0) {
+                // Each call in the batch counts against the Google Drive quota.
+                try {
+                    acquire(batchRequest.size());
+                } catch (RateLimitException exception) {
+                    // The client side rate limit failed the batch request (or the wait was interrupted):
+                    // the commands not sent fail one by one, as if they were part of the batch request.
+                    for (int index : pending) {
+                        if (results[index] == null) {
+                            results[index] = BatchResult.failure(commands.get(index).onException(exception));
+                        }
+                    }
+                    break;
+                }
+                start[0] = System.nanoTime();
+                try {
+                    batchRequest.execute();
+                } catch (IOException exception) {
+                    // The whole batch request failed: all the commands
+                    // without a result yet have failed.
+                    for (int index : pending) {
+                        if (results[index] == null) {
+                            BatchableCommand<T> command = commands.get(index);
+                            metrics.commandFailed(command.getClass(), System.nanoTime() - start[0], RetryPolicy.statusCodeOf(exception));
+                            results[index] = BatchResult.failure(command.onException(exception));
+                            if (canRetry && command.replayable() && retryPolicy.isRetryable(exception, command.idempotent())) {
+                                retries.put(index, RetryPolicy.retryAfterOf(exception));
+                            }
+                        }
+                    }
+                }
+            }
+
+            long delay = 0;
+            for (Map.Entry<Integer, String> retry : retries.entrySet()) {
+                delay = Math.max(delay, retryPolicy.delayOf(attempt, retry.getValue()));
+            }
+            if (!retries.isEmpty() && !sleep(delay)) break;
+            retries.keySet().forEach(index -> metrics.commandRetried(commands.get(index).getClass()));
+
+            pending = retries.keySet();
+        }
+        return Arrays.asList(results);
+    }
+
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> task, Function<RejectedExecutionException, RuntimeException> onRejected) {
+        CompletableFuture<T> future = new CompletableFuture<>();
         try {
-            return command.execute(drive);
-        } catch (IOException e) {
-            throw command.onException(e);
+            ioExecutor.execute(() -> {
+                try {
+                    future.complete(task.get());
+                } catch (RuntimeException | Error exception) {
+                    future.completeExceptionally(exception);
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            // The client has been disposed.
+            future.completeExceptionally(onRejected.apply(exception));
+        }
+        return future;
+    }
+
+    private void acquire(int permits) {
+        long waitNanos = rateLimiter.acquire(permits);
+        if (waitNanos > 0) metrics.rateLimitWaited(waitNanos);
+    }
+
+    // Returns false if the thread was interrupted while waiting.
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private class Callback<T> extends JsonBatchCallback<T> {
+
+        private final BatchResult<T>[] results;
+        private final Map<Integer, String> retries;
+        private final Command<T> command;
+        private final boolean canRetry;
+        private final int index;
+        // All the calls in a batch are measured from when the batch request is
+        // sent, since their responses are parsed once the whole batch completes.
+        private final long[] start;
+
+        Callback(Command<T> command, BatchResult<T>[] results, Map<Integer, String> retries, int index, boolean canRetry, long[] start) {
+            this.command = command;
+            this.results = results;
+            this.retries = retries;
+            this.canRetry = canRetry;
+            this.index = index;
+            this.start = start;
+        }
+
+        @Override
+        public void onSuccess(T result, HttpHeaders responseHeaders) {
+            metrics.commandSucceeded(command.getClass(), System.nanoTime() - start[0]);
+            results[index] = BatchResult.success(result);
+        }
+
+        @Override
+        public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+            metrics.commandFailed(command.getClass(), System.nanoTime() - start[0], error.getCode());
+            IOException exception = new IOException(error.getCode() + " " + error.getMessage());
+            results[index] = BatchResult.failure(command.onException(exception));
+            if (canRetry && command.replayable() && retryPolicy.isRetryable(error.getCode(), RetryPolicy.reasonOf(error), command.idempotent())) {
+                retries.put(index, responseHeaders == null ? null : responseHeaders.getRetryAfter());
+            }
         }
     }
 }
@@ -11,6 +11,13 @@ import com.google.auth.Credentials;
 import com.google.auth.http.HttpCredentialsAdapter;
 import com.google.auth.oauth2.ServiceAccountCredentials;
 import com.reedelk.google.drive.v3.component.DriveConfiguration;
+import com.reedelk.google.drive.v3.internal.http.ResumableUploadRequestInitializer;
+import com.reedelk.google.drive.v3.internal.cache.MetadataCache;
+import com.reedelk.google.drive.v3.internal.http.RateLimiter;
+import com.reedelk.google.drive.v3.internal.http.RetryPolicy;
+import com.reedelk.google.drive.v3.internal.metrics.DriveMetrics;
+import com.reedelk.google.drive.v3.internal.metrics.JmxDriveMetrics;
+import com.reedelk.google.drive.v3.internal.metrics.MeteredRequestInitializer;
 import com.reedelk.runtime.api.commons.StringUtils;
 import com.reedelk.runtime.api.component.Implementor;
 import com.reedelk.runtime.api.exception.ComponentConfigurationException;
@@ -35,21 +42,37 @@ public class DriveApiFactory {
         requireNotNull(implementor, configuration, "Google Drive Configuration must be provided.");
         requireNotBlank(implementor, configuration.getCredentialsFile(), "Service Account Credentials File is missing.");
 
+        final RetryPolicy retryPolicy = RetryPolicy.from(implementor, configuration);
+        final RateLimiter rateLimiter = RateLimiter.from(configuration);
+        final MetadataCache metadataCache = MetadataCache.from(configuration);
+
         // Build a new authorized API client service.
         try {
             final NetHttpTransport httpTransport = GoogleNetHttpTransport.newTrustedTransport();
             final Credentials credentials = createCredentialsFrom(implementor, configuration);
-            final HttpRequestInitializer requestInitializer = new HttpCredentialsAdapter(credentials);
-            final Drive service = new Drive.Builder(httpTransport, JSON_FACTORY, requestInitializer)
-                    .setApplicationName(implementor.getSimpleName())
-                    .build();
-            return new DriveApi(service);
+            // Metrics are registered last, so that nothing is left registered if the client could not be created.
+            final DriveMetrics metrics = JmxDriveMetrics.from(configuration);
+            final HttpRequestInitializer requestInitializer = new MeteredRequestInitializer(
+                    new ResumableUploadRequestInitializer(new HttpCredentialsAdapter(credentials), retryPolicy, metrics), metrics);
+            final Drive.Builder builder = new Drive.Builder(httpTransport, JSON_FACTORY, requestInitializer)
+                    .setApplicationName(implementor.getSimpleName());
+            if (StringUtils.isNotBlank(configuration.getRootUrl())) {
+                builder.setRootUrl(rootUrlOf(configuration.getRootUrl()));
+            }
+            final Drive service = builder.build();
+            return new DriveApi(service, retryPolicy, rateLimiter, metadataCache, metrics, IoExecutor.from(configuration));
         } catch (GeneralSecurityException | IOException exception) {
             String error = DRIVE_CREDENTIALS_ERROR_GENERIC.format(exception.getMessage());
             throw new ComponentConfigurationException(implementor, error);
         }
     }
 
+    // The client library requires the root URL to end with a slash.
+    static String rootUrlOf(String rootUrl) {
+        String trimmed = rootUrl.trim();
+        return trimmed.endsWith("/") ? trimmed : trimmed + "/";
+    }
+
     private static Credentials createCredentialsFrom(Class<? extends Implementor> implementor, DriveConfiguration configuration) {
         String credentialsFilePath = configuration.getCredentialsFile();
         String serviceAccountEmail = configuration.getCredentialsEmail();
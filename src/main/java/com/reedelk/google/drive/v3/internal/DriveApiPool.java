@@ -0,0 +1,111 @@
+package com.reedelk.google.drive.v3.internal;
+
+import com.reedelk.google.drive.v3.component.DriveConfiguration;
+import com.reedelk.runtime.api.component.Implementor;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static com.reedelk.runtime.api.commons.ComponentPrecondition.Configuration.requireNotNull;
+
+// Components using the same Drive configuration share a single Drive API client (and therefore
+// a single HTTP transport and OAuth token cache). The client is disposed when the last component
+// using it releases it.
+public class DriveApiPool {
+
+    private static final Map<Key, Entry> POOL = new HashMap<>();
+
+    private DriveApiPool() {
+    }
+
+    public static DriveApi acquire(Class<? extends Implementor> implementor, DriveConfiguration configuration) {
+        requireNotNull(implementor, configuration, "Google Drive Configuration must be provided.");
+        Key key = new Key(configuration);
+        synchronized (POOL) {
+            Entry entry = POOL.get(key);
+            if (entry == null) {
+                entry = new Entry(DriveApiFactory.create(implementor, configuration));
+                POOL.put(key, entry);
+            }
+            entry.references++;
+            return entry.driveApi;
+        }
+    }
+
+    public static void release(DriveApi driveApi) {
+        if (driveApi == null) return;
+        synchronized (POOL) {
+            Iterator<Entry> iterator = POOL.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (entry.driveApi == driveApi) {
+                    entry.references--;
+                    if (entry.references == 0) {
+                        iterator.remove();
+                        driveApi.dispose();
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    static int size() {
+        synchronized (POOL) {
+            return POOL.size();
+        }
+    }
+
+    private static class Entry {
+
+        private final DriveApi driveApi;
+        private int references;
+
+        Entry(DriveApi driveApi) {
+            this.driveApi = driveApi;
+        }
+    }
+
+    // Two configurations are considered the same when all the properties used
+    // to build the Drive client are equal, regardless of the configuration instance.
+    private static class Key {
+
+        private final List<Object> values;
+
+        Key(DriveConfiguration configuration) {
+            this.values = Arrays.asList(
+                    configuration.getCredentialsFile(),
+                    configuration.getCredentialsEmail(),
+                    configuration.getRootUrl(),
+                    configuration.getRetryMaxAttempts(),
+                    configuration.getRetryBaseDelay(),
+                    configuration.getRetryMaxDelay(),
+                    configuration.getRetryJitter(),
+                    configuration.getRetryStatusCodes(),
+                    configuration.getRateLimit(),
+                    configuration.getRateLimitBurst(),
+                    configuration.getRateLimitStrategy(),
+                    configuration.getMetadataCache(),
+                    configuration.getMetadataCacheMaxSize(),
+                    configuration.getMetadataCacheTtl(),
+                    configuration.getMetrics(),
+                    configuration.getMetricsName(),
+                    configuration.getIoThreads());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            return values.equals(((Key) o).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return values.hashCode();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.reedelk.google.drive.v3.internal;
+
+import com.reedelk.google.drive.v3.component.DriveConfiguration;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.reedelk.google.drive.v3.internal.commons.Default.IO_THREADS;
+
+// The threads running the asynchronous requests of a Drive API client. At most 'threads' requests
+// are in flight at any time, the others are queued. The threads are started on first use only,
+// therefore clients used synchronously do not pay for them. Rate limit waits and retry delays sleep on
+// these threads: scheduling the delays instead would keep a throttled client from stalling the queue.
+class IoExecutor {
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final int threads;
+    private ExecutorService executor;
+    private boolean shutdown;
+
+    IoExecutor(int threads) {
+        this.threads = threads;
+    }
+
+    static IoExecutor from(DriveConfiguration configuration) {
+        int threads = Optional.ofNullable(configuration.getIoThreads()).orElse(IO_THREADS);
+        return new IoExecutor(threads > 0 ? threads : IO_THREADS);
+    }
+
+    // Throws RejectedExecutionException once shut down.
+    void execute(Runnable task) {
+        executor().execute(task);
+    }
+
+    synchronized void shutdown() {
+        shutdown = true;
+        if (executor != null) executor.shutdown();
+    }
+
+    private synchronized ExecutorService executor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "drive-io-" + THREAD_COUNT.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            if (shutdown) executor.shutdown();
+        }
+        return executor;
+    }
+}
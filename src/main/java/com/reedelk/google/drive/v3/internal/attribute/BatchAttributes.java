@@ -0,0 +1,26 @@
+package com.reedelk.google.drive.v3.internal.attribute;
+
+import com.reedelk.google.drive.v3.internal.type.ListOfItemResults;
+import com.reedelk.runtime.api.annotation.Type;
+import com.reedelk.runtime.api.annotation.TypeProperty;
+import com.reedelk.runtime.api.message.MessageAttributes;
+
+import static com.reedelk.google.drive.v3.internal.attribute.BatchAttributes.*;
+
+@Type
+@TypeProperty(name = TOTAL, type = int.class)
+@TypeProperty(name = SUCCEEDED, type = long.class)
+@TypeProperty(name = FAILED, type = long.class)
+public class BatchAttributes extends MessageAttributes {
+
+    static final String TOTAL = "total";
+    static final String SUCCEEDED = "succeeded";
+    static final String FAILED = "failed";
+
+    public BatchAttributes(ListOfItemResults results) {
+        long succeeded = results.successCount();
+        put(TOTAL, results.size());
+        put(SUCCEEDED, succeeded);
+        put(FAILED, results.size() - succeeded);
+    }
+}
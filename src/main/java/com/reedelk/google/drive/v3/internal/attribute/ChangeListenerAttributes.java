@@ -0,0 +1,22 @@
+package com.reedelk.google.drive.v3.internal.attribute;
+
+import com.reedelk.runtime.api.annotation.Type;
+import com.reedelk.runtime.api.annotation.TypeProperty;
+import com.reedelk.runtime.api.message.MessageAttributes;
+
+import static com.reedelk.google.drive.v3.internal.attribute.ChangeListenerAttributes.COUNT;
+import static com.reedelk.google.drive.v3.internal.attribute.ChangeListenerAttributes.DRIVE_ID;
+
+@Type
+@TypeProperty(name = COUNT, type = int.class)
+@TypeProperty(name = DRIVE_ID, type = String.class)
+public class ChangeListenerAttributes extends MessageAttributes {
+
+    static final String COUNT = "count";
+    static final String DRIVE_ID = "driveId";
+
+    public ChangeListenerAttributes(int count, String driveId) {
+        put(COUNT, count);
+        put(DRIVE_ID, driveId);
+    }
+}
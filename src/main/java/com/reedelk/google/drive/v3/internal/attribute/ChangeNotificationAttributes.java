@@ -0,0 +1,27 @@
+package com.reedelk.google.drive.v3.internal.attribute;
+
+import com.reedelk.runtime.api.annotation.Type;
+import com.reedelk.runtime.api.annotation.TypeProperty;
+import com.reedelk.runtime.api.message.MessageAttributes;
+
+import static com.reedelk.google.drive.v3.internal.attribute.ChangeNotificationAttributes.*;
+
+@Type
+@TypeProperty(name = CHANNEL_ID, type = String.class)
+@TypeProperty(name = RESOURCE_STATE, type = String.class)
+@TypeProperty(name = MESSAGE_NUMBER, type = String.class)
+@TypeProperty(name = ACCEPTED, type = boolean.class)
+public class ChangeNotificationAttributes extends MessageAttributes {
+
+    static final String CHANNEL_ID = "channelId";
+    static final String RESOURCE_STATE = "resourceState";
+    static final String MESSAGE_NUMBER = "messageNumber";
+    static final String ACCEPTED = "accepted";
+
+    public ChangeNotificationAttributes(String channelId, String resourceState, String messageNumber, boolean accepted) {
+        put(CHANNEL_ID, channelId);
+        put(RESOURCE_STATE, resourceState);
+        put(MESSAGE_NUMBER, messageNumber);
+        put(ACCEPTED, accepted);
+    }
+}
@@ -0,0 +1,22 @@
+package com.reedelk.google.drive.v3.internal.attribute;
+
+import com.reedelk.runtime.api.annotation.Type;
+import com.reedelk.runtime.api.annotation.TypeProperty;
+import com.reedelk.runtime.api.message.MessageAttributes;
+
+import static com.reedelk.google.drive.v3.internal.attribute.FileExportAttributes.ID;
+import static com.reedelk.google.drive.v3.internal.attribute.FileExportAttributes.MIME_TYPE;
+
+@Type
+@TypeProperty(name = ID, type = String.class)
+@TypeProperty(name = MIME_TYPE, type = String.class)
+public class FileExportAttributes extends MessageAttributes {
+
+    static final String ID = "id";
+    static final String MIME_TYPE = "mimeType";
+
+    public FileExportAttributes(String fileId, String mimeType) {
+        put(ID, fileId);
+        put(MIME_TYPE, mimeType);
+    }
+}
@@ -0,0 +1,22 @@
+package com.reedelk.google.drive.v3.internal.attribute;
+
+import com.reedelk.runtime.api.annotation.Type;
+import com.reedelk.runtime.api.annotation.TypeProperty;
+import com.reedelk.runtime.api.message.MessageAttributes;
+
+import static com.reedelk.google.drive.v3.internal.attribute.FileGetAttributes.CACHED;
+import static com.reedelk.google.drive.v3.internal.attribute.FileGetAttributes.ID;
+
+@Type
+@TypeProperty(name = ID, type = String.class)
+@TypeProperty(name = CACHED, type = boolean.class)
+public class FileGetAttributes extends MessageAttributes {
+
+    static final String ID = "id";
+    static final String CACHED = "cached";
+
+    public FileGetAttributes(String fileId, boolean cached) {
+        put(ID, fileId);
+        put(CACHED, cached);
+    }
+}
@@ -16,20 +16,28 @@ import static java.util.Collections.unmodifiableList;
 @TypeProperty(name = WEB_VIEW_LINK, type = String.class)
 @TypeProperty(name = NAME, type = String.class)
 @TypeProperty(name = ID, type = String.class)
+@TypeProperty(name = DEDUPLICATED, type = boolean.class)
 public class FileUploadAttributes extends MessageAttributes {
 
     static final String WEB_CONTENT_LINK = "webContentLink";
     static final String WEB_VIEW_LINK = "webViewLink";
     static final String NAME = "name";
     static final String ID = "id";
+    static final String DEDUPLICATED = "deduplicated";
 
     public static final List<String> ALL_ATTRIBUTES =
             unmodifiableList(asList(WEB_CONTENT_LINK, WEB_VIEW_LINK, NAME, ID));
 
     public FileUploadAttributes(File file) {
+        this(file, false);
+    }
+
+    // Deduplicated is true when an identical existing file was returned instead of uploading the content.
+    public FileUploadAttributes(File file, boolean deduplicated) {
         put(WEB_CONTENT_LINK, file.getWebContentLink());
         put(WEB_VIEW_LINK, file.getWebViewLink());
         put(NAME, file.getName());
         put(ID, file.getId());
+        put(DEDUPLICATED, deduplicated);
     }
 }
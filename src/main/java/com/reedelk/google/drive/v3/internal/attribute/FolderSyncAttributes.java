@@ -0,0 +1,32 @@
+package com.reedelk.google.drive.v3.internal.attribute;
+
+import com.reedelk.google.drive.v3.internal.sync.SyncAction;
+import com.reedelk.google.drive.v3.internal.type.ListOfSyncedFiles;
+import com.reedelk.runtime.api.annotation.Type;
+import com.reedelk.runtime.api.annotation.TypeProperty;
+import com.reedelk.runtime.api.message.MessageAttributes;
+
+import static com.reedelk.google.drive.v3.internal.attribute.FolderSyncAttributes.*;
+
+@Type
+@TypeProperty(name = CREATED, type = long.class)
+@TypeProperty(name = UPDATED, type = long.class)
+@TypeProperty(name = DELETED, type = long.class)
+@TypeProperty(name = SKIPPED, type = long.class)
+@TypeProperty(name = FAILED, type = long.class)
+public class FolderSyncAttributes extends MessageAttributes {
+
+    static final String CREATED = "created";
+    static final String UPDATED = "updated";
+    static final String DELETED = "deleted";
+    static final String SKIPPED = "skipped";
+    static final String FAILED = "failed";
+
+    public FolderSyncAttributes(ListOfSyncedFiles synced, long skipped) {
+        put(CREATED, synced.successCount(SyncAction.CREATED));
+        put(UPDATED, synced.successCount(SyncAction.UPDATED));
+        put(DELETED, synced.successCount(SyncAction.DELETED));
+        put(SKIPPED, skipped);
+        put(FAILED, synced.failureCount());
+    }
+}
@@ -0,0 +1,97 @@
+package com.reedelk.google.drive.v3.internal.cache;
+
+import com.reedelk.google.drive.v3.component.DriveConfiguration;
+import com.reedelk.google.drive.v3.internal.type.FileType;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static com.reedelk.google.drive.v3.internal.commons.Default.METADATA_CACHE_MAX_SIZE;
+import static com.reedelk.google.drive.v3.internal.commons.Default.METADATA_CACHE_TTL_SECONDS;
+
+// Size bounded cache of file metadata keyed by file ID. Entries expire after the configured time
+// to live, and the least recently used entry is evicted when the cache is full. Cached values are
+// copied in and out, since flows are free to modify the message payloads. Only metadata fetched
+// with FileType.ALL_FIELDS is cached, so that every hit has the shape of a File Get result.
+public class MetadataCache {
+
+    public static final MetadataCache DISABLED = new MetadataCache(0, 0, System::nanoTime);
+
+    private final Map<String, Entry> entries;
+    private final LongSupplier clock;
+    private final long ttlNanos;
+    private final int maxSize;
+
+    MetadataCache(int maxSize, long ttlSeconds, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.clock = clock;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > MetadataCache.this.maxSize;
+            }
+        };
+    }
+
+    public static MetadataCache from(DriveConfiguration configuration) {
+        if (!Boolean.TRUE.equals(configuration.getMetadataCache())) return DISABLED;
+        int maxSize = Optional.ofNullable(configuration.getMetadataCacheMaxSize()).orElse(METADATA_CACHE_MAX_SIZE);
+        long ttl = Optional.ofNullable(configuration.getMetadataCacheTtl()).orElse(METADATA_CACHE_TTL_SECONDS);
+        if (maxSize <= 0 || ttl <= 0) return DISABLED;
+        return new MetadataCache(maxSize, ttl, System::nanoTime);
+    }
+
+    public Optional<FileType> get(String fileId) {
+        if (isDisabled() || fileId == null) return Optional.empty();
+        synchronized (entries) {
+            Entry entry = entries.get(fileId);
+            if (entry == null) return Optional.empty();
+            if (clock.getAsLong() - entry.expiresAt >= 0) {
+                entries.remove(fileId);
+                return Optional.empty();
+            }
+            return Optional.of(new FileType(entry.file));
+        }
+    }
+
+    public void put(FileType file) {
+        String fileId = file.getId();
+        if (isDisabled() || fileId == null) return;
+        Entry entry = new Entry(new FileType(file), clock.getAsLong() + ttlNanos);
+        synchronized (entries) {
+            entries.put(fileId, entry);
+        }
+    }
+
+    public void invalidate(String fileId) {
+        if (isDisabled() || fileId == null) return;
+        synchronized (entries) {
+            entries.remove(fileId);
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private boolean isDisabled() {
+        return maxSize <= 0;
+    }
+
+    private static class Entry {
+
+        private final FileType file;
+        private final long expiresAt;
+
+        Entry(FileType file, long expiresAt) {
+            this.file = file;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
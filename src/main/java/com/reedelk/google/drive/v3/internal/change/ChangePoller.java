@@ -0,0 +1,65 @@
+package com.reedelk.google.drive.v3.internal.change;
+
+import com.reedelk.google.drive.v3.internal.DriveApi;
+import com.reedelk.google.drive.v3.internal.command.ChangeListCommand;
+import com.reedelk.google.drive.v3.internal.command.ChangeStartPageTokenCommand;
+import com.reedelk.google.drive.v3.internal.type.ListOfChanges;
+
+import java.util.function.Predicate;
+
+// Fetches the changes made since the stored page token, one page at a time. The token is moved
+// forward only after a page has been successfully processed, therefore if processing fails the
+// same page is fetched again at the next poll (at least once delivery). When there is no stored
+// token, polling starts from the current state of the drive and past changes are not emitted.
+public class ChangePoller {
+
+    private final DriveApi driveApi;
+    private final PageTokenStore store;
+    private final Predicate<ListOfChanges> processor;
+    private final boolean includeRemoved;
+    private final String driveId;
+    private final int pageSize;
+
+    public ChangePoller(DriveApi driveApi,
+                        PageTokenStore store,
+                        String driveId,
+                        int pageSize,
+                        boolean includeRemoved,
+                        Predicate<ListOfChanges> processor) {
+        this.includeRemoved = includeRemoved;
+        this.processor = processor;
+        this.driveApi = driveApi;
+        this.pageSize = pageSize;
+        this.driveId = driveId;
+        this.store = store;
+    }
+
+    public void poll() {
+        String pageToken = store.load();
+        if (pageToken == null) {
+            store.save(driveApi.execute(new ChangeStartPageTokenCommand(driveId)));
+            return;
+        }
+
+        while (!Thread.currentThread().isInterrupted()) {
+            ListOfChanges changes = driveApi.execute(new ChangeListCommand(pageToken, driveId, pageSize, includeRemoved));
+
+            if (!changes.isEmpty() && !processor.test(changes)) {
+                // Processing failed: the page is fetched again at the next poll.
+                return;
+            }
+
+            String nextPageToken = changes.getNextPageToken();
+            if (nextPageToken == null) {
+                // Last page: the new start page token is used to fetch future changes.
+                if (changes.getNewStartPageToken() != null) {
+                    store.save(changes.getNewStartPageToken());
+                }
+                return;
+            }
+
+            store.save(nextPageToken);
+            pageToken = nextPageToken;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.reedelk.google.drive.v3.internal.change;
+
+import com.google.api.services.drive.model.Channel;
+import com.reedelk.google.drive.v3.internal.DriveApi;
+import com.reedelk.google.drive.v3.internal.command.ChangeStartPageTokenCommand;
+import com.reedelk.google.drive.v3.internal.command.ChangeWatchCommand;
+import com.reedelk.google.drive.v3.internal.command.ChannelStopCommand;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Keeps a Google Drive notification channel open for the changes of a drive: the channel is renewed
+// before it expires, and the previous one is stopped once the new one is registered. A notification
+// triggers an incremental poll of the changes. Since notifications might be lost (or the channel might
+// not be renewed, e.g. because Google Drive is not reachable), changes are also polled when no poll has
+// happened within the fallback interval. All the work is done on the given single threaded scheduler,
+// therefore polls never overlap.
+public class ChangeWatch {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeWatch.class);
+
+    private final AtomicBoolean pollPending = new AtomicBoolean(false);
+    private final ScheduledExecutorService scheduler;
+    private final PageTokenStore store;
+    private final ChangePoller poller;
+    private final DriveApi driveApi;
+    private final String driveId;
+    private final String address;
+    private final long ttlMillis;
+    private final long fallbackMillis;
+
+    private volatile long lastPoll;
+    private volatile ActiveChannel channel;
+
+    public ChangeWatch(DriveApi driveApi,
+                       PageTokenStore store,
+                       ChangePoller poller,
+                       String driveId,
+                       String address,
+                       long ttlMillis,
+                       long fallbackMillis,
+                       ScheduledExecutorService scheduler) {
+        this.fallbackMillis = fallbackMillis;
+        this.ttlMillis = ttlMillis;
+        this.scheduler = scheduler;
+        this.driveApi = driveApi;
+        this.address = address;
+        this.driveId = driveId;
+        this.poller = poller;
+        this.store = store;
+        this.lastPoll = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(fallbackMillis);
+    }
+
+    public void start() {
+        scheduler.execute(this::poll);
+        scheduler.execute(this::renew);
+        scheduler.scheduleWithFixedDelay(this::fallbackPoll, fallbackMillis, fallbackMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        scheduler.shutdownNow();
+        ActiveChannel current = channel;
+        if (current != null) {
+            channel = null;
+            stop(current);
+        }
+    }
+
+    // Called by the notification receiver: notifications arriving while
+    // a poll is pending are coalesced into that single poll.
+    void onNotification() {
+        if (pollPending.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                pollPending.set(false);
+                poll();
+            });
+        }
+    }
+
+    void poll() {
+        lastPoll = System.nanoTime();
+        try {
+            poller.poll();
+        } catch (Exception exception) {
+            logger.warn(exception.getMessage(), exception);
+        }
+    }
+
+    void fallbackPoll() {
+        if (System.nanoTime() - lastPoll >= TimeUnit.MILLISECONDS.toNanos(fallbackMillis)) {
+            poll();
+        }
+    }
+
+    void renew() {
+        String channelId = UUID.randomUUID().toString();
+        String channelToken = UUID.randomUUID().toString();
+
+        // The channel is registered before being created on Google Drive,
+        // so that notifications sent right after its creation are not lost.
+        ChannelRegistry.register(channelId, channelToken, this::onNotification);
+
+        Channel created;
+        try {
+            String pageToken = store.load();
+            if (pageToken == null) {
+                pageToken = driveApi.execute(new ChangeStartPageTokenCommand(driveId));
+                store.save(pageToken);
+            }
+            long expiration = System.currentTimeMillis() + ttlMillis;
+            created = driveApi.execute(new ChangeWatchCommand(pageToken, driveId, channelId, channelToken, address, expiration));
+        } catch (Exception exception) {
+            // Changes are still fetched by the fallback polling until the channel can be created.
+            ChannelRegistry.unregister(channelId);
+            logger.warn(exception.getMessage(), exception);
+            scheduler.schedule(this::renew, fallbackMillis, TimeUnit.MILLISECONDS);
+            return;
+        }
+
+        ActiveChannel previous = channel;
+        channel = new ActiveChannel(channelId, created.getResourceId());
+        if (previous != null) stop(previous);
+
+        scheduler.schedule(this::renew, renewDelayOf(created.getExpiration()), TimeUnit.MILLISECONDS);
+    }
+
+    // The channel is renewed when 90% of its actual lifetime (Google
+    // Drive might shorten the requested one) has elapsed.
+    long renewDelayOf(Long expiration) {
+        long lifetime = expiration != null ?
+                expiration - System.currentTimeMillis() :
+                ttlMillis;
+        return Math.max(0, lifetime - lifetime / 10);
+    }
+
+    String channelId() {
+        ActiveChannel current = channel;
+        return current != null ? current.id : null;
+    }
+
+    private void stop(ActiveChannel toStop) {
+        ChannelRegistry.unregister(toStop.id);
+        try {
+            driveApi.execute(new ChannelStopCommand(toStop.id, toStop.resourceId));
+        } catch (Exception exception) {
+            // The channel expires anyway and its notifications are ignored.
+            logger.warn(exception.getMessage(), exception);
+        }
+    }
+
+    private static class ActiveChannel {
+
+        private final String id;
+        private final String resourceId;
+
+        ActiveChannel(String id, String resourceId) {
+            this.id = id;
+            this.resourceId = resourceId;
+        }
+    }
+}
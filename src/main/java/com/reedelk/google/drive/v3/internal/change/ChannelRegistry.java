@@ -0,0 +1,49 @@
+package com.reedelk.google.drive.v3.internal.change;
+
+import com.reedelk.google.drive.v3.internal.exception.ChangeWatchException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.reedelk.google.drive.v3.internal.commons.Messages.ChangeWatch.CHANNEL_TOKEN_INVALID;
+
+// Links the notification channels registered by the change watchers with the component receiving
+// the notifications sent by Google Drive (which lives in a different flow, behind a REST listener).
+public class ChannelRegistry {
+
+    private static final Map<String, Registration> CHANNELS = new ConcurrentHashMap<>();
+
+    private ChannelRegistry() {
+    }
+
+    public static void register(String channelId, String channelToken, Runnable onNotification) {
+        CHANNELS.put(channelId, new Registration(channelToken, onNotification));
+    }
+
+    public static void unregister(String channelId) {
+        CHANNELS.remove(channelId);
+    }
+
+    // Returns false if the channel is not (or no longer) registered, e.g. a notification
+    // sent by Google Drive for a channel which has just been replaced by a renewal.
+    public static boolean notify(String channelId, String channelToken) {
+        Registration registration = CHANNELS.get(channelId);
+        if (registration == null) return false;
+        if (!registration.channelToken.equals(channelToken)) {
+            throw new ChangeWatchException(CHANNEL_TOKEN_INVALID.format(channelId));
+        }
+        registration.onNotification.run();
+        return true;
+    }
+
+    private static class Registration {
+
+        private final String channelToken;
+        private final Runnable onNotification;
+
+        Registration(String channelToken, Runnable onNotification) {
+            this.channelToken = channelToken;
+            this.onNotification = onNotification;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.reedelk.google.drive.v3.internal.change;
+
+import com.reedelk.google.drive.v3.internal.exception.ChangeListException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.reedelk.google.drive.v3.internal.commons.Messages.ChangeList.PAGE_TOKEN_LOAD_ERROR;
+import static com.reedelk.google.drive.v3.internal.commons.Messages.ChangeList.PAGE_TOKEN_SAVE_ERROR;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+// Keeps the page token from which the next changes should be fetched. When a file is given the token
+// survives restarts: it is written to a temporary file which then atomically replaces the previous one,
+// therefore a crash while saving never leaves a partially written token behind.
+public class PageTokenStore {
+
+    private final Path file;
+    private volatile String token;
+
+    public PageTokenStore(Path file) {
+        this.file = file;
+    }
+
+    public String load() {
+        if (token == null && file != null && Files.exists(file)) {
+            try {
+                String stored = new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim();
+                token = stored.isEmpty() ? null : stored;
+            } catch (IOException exception) {
+                String error = PAGE_TOKEN_LOAD_ERROR.format(file, exception.getMessage());
+                throw new ChangeListException(error, exception);
+            }
+        }
+        return token;
+    }
+
+    public void save(String newToken) {
+        if (file != null) {
+            try {
+                Path parent = file.toAbsolutePath().getParent();
+                if (parent != null) Files.createDirectories(parent);
+                Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+                Files.write(temporary, newToken.getBytes(StandardCharsets.UTF_8));
+                Files.move(temporary, file, REPLACE_EXISTING, ATOMIC_MOVE);
+            } catch (IOException exception) {
+                String error = PAGE_TOKEN_SAVE_ERROR.format(file, exception.getMessage());
+                throw new ChangeListException(error, exception);
+            }
+        }
+        token = newToken;
+    }
+}
@@ -0,0 +1,18 @@
+package com.reedelk.google.drive.v3.internal.command;
+
+import com.google.api.services.drive.Drive;
+import com.google.api.services.drive.DriveRequest;
+
+import java.io.IOException;
+
+// A command which can be sent to Google Drive together with other
+// commands in a single HTTP batch request (see DriveApi#executeBatch).
+public interface BatchableCommand<T> extends Command<T> {
+
+    DriveRequest<T> request(Drive drive) throws IOException;
+
+    @Override
+    default T execute(Drive drive) throws IOException {
+        return request(drive).execute();
+    }
+}
@@ -0,0 +1,55 @@
+package com.reedelk.google.drive.v3.internal.command;
+
+import com.google.api.services.drive.Drive;
+import com.google.api.services.drive.model.ChangeList;
+import com.reedelk.google.drive.v3.internal.exception.ChangeListException;
+import com.reedelk.google.drive.v3.internal.type.FileType;
+import com.reedelk.google.drive.v3.internal.type.ListOfChanges;
+import com.reedelk.runtime.api.exception.PlatformException;
+
+import java.io.IOException;
+
+import static com.reedelk.google.drive.v3.internal.commons.Messages.ChangeList.GENERIC_ERROR;
+import static com.reedelk.runtime.api.commons.StringUtils.isNotBlank;
+import static java.lang.String.join;
+
+public class ChangeListCommand implements Command<ListOfChanges> {
+
+    // Only the fields mapped by the change type are requested.
+    static final String FIELDS = "nextPageToken,newStartPageToken," +
+            "changes(fileId,removed,time,changeType,driveId,file(" + join(",", FileType.ALL_FIELDS) + "))";
+
+    private final boolean includeRemoved;
+    private final String pageToken;
+    private final String driveId;
+    private final int pageSize;
+
+    public ChangeListCommand(String pageToken, String driveId, int pageSize, boolean includeRemoved) {
+        this.includeRemoved = includeRemoved;
+        this.pageToken = pageToken;
+        this.pageSize = pageSize;
+        this.driveId = driveId;
+    }
+
+    @Override
+    public ListOfChanges execute(Drive drive) throws IOException {
+        Drive.Changes.List list = drive.changes().list(pageToken);
+        list.setPageSize(pageSize);
+        list.setIncludeRemoved(includeRemoved);
+        if (isNotBlank(driveId)) {
+            list.setDriveId(driveId);
+            list.setSupportsAllDrives(true);
+            list.setIncludeItemsFromAllDrives(true);
+        }
+
+        ChangeList changes = list.setFields(FIELDS).execute();
+
+        return new ListOfChanges(changes.getChanges(), changes.getNextPageToken(), changes.getNewStartPageToken());
+    }
+
+    @Override
+    public PlatformException onException(Exception exception) {
+        String error = GENERIC_ERROR.format(pageToken, driveId, pageSize, exception.getMessage());
+        return new ChangeListException(error, exception);
+    }
+}
@@ -0,0 +1,35 @@
+package com.reedelk.google.drive.v3.internal.command;
+
+import com.google.api.services.drive.Drive;
+import com.reedelk.google.drive.v3.internal.exception.ChangeListException;
+import com.reedelk.runtime.api.exception.PlatformException;
+
+import java.io.IOException;
+
+import static com.reedelk.google.drive.v3.internal.commons.Messages.ChangeList.START_PAGE_TOKEN_ERROR;
+import static com.reedelk.runtime.api.commons.StringUtils.isNotBlank;
+
+public class ChangeStartPageTokenCommand implements Command<String> {
+
+    private final String driveId;
+
+    public ChangeStartPageTokenCommand(String driveId) {
+        this.driveId = driveId;
+    }
+
+    @Override
+    public String execute(Drive drive) throws IOException {
+        Drive.Changes.GetStartPageToken request = drive.changes().getStartPageToken();
+        if (isNotBlank(driveId)) {
+            request.setDriveId(driveId);
+            request.setSupportsAllDrives(true);
+        }
+        return request.execute().getStartPageToken();
+    }
+
+    @Override
+    public PlatformException onException(Exception exception) {
+        String error = START_PAGE_TOKEN_ERROR.format(driveId, exception.getMessage());
+        return new ChangeListException(error, exception);
+    }
+}
@@ -0,0 +1,67 @@
+package com.reedelk.google.drive.v3.internal.command;
+
+import com.google.api.services.drive.Drive;
+import com.google.api.services.drive.model.Channel;
+import com.reedelk.google.drive.v3.internal.exception.ChangeWatchException;
+import com.reedelk.runtime.api.exception.PlatformException;
+
+import java.io.IOException;
+
+import static com.reedelk.google.drive.v3.internal.commons.Messages.ChangeWatch.GENERIC_ERROR;
+import static com.reedelk.runtime.api.commons.StringUtils.isNotBlank;
+
+public class ChangeWatchCommand implements Command<Channel> {
+
+    private static final String WEB_HOOK = "web_hook";
+
+    private final String pageToken;
+    private final String driveId;
+    private final String channelId;
+    private final String channelToken;
+    private final String address;
+    private final long expiration;
+
+    public ChangeWatchCommand(String pageToken,
+                              String driveId,
+                              String channelId,
+                              String channelToken,
+                              String address,
+                              long expiration) {
+        this.channelToken = channelToken;
+        this.expiration = expiration;
+        this.pageToken = pageToken;
+        this.channelId = channelId;
+        this.address = address;
+        this.driveId = driveId;
+    }
+
+    @Override
+    public Channel execute(Drive drive) throws IOException {
+        Channel channel = new Channel()
+                .setId(channelId)
+                .setType(WEB_HOOK)
+                .setAddress(address)
+                .setToken(channelToken)
+                .setExpiration(expiration);
+
+        Drive.Changes.Watch watch = drive.changes().watch(pageToken, channel);
+        if (isNotBlank(driveId)) {
+            watch.setDriveId(driveId);
+            watch.setSupportsAllDrives(true);
+            watch.setIncludeItemsFromAllDrives(true);
+        }
+        return watch.execute();
+    }
+
+    @Override
+    public boolean idempotent() {
+        // A new channel is created each time the request is sent.
+        return false;
+    }
+
+    @Override
+    public PlatformException onException(Exception exception) {
+        String error = GENERIC_ERROR.format(pageToken, driveId, address, exception.getMessage());
+        return new ChangeWatchException(error, exception);
+    }
+}
@@ -0,0 +1,35 @@
+package com.reedelk.google.drive.v3.internal.command;
+
+import com.google.api.services.drive.Drive;
+import com.google.api.services.drive.model.Channel;
+import com.reedelk.google.drive.v3.internal.exception.ChangeWatchException;
+import com.reedelk.runtime.api.exception.PlatformException;
+
+import java.io.IOException;
+
+import static com.reedelk.google.drive.v3.internal.commons.Messages.ChangeWatch.STOP_ERROR;
+
+public class ChannelStopCommand implements Command<Void> {
+
+    private final String channelId;
+    private final String resourceId;
+
+    public ChannelStopCommand(String channelId, String resourceId) {
+        this.channelId = channelId;
+        this.resourceId = resourceId;
+    }
+
+    @Override
+    public Void execute(Drive drive) throws IOException {
+        Channel channel = new Channel()
+                .setId(channelId)
+                .setResourceId(resourceId);
+        return drive.channels().stop(channel).execute();
+    }
+
+    @Override
+    public PlatformException onException(Exception exception) {
+        String error = STOP_ERROR.format(channelId, exception.getMessage());
+        return new ChangeWatchException(error, exception);
+    }
+}
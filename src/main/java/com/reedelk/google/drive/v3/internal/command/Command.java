@@ -11,4 +11,16 @@ public interface Command<T> {
 
     PlatformException onException(Exception exception);
 
+    // Whether the command can be safely sent again when it is not known if
+    // Google Drive processed it, e.g. after a server error or a timeout.
+    default boolean idempotent() {
+        return true;
+    }
+
+    // Whether the request can be sent again at all, even when it is known that Google Drive rejected
+    // it without processing it (e.g. when rate limited): false once its content stream has been read.
+    default boolean replayable() {
+        return true;
+    }
+
 }
@@ -1,6 +1,7 @@
 package com.reedelk.google.drive.v3.internal.command;
 
 import com.google.api.services.drive.Drive;
+import com.google.api.services.drive.DriveRequest;
 import com.reedelk.google.drive.v3.internal.exception.FileDeleteException;
 import com.reedelk.runtime.api.exception.PlatformException;
 
@@ -10,7 +11,7 @@ import static com.reedelk.google.drive.v3.internal.commons.Messages.FileDelete.F
 import static com.reedelk.google.drive.v3.internal.commons.Messages.FileDelete.GENERIC_ERROR;
 import static com.reedelk.runtime.api.commons.StringUtils.isBlank;
 
-public class FileDeleteCommand implements Command<Void> {
+public class FileDeleteCommand implements BatchableCommand<Void> {
 
     private final String fileId;
 
@@ -22,16 +23,13 @@ public class FileDeleteCommand implements Command<Void> {
     }
 
     @Override
-    public Void execute(Drive drive) throws IOException {
-        drive.files()
-                .delete(fileId)
-                .execute();
-        return null;
+    public DriveRequest<Void> request(Drive drive) throws IOException {
+        return drive.files().delete(fileId);
     }
 
     @Override
     public PlatformException onException(Exception exception) {
         String error = GENERIC_ERROR.format(fileId, exception.getMessage());
-        throw new FileDeleteException(error, exception);
+        return new FileDeleteException(error, exception);
     }
 }
@@ -34,7 +34,10 @@ public class FileDownloadCommand implements Command<byte[]> {
 
     @Override
     public PlatformException onException(Exception exception) {
+        if (NotDownloadable.matches(exception)) {
+            return NotDownloadable.exceptionOf(fileId, exception);
+        }
         String error = GENERIC_ERROR.format(fileId, exception.getMessage());
-        throw new FileDownloadException(error, exception);
+        return new FileDownloadException(error, exception);
     }
 }
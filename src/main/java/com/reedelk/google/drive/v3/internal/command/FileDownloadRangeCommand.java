@@ -0,0 +1,43 @@
+package com.reedelk.google.drive.v3.internal.command;
+
+import com.google.api.services.drive.Drive;
+import com.reedelk.google.drive.v3.internal.exception.FileDownloadException;
+import com.reedelk.runtime.api.exception.PlatformException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static com.reedelk.google.drive.v3.internal.commons.Messages.FileDownload.FILE_ID_EMPTY;
+import static com.reedelk.google.drive.v3.internal.commons.Messages.FileDownload.GENERIC_ERROR_RANGE;
+import static com.reedelk.runtime.api.commons.StringUtils.isBlank;
+
+// Opens the given bytes range (both ends inclusive) of the content
+// of the file as a stream: the caller is responsible to close it.
+public class FileDownloadRangeCommand implements Command<InputStream> {
+
+    private final String fileId;
+    private final long from;
+    private final long to;
+
+    public FileDownloadRangeCommand(String fileId, long from, long to) {
+        if (isBlank(fileId)) {
+            throw new FileDownloadException(FILE_ID_EMPTY.format());
+        }
+        this.fileId = fileId;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public InputStream execute(Drive drive) throws IOException {
+        Drive.Files.Get get = drive.files().get(fileId);
+        get.getRequestHeaders().setRange("bytes=" + from + "-" + to);
+        return get.executeMediaAsInputStream();
+    }
+
+    @Override
+    public PlatformException onException(Exception exception) {
+        String error = GENERIC_ERROR_RANGE.format(from, to, fileId, exception.getMessage());
+        return new FileDownloadException(error, exception);
+    }
+}
@@ -0,0 +1,41 @@
+package com.reedelk.google.drive.v3.internal.command;
+
+import com.google.api.services.drive.Drive;
+import com.reedelk.google.drive.v3.internal.exception.FileDownloadException;
+import com.reedelk.runtime.api.exception.PlatformException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static com.reedelk.google.drive.v3.internal.commons.Messages.FileDownload.FILE_ID_EMPTY;
+import static com.reedelk.google.drive.v3.internal.commons.Messages.FileDownload.GENERIC_ERROR;
+import static com.reedelk.runtime.api.commons.StringUtils.isBlank;
+
+// Opens the content of the file as a stream: the caller is responsible to close it.
+public class FileDownloadStreamCommand implements Command<InputStream> {
+
+    private final String fileId;
+
+    public FileDownloadStreamCommand(String fileId) {
+        if (isBlank(fileId)) {
+            throw new FileDownloadException(FILE_ID_EMPTY.format());
+        }
+        this.fileId = fileId;
+    }
+
+    @Override
+    public InputStream execute(Drive drive) throws IOException {
+        return drive.files()
+                .get(fileId)
+                .executeMediaAsInputStream();
+    }
+
+    @Override
+    public PlatformException onException(Exception exception) {
+        if (NotDownloadable.matches(exception)) {
+            return NotDownloadable.exceptionOf(fileId, exception);
+        }
+        String error = GENERIC_ERROR.format(fileId, exception.getMessage());
+        return new FileDownloadException(error, exception);
+    }
+}
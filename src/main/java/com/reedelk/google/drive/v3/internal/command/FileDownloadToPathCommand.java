@@ -0,0 +1,81 @@
+package com.reedelk.google.drive.v3.internal.command;
+
+import com.google.api.services.drive.Drive;
+import com.reedelk.google.drive.v3.internal.commons.PartFiles;
+import com.reedelk.google.drive.v3.internal.exception.FileDownloadException;
+import com.reedelk.runtime.api.exception.PlatformException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.reedelk.google.drive.v3.internal.commons.Messages.FileDownload.*;
+import static com.reedelk.runtime.api.commons.StringUtils.isBlank;
+import static java.nio.file.StandardOpenOption.*;
+
+// Downloads the content of the file to the given path and returns the number of bytes written. The content
+// is written to a '.part' file first, therefore a failed download never leaves a truncated target file.
+public class FileDownloadToPathCommand implements Command<Long> {
+
+    private static final long TRANSFER_SIZE = 1024L * 1024L;
+
+    private final String fileId;
+    private final Path targetPath;
+
+    public FileDownloadToPathCommand(String fileId, Path targetPath) {
+        if (isBlank(fileId)) {
+            throw new FileDownloadException(FILE_ID_EMPTY.format());
+        }
+        if (targetPath == null) {
+            throw new FileDownloadException(TARGET_PATH_EMPTY.format());
+        }
+        this.targetPath = targetPath;
+        this.fileId = fileId;
+    }
+
+    @Override
+    public Long execute(Drive drive) throws IOException {
+        Path parent = targetPath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        Path part = PartFiles.partOf(targetPath);
+        try {
+            long size = download(drive, part);
+            PartFiles.moveInPlace(part, targetPath);
+            return size;
+        } catch (IOException | RuntimeException exception) {
+            PartFiles.deleteQuietly(part);
+            throw exception;
+        }
+    }
+
+    @Override
+    public PlatformException onException(Exception exception) {
+        if (NotDownloadable.matches(exception)) {
+            return NotDownloadable.exceptionOf(fileId, exception);
+        }
+        String error = GENERIC_ERROR_PATH.format(fileId, targetPath, exception.getMessage());
+        return new FileDownloadException(error, exception);
+    }
+
+    private long download(Drive drive, Path part) throws IOException {
+        try (InputStream content = drive.files().get(fileId).executeMediaAsInputStream();
+             ReadableByteChannel source = Channels.newChannel(content);
+             FileChannel target = FileChannel.open(part, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            // Bytes are moved from the HTTP response to the file in fixed size transfers,
+            // therefore the memory used does not depend on the size of the file.
+            long position = 0;
+            long transferred;
+            while ((transferred = target.transferFrom(source, position, TRANSFER_SIZE)) > 0) {
+                position += transferred;
+            }
+            return position;
+        }
+    }
+}
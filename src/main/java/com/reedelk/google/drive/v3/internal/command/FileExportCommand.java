@@ -0,0 +1,41 @@
+package com.reedelk.google.drive.v3.internal.command;
+
+import com.google.api.services.drive.Drive;
+import com.reedelk.google.drive.v3.internal.exception.FileExportException;
+import com.reedelk.runtime.api.exception.PlatformException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static com.reedelk.google.drive.v3.internal.commons.Messages.FileExport.FILE_ID_EMPTY;
+import static com.reedelk.google.drive.v3.internal.commons.Messages.FileExport.GENERIC_ERROR;
+import static com.reedelk.runtime.api.commons.StringUtils.isBlank;
+
+// Opens the content of the Google Workspace file converted to the given
+// mime type as a stream: the caller is responsible to close it.
+public class FileExportCommand implements Command<InputStream> {
+
+    private final String fileId;
+    private final String mimeType;
+
+    public FileExportCommand(String fileId, String mimeType) {
+        if (isBlank(fileId)) {
+            throw new FileExportException(FILE_ID_EMPTY.format());
+        }
+        this.fileId = fileId;
+        this.mimeType = mimeType;
+    }
+
+    @Override
+    public InputStream execute(Drive drive) throws IOException {
+        return drive.files()
+                .export(fileId, mimeType)
+                .executeMediaAsInputStream();
+    }
+
+    @Override
+    public PlatformException onException(Exception exception) {
+        String error = GENERIC_ERROR.format(fileId, mimeType, exception.getMessage());
+        return new FileExportException(error, exception);
+    }
+}
@@ -0,0 +1,40 @@
+package com.reedelk.google.drive.v3.internal.command;
+
+import com.google.api.services.drive.Drive;
+import com.google.api.services.drive.model.File;
+import com.reedelk.google.drive.v3.internal.exception.FileGetException;
+import com.reedelk.runtime.api.exception.PlatformException;
+
+import java.io.IOException;
+
+import static com.reedelk.google.drive.v3.internal.commons.Messages.FileGet.FILE_ID_EMPTY;
+import static com.reedelk.google.drive.v3.internal.commons.Messages.FileGet.GENERIC_ERROR;
+import static com.reedelk.runtime.api.commons.StringUtils.isBlank;
+
+public class FileGetCommand implements Command<File> {
+
+    private final String fileId;
+    private final String fields;
+
+    public FileGetCommand(String fileId, String fields) {
+        if (isBlank(fileId)) {
+            throw new FileGetException(FILE_ID_EMPTY.format());
+        }
+        this.fileId = fileId;
+        this.fields = fields;
+    }
+
+    @Override
+    public File execute(Drive drive) throws IOException {
+        return drive.files()
+                .get(fileId)
+                .setFields(fields)
+                .execute();
+    }
+
+    @Override
+    public PlatformException onException(Exception exception) {
+        String error = GENERIC_ERROR.format(fileId, exception.getMessage());
+        return new FileGetException(error, exception);
+    }
+}
@@ -1,28 +1,69 @@
 package com.reedelk.google.drive.v3.internal.command;
 
+import com.google.api.client.http.HttpResponse;
+import com.google.api.client.json.JsonParser;
+import com.google.api.client.json.JsonToken;
 import com.google.api.services.drive.Drive;
+import com.google.api.services.drive.model.File;
 import com.google.api.services.drive.model.FileList;
 import com.reedelk.google.drive.v3.internal.exception.FileListException;
+import com.reedelk.google.drive.v3.internal.type.FileType;
 import com.reedelk.google.drive.v3.internal.type.ListOfFiles;
 import com.reedelk.runtime.api.exception.PlatformException;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
 
 import static com.reedelk.google.drive.v3.internal.commons.Messages.FileList.GENERIC_ERROR;
+import static java.lang.String.join;
 
 public class FileListCommand implements Command<ListOfFiles> {
 
+    private static final String NEXT_PAGE_TOKEN = "nextPageToken";
+    private static final String FILES = "files";
+
+    private final Consumer<FileType> consumer;
+    private final List<String> additionalFields;
     private final String nextPageToken;
     private final String driveId;
     private final String orderBy;
     private final String query;
     private final int pageSize;
 
+    private int emitted;
+
     public FileListCommand(String driveId,
                            String orderBy,
                            int pageSize,
                            String nextPageToken,
                            String query) {
+        this(driveId, orderBy, pageSize, nextPageToken, query, Collections.emptyList());
+    }
+
+    public FileListCommand(String driveId,
+                           String orderBy,
+                           int pageSize,
+                           String nextPageToken,
+                           String query,
+                           List<String> additionalFields) {
+        this(driveId, orderBy, pageSize, nextPageToken, query, additionalFields, null);
+    }
+
+    // When a consumer is given, each file is handed over to it as soon as it has been parsed from the
+    // response, and the returned list is empty: it only carries the token of the next page. The files
+    // of a page are therefore never all in memory at the same time.
+    public FileListCommand(String driveId,
+                           String orderBy,
+                           int pageSize,
+                           String nextPageToken,
+                           String query,
+                           List<String> additionalFields,
+                           Consumer<FileType> consumer) {
+        this.additionalFields = additionalFields;
+        this.consumer = consumer;
         this.nextPageToken = nextPageToken;
         this.pageSize = pageSize;
         this.driveId = driveId;
@@ -39,9 +80,21 @@ public class FileListCommand implements Command<ListOfFiles> {
         list.setOrderBy(orderBy);
         list.setQ(query);
 
-        FileList files = list.setFields("*").execute();
+        list.setFields(fields(additionalFields));
+
+        if (consumer != null) {
+            return new ListOfFiles(null, stream(drive, list));
+        }
+
+        FileList files = list.execute();
 
-        return new ListOfFiles(files.getFiles());
+        return new ListOfFiles(files.getFiles(), files.getNextPageToken(), additionalFields);
+    }
+
+    @Override
+    public boolean replayable() {
+        // Files already handed over to the consumer would be handed over again.
+        return emitted == 0;
     }
 
     @Override
@@ -55,4 +108,57 @@ public class FileListCommand implements Command<ListOfFiles> {
                 exception.getMessage());
         return new FileListException(error, exception);
     }
+
+    private String stream(Drive drive, Drive.Files.List list) throws IOException {
+        HttpResponse response = list.executeUnparsed();
+        try {
+            JsonParser parser = drive.getJsonFactory()
+                    .createJsonParser(response.getContent(), response.getContentCharset());
+            try {
+                return parse(parser, additionalFields, file -> {
+                    emitted++;
+                    consumer.accept(file);
+                });
+            } finally {
+                parser.close();
+            }
+        } finally {
+            response.disconnect();
+        }
+    }
+
+    // Reads the response one token at a time: only the file being parsed is
+    // held in memory, all the other fields of the response are skipped.
+    static String parse(JsonParser parser, List<String> additionalFields, Consumer<FileType> consumer) throws IOException {
+        String nextPageToken = null;
+        JsonToken token = parser.nextToken();
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("Unexpected JSON token=[" + token + "], expected an object.");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (NEXT_PAGE_TOKEN.equals(name) && value == JsonToken.VALUE_STRING) {
+                nextPageToken = parser.getText();
+            } else if (FILES.equals(name) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    File file = parser.parse(File.class);
+                    consumer.accept(new FileType(file, additionalFields));
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return nextPageToken;
+    }
+
+    // Only the fields mapped by the file type and the additional fields are requested:
+    // the response size is considerably smaller than the one of a request for all fields ('*').
+    static String fields(List<String> additionalFields) {
+        List<String> fileFields = new ArrayList<>(FileType.ALL_FIELDS);
+        additionalFields.stream()
+                .filter(field -> !fileFields.contains(field))
+                .forEach(fileFields::add);
+        return "nextPageToken,files(" + join(",", fileFields) + ")";
+    }
 }
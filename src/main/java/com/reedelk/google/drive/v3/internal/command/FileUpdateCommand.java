@@ -1,44 +1,101 @@
 package com.reedelk.google.drive.v3.internal.command;
 
+import com.google.api.client.googleapis.media.MediaHttpUploader;
+import com.google.api.client.http.AbstractInputStreamContent;
 import com.google.api.client.http.ByteArrayContent;
+import com.google.api.client.http.InputStreamContent;
 import com.google.api.services.drive.Drive;
 import com.google.api.services.drive.model.File;
+import com.reedelk.google.drive.v3.internal.attribute.FileUploadAttributes;
 import com.reedelk.google.drive.v3.internal.exception.FileDownloadException;
 import com.reedelk.google.drive.v3.internal.exception.FileUpdateException;
 import com.reedelk.runtime.api.exception.PlatformException;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Optional;
 
 import static com.reedelk.google.drive.v3.internal.commons.Messages.FileUpdate.FILE_ID_EMPTY;
 import static com.reedelk.google.drive.v3.internal.commons.Messages.FileUpdate.GENERIC_ERROR;
 import static com.reedelk.runtime.api.commons.StringUtils.isBlank;
+import static java.lang.String.join;
 
 public class FileUpdateCommand implements Command<File> {
 
+    private final UploadConversion conversion;
+    private final TrackedInputStream fileStream;
     private final byte[] fileContent;
     private final String fileId;
+    private final int chunkSize;
 
     public FileUpdateCommand(String fileId, byte[] fileContent) {
+        this(fileId, fileContent, UploadConversion.NONE);
+    }
+
+    public FileUpdateCommand(String fileId, byte[] fileContent, UploadConversion conversion) {
         if (isBlank(fileId)) {
             throw new FileDownloadException(FILE_ID_EMPTY.format());
         }
         this.fileContent = Optional.ofNullable(fileContent).orElse(new byte[0]);
+        this.conversion = conversion;
+        this.fileStream = null;
+        this.fileId = fileId;
+        this.chunkSize = 0;
+    }
+
+    public FileUpdateCommand(String fileId, InputStream fileStream, int chunkSize) {
+        this(fileId, fileStream, chunkSize, UploadConversion.NONE);
+    }
+
+    public FileUpdateCommand(String fileId, InputStream fileStream, int chunkSize, UploadConversion conversion) {
+        if (isBlank(fileId)) {
+            throw new FileUpdateException(FILE_ID_EMPTY.format());
+        }
+        this.fileStream = fileStream == null ? null : new TrackedInputStream(fileStream);
+        this.chunkSize = chunkSize;
+        this.conversion = conversion;
+        this.fileContent = null;
         this.fileId = fileId;
     }
 
     @Override
     public File execute(Drive drive) throws IOException {
-        ByteArrayContent byteArrayContent = new ByteArrayContent(null ,fileContent);
+        AbstractInputStreamContent mediaContent = fileStream != null ?
+                new InputStreamContent(conversion.sourceMimeType(), fileStream) :
+                new ByteArrayContent(conversion.sourceMimeType(), fileContent);
+
+        // The updated file might be returned in place of an uploaded one, therefore the same fields are requested.
+        Drive.Files.Update update = drive.files()
+                .update(fileId, null, mediaContent)
+                .setFields(join(",", FileUploadAttributes.ALL_ATTRIBUTES));
 
-        return drive.files()
-                .update(fileId, null, byteArrayContent)
-                .execute();
+        conversion.applyTo(update);
+
+        if (chunkSize > 0) {
+            // Same as uploads: the content is sent one chunk at a time using the resumable upload protocol.
+            MediaHttpUploader uploader = update.getMediaHttpUploader();
+            uploader.setDirectUploadEnabled(false);
+            uploader.setChunkSize(FileUploadCommand.chunkSizeOf(chunkSize));
+        }
+
+        return update.execute();
+    }
+
+    @Override
+    public boolean idempotent() {
+        // A stream can only be sent once, therefore it cannot be sent again on failure.
+        return fileStream == null;
+    }
+
+    @Override
+    public boolean replayable() {
+        // The bytes of the stream already sent could not be sent again.
+        return fileStream == null || !fileStream.isConsumed();
     }
 
     @Override
     public PlatformException onException(Exception exception) {
         String error = GENERIC_ERROR.format(fileId, exception.getMessage());
-        throw new FileUpdateException(error, exception);
+        return new FileUpdateException(error, exception);
     }
 }
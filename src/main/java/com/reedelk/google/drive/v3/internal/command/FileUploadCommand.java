@@ -1,6 +1,9 @@
 package com.reedelk.google.drive.v3.internal.command;
 
+import com.google.api.client.googleapis.media.MediaHttpUploader;
+import com.google.api.client.http.AbstractInputStreamContent;
 import com.google.api.client.http.ByteArrayContent;
+import com.google.api.client.http.InputStreamContent;
 import com.google.api.services.drive.Drive;
 import com.google.api.services.drive.model.File;
 import com.reedelk.google.drive.v3.internal.attribute.FileUploadAttributes;
@@ -8,6 +11,7 @@ import com.reedelk.google.drive.v3.internal.exception.FileUploadException;
 import com.reedelk.runtime.api.exception.PlatformException;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.Optional;
 
@@ -17,25 +21,66 @@ import static java.lang.String.join;
 
 public class FileUploadCommand implements Command<File> {
 
+    private final UploadConversion conversion;
     private final String fileDescription;
     private final boolean indexableText;
     private final String parentFolderId;
-    private final String fileName;
+    private final TrackedInputStream fileStream;
     private final byte[] fileContent;
+    private final String fileName;
+    private final int chunkSize;
 
     public FileUploadCommand(String fileName,
                              String fileDescription,
                              String parentFolderId,
                              boolean indexableText,
                              byte[] fileContent) {
+        this(fileName, fileDescription, parentFolderId, indexableText, fileContent, UploadConversion.NONE);
+    }
+
+    public FileUploadCommand(String fileName,
+                             String fileDescription,
+                             String parentFolderId,
+                             boolean indexableText,
+                             byte[] fileContent,
+                             UploadConversion conversion) {
         this.fileDescription = fileDescription;
+        this.conversion = conversion;
         this.parentFolderId = parentFolderId;
         this.indexableText = indexableText;
         this.fileName = fileName;
+        this.fileStream = null;
+        this.chunkSize = 0;
 
         this.fileContent = Optional.ofNullable(fileContent).orElse(new byte[0]);
     }
 
+    public FileUploadCommand(String fileName,
+                             String fileDescription,
+                             String parentFolderId,
+                             boolean indexableText,
+                             InputStream fileStream,
+                             int chunkSize) {
+        this(fileName, fileDescription, parentFolderId, indexableText, fileStream, chunkSize, UploadConversion.NONE);
+    }
+
+    public FileUploadCommand(String fileName,
+                             String fileDescription,
+                             String parentFolderId,
+                             boolean indexableText,
+                             InputStream fileStream,
+                             int chunkSize,
+                             UploadConversion conversion) {
+        this.fileDescription = fileDescription;
+        this.conversion = conversion;
+        this.parentFolderId = parentFolderId;
+        this.indexableText = indexableText;
+        this.fileStream = fileStream == null ? null : new TrackedInputStream(fileStream);
+        this.chunkSize = chunkSize;
+        this.fileName = fileName;
+        this.fileContent = null;
+    }
+
     @Override
     public File execute(Drive drive) throws IOException {
         File fileMetadata = new File();
@@ -47,13 +92,41 @@ public class FileUploadCommand implements Command<File> {
             fileMetadata.setParents(Collections.singletonList(parentFolderId));
         }
 
-        ByteArrayContent byteArrayContent = new ByteArrayContent(null, fileContent);
+        conversion.applyTo(fileMetadata);
 
-        return drive.files()
-                .create(fileMetadata, byteArrayContent)
+        AbstractInputStreamContent mediaContent = fileStream != null ?
+                new InputStreamContent(conversion.sourceMimeType(), fileStream) :
+                new ByteArrayContent(conversion.sourceMimeType(), fileContent);
+
+        Drive.Files.Create create = drive.files()
+                .create(fileMetadata, mediaContent)
                 .setUseContentAsIndexableText(indexableText)
-                .setFields(join(",", FileUploadAttributes.ALL_ATTRIBUTES))
-                .execute();
+                .setFields(join(",", FileUploadAttributes.ALL_ATTRIBUTES));
+
+        conversion.applyTo(create);
+
+        if (chunkSize > 0) {
+            // The content is uploaded using the resumable upload protocol one chunk at a time:
+            // only the current chunk is kept in memory, and if a chunk fails to upload,
+            // the upload is resumed from the last byte acknowledged by Google Drive.
+            MediaHttpUploader uploader = create.getMediaHttpUploader();
+            uploader.setDirectUploadEnabled(false);
+            uploader.setChunkSize(chunkSizeOf(chunkSize));
+        }
+
+        return create.execute();
+    }
+
+    @Override
+    public boolean idempotent() {
+        // A new resource is created each time the request is sent.
+        return false;
+    }
+
+    @Override
+    public boolean replayable() {
+        // The bytes of the stream already sent could not be sent again.
+        return fileStream == null || !fileStream.isConsumed();
     }
 
     @Override
@@ -66,4 +139,10 @@ public class FileUploadCommand implements Command<File> {
                 exception.getMessage());
         return new FileUploadException(error, exception);
     }
+
+    // The chunk size must be a multiple of the minimum chunk size (256 KB).
+    static int chunkSizeOf(int chunkSize) {
+        int minimum = MediaHttpUploader.MINIMUM_CHUNK_SIZE;
+        return Math.max(minimum, ((chunkSize + minimum - 1) / minimum) * minimum);
+    }
 }
@@ -51,6 +51,12 @@ public class FolderCreateCommand implements Command<File> {
                 .execute();
     }
 
+    @Override
+    public boolean idempotent() {
+        // A new resource is created each time the request is sent.
+        return false;
+    }
+
     @Override
     public PlatformException onException(Exception exception) {
         String error = Messages.FolderCreate.GENERIC_ERROR.format(
@@ -0,0 +1,29 @@
+package com.reedelk.google.drive.v3.internal.command;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.reedelk.google.drive.v3.internal.exception.FileDownloadException;
+import com.reedelk.google.drive.v3.internal.http.RetryPolicy;
+
+import static com.reedelk.google.drive.v3.internal.commons.Messages.FileDownload.NOT_DOWNLOADABLE;
+
+// Google Drive refuses to download the content of Google Workspace files (e.g. Google Docs) with a 403
+// 'fileNotDownloadable' error: they can only be exported, therefore the error points to File Export.
+class NotDownloadable {
+
+    private static final int FORBIDDEN = 403;
+    private static final String REASON = "fileNotDownloadable";
+
+    private NotDownloadable() {
+    }
+
+    static boolean matches(Exception exception) {
+        if (!(exception instanceof GoogleJsonResponseException)) return false;
+        GoogleJsonResponseException responseException = (GoogleJsonResponseException) exception;
+        return responseException.getStatusCode() == FORBIDDEN &&
+                REASON.equals(RetryPolicy.reasonOf(responseException.getDetails()));
+    }
+
+    static FileDownloadException exceptionOf(String fileId, Exception exception) {
+        return new FileDownloadException(NOT_DOWNLOADABLE.format(fileId), exception);
+    }
+}
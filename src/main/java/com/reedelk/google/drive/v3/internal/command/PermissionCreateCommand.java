@@ -1,6 +1,7 @@
 package com.reedelk.google.drive.v3.internal.command;
 
 import com.google.api.services.drive.Drive;
+import com.google.api.services.drive.DriveRequest;
 import com.google.api.services.drive.model.Permission;
 import com.reedelk.google.drive.v3.component.PermissionRole;
 import com.reedelk.google.drive.v3.component.PermissionType;
@@ -17,7 +18,7 @@ import static com.reedelk.runtime.api.commons.Preconditions.checkState;
 import static com.reedelk.runtime.api.commons.StringUtils.isBlank;
 import static java.lang.String.join;
 
-public class PermissionCreateCommand implements Command<Permission> {
+public class PermissionCreateCommand implements BatchableCommand<Permission> {
 
     private final boolean sendNotificationEmail;
     private final PermissionRole role;
@@ -44,7 +45,7 @@ public class PermissionCreateCommand implements Command<Permission> {
     }
 
     @Override
-    public Permission execute(Drive drive) throws IOException {
+    public DriveRequest<Permission> request(Drive drive) throws IOException {
         Permission userPermission = new Permission();
         role.set(userPermission);
         type.set(userPermission);
@@ -73,8 +74,13 @@ public class PermissionCreateCommand implements Command<Permission> {
         }
 
         return create
-                .setFields(join(",", PermissionCreateAttribute.ALL_ATTRIBUTES))
-                .execute();
+                .setFields(join(",", PermissionCreateAttribute.ALL_ATTRIBUTES));
+    }
+
+    @Override
+    public boolean idempotent() {
+        // A new resource is created each time the request is sent.
+        return false;
     }
 
     @Override
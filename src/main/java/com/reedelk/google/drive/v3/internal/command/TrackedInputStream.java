@@ -0,0 +1,47 @@
+package com.reedelk.google.drive.v3.internal.command;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+// Tells whether any byte has been read from the wrapped stream: a request whose
+// content stream has been (even partially) read cannot be sent again.
+class TrackedInputStream extends FilterInputStream {
+
+    private volatile boolean consumed;
+
+    TrackedInputStream(InputStream delegate) {
+        super(delegate);
+    }
+
+    boolean isConsumed() {
+        return consumed;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int read = super.read();
+        if (read != -1) consumed = true;
+        return read;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read > 0) consumed = true;
+        return read;
+    }
+
+    @Override
+    public long skip(long count) throws IOException {
+        long skipped = super.skip(count);
+        if (skipped > 0) consumed = true;
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        // A reset would make the tracking meaningless.
+        return false;
+    }
+}
@@ -0,0 +1,48 @@
+package com.reedelk.google.drive.v3.internal.command;
+
+import com.google.api.services.drive.Drive;
+import com.google.api.services.drive.model.File;
+
+import static com.reedelk.runtime.api.commons.StringUtils.isNotBlank;
+
+// Server side conversion of uploaded content: Google Drive converts the content to a Google Workspace
+// format (e.g. CSV to Google Sheets) when the mime type of the file is the target Google mime type,
+// and it reads the content using the given source mime type. OCR is applied to images and PDFs.
+public class UploadConversion {
+
+    public static final UploadConversion NONE = new UploadConversion(null, null, null);
+
+    private final String sourceMimeType;
+    private final String targetMimeType;
+    private final String ocrLanguage;
+
+    public UploadConversion(String sourceMimeType, String targetMimeType, String ocrLanguage) {
+        this.sourceMimeType = sourceMimeType;
+        this.targetMimeType = targetMimeType;
+        this.ocrLanguage = ocrLanguage;
+    }
+
+    // Null lets the client library use its default content type.
+    String sourceMimeType() {
+        return isNotBlank(sourceMimeType) ? sourceMimeType : null;
+    }
+
+    void applyTo(File fileMetadata) {
+        if (isNotBlank(targetMimeType)) {
+            fileMetadata.setMimeType(targetMimeType);
+        }
+    }
+
+    void applyTo(Drive.Files.Create create) {
+        if (isNotBlank(ocrLanguage)) {
+            create.setOcrLanguage(ocrLanguage);
+        }
+    }
+
+    // The mime type of an existing file cannot be changed: the new content is converted to its current type.
+    void applyTo(Drive.Files.Update update) {
+        if (isNotBlank(ocrLanguage)) {
+            update.setOcrLanguage(ocrLanguage);
+        }
+    }
+}
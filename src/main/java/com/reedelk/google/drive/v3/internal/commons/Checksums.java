@@ -0,0 +1,49 @@
+package com.reedelk.google.drive.v3.internal.commons;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+// MD5 checksums computed the same way as the 'md5Checksum' field of Google Drive files (lowercase hex).
+public class Checksums {
+
+    private Checksums() {
+    }
+
+    public static MessageDigest md5Digest() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException exception) {
+            // Every Java platform is required to support MD5.
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    public static String md5Of(byte[] content) {
+        return hexOf(md5Digest().digest(content));
+    }
+
+    public static String md5Of(Path path) throws IOException {
+        MessageDigest digest = md5Digest();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream content = new DigestInputStream(Files.newInputStream(path), digest)) {
+            while (content.read(buffer) != -1) {
+                // The digest is updated while reading.
+            }
+        }
+        return hexOf(digest.digest());
+    }
+
+    public static String hexOf(byte[] digest) {
+        StringBuilder hex = new StringBuilder();
+        for (byte value : digest) {
+            hex.append(Character.forDigit((value >> 4) & 0xF, 16))
+                    .append(Character.forDigit(value & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -6,6 +6,32 @@ public class Default {
     }
 
     public static final int PAGE_SIZE = 100;
+    public static final boolean ALL_PAGES = false;
     public static final boolean CONTENT_AS_INDEXABLE_TEXT = false;
+    public static final boolean STREAMING_UPLOAD = false;
+    public static final int UPLOAD_CHUNK_SIZE_KB = 10240;
+    public static final int DOWNLOAD_PARALLELISM = 1;
+    public static final int DOWNLOAD_PART_SIZE_MB = 16;
     public static final boolean SEND_NOTIFICATION_EMAIL = false;
+    public static final int RETRY_MAX_ATTEMPTS = 3;
+    public static final long RETRY_BASE_DELAY_MS = 1000;
+    public static final long RETRY_MAX_DELAY_MS = 32000;
+    public static final double RETRY_JITTER = 0.5;
+    public static final String RETRY_STATUS_CODES = "429,500,502,503,504";
+    public static final int METADATA_CACHE_MAX_SIZE = 1000;
+    public static final long METADATA_CACHE_TTL_SECONDS = 60;
+    public static final int CHANGE_POLL_INTERVAL_SECONDS = 30;
+    public static final int CHANGE_PAGE_SIZE = 100;
+    public static final boolean CHANGE_INCLUDE_REMOVED = true;
+    public static final long CHANNEL_TTL_SECONDS = 86400;
+    public static final int CHANGE_FALLBACK_POLL_INTERVAL_SECONDS = 300;
+    public static final int WALK_PARALLELISM = 4;
+    public static final int WALK_PAGE_SIZE = 1000;
+    public static final boolean WALK_INCLUDE_FOLDERS = true;
+    public static final int SYNC_PARALLELISM = 4;
+    public static final boolean SYNC_DELETE_REMOVED = false;
+    public static final String MIRROR_MANIFEST_FILE_NAME = ".drive-mirror.properties";
+    public static final int UPLOAD_PARALLELISM = 4;
+    public static final String METRICS_NAME = "default";
+    public static final int IO_THREADS = 16;
 }
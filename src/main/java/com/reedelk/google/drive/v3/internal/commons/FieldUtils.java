@@ -0,0 +1,25 @@
+package com.reedelk.google.drive.v3.internal.commons;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.reedelk.runtime.api.commons.StringUtils.isBlank;
+import static java.util.stream.Collectors.toList;
+
+public class FieldUtils {
+
+    private FieldUtils() {
+    }
+
+    // Splits a comma-separated list of fields. Commas inside
+    // parenthesis (e.g. 'imageMediaMetadata(width,height)') do not split.
+    public static List<String> parse(String fields) {
+        if (isBlank(fields)) return Collections.emptyList();
+        return Arrays.stream(fields.split(",(?![^(]*\\))"))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .distinct()
+                .collect(toList());
+    }
+}
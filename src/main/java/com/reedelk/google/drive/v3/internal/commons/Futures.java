@@ -0,0 +1,27 @@
+package com.reedelk.google.drive.v3.internal.commons;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public class Futures {
+
+    private Futures() {
+    }
+
+    // Dependent stages (e.g. 'thenApply') fail with the exception of the stage they depend on wrapped.
+    public static Exception exceptionOf(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ?
+                throwable.getCause() : throwable;
+        return cause instanceof Exception ? (Exception) cause : new CompletionException(cause);
+    }
+
+    // Waits for the future and throws its error as it is.
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            Exception cause = exceptionOf(exception);
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : exception;
+        }
+    }
+}
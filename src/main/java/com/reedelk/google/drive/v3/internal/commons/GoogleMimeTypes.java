@@ -5,5 +5,17 @@ public class GoogleMimeTypes {
     private GoogleMimeTypes() {
     }
 
+    public static final String GOOGLE_APPS_PREFIX = "application/vnd.google-apps.";
+
     public static final String FOLDER = "application/vnd.google-apps.folder";
+    public static final String DOCUMENT = "application/vnd.google-apps.document";
+    public static final String SPREADSHEET = "application/vnd.google-apps.spreadsheet";
+    public static final String PRESENTATION = "application/vnd.google-apps.presentation";
+    public static final String DRAWING = "application/vnd.google-apps.drawing";
+
+    // Google Workspace files (Docs, Sheets, Slides...) have no binary content:
+    // they can not be downloaded, they must be exported to another format instead.
+    public static boolean isGoogleApps(String mimeType) {
+        return mimeType != null && mimeType.startsWith(GOOGLE_APPS_PREFIX);
+    }
 }
@@ -28,8 +28,14 @@ public class Messages {
     public enum FileDownload implements FormattedMessage {
 
         GENERIC_ERROR("The file with File ID=[%s] could not be downloaded from Google Drive, cause=[%s]."),
+        GENERIC_ERROR_PATH("The file with File ID=[%s] could not be downloaded from Google Drive to path=[%s], cause=[%s]."),
+        GENERIC_ERROR_RANGE("The bytes range=[%d-%d] of the file with File ID=[%s] could not be downloaded from Google Drive, cause=[%s]."),
+        NOT_DOWNLOADABLE("The file with File ID=[%s] is a Google Workspace file (e.g. a Google Doc) and its content cannot be downloaded: " +
+                "use the 'Drive File Export' component to export it to a downloadable format (e.g. PDF)."),
         FILE_ID_EMPTY("The File ID was empty: I cannot download a file from an empty File ID."),
-        FILE_ID_NULL("The File ID was null: I cannot download a file with null ID (DynamicValue=[%s]).");
+        FILE_ID_NULL("The File ID was null: I cannot download a file with null ID (DynamicValue=[%s])."),
+        TARGET_PATH_EMPTY("The target path was empty: I cannot download a file to an empty path."),
+        TARGET_PATH_NULL("The target path was null: I cannot download a file to a null path (DynamicValue=[%s]).");
 
         private final String message;
 
@@ -81,6 +87,8 @@ public class Messages {
     public enum FileUpload implements FormattedMessage {
 
         FILE_NAME_EMPTY("The File name was empty: I cannot upload a file with an empty file name (DynamicValue=[%s])."),
+        ITEM_INVALID("The item at index=[%d] could not be uploaded: each item must be a map with a non empty 'name' entry and a 'content' entry."),
+        CONTENT_BUFFER_ERROR("Could not buffer the content of the file with name=[%s] to compute its checksum, cause=[%s]."),
         GENERIC_ERROR("Could not upload file on Google Drive with configuration " +
                 "fileName=[%s], fileDescription=[%s], indexableText=[%s], parentFolderId=[%s], cause=[%s].");
 
@@ -194,10 +202,156 @@ public class Messages {
         }
     }
 
+    public enum FileGet implements FormattedMessage {
+
+        GENERIC_ERROR("Could not get metadata of file with File ID=[%s] from Google Drive, cause=[%s]."),
+        FILE_ID_EMPTY("The File ID was empty: I cannot get the metadata of a file from an empty File ID."),
+        FILE_ID_NULL("The File ID was null: I cannot get the metadata of a file with null ID (DynamicValue=[%s]).");
+
+        private final String message;
+
+        FileGet(String message) {
+            this.message = message;
+        }
+
+        @Override
+        public String template() {
+            return message;
+        }
+    }
+
+    public enum ChangeList implements FormattedMessage {
+
+        GENERIC_ERROR("Could not list changes from Google Drive with configuration pageToken=[%s], driveId=[%s], pageSize=[%d], cause=[%s]."),
+        START_PAGE_TOKEN_ERROR("Could not get the start page token for changes from Google Drive with configuration driveId=[%s], cause=[%s]."),
+        PAGE_TOKEN_LOAD_ERROR("Could not read the changes page token from file path=[%s], cause=[%s]."),
+        PAGE_TOKEN_SAVE_ERROR("Could not write the changes page token to file path=[%s], cause=[%s].");
+
+        private final String message;
+
+        ChangeList(String message) {
+            this.message = message;
+        }
+
+        @Override
+        public String template() {
+            return message;
+        }
+    }
+
+    public enum ChangeWatch implements FormattedMessage {
+
+        GENERIC_ERROR("Could not watch changes on Google Drive with configuration pageToken=[%s], driveId=[%s], address=[%s], cause=[%s]."),
+        STOP_ERROR("Could not stop the notification channel with ID=[%s] on Google Drive, cause=[%s]."),
+        CHANNEL_TOKEN_INVALID("The token of the notification for the channel with ID=[%s] does not match the token of the channel: the notification was rejected."),
+        CHANNEL_ID_MISSING("The notification does not contain the [X-Goog-Channel-ID] header: the input message must come from a REST Listener receiving Google Drive push notifications.");
+
+        private final String message;
+
+        ChangeWatch(String message) {
+            this.message = message;
+        }
+
+        @Override
+        public String template() {
+            return message;
+        }
+    }
+
+    public enum FolderWalk implements FormattedMessage {
+
+        FOLDER_ID_EMPTY("The Folder ID was empty: I cannot walk a folder from an empty Folder ID."),
+        FOLDER_ID_NULL("The Folder ID was null: I cannot walk a folder with null ID (DynamicValue=[%s])."),
+        INTERRUPTED("The walk of the folder with ID=[%s] was interrupted.");
+
+        private final String message;
+
+        FolderWalk(String message) {
+            this.message = message;
+        }
+
+        @Override
+        public String template() {
+            return message;
+        }
+    }
+
+    public enum FolderSync implements FormattedMessage {
+
+        LOCAL_DIRECTORY_NULL("The Local Directory was null: I cannot sync a directory with null path (DynamicValue=[%s])."),
+        LOCAL_DIRECTORY_NOT_FOUND("The Local Directory=[%s] does not exist or it is not a directory."),
+        LOCAL_DIRECTORY_READ_ERROR("Could not read the Local Directory=[%s], cause=[%s]."),
+        LOCAL_FILE_READ_ERROR("Could not read the local file=[%s], cause=[%s]."),
+        FOLDER_ID_NULL("The Folder ID was null: I cannot sync to a folder with null ID (DynamicValue=[%s])."),
+        FOLDER_ID_EMPTY("The Folder ID was empty: I cannot sync to a folder from an empty Folder ID."),
+        PARENT_FOLDER_MISSING("The file=[%s] was not synced because its parent folder could not be created."),
+        INTERRUPTED("The sync of the Local Directory=[%s] was interrupted.");
+
+        private final String message;
+
+        FolderSync(String message) {
+            this.message = message;
+        }
+
+        @Override
+        public String template() {
+            return message;
+        }
+    }
+
+    public enum FolderMirror implements FormattedMessage {
+
+        LOCAL_DIRECTORY_NULL("The Local Directory was null: I cannot mirror to a directory with null path (DynamicValue=[%s])."),
+        LOCAL_DIRECTORY_ERROR("Could not create the Local Directory=[%s], cause=[%s]."),
+        FOLDER_ID_NULL("The Folder ID was null: I cannot mirror a folder with null ID (DynamicValue=[%s])."),
+        FOLDER_ID_EMPTY("The Folder ID was empty: I cannot mirror a folder from an empty Folder ID."),
+        MANIFEST_LOAD_ERROR("Could not load the mirror manifest from file=[%s], cause=[%s]."),
+        MANIFEST_SAVE_ERROR("Could not save the mirror manifest to file=[%s], cause=[%s]."),
+        PATH_OUTSIDE_DIRECTORY("The file with path=[%s] was not mirrored because its local path is outside of the Local Directory=[%s]."),
+        LOCAL_FILE_ERROR("Could not write the local file=[%s], cause=[%s]."),
+        INTERRUPTED("The mirror of the folder with ID=[%s] was interrupted.");
+
+        private final String message;
+
+        FolderMirror(String message) {
+            this.message = message;
+        }
+
+        @Override
+        public String template() {
+            return message;
+        }
+    }
+
+    public enum FileExport implements FormattedMessage {
+
+        FILE_ID_EMPTY("The File ID was empty: I cannot export a file from an empty File ID."),
+        FILE_ID_NULL("The File ID was null: I cannot export a file with null ID (DynamicValue=[%s])."),
+        GENERIC_ERROR("The file with File ID=[%s] could not be exported to mime type=[%s], cause=[%s].");
+
+        private final String message;
+
+        FileExport(String message) {
+            this.message = message;
+        }
+
+        @Override
+        public String template() {
+            return message;
+        }
+    }
+
     public enum Misc implements FormattedMessage {
 
         DRIVE_CREDENTIALS_ERROR_GENERIC("Could not create Google Drive Credentials, cause=[%s]"),
-        DRIVE_CREDENTIALS_ERROR("Could not create Google Drive Credentials from file path=[%s], cause=[%s]");
+        DRIVE_CREDENTIALS_ERROR("Could not create Google Drive Credentials from file path=[%s], cause=[%s]"),
+        RETRY_STATUS_CODES_INVALID("Retryable Status Codes must be a comma separated list of HTTP status codes (actual=[%s])."),
+        RETRY_JITTER_INVALID("Retry Jitter must be between 0 and 1 (actual=[%s])."),
+        RATE_LIMIT_EXCEEDED("The client side rate limit of [%s] requests per second (burst=[%d]) was exceeded: " +
+                "the request was not sent to Google Drive."),
+        RATE_LIMIT_INTERRUPTED("Interrupted while waiting for the client side rate limit of [%s] requests per second."),
+        METRICS_REGISTRATION_ERROR("Could not register Google Drive metrics MBean name=[%s], cause=[%s]"),
+        METRICS_UNREGISTRATION_ERROR("Could not unregister Google Drive metrics MBean name=[%s], cause=[%s]");
 
         private final String message;
 
@@ -0,0 +1,34 @@
+package com.reedelk.google.drive.v3.internal.commons;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+// Downloads are written to a '.part' file next to the target file, which is moved in place once complete:
+// the target file is never left partially written, and an existing target file is replaced only on success.
+public class PartFiles {
+
+    public static final String PART_SUFFIX = ".part";
+
+    private PartFiles() {
+    }
+
+    public static Path partOf(Path target) {
+        return target.resolveSibling(target.getFileName() + PART_SUFFIX);
+    }
+
+    public static void moveInPlace(Path part, Path target) throws IOException {
+        Files.move(part, target, REPLACE_EXISTING, ATOMIC_MOVE);
+    }
+
+    public static void deleteQuietly(Path part) {
+        try {
+            Files.deleteIfExists(part);
+        } catch (IOException exception) {
+            // A leftover part file is overwritten by the next download.
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.reedelk.google.drive.v3.internal.commons;
+
+public class QueryUtils {
+
+    private QueryUtils() {
+    }
+
+    // Escapes a value to be used as a string literal in a Google Drive search query.
+    public static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("'", "\\'");
+    }
+}
@@ -0,0 +1,164 @@
+package com.reedelk.google.drive.v3.internal.download;
+
+import com.reedelk.google.drive.v3.internal.DriveApi;
+import com.reedelk.google.drive.v3.internal.command.FileDownloadRangeCommand;
+import com.reedelk.google.drive.v3.internal.commons.PartFiles;
+import com.reedelk.google.drive.v3.internal.exception.FileDownloadException;
+import com.reedelk.google.drive.v3.internal.stream.ByteStreams;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.reedelk.google.drive.v3.internal.commons.Messages.FileDownload.GENERIC_ERROR_PATH;
+import static java.nio.file.StandardOpenOption.*;
+
+// Downloads a file by splitting its content in byte ranges (parts) which are fetched
+// concurrently on the I/O threads of the client, each one over its own connection.
+public class RangedDownload {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DriveApi driveApi;
+    private final String fileId;
+    private final int parallelism;
+    private final long partSize;
+    private final long size;
+
+    public RangedDownload(DriveApi driveApi, String fileId, long size, long partSize, int parallelism) {
+        this.parallelism = parallelism;
+        this.driveApi = driveApi;
+        this.partSize = partSize;
+        this.fileId = fileId;
+        this.size = size;
+    }
+
+    public int parts() {
+        return (int) ((size + partSize - 1) / partSize);
+    }
+
+    // Parts are written at their position in a '.part' file as they are received, one small buffer at
+    // a time, and the file is moved in place once all of them are complete. Parts are split among
+    // 'parallelism' lanes, each one downloading its parts one after the other: no thread waits for them.
+    public CompletableFuture<Long> toPath(Path targetPath) {
+        Path part = PartFiles.partOf(targetPath);
+        FileChannel channel;
+        try {
+            Path parent = targetPath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            channel = FileChannel.open(part, CREATE, WRITE, TRUNCATE_EXISTING);
+        } catch (IOException exception) {
+            throw errorOf(targetPath, exception);
+        }
+
+        // The parts not started yet are skipped once a part has failed.
+        AtomicBoolean failed = new AtomicBoolean();
+        int lanes = Math.max(1, Math.min(parallelism, parts()));
+        CompletableFuture<?>[] downloads = new CompletableFuture<?>[lanes];
+        for (int lane = 0; lane < lanes; lane++) {
+            CompletableFuture<Void> download = CompletableFuture.completedFuture(null);
+            for (int index = lane; index < parts(); index += lanes) {
+                long from = from(index);
+                long to = to(index);
+                download = download.thenCompose(previous -> driveApi.supplyAsync(() ->
+                        failed.get() ? null : writePart(channel, from, to)));
+            }
+            downloads[lane] = download.whenComplete((result, exception) -> {
+                if (exception != null) failed.set(true);
+            });
+        }
+
+        return CompletableFuture.allOf(downloads).handle((result, throwable) -> {
+            try {
+                channel.close();
+                if (throwable == null) {
+                    PartFiles.moveInPlace(part, targetPath);
+                    return size;
+                }
+            } catch (IOException exception) {
+                PartFiles.deleteQuietly(part);
+                throw errorOf(targetPath, exception);
+            }
+            PartFiles.deleteQuietly(part);
+            throw throwable instanceof CompletionException ?
+                    (CompletionException) throwable :
+                    new CompletionException(throwable);
+        });
+    }
+
+    // Parts are emitted in order, as chunks read on the I/O threads of the client. At most 'parallelism'
+    // parts are downloaded at the same time, and a part waiting for the previous ones to be consumed
+    // holds at most one chunk: its connection is not read further until the chunk is consumed.
+    public Flux<byte[]> toStream() {
+        Scheduler scheduler = Schedulers.fromExecutor(driveApi.ioExecutor());
+        return Flux.range(0, parts())
+                .flatMapSequential(part -> streamPart(from(part), to(part))
+                        .subscribeOn(scheduler), parallelism, 1);
+    }
+
+    private Void writePart(FileChannel channel, long from, long to) {
+        FileDownloadRangeCommand command = new FileDownloadRangeCommand(fileId, from, to);
+        try (InputStream content = driveApi.execute(command)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long position = from;
+            int read;
+            while (position <= to && (read = content.read(buffer, 0, (int) Math.min(buffer.length, to + 1 - position))) != -1) {
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                while (chunk.hasRemaining()) {
+                    position += channel.write(chunk, position);
+                }
+            }
+            checkComplete(from, to, position);
+            return null;
+        } catch (IOException exception) {
+            throw command.onException(exception);
+        }
+    }
+
+    private Flux<byte[]> streamPart(long from, long to) {
+        FileDownloadRangeCommand command = new FileDownloadRangeCommand(fileId, from, to);
+        AtomicLong received = new AtomicLong();
+        return ByteStreams.from(() -> driveApi.execute(command), BUFFER_SIZE, command::onException)
+                .doOnNext(chunk -> received.addAndGet(chunk.length))
+                .concatWith(Mono.defer(() -> {
+                    try {
+                        checkComplete(from, to, from + received.get());
+                        return Mono.empty();
+                    } catch (IOException exception) {
+                        return Mono.error(command.onException(exception));
+                    }
+                }));
+    }
+
+    private long from(int part) {
+        return part * partSize;
+    }
+
+    private long to(int part) {
+        return Math.min(size, (part + 1) * partSize) - 1;
+    }
+
+    private FileDownloadException errorOf(Path targetPath, IOException exception) {
+        String error = GENERIC_ERROR_PATH.format(fileId, targetPath, exception.getMessage());
+        return new FileDownloadException(error, exception);
+    }
+
+    private static void checkComplete(long from, long to, long position) throws IOException {
+        if (position != to + 1) {
+            throw new IOException("Expected " + (to - from + 1) + " bytes but received " + (position - from) + " bytes");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.reedelk.google.drive.v3.internal.exception;
+
+import com.reedelk.runtime.api.exception.PlatformException;
+
+public class ChangeListException extends PlatformException {
+
+    public ChangeListException(String message) {
+        super(message);
+    }
+
+    public ChangeListException(String message, Throwable exception) {
+        super(message, exception);
+    }
+}
@@ -0,0 +1,14 @@
+package com.reedelk.google.drive.v3.internal.exception;
+
+import com.reedelk.runtime.api.exception.PlatformException;
+
+public class ChangeWatchException extends PlatformException {
+
+    public ChangeWatchException(String message) {
+        super(message);
+    }
+
+    public ChangeWatchException(String message, Throwable exception) {
+        super(message, exception);
+    }
+}
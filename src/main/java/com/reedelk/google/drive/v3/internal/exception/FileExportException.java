@@ -0,0 +1,14 @@
+package com.reedelk.google.drive.v3.internal.exception;
+
+import com.reedelk.runtime.api.exception.PlatformException;
+
+public class FileExportException extends PlatformException {
+
+    public FileExportException(String message) {
+        super(message);
+    }
+
+    public FileExportException(String message, Throwable exception) {
+        super(message, exception);
+    }
+}
@@ -0,0 +1,14 @@
+package com.reedelk.google.drive.v3.internal.exception;
+
+import com.reedelk.runtime.api.exception.PlatformException;
+
+public class FileGetException extends PlatformException {
+
+    public FileGetException(String message) {
+        super(message);
+    }
+
+    public FileGetException(String message, Throwable exception) {
+        super(message, exception);
+    }
+}
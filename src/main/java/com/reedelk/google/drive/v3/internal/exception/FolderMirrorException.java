@@ -0,0 +1,14 @@
+package com.reedelk.google.drive.v3.internal.exception;
+
+import com.reedelk.runtime.api.exception.PlatformException;
+
+public class FolderMirrorException extends PlatformException {
+
+    public FolderMirrorException(String message) {
+        super(message);
+    }
+
+    public FolderMirrorException(String message, Throwable exception) {
+        super(message, exception);
+    }
+}
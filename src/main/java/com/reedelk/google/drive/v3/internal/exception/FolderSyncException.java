@@ -0,0 +1,14 @@
+package com.reedelk.google.drive.v3.internal.exception;
+
+import com.reedelk.runtime.api.exception.PlatformException;
+
+public class FolderSyncException extends PlatformException {
+
+    public FolderSyncException(String message) {
+        super(message);
+    }
+
+    public FolderSyncException(String message, Throwable exception) {
+        super(message, exception);
+    }
+}
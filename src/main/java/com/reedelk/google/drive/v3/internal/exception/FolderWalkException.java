@@ -0,0 +1,14 @@
+package com.reedelk.google.drive.v3.internal.exception;
+
+import com.reedelk.runtime.api.exception.PlatformException;
+
+public class FolderWalkException extends PlatformException {
+
+    public FolderWalkException(String message) {
+        super(message);
+    }
+
+    public FolderWalkException(String message, Throwable exception) {
+        super(message, exception);
+    }
+}
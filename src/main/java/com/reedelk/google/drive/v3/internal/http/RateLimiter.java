@@ -0,0 +1,89 @@
+package com.reedelk.google.drive.v3.internal.http;
+
+import com.reedelk.google.drive.v3.component.DriveConfiguration;
+import com.reedelk.google.drive.v3.component.RateLimitStrategy;
+import com.reedelk.google.drive.v3.internal.exception.RateLimitException;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+import static com.reedelk.google.drive.v3.internal.commons.Messages.Misc.RATE_LIMIT_EXCEEDED;
+import static com.reedelk.google.drive.v3.internal.commons.Messages.Misc.RATE_LIMIT_INTERRUPTED;
+
+// Token bucket implemented as a generic cell rate algorithm: the whole state of the bucket is the
+// theoretical arrival time of the next request, updated with a single compare and set, therefore
+// concurrent callers never block each other. A caller which must wait reserves its slot first and
+// then parks outside of any critical section.
+public class RateLimiter {
+
+    public static final RateLimiter UNLIMITED = new RateLimiter(0, 1, RateLimitStrategy.WAIT, System::nanoTime);
+
+    private final AtomicLong theoreticalArrival;
+    private final RateLimitStrategy strategy;
+    private final LongSupplier clock;
+    private final long interval;
+    private final int burst;
+    private final double requestsPerSecond;
+
+    RateLimiter(double requestsPerSecond, int burst, RateLimitStrategy strategy, LongSupplier clock) {
+        this.requestsPerSecond = requestsPerSecond;
+        this.interval = requestsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond) : 0;
+        this.burst = Math.max(1, burst);
+        this.strategy = strategy;
+        this.clock = clock;
+        this.theoreticalArrival = new AtomicLong(clock.getAsLong());
+    }
+
+    public static RateLimiter from(DriveConfiguration configuration) {
+        double requestsPerSecond = Optional.ofNullable(configuration.getRateLimit()).orElse(0d);
+        if (requestsPerSecond <= 0) return UNLIMITED;
+        int burst = Optional.ofNullable(configuration.getRateLimitBurst())
+                .orElse((int) Math.ceil(requestsPerSecond));
+        RateLimitStrategy strategy = Optional.ofNullable(configuration.getRateLimitStrategy())
+                .orElse(RateLimitStrategy.WAIT);
+        return new RateLimiter(requestsPerSecond, burst, strategy, System::nanoTime);
+    }
+
+    // Returns how long (in nanoseconds) the caller has waited.
+    public long acquire(int permits) {
+        long waitNanos = reserve(permits);
+        if (waitNanos <= 0) return 0;
+
+        long deadline = clock.getAsLong() + waitNanos;
+        long remaining = waitNanos;
+        while (remaining > 0) {
+            LockSupport.parkNanos(this, remaining);
+            if (Thread.currentThread().isInterrupted()) {
+                throw new RateLimitException(RATE_LIMIT_INTERRUPTED.format(requestsPerSecond));
+            }
+            remaining = deadline - clock.getAsLong();
+        }
+        return waitNanos;
+    }
+
+    // Reserves the given number of permits and returns how long (in nanoseconds) the caller
+    // must wait before using them. With the FAIL strategy nothing is reserved when the caller
+    // would have to wait, and an exception is thrown instead.
+    long reserve(int permits) {
+        if (interval == 0) return 0;
+        long increment = interval * permits;
+        // A request bigger than the burst (e.g. a large batch) is
+        // allowed when the bucket is full, instead of never.
+        long tolerance = interval * Math.max(burst, permits);
+        while (true) {
+            long now = clock.getAsLong();
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + increment;
+            long wait = next - now - tolerance;
+            if (wait > 0 && strategy == RateLimitStrategy.FAIL) {
+                throw new RateLimitException(RATE_LIMIT_EXCEEDED.format(requestsPerSecond, burst));
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return Math.max(0, wait);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.reedelk.google.drive.v3.internal.http;
+
+import com.google.api.client.googleapis.media.MediaHttpUploader;
+import com.google.api.client.http.*;
+import com.google.api.client.util.BackOff;
+import com.reedelk.google.drive.v3.internal.metrics.DriveMetrics;
+
+import java.io.IOException;
+
+// Requests belonging to a resumable upload session (identified by the 'upload_id' URL parameter)
+// are retried on the status codes and I/O errors retried by the retry policy, with the same number
+// of attempts and delays used for commands. When a chunk request is retried, the media uploader
+// first queries the session for the last byte offset acknowledged by Google Drive and then resumes
+// the upload from that offset. All other requests are left untouched. Retries are measured as
+// retries of the media uploader.
+public class ResumableUploadRequestInitializer implements HttpRequestInitializer {
+
+    private static final String UPLOAD_ID_PARAM = "upload_id";
+
+    private final HttpRequestInitializer delegate;
+    private final RetryPolicy retryPolicy;
+    private final DriveMetrics metrics;
+
+    public ResumableUploadRequestInitializer(HttpRequestInitializer delegate, RetryPolicy retryPolicy, DriveMetrics metrics) {
+        this.delegate = delegate;
+        this.retryPolicy = retryPolicy;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void initialize(HttpRequest request) throws IOException {
+        delegate.initialize(request);
+
+        // The attempts of a request are counted across status codes and I/O errors.
+        BackOff backOff = new RetryPolicyBackOff(retryPolicy, metrics);
+        request.setNumberOfRetries(Math.max(request.getNumberOfRetries(), retryPolicy.getMaxAttempts() - 1));
+
+        HttpUnsuccessfulResponseHandler original = request.getUnsuccessfulResponseHandler();
+        HttpUnsuccessfulResponseHandler backOffHandler = new HttpBackOffUnsuccessfulResponseHandler(backOff)
+                .setBackOffRequired(response -> retryPolicy.isRetryable(response.getStatusCode(), null, true));
+        request.setUnsuccessfulResponseHandler((httpRequest, response, supportsRetry) ->
+                (original != null && original.handleResponse(httpRequest, response, supportsRetry)) ||
+                        (isUploadSession(httpRequest) && backOffHandler.handleResponse(httpRequest, response, supportsRetry)));
+
+        HttpIOExceptionHandler originalIOExceptionHandler = request.getIOExceptionHandler();
+        HttpIOExceptionHandler backOffIOExceptionHandler = new HttpBackOffIOExceptionHandler(backOff);
+        request.setIOExceptionHandler((httpRequest, supportsRetry) ->
+                (originalIOExceptionHandler != null && originalIOExceptionHandler.handleIOException(httpRequest, supportsRetry)) ||
+                        (isUploadSession(httpRequest) && backOffIOExceptionHandler.handleIOException(httpRequest, supportsRetry)));
+    }
+
+    private static boolean isUploadSession(HttpRequest request) {
+        GenericUrl url = request.getUrl();
+        return url != null && url.getFirst(UPLOAD_ID_PARAM) != null;
+    }
+
+    // The delay before each retry of a request, until the max attempts of the retry policy are reached.
+    static class RetryPolicyBackOff implements BackOff {
+
+        private final RetryPolicy retryPolicy;
+        private final DriveMetrics metrics;
+
+        private int attempt = 1;
+
+        RetryPolicyBackOff(RetryPolicy retryPolicy, DriveMetrics metrics) {
+            this.retryPolicy = retryPolicy;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void reset() {
+            attempt = 1;
+        }
+
+        @Override
+        public long nextBackOffMillis() {
+            if (attempt >= retryPolicy.getMaxAttempts()) return STOP;
+            long delay = retryPolicy.delayOf(attempt++, null);
+            metrics.commandRetried(MediaHttpUploader.class);
+            return delay;
+        }
+    }
+}
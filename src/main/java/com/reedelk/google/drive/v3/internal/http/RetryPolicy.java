@@ -0,0 +1,159 @@
+package com.reedelk.google.drive.v3.internal.http;
+
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpResponseException;
+import com.reedelk.google.drive.v3.component.DriveConfiguration;
+import com.reedelk.runtime.api.component.Implementor;
+import com.reedelk.runtime.api.exception.ComponentConfigurationException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+import static com.reedelk.google.drive.v3.internal.commons.Default.*;
+import static com.reedelk.google.drive.v3.internal.commons.Messages.Misc.RETRY_JITTER_INVALID;
+import static com.reedelk.google.drive.v3.internal.commons.Messages.Misc.RETRY_STATUS_CODES_INVALID;
+
+// Decides whether a failed Google Drive request should be retried and how long to wait before
+// the next attempt: exponential back-off with jitter, or the delay requested by Google Drive
+// in the 'Retry-After' header. Non idempotent requests (e.g. creates) are only retried when
+// rate limited, since Google Drive rejects rate limited requests before processing them. Whether a
+// request can be sent again at all (e.g. its content stream has not been read yet) is up to the caller.
+public class RetryPolicy {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int FORBIDDEN = 403;
+    private static final List<String> RATE_LIMIT_REASONS = Arrays.asList("rateLimitExceeded", "userRateLimitExceeded");
+
+    public static final RetryPolicy NONE = new RetryPolicy(1, 0, 0, 0, new HashSet<>(), () -> 0);
+
+    private final int maxAttempts;
+    private final long baseDelay;
+    private final long maxDelay;
+    private final double jitter;
+    private final Set<Integer> statusCodes;
+    private final DoubleSupplier random;
+
+    RetryPolicy(int maxAttempts, long baseDelay, long maxDelay, double jitter, Set<Integer> statusCodes, DoubleSupplier random) {
+        this.maxAttempts = maxAttempts;
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+        this.jitter = jitter;
+        this.statusCodes = statusCodes;
+        this.random = random;
+    }
+
+    public static RetryPolicy from(Class<? extends Implementor> implementor, DriveConfiguration configuration) {
+        int maxAttempts = Optional.ofNullable(configuration.getRetryMaxAttempts()).orElse(RETRY_MAX_ATTEMPTS);
+        long baseDelay = Optional.ofNullable(configuration.getRetryBaseDelay()).orElse(RETRY_BASE_DELAY_MS);
+        long maxDelay = Optional.ofNullable(configuration.getRetryMaxDelay()).orElse(RETRY_MAX_DELAY_MS);
+        double jitter = Optional.ofNullable(configuration.getRetryJitter()).orElse(RETRY_JITTER);
+        String statusCodes = Optional.ofNullable(configuration.getRetryStatusCodes()).orElse(RETRY_STATUS_CODES);
+
+        if (jitter < 0 || jitter > 1) {
+            throw new ComponentConfigurationException(implementor, RETRY_JITTER_INVALID.format(jitter));
+        }
+
+        return new RetryPolicy(
+                Math.max(1, maxAttempts),
+                Math.max(0, baseDelay),
+                Math.max(0, maxDelay),
+                jitter,
+                parseStatusCodes(implementor, statusCodes),
+                () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public boolean isRetryable(IOException exception, boolean idempotent) {
+        if (exception instanceof HttpResponseException) {
+            int statusCode = ((HttpResponseException) exception).getStatusCode();
+            String reason = exception instanceof GoogleJsonResponseException ?
+                    reasonOf(((GoogleJsonResponseException) exception).getDetails()) :
+                    null;
+            return isRetryable(statusCode, reason, idempotent);
+        }
+        // A connection or read error: the request might have reached
+        // Google Drive, therefore we can only retry idempotent requests.
+        return idempotent;
+    }
+
+    public boolean isRetryable(int statusCode, String reason, boolean idempotent) {
+        boolean rateLimited = statusCode == TOO_MANY_REQUESTS ||
+                (statusCode == FORBIDDEN && RATE_LIMIT_REASONS.contains(reason));
+        if (rateLimited) {
+            return statusCodes.contains(TOO_MANY_REQUESTS);
+        }
+        return idempotent && statusCodes.contains(statusCode);
+    }
+
+    // The delay before the given attempt (starting from 1) is retried.
+    public long delayOf(int attempt, String retryAfter) {
+        Long requested = parseRetryAfter(retryAfter);
+        if (requested != null) {
+            return Math.min(requested, maxDelay);
+        }
+        double exponential = baseDelay * Math.pow(2, attempt - 1);
+        double randomized = exponential * (1 - jitter + 2 * jitter * random.getAsDouble());
+        return (long) Math.min(randomized, maxDelay);
+    }
+
+    public static String retryAfterOf(IOException exception) {
+        return exception instanceof HttpResponseException ?
+                ((HttpResponseException) exception).getHeaders().getRetryAfter() :
+                null;
+    }
+
+    // 0 when the request failed without an HTTP response (e.g. a connection error).
+    public static int statusCodeOf(IOException exception) {
+        return exception instanceof HttpResponseException ?
+                ((HttpResponseException) exception).getStatusCode() :
+                0;
+    }
+
+    public static String reasonOf(GoogleJsonError error) {
+        if (error == null || error.getErrors() == null || error.getErrors().isEmpty()) return null;
+        return error.getErrors().get(0).getReason();
+    }
+
+    // The Retry-After header value is either a number of seconds or an HTTP date.
+    static Long parseRetryAfter(String retryAfter) {
+        if (retryAfter == null || retryAfter.trim().isEmpty()) return null;
+        String value = retryAfter.trim();
+        try {
+            return Math.max(0, Long.parseLong(value) * 1000);
+        } catch (NumberFormatException notSeconds) {
+            try {
+                ZonedDateTime date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(date.getZone()), date).toMillis());
+            } catch (DateTimeParseException notDate) {
+                return null;
+            }
+        }
+    }
+
+    private static Set<Integer> parseStatusCodes(Class<? extends Implementor> implementor, String statusCodes) {
+        Set<Integer> codes = new HashSet<>();
+        for (String code : statusCodes.split(",")) {
+            if (code.trim().isEmpty()) continue;
+            try {
+                codes.add(Integer.parseInt(code.trim()));
+            } catch (NumberFormatException exception) {
+                throw new ComponentConfigurationException(implementor, RETRY_STATUS_CODES_INVALID.format(statusCodes));
+            }
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,83 @@
+package com.reedelk.google.drive.v3.internal.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+class CommandMetrics implements CommandMetricsMXBean {
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final Map<Integer, LongAdder> errors = new ConcurrentHashMap<>();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+
+    void succeeded(long durationNanos) {
+        latency.record(durationNanos);
+    }
+
+    void failed(long durationNanos, int statusCode) {
+        latency.record(durationNanos);
+        failures.increment();
+        errors.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+    }
+
+    void retried() {
+        retries.increment();
+    }
+
+    @Override
+    public long getCount() {
+        return latency.count();
+    }
+
+    @Override
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    @Override
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return latency.meanMillis();
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return latency.maxMillis();
+    }
+
+    @Override
+    public double getP50Millis() {
+        return latency.percentileMillis(0.50);
+    }
+
+    @Override
+    public double getP95Millis() {
+        return latency.percentileMillis(0.95);
+    }
+
+    @Override
+    public double getP99Millis() {
+        return latency.percentileMillis(0.99);
+    }
+
+    @Override
+    public Map<String, Long> getErrorsByStatus() {
+        Map<String, Long> errorsByStatus = new TreeMap<>();
+        errors.forEach((statusCode, count) -> errorsByStatus.put(String.valueOf(statusCode), count.sum()));
+        return errorsByStatus;
+    }
+
+    @Override
+    public void reset() {
+        latency.reset();
+        errors.clear();
+        failures.reset();
+        retries.reset();
+    }
+}
@@ -0,0 +1,29 @@
+package com.reedelk.google.drive.v3.internal.metrics;
+
+import java.util.Map;
+
+// Durations are measured for each attempt, from when the request is sent
+// (after any rate limit wait) until the response is parsed.
+public interface CommandMetricsMXBean {
+
+    long getCount();
+
+    long getFailureCount();
+
+    long getRetryCount();
+
+    double getMeanMillis();
+
+    double getMaxMillis();
+
+    double getP50Millis();
+
+    double getP95Millis();
+
+    double getP99Millis();
+
+    // HTTP status code ('0' for I/O errors) -> number of failed attempts.
+    Map<String, Long> getErrorsByStatus();
+
+    void reset();
+}
@@ -0,0 +1,32 @@
+package com.reedelk.google.drive.v3.internal.metrics;
+
+// Receives the measurements taken by the Drive API client: one call for each attempt of each command,
+// for each retry and for each wait imposed by the client side rate limiter, and the number of bytes
+// sent and received over HTTP. Implementations must be thread safe and must not block the caller.
+public interface DriveMetrics {
+
+    DriveMetrics NONE = new DriveMetrics() {
+    };
+
+    default void commandSucceeded(Class<?> command, long durationNanos) {
+    }
+
+    // The status code is 0 when the command failed without an HTTP response (e.g. a connection error).
+    default void commandFailed(Class<?> command, long durationNanos, int statusCode) {
+    }
+
+    default void commandRetried(Class<?> command) {
+    }
+
+    default void rateLimitWaited(long waitNanos) {
+    }
+
+    default void bytesUploaded(long bytes) {
+    }
+
+    default void bytesDownloaded(long bytes) {
+    }
+
+    default void close() {
+    }
+}
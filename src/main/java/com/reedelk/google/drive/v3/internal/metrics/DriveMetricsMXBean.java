@@ -0,0 +1,14 @@
+package com.reedelk.google.drive.v3.internal.metrics;
+
+public interface DriveMetricsMXBean {
+
+    long getBytesUploaded();
+
+    long getBytesDownloaded();
+
+    long getRateLimitWaitCount();
+
+    double getRateLimitWaitMillis();
+
+    void reset();
+}
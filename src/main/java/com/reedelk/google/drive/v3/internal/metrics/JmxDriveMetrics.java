@@ -0,0 +1,162 @@
+package com.reedelk.google.drive.v3.internal.metrics;
+
+import com.reedelk.google.drive.v3.component.DriveConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.*;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.reedelk.google.drive.v3.internal.commons.Default.METRICS_NAME;
+import static com.reedelk.google.drive.v3.internal.commons.Messages.Misc.METRICS_REGISTRATION_ERROR;
+import static com.reedelk.google.drive.v3.internal.commons.Messages.Misc.METRICS_UNREGISTRATION_ERROR;
+
+// Exposes the metrics of a Drive API client as platform MBeans: one MBean for the client,
+//   com.reedelk.google.drive.v3:type=DriveApi,name=<metrics name>
+// and one MBean for each type of command executed, registered when it is executed the first time:
+//   com.reedelk.google.drive.v3:type=Command,name=<metrics name>,command=<command class>
+// When another client is already registered with the same name, a numeric suffix is appended.
+public class JmxDriveMetrics implements DriveMetrics, DriveMetricsMXBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(JmxDriveMetrics.class);
+
+    static final String DOMAIN = "com.reedelk.google.drive.v3";
+
+    private final Map<Class<?>, CommandMetrics> commands = new ConcurrentHashMap<>();
+    private final List<ObjectName> registered = new CopyOnWriteArrayList<>();
+    private final LongAdder bytesUploaded = new LongAdder();
+    private final LongAdder bytesDownloaded = new LongAdder();
+    private final LongAdder rateLimitWaits = new LongAdder();
+    private final LongAdder rateLimitWaitNanos = new LongAdder();
+    private final MBeanServer server;
+    private final String name;
+
+    JmxDriveMetrics(MBeanServer server, String name) {
+        this.server = server;
+        this.name = register(server, name);
+    }
+
+    public static DriveMetrics from(DriveConfiguration configuration) {
+        if (!Boolean.TRUE.equals(configuration.getMetrics())) return NONE;
+        String name = Optional.ofNullable(configuration.getMetricsName())
+                .filter(value -> !value.trim().isEmpty())
+                .orElse(METRICS_NAME);
+        return new JmxDriveMetrics(ManagementFactory.getPlatformMBeanServer(), name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void commandSucceeded(Class<?> command, long durationNanos) {
+        metricsOf(command).succeeded(durationNanos);
+    }
+
+    @Override
+    public void commandFailed(Class<?> command, long durationNanos, int statusCode) {
+        metricsOf(command).failed(durationNanos, statusCode);
+    }
+
+    @Override
+    public void commandRetried(Class<?> command) {
+        metricsOf(command).retried();
+    }
+
+    @Override
+    public void rateLimitWaited(long waitNanos) {
+        rateLimitWaits.increment();
+        rateLimitWaitNanos.add(waitNanos);
+    }
+
+    @Override
+    public void bytesUploaded(long bytes) {
+        bytesUploaded.add(bytes);
+    }
+
+    @Override
+    public void bytesDownloaded(long bytes) {
+        bytesDownloaded.add(bytes);
+    }
+
+    @Override
+    public long getBytesUploaded() {
+        return bytesUploaded.sum();
+    }
+
+    @Override
+    public long getBytesDownloaded() {
+        return bytesDownloaded.sum();
+    }
+
+    @Override
+    public long getRateLimitWaitCount() {
+        return rateLimitWaits.sum();
+    }
+
+    @Override
+    public double getRateLimitWaitMillis() {
+        return rateLimitWaitNanos.sum() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public void reset() {
+        bytesUploaded.reset();
+        bytesDownloaded.reset();
+        rateLimitWaits.reset();
+        rateLimitWaitNanos.reset();
+        commands.values().forEach(CommandMetrics::reset);
+    }
+
+    @Override
+    public void close() {
+        for (ObjectName objectName : registered) {
+            try {
+                server.unregisterMBean(objectName);
+            } catch (InstanceNotFoundException | MBeanRegistrationException exception) {
+                logger.warn(METRICS_UNREGISTRATION_ERROR.format(objectName, exception.getMessage()));
+            }
+        }
+        registered.clear();
+    }
+
+    CommandMetrics metricsOf(Class<?> command) {
+        CommandMetrics metrics = commands.get(command);
+        if (metrics != null) return metrics;
+        return commands.computeIfAbsent(command, type -> {
+            CommandMetrics created = new CommandMetrics();
+            String objectName = DOMAIN + ":type=Command,name=" + ObjectName.quote(name) +
+                    ",command=" + type.getSimpleName();
+            try {
+                registered.add(server.registerMBean(created, new ObjectName(objectName)).getObjectName());
+            } catch (JMException exception) {
+                // The command is measured anyway, it is just not exposed.
+                logger.warn(METRICS_REGISTRATION_ERROR.format(objectName, exception.getMessage()));
+            }
+            return created;
+        });
+    }
+
+    private String register(MBeanServer server, String name) {
+        for (int suffix = 1; ; suffix++) {
+            String candidate = suffix == 1 ? name : name + "-" + suffix;
+            String objectName = DOMAIN + ":type=DriveApi,name=" + ObjectName.quote(candidate);
+            try {
+                registered.add(server.registerMBean(this, new ObjectName(objectName)).getObjectName());
+                return candidate;
+            } catch (InstanceAlreadyExistsException exception) {
+                // Try the next suffix.
+            } catch (JMException exception) {
+                logger.warn(METRICS_REGISTRATION_ERROR.format(objectName, exception.getMessage()));
+                return candidate;
+            }
+        }
+    }
+}
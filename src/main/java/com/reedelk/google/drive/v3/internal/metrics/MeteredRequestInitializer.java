@@ -0,0 +1,39 @@
+package com.reedelk.google.drive.v3.internal.metrics;
+
+import com.google.api.client.http.*;
+
+import java.io.IOException;
+
+// Counts the bytes sent and received by each HTTP request, using the length of the request content and
+// the 'Content-Length' header of the response. Chunks of a resumable upload are counted one by one
+// (including resent ones); responses without a 'Content-Length' header (chunked encoding) are not counted.
+public class MeteredRequestInitializer implements HttpRequestInitializer {
+
+    private final HttpRequestInitializer delegate;
+    private final DriveMetrics metrics;
+
+    public MeteredRequestInitializer(HttpRequestInitializer delegate, DriveMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void initialize(HttpRequest request) throws IOException {
+        delegate.initialize(request);
+
+        HttpExecuteInterceptor originalInterceptor = request.getInterceptor();
+        request.setInterceptor(httpRequest -> {
+            if (originalInterceptor != null) originalInterceptor.intercept(httpRequest);
+            HttpContent content = httpRequest.getContent();
+            long length = content != null ? content.getLength() : 0;
+            if (length > 0) metrics.bytesUploaded(length);
+        });
+
+        HttpResponseInterceptor originalResponseInterceptor = request.getResponseInterceptor();
+        request.setResponseInterceptor(response -> {
+            if (originalResponseInterceptor != null) originalResponseInterceptor.interceptResponse(response);
+            Long length = response.getHeaders().getContentLength();
+            if (length != null && length > 0) metrics.bytesDownloaded(length);
+        });
+    }
+}
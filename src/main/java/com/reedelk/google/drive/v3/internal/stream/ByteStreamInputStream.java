@@ -0,0 +1,73 @@
+package com.reedelk.google.drive.v3.internal.stream;
+
+import org.reactivestreams.Publisher;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Adapts a stream of byte chunks to an input stream. Chunks are requested from the
+// upstream publisher only as they are read, therefore only a few chunks are buffered
+// in memory regardless of the total size of the stream.
+public class ByteStreamInputStream extends InputStream {
+
+    private static final byte[] EMPTY = new byte[0];
+    private static final int PREFETCH_CHUNKS = 4;
+
+    private final Stream<byte[]> stream;
+    private final Iterator<byte[]> chunks;
+
+    private byte[] current = EMPTY;
+    private int position;
+
+    public ByteStreamInputStream(Publisher<byte[]> publisher) {
+        this.stream = Flux.from(publisher).toStream(PREFETCH_CHUNKS);
+        this.chunks = stream.iterator();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!nextChunkIfNeeded()) return -1;
+        return current[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) return 0;
+        if (!nextChunkIfNeeded()) return -1;
+        int read = Math.min(length, current.length - position);
+        System.arraycopy(current, position, buffer, offset, read);
+        position += read;
+        return read;
+    }
+
+    @Override
+    public int available() {
+        return current.length - position;
+    }
+
+    @Override
+    public void close() {
+        // Cancels the upstream subscription if the stream was not fully consumed.
+        stream.close();
+    }
+
+    // An error of the upstream publisher is thrown as an I/O error, so that
+    // whoever reads the stream (e.g. the media uploader) handles it as such.
+    private boolean nextChunkIfNeeded() throws IOException {
+        try {
+            while (position >= current.length) {
+                if (!chunks.hasNext()) return false;
+                current = chunks.next();
+                position = 0;
+            }
+            return true;
+        } catch (RuntimeException exception) {
+            Throwable cause = Exceptions.unwrap(exception);
+            throw new IOException(cause.getMessage(), cause);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.reedelk.google.drive.v3.internal.stream;
+
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+public class ByteStreams {
+
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    private ByteStreams() {
+    }
+
+    // Creates a stream of byte chunks read from the input stream opened by the given supplier.
+    // The input stream is opened only when the stream is subscribed and it is closed when the
+    // stream completes, fails or it is cancelled.
+    public static Flux<byte[]> from(Callable<InputStream> streamSupplier,
+                                    int chunkSize,
+                                    Function<IOException, RuntimeException> errorMapper) {
+        return Flux.<byte[], InputStream>using(streamSupplier,
+                inputStream -> Flux.<byte[]>generate(sink -> {
+                    try {
+                        byte[] buffer = new byte[chunkSize];
+                        int read = inputStream.read(buffer);
+                        if (read == -1) {
+                            sink.complete();
+                        } else {
+                            sink.next(read == chunkSize ? buffer : Arrays.copyOf(buffer, read));
+                        }
+                    } catch (IOException exception) {
+                        sink.error(errorMapper.apply(exception));
+                    }
+                }),
+                ByteStreams::closeQuietly);
+    }
+
+    private static void closeQuietly(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException exception) {
+            // Nothing to do, the stream is not used anymore.
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.reedelk.google.drive.v3.internal.stream;
+
+import com.reedelk.google.drive.v3.internal.DriveApi;
+import com.reedelk.google.drive.v3.internal.command.FileListCommand;
+import com.reedelk.google.drive.v3.internal.type.FileType;
+import com.reedelk.google.drive.v3.internal.type.ListOfFiles;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+import static com.reedelk.google.drive.v3.internal.commons.Futures.exceptionOf;
+import static com.reedelk.runtime.api.commons.StringUtils.isBlank;
+
+// Streams the files of all the pages of a files list request. Each file is emitted as soon as it has been
+// parsed from the response (on the I/O threads of the client), therefore the files of a page are never
+// materialized in a list. The next page is requested once a page has been fully parsed, only if the
+// downstream still requests files: at most one page of files waits to be consumed at any time.
+public class FileListStream {
+
+    private FileListStream() {
+    }
+
+    // The command of each page must hand over its files to the given consumer.
+    public static Flux<FileType> from(DriveApi driveApi,
+                                      String pageToken,
+                                      BiFunction<String, Consumer<FileType>, FileListCommand> commandForPage) {
+        return Flux.create(sink -> new Pages(driveApi, commandForPage, sink).start(pageToken));
+    }
+
+    private static class Pages {
+
+        private final BiFunction<String, Consumer<FileType>, FileListCommand> commandForPage;
+        private final AtomicReference<String> paused = new AtomicReference<>();
+        private final FluxSink<FileType> sink;
+        private final DriveApi driveApi;
+
+        Pages(DriveApi driveApi, BiFunction<String, Consumer<FileType>, FileListCommand> commandForPage, FluxSink<FileType> sink) {
+            this.commandForPage = commandForPage;
+            this.driveApi = driveApi;
+            this.sink = sink;
+        }
+
+        void start(String pageToken) {
+            sink.onRequest(requested -> resume());
+            list(pageToken);
+        }
+
+        private void list(String pageToken) {
+            FileListCommand command = commandForPage.apply(pageToken, sink::next);
+            driveApi.executeAsync(command).whenComplete(this::listed);
+        }
+
+        private void listed(ListOfFiles page, Throwable exception) {
+            if (exception != null) {
+                sink.error(exceptionOf(exception));
+            } else if (isBlank(page.getNextPageToken())) {
+                sink.complete();
+            } else {
+                paused.set(page.getNextPageToken());
+                resume();
+            }
+        }
+
+        // Lists the paused page, if any, as soon as the downstream requests more files.
+        private void resume() {
+            if (sink.isCancelled() || sink.requestedFromDownstream() == 0) return;
+            String pageToken = paused.getAndSet(null);
+            if (pageToken != null) list(pageToken);
+        }
+    }
+}
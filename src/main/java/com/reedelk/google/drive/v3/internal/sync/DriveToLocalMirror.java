@@ -0,0 +1,197 @@
+package com.reedelk.google.drive.v3.internal.sync;
+
+import com.reedelk.google.drive.v3.internal.DriveApi;
+import com.reedelk.google.drive.v3.internal.command.FileDownloadToPathCommand;
+import com.reedelk.google.drive.v3.internal.commons.GoogleMimeTypes;
+import com.reedelk.google.drive.v3.internal.exception.FolderMirrorException;
+import com.reedelk.google.drive.v3.internal.type.FileType;
+import com.reedelk.google.drive.v3.internal.type.ListOfSyncedFiles;
+import com.reedelk.google.drive.v3.internal.type.SyncedFile;
+import com.reedelk.google.drive.v3.internal.type.WalkedFile;
+import com.reedelk.google.drive.v3.internal.walk.FolderWalker;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.reedelk.google.drive.v3.internal.commons.Default.WALK_PAGE_SIZE;
+import static com.reedelk.google.drive.v3.internal.commons.Futures.exceptionOf;
+import static com.reedelk.google.drive.v3.internal.commons.Messages.FolderMirror.*;
+import static java.util.Arrays.asList;
+
+// Makes the content of a local directory equal to the content of a Google Drive folder. The whole remote
+// hierarchy is listed first, and each file is compared with the version recorded in the manifest when it
+// was last downloaded: only new and changed files are downloaded, on the I/O threads of the client and at
+// most 'parallelism' at a time.
+// Each file is downloaded to a '.part' file which is then moved in place, therefore a local file is never
+// left partially written, and the manifest is saved periodically so that a crashed mirror can be resumed.
+public class DriveToLocalMirror {
+
+    private static final String MD5_CHECKSUM = "md5Checksum";
+    private static final String MODIFIED_TIME = "modifiedTime";
+    private static final String MIME_TYPE = "mimeType";
+    private static final List<String> FIELDS = asList(MD5_CHECKSUM, MODIFIED_TIME);
+    private static final int MANIFEST_SAVE_INTERVAL = 100;
+
+    private final DriveApi driveApi;
+    private final String folderId;
+    private final Path localDirectory;
+    private final MirrorManifest manifest;
+    private final int parallelism;
+    private final boolean deleteRemoved;
+
+    private final ListOfSyncedFiles mirrored = new ListOfSyncedFiles();
+    private final AtomicInteger unsaved = new AtomicInteger();
+    private long skipped;
+
+    public DriveToLocalMirror(DriveApi driveApi,
+                              String folderId,
+                              Path localDirectory,
+                              MirrorManifest manifest,
+                              int parallelism,
+                              boolean deleteRemoved) {
+        this.driveApi = driveApi;
+        this.folderId = folderId;
+        this.localDirectory = localDirectory.toAbsolutePath().normalize();
+        this.manifest = manifest;
+        this.parallelism = parallelism;
+        this.deleteRemoved = deleteRemoved;
+    }
+
+    public ListOfSyncedFiles mirror() {
+        try {
+            Files.createDirectories(localDirectory);
+        } catch (IOException exception) {
+            throw new FolderMirrorException(LOCAL_DIRECTORY_ERROR.format(localDirectory, exception.getMessage()), exception);
+        }
+
+        manifest.load();
+
+        // Relative path -> remote file or folder. If many remote files have the
+        // same path (Google Drive allows it), only the first one is mirrored.
+        Map<String, WalkedFile> remote = new LinkedHashMap<>();
+        FolderWalker.walk(driveApi, folderId, 0, parallelism, WALK_PAGE_SIZE, Collections.emptyList(), true, FIELDS)
+                .toIterable()
+                .forEach(file -> remote.putIfAbsent(file.getPath(), file));
+
+        // The downloads run on the I/O threads of the client: the calling thread only starts them.
+        Semaphore permits = new Semaphore(parallelism);
+        List<CompletableFuture<SyncedFile>> downloads = new ArrayList<>();
+        try {
+            for (WalkedFile walked : remote.values()) {
+                FileType file = walked.getFile();
+                String relativePath = walked.getPath();
+                Path target = localDirectory.resolve(relativePath).normalize();
+
+                if (!target.startsWith(localDirectory) || target.equals(localDirectory)) {
+                    // The name of a Google Drive file might contain '..' or separators.
+                    mirrored.add(SyncedFile.failure(relativePath, SyncAction.CREATED,
+                            new FolderMirrorException(PATH_OUTSIDE_DIRECTORY.format(relativePath, localDirectory))));
+
+                } else if (walked.isFolder()) {
+                    createDirectory(relativePath, target);
+
+                } else if (isGoogleAppsFile(file)) {
+                    // Google Docs files have no binary content which can be downloaded.
+                    skipped++;
+
+                } else {
+                    String version = versionOf(file);
+                    String previous = manifest.get(relativePath);
+                    if (version.equals(previous) && Files.isRegularFile(target)) {
+                        skipped++;
+                    } else {
+                        SyncAction action = previous == null ? SyncAction.CREATED : SyncAction.UPDATED;
+                        permits.acquire();
+                        downloads.add(download(relativePath, target, file.getId(), version, action)
+                                .whenComplete((result, exception) -> permits.release()));
+                    }
+                }
+            }
+
+            // Downloads report their errors in the results, therefore joining them never throws.
+            downloads.forEach(download -> mirrored.add(download.join()));
+
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new FolderMirrorException(INTERRUPTED.format(folderId), exception);
+        } finally {
+            // Whatever happened, the files downloaded so far are recorded.
+            manifest.save();
+        }
+
+        if (deleteRemoved) {
+            deleteRemoved(remote.keySet());
+            manifest.save();
+        }
+        return mirrored;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    private void createDirectory(String relativePath, Path target) {
+        if (Files.isDirectory(target)) return;
+        try {
+            Files.createDirectories(target);
+        } catch (IOException exception) {
+            FolderMirrorException error = new FolderMirrorException(LOCAL_FILE_ERROR.format(target, exception.getMessage()), exception);
+            mirrored.add(SyncedFile.failure(relativePath, SyncAction.CREATED, error));
+        }
+    }
+
+    private CompletableFuture<SyncedFile> download(String relativePath, Path target, String fileId, String version, SyncAction action) {
+        // The command downloads to a '.part' file and moves it in place.
+        return driveApi.executeAsync(new FileDownloadToPathCommand(fileId, target)).handle((downloaded, exception) -> {
+            if (exception != null) {
+                return SyncedFile.failure(relativePath, action, exceptionOf(exception));
+            }
+            try {
+                manifest.put(relativePath, version);
+                if (unsaved.incrementAndGet() % MANIFEST_SAVE_INTERVAL == 0) {
+                    manifest.save();
+                }
+                return SyncedFile.success(relativePath, action, fileId);
+            } catch (RuntimeException error) {
+                return SyncedFile.failure(relativePath, action, error);
+            }
+        });
+    }
+
+    // Only files previously downloaded by the mirror (hence listed in the manifest)
+    // are deleted: files created locally by someone else are never touched.
+    private void deleteRemoved(Set<String> remotePaths) {
+        manifest.paths().stream()
+                .filter(path -> !remotePaths.contains(path))
+                .sorted()
+                .forEach(path -> {
+                    Path target = localDirectory.resolve(path).normalize();
+                    try {
+                        if (target.startsWith(localDirectory)) Files.deleteIfExists(target);
+                        manifest.remove(path);
+                        mirrored.add(SyncedFile.success(path, SyncAction.DELETED, null));
+                    } catch (IOException exception) {
+                        FolderMirrorException error = new FolderMirrorException(LOCAL_FILE_ERROR.format(target, exception.getMessage()), exception);
+                        mirrored.add(SyncedFile.failure(path, SyncAction.DELETED, error));
+                    }
+                });
+    }
+
+    // The version identifies the content of a file: the checksum
+    // if available, otherwise the last modified time of the file.
+    static String versionOf(FileType file) {
+        Object md5Checksum = file.get(MD5_CHECKSUM);
+        Object version = md5Checksum != null ? md5Checksum : file.get(MODIFIED_TIME);
+        return file.getId() + ":" + version;
+    }
+
+    private static boolean isGoogleAppsFile(FileType file) {
+        Object mimeType = file.get(MIME_TYPE);
+        return mimeType != null && GoogleMimeTypes.isGoogleApps(mimeType.toString());
+    }
+}
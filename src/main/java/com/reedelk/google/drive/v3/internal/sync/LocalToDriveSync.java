@@ -0,0 +1,273 @@
+package com.reedelk.google.drive.v3.internal.sync;
+
+import com.google.api.client.util.DateTime;
+import com.google.api.services.drive.model.File;
+import com.reedelk.google.drive.v3.internal.BatchResult;
+import com.reedelk.google.drive.v3.internal.DriveApi;
+import com.reedelk.google.drive.v3.internal.command.FileDeleteCommand;
+import com.reedelk.google.drive.v3.internal.command.FileUpdateCommand;
+import com.reedelk.google.drive.v3.internal.command.FileUploadCommand;
+import com.reedelk.google.drive.v3.internal.command.FolderCreateCommand;
+import com.reedelk.google.drive.v3.internal.commons.Checksums;
+import com.reedelk.google.drive.v3.internal.exception.FolderSyncException;
+import com.reedelk.google.drive.v3.internal.type.FileType;
+import com.reedelk.google.drive.v3.internal.type.ListOfSyncedFiles;
+import com.reedelk.google.drive.v3.internal.type.SyncedFile;
+import com.reedelk.google.drive.v3.internal.type.WalkedFile;
+import com.reedelk.google.drive.v3.internal.walk.FolderWalker;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.reedelk.google.drive.v3.internal.commons.Default.WALK_PAGE_SIZE;
+import static com.reedelk.google.drive.v3.internal.commons.Futures.exceptionOf;
+import static com.reedelk.google.drive.v3.internal.commons.Futures.join;
+import static com.reedelk.google.drive.v3.internal.commons.Messages.FolderSync.*;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+// Makes the content of a Google Drive folder equal to the content of a local directory. The whole
+// remote hierarchy is listed first (with checksum, size and modified time of each file), therefore
+// the files to transfer are found without a request for each file. Files with the same size and
+// checksum are skipped; the others are uploaded on the I/O threads of the client, at most 'parallelism'
+// at a time.
+public class LocalToDriveSync {
+
+    static final String MD5_CHECKSUM = "md5Checksum";
+    static final String SIZE = "size";
+    static final String MODIFIED_TIME = "modifiedTime";
+
+    private static final List<String> FIELDS = asList(MD5_CHECKSUM, SIZE, MODIFIED_TIME);
+
+    private final DriveApi driveApi;
+    private final Path localDirectory;
+    private final String folderId;
+    private final int parallelism;
+    private final int chunkSize;
+    private final boolean deleteRemoved;
+
+    private final ListOfSyncedFiles synced = new ListOfSyncedFiles();
+    private long skipped;
+
+    public LocalToDriveSync(DriveApi driveApi,
+                            Path localDirectory,
+                            String folderId,
+                            int parallelism,
+                            int chunkSize,
+                            boolean deleteRemoved) {
+        this.driveApi = driveApi;
+        this.localDirectory = localDirectory;
+        this.folderId = folderId;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+        this.deleteRemoved = deleteRemoved;
+    }
+
+    public ListOfSyncedFiles sync() {
+        if (!Files.isDirectory(localDirectory)) {
+            throw new FolderSyncException(LOCAL_DIRECTORY_NOT_FOUND.format(localDirectory));
+        }
+
+        // Relative path -> remote file or folder. If many remote files have the
+        // same path (Google Drive allows it), only the first one is synced.
+        Map<String, WalkedFile> remote = new HashMap<>();
+        FolderWalker.walk(driveApi, folderId, 0, parallelism, WALK_PAGE_SIZE, Collections.emptyList(), true, FIELDS)
+                .toIterable()
+                .forEach(file -> remote.putIfAbsent(file.getPath(), file));
+
+        List<Path> local = localPaths();
+        Set<String> localPaths = local.stream().map(this::relativePathOf).collect(Collectors.toSet());
+
+        // Relative path -> ID of the folder in Google Drive.
+        Map<String, String> folderIds = new HashMap<>();
+        folderIds.put("", folderId);
+        remote.values().stream()
+                .filter(WalkedFile::isFolder)
+                .forEach(folder -> folderIds.put(folder.getPath(), folder.getFile().getId()));
+
+        // The transfers run on the I/O threads of the client: the calling thread only starts them.
+        Semaphore permits = new Semaphore(parallelism);
+        List<CompletableFuture<SyncedFile>> transfers = new ArrayList<>();
+        try {
+            // Paths are walked parent first, therefore the folder of
+            // a file is always created before the file is uploaded.
+            for (Path path : local) {
+                String relativePath = relativePathOf(path);
+                String parentId = folderIds.get(parentOf(relativePath));
+                WalkedFile existing = remote.get(relativePath);
+
+                if (parentId == null) {
+                    synced.add(SyncedFile.failure(relativePath, SyncAction.CREATED,
+                            new FolderSyncException(PARENT_FOLDER_MISSING.format(relativePath))));
+
+                } else if (Files.isDirectory(path)) {
+                    if (existing == null || !existing.isFolder()) {
+                        createFolder(relativePath, path, parentId, folderIds);
+                    }
+
+                } else if (existing != null && !existing.isFolder()) {
+                    try {
+                        if (!isChanged(path, existing.getFile())) {
+                            skipped++;
+                            continue;
+                        }
+                    } catch (IOException exception) {
+                        synced.add(SyncedFile.failure(relativePath, SyncAction.UPDATED, readErrorOf(path, exception)));
+                        continue;
+                    }
+                    permits.acquire();
+                    transfers.add(update(relativePath, path, existing.getFile()).whenComplete((result, exception) -> permits.release()));
+
+                } else {
+                    permits.acquire();
+                    transfers.add(upload(relativePath, path, parentId).whenComplete((result, exception) -> permits.release()));
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new FolderSyncException(INTERRUPTED.format(localDirectory), exception);
+        }
+
+        // Transfers report their errors in the results, therefore joining them never throws.
+        transfers.forEach(transfer -> synced.add(transfer.join()));
+
+        if (deleteRemoved) {
+            deleteRemoved(remote, localPaths);
+        }
+        return synced;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    private void createFolder(String relativePath, Path path, String parentId, Map<String, String> folderIds) {
+        try {
+            // The files of the folder are uploaded once its ID is known.
+            File folder = join(driveApi.executeAsync(new FolderCreateCommand(path.getFileName().toString(), null, parentId)));
+            folderIds.put(relativePath, folder.getId());
+            synced.add(SyncedFile.success(relativePath, SyncAction.CREATED, folder.getId()));
+        } catch (RuntimeException exception) {
+            synced.add(SyncedFile.failure(relativePath, SyncAction.CREATED, exception));
+        }
+    }
+
+    private CompletableFuture<SyncedFile> upload(String relativePath, Path path, String parentId) {
+        InputStream content;
+        try {
+            content = Files.newInputStream(path);
+        } catch (IOException exception) {
+            return completedFuture(SyncedFile.failure(relativePath, SyncAction.CREATED, readErrorOf(path, exception)));
+        }
+        FileUploadCommand command = new FileUploadCommand(
+                path.getFileName().toString(), null, parentId, false, content, chunkSize);
+        return driveApi.executeAsync(command)
+                .whenComplete((uploaded, exception) -> closeQuietly(content))
+                .handle((uploaded, exception) -> exception == null ?
+                        SyncedFile.success(relativePath, SyncAction.CREATED, uploaded.getId()) :
+                        SyncedFile.failure(relativePath, SyncAction.CREATED, exceptionOf(exception)));
+    }
+
+    private CompletableFuture<SyncedFile> update(String relativePath, Path path, FileType remoteFile) {
+        String fileId = remoteFile.getId();
+        InputStream content;
+        try {
+            content = Files.newInputStream(path);
+        } catch (IOException exception) {
+            return completedFuture(SyncedFile.failure(relativePath, SyncAction.UPDATED, readErrorOf(path, exception)));
+        }
+        return driveApi.executeAsync(new FileUpdateCommand(fileId, content, chunkSize))
+                .whenComplete((updated, exception) -> closeQuietly(content))
+                .handle((updated, exception) -> {
+                    if (exception != null) {
+                        return SyncedFile.failure(relativePath, SyncAction.UPDATED, exceptionOf(exception));
+                    }
+                    driveApi.invalidateMetadata(fileId);
+                    return SyncedFile.success(relativePath, SyncAction.UPDATED, fileId);
+                });
+    }
+
+    // Only the top most removed files and folders are deleted: deleting
+    // a folder from Google Drive deletes its content as well.
+    private void deleteRemoved(Map<String, WalkedFile> remote, Set<String> localPaths) {
+        List<WalkedFile> removed = remote.values().stream()
+                .filter(file -> !localPaths.contains(file.getPath()))
+                .filter(file -> parentOf(file.getPath()).isEmpty() || localPaths.contains(parentOf(file.getPath())))
+                .sorted(Comparator.comparing(WalkedFile::getPath))
+                .collect(Collectors.toList());
+        if (removed.isEmpty()) return;
+
+        List<FileDeleteCommand> commands = removed.stream()
+                .map(file -> new FileDeleteCommand(file.getFile().getId()))
+                .collect(Collectors.toList());
+
+        List<BatchResult<Void>> results = driveApi.executeBatch(commands);
+        for (int index = 0; index < removed.size(); index++) {
+            WalkedFile file = removed.get(index);
+            String fileId = file.getFile().getId();
+            BatchResult<Void> result = results.get(index);
+            if (result.isSuccess()) driveApi.invalidateMetadata(fileId);
+            synced.add(result.isSuccess() ?
+                    SyncedFile.success(file.getPath(), SyncAction.DELETED, fileId) :
+                    SyncedFile.failure(file.getPath(), SyncAction.DELETED, result.getError()));
+        }
+    }
+
+    // The checksum is computed only when the sizes are equal, since
+    // a different size is enough to know that the file has changed.
+    static boolean isChanged(Path path, FileType remoteFile) throws IOException {
+        Object size = remoteFile.get(SIZE);
+        if (size != null && Long.parseLong(size.toString()) != Files.size(path)) {
+            return true;
+        }
+        Object md5Checksum = remoteFile.get(MD5_CHECKSUM);
+        if (md5Checksum != null) {
+            return !md5Checksum.toString().equalsIgnoreCase(Checksums.md5Of(path));
+        }
+        // Google Docs files have neither a size nor a checksum.
+        Object modifiedTime = remoteFile.get(MODIFIED_TIME);
+        return modifiedTime == null ||
+                Files.getLastModifiedTime(path).toMillis() > DateTime.parseRfc3339(modifiedTime.toString()).getValue();
+    }
+
+    private List<Path> localPaths() {
+        try (Stream<Path> paths = Files.walk(localDirectory)) {
+            return paths.filter(path -> !path.equals(localDirectory))
+                    .filter(path -> Files.isDirectory(path) || Files.isRegularFile(path))
+                    .collect(Collectors.toList());
+        } catch (IOException | UncheckedIOException exception) {
+            throw new FolderSyncException(LOCAL_DIRECTORY_READ_ERROR.format(localDirectory, exception.getMessage()), exception);
+        }
+    }
+
+    private String relativePathOf(Path path) {
+        List<String> names = new ArrayList<>();
+        localDirectory.relativize(path).forEach(name -> names.add(name.toString()));
+        return String.join("/", names);
+    }
+
+    private static String parentOf(String relativePath) {
+        int index = relativePath.lastIndexOf('/');
+        return index < 0 ? "" : relativePath.substring(0, index);
+    }
+
+    private static void closeQuietly(InputStream content) {
+        try {
+            content.close();
+        } catch (IOException exception) {
+            // Nothing to do, the file has been transferred already.
+        }
+    }
+
+    private static FolderSyncException readErrorOf(Path path, IOException exception) {
+        return new FolderSyncException(LOCAL_FILE_READ_ERROR.format(path, exception.getMessage()), exception);
+    }
+}
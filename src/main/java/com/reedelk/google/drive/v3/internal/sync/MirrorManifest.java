@@ -0,0 +1,79 @@
+package com.reedelk.google.drive.v3.internal.sync;
+
+import com.reedelk.google.drive.v3.internal.exception.FolderMirrorException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.reedelk.google.drive.v3.internal.commons.Messages.FolderMirror.MANIFEST_LOAD_ERROR;
+import static com.reedelk.google.drive.v3.internal.commons.Messages.FolderMirror.MANIFEST_SAVE_ERROR;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+// Keeps, for each mirrored file, the ID and the version (checksum or modified time) of the Google Drive
+// file last downloaded to the local path. As for the page token store, the manifest is written to a
+// temporary file which then atomically replaces the previous one: after a crash the manifest lists
+// exactly the files downloaded before the last save, therefore the next mirror resumes from there.
+public class MirrorManifest {
+
+    private final Map<String, String> entries = new ConcurrentHashMap<>();
+    private final Path file;
+
+    public MirrorManifest(Path file) {
+        this.file = file;
+    }
+
+    public void load() {
+        if (!Files.exists(file)) return;
+        try (InputStream content = Files.newInputStream(file)) {
+            Properties properties = new Properties();
+            properties.load(content);
+            properties.stringPropertyNames()
+                    .forEach(path -> entries.put(path, properties.getProperty(path)));
+        } catch (IOException exception) {
+            String error = MANIFEST_LOAD_ERROR.format(file, exception.getMessage());
+            throw new FolderMirrorException(error, exception);
+        }
+    }
+
+    public synchronized void save() {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            Properties properties = new Properties();
+            properties.putAll(entries);
+            Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            try (OutputStream content = Files.newOutputStream(temporary)) {
+                properties.store(content, null);
+            }
+            Files.move(temporary, file, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException exception) {
+            String error = MANIFEST_SAVE_ERROR.format(file, exception.getMessage());
+            throw new FolderMirrorException(error, exception);
+        }
+    }
+
+    public String get(String path) {
+        return entries.get(path);
+    }
+
+    public void put(String path, String fileVersion) {
+        entries.put(path, fileVersion);
+    }
+
+    public void remove(String path) {
+        entries.remove(path);
+    }
+
+    public Set<String> paths() {
+        return new HashSet<>(entries.keySet());
+    }
+}
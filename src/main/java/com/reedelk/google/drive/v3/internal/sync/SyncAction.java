@@ -0,0 +1,8 @@
+package com.reedelk.google.drive.v3.internal.sync;
+
+public enum SyncAction {
+
+    CREATED,
+    UPDATED,
+    DELETED
+}
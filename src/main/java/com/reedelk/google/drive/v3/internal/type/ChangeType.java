@@ -0,0 +1,37 @@
+package com.reedelk.google.drive.v3.internal.type;
+
+import com.google.api.services.drive.model.Change;
+import com.reedelk.runtime.api.annotation.Type;
+import com.reedelk.runtime.api.annotation.TypeProperty;
+
+import java.io.Serializable;
+import java.util.HashMap;
+
+import static com.reedelk.google.drive.v3.internal.type.ChangeType.*;
+
+@Type(displayName = "Change", mapKeyType = String.class, mapValueType = Serializable.class)
+@TypeProperty(name = FILE_ID, type = String.class)
+@TypeProperty(name = REMOVED, type = Boolean.class)
+@TypeProperty(name = TIME, type = String.class)
+@TypeProperty(name = CHANGE_TYPE, type = String.class)
+@TypeProperty(name = DRIVE_ID, type = String.class)
+@TypeProperty(name = FILE, type = FileType.class)
+public class ChangeType extends HashMap<String, Serializable> {
+
+    static final String FILE_ID = "fileId";
+    static final String REMOVED = "removed";
+    static final String TIME = "time";
+    static final String CHANGE_TYPE = "changeType";
+    static final String DRIVE_ID = "driveId";
+    static final String FILE = "file";
+
+    public ChangeType(Change change) {
+        put(FILE_ID, change.getFileId());
+        put(REMOVED, change.getRemoved());
+        put(TIME, change.getTime() != null ? change.getTime().toStringRfc3339() : null);
+        put(CHANGE_TYPE, change.getChangeType());
+        put(DRIVE_ID, change.getDriveId());
+        // The file is not present when it has been removed or access to it has been lost.
+        put(FILE, change.getFile() != null ? new FileType(change.getFile()) : null);
+    }
+}
@@ -5,9 +5,14 @@ import com.reedelk.runtime.api.annotation.Type;
 import com.reedelk.runtime.api.annotation.TypeProperty;
 
 import java.io.Serializable;
-import java.util.HashMap;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import static com.reedelk.google.drive.v3.internal.type.FileType.*;
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
 
 @Type(mapKeyType = String.class, mapValueType = Serializable.class)
 @TypeProperty(name = ID, type = String.class)
@@ -35,17 +40,269 @@ public class FileType extends HashMap<String, Serializable> {
     static final String ORIGINAL_FILE_NAME = "originalFilename";
     static final String OWNERS = "owners";
 
+    // The fields to be requested to Google Drive in order to fill all the properties of this type.
+    public static final List<String> ALL_FIELDS =
+            unmodifiableList(asList(ID, NAME, KIND, DRIVE_ID, OWNED_BY_ME, WEB_VIEW_LINK, WEB_CONTENT_LINK,
+                    DESCRIPTION, FILE_EXTENSION, ORIGINAL_FILE_NAME, OWNERS + "(" + User.EMAIL_ADDRESS + ")"));
+
+    private static final Set<String> MAPPED_FIELDS =
+            new HashSet<>(asList(ID, NAME, KIND, DRIVE_ID, OWNED_BY_ME, WEB_VIEW_LINK, WEB_CONTENT_LINK,
+                    DESCRIPTION, FILE_EXTENSION, ORIGINAL_FILE_NAME, OWNERS));
+
+    // The Drive file is wrapped as it is and copied into this map only when the whole map is needed
+    // (iteration, modification, copy or serialization). Reading single entries, as listings and
+    // walks do for each file, does not copy anything: most files of a large listing are never copied.
+    // The file is cleared (volatile write) only once all the entries have been copied, therefore a
+    // reader on another thread either reads the file or the fully copied map, never a partial copy.
+    private transient volatile File file;
+    private transient List<String> additionalFields;
+
     public FileType(File file) {
-        put(ID, file.getId());
-        put(NAME, file.getName());
-        put(KIND, file.getKind());
-        put(DRIVE_ID, file.getDriveId());
-        put(OWNED_BY_ME, file.getOwnedByMe());
-        put(WEB_VIEW_LINK, file.getWebViewLink());
-        put(DESCRIPTION, file.getDescription());
-        put(FILE_EXTENSION, file.getFileExtension());
-        put(WEB_CONTENT_LINK, file.getWebContentLink());
-        put(ORIGINAL_FILE_NAME, file.getOriginalFilename());
-        put(OWNERS, new ListOfUsers(file.getOwners()));
+        this(file, Collections.emptyList());
+    }
+
+    public FileType(FileType other) {
+        super(other);
+    }
+
+    public FileType(File file, List<String> additionalFields) {
+        this.file = file;
+        this.additionalFields = additionalFields;
+    }
+
+    public String getId() {
+        File source = file;
+        return source != null ? source.getId() : (String) super.get(ID);
+    }
+
+    @Override
+    public Serializable get(Object key) {
+        File source = file;
+        if (source != null && !OWNERS.equals(key)) return valueOf(source, key);
+        materialize();
+        return super.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (file != null) return MAPPED_FIELDS.contains(key) || isAdditionalField(key);
+        return super.containsKey(key);
+    }
+
+    @Override
+    public Serializable getOrDefault(Object key, Serializable defaultValue) {
+        return containsKey(key) ? get(key) : defaultValue;
+    }
+
+    @Override
+    public int size() {
+        materialize();
+        return super.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        materialize();
+        return super.isEmpty();
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        materialize();
+        return super.containsValue(value);
+    }
+
+    @Override
+    public Serializable put(String key, Serializable value) {
+        materialize();
+        return super.put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends Serializable> map) {
+        materialize();
+        super.putAll(map);
+    }
+
+    @Override
+    public Serializable remove(Object key) {
+        materialize();
+        return super.remove(key);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        materialize();
+        return super.remove(key, value);
+    }
+
+    @Override
+    public void clear() {
+        materialize();
+        super.clear();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        materialize();
+        return super.keySet();
+    }
+
+    @Override
+    public Collection<Serializable> values() {
+        materialize();
+        return super.values();
+    }
+
+    @Override
+    public Set<Map.Entry<String, Serializable>> entrySet() {
+        materialize();
+        return super.entrySet();
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super Serializable> action) {
+        materialize();
+        super.forEach(action);
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super String, ? super Serializable, ? extends Serializable> function) {
+        materialize();
+        super.replaceAll(function);
+    }
+
+    @Override
+    public Serializable putIfAbsent(String key, Serializable value) {
+        materialize();
+        return super.putIfAbsent(key, value);
+    }
+
+    @Override
+    public boolean replace(String key, Serializable oldValue, Serializable newValue) {
+        materialize();
+        return super.replace(key, oldValue, newValue);
+    }
+
+    @Override
+    public Serializable replace(String key, Serializable value) {
+        materialize();
+        return super.replace(key, value);
+    }
+
+    @Override
+    public Serializable computeIfAbsent(String key, Function<? super String, ? extends Serializable> mappingFunction) {
+        materialize();
+        return super.computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public Serializable computeIfPresent(String key, BiFunction<? super String, ? super Serializable, ? extends Serializable> remappingFunction) {
+        materialize();
+        return super.computeIfPresent(key, remappingFunction);
+    }
+
+    @Override
+    public Serializable compute(String key, BiFunction<? super String, ? super Serializable, ? extends Serializable> remappingFunction) {
+        materialize();
+        return super.compute(key, remappingFunction);
+    }
+
+    @Override
+    public Serializable merge(String key, Serializable value, BiFunction<? super Serializable, ? super Serializable, ? extends Serializable> remappingFunction) {
+        materialize();
+        return super.merge(key, value, remappingFunction);
+    }
+
+    @Override
+    public Object clone() {
+        materialize();
+        return super.clone();
+    }
+
+    // The wrapped Drive file is not serializable: the entries are copied before this map is serialized.
+    private Object writeReplace() {
+        materialize();
+        return this;
+    }
+
+    private synchronized void materialize() {
+        File source = file;
+        if (source == null) return;
+        super.put(ID, source.getId());
+        super.put(NAME, source.getName());
+        super.put(KIND, source.getKind());
+        super.put(DRIVE_ID, source.getDriveId());
+        super.put(OWNED_BY_ME, source.getOwnedByMe());
+        super.put(WEB_VIEW_LINK, source.getWebViewLink());
+        super.put(DESCRIPTION, source.getDescription());
+        super.put(FILE_EXTENSION, source.getFileExtension());
+        super.put(WEB_CONTENT_LINK, source.getWebContentLink());
+        super.put(ORIGINAL_FILE_NAME, source.getOriginalFilename());
+        super.put(OWNERS, new ListOfUsers(source.getOwners()));
+
+        for (String field : additionalFields) {
+            // Nested fields selectors (e.g. 'capabilities/canEdit' or 'imageMediaMetadata(width)')
+            // are mapped using the top level field name.
+            String name = topLevelFieldName(field);
+            if (!super.containsKey(name)) {
+                super.put(name, additionalValueOf(source, name));
+            }
+        }
+        // Cleared last: see the comment of the field.
+        file = null;
+    }
+
+    // Same values the map would contain once copied, except for the owners which are always copied.
+    private Serializable valueOf(File source, Object key) {
+        if (!(key instanceof String)) return null;
+        switch ((String) key) {
+            case ID:
+                return source.getId();
+            case NAME:
+                return source.getName();
+            case KIND:
+                return source.getKind();
+            case DRIVE_ID:
+                return source.getDriveId();
+            case OWNED_BY_ME:
+                return source.getOwnedByMe();
+            case WEB_VIEW_LINK:
+                return source.getWebViewLink();
+            case DESCRIPTION:
+                return source.getDescription();
+            case FILE_EXTENSION:
+                return source.getFileExtension();
+            case WEB_CONTENT_LINK:
+                return source.getWebContentLink();
+            case ORIGINAL_FILE_NAME:
+                return source.getOriginalFilename();
+            default:
+                return isAdditionalField(key) ? additionalValueOf(source, (String) key) : null;
+        }
+    }
+
+    private boolean isAdditionalField(Object key) {
+        for (String field : additionalFields) {
+            if (topLevelFieldName(field).equals(key)) return true;
+        }
+        return false;
+    }
+
+    private static Serializable additionalValueOf(File source, String name) {
+        Object value = source.get(name);
+        return value == null || value instanceof Serializable ?
+                (Serializable) value :
+                value.toString();
+    }
+
+    public static String topLevelFieldName(String field) {
+        String name = field.trim();
+        int end = name.length();
+        int slash = name.indexOf('/');
+        int parenthesis = name.indexOf('(');
+        if (slash > 0) end = Math.min(end, slash);
+        if (parenthesis > 0) end = Math.min(end, parenthesis);
+        return name.substring(0, end);
     }
 }
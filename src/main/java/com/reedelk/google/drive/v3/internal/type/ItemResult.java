@@ -0,0 +1,41 @@
+package com.reedelk.google.drive.v3.internal.type;
+
+import com.reedelk.runtime.api.annotation.Type;
+import com.reedelk.runtime.api.annotation.TypeProperty;
+
+import java.io.Serializable;
+import java.util.HashMap;
+
+import static com.reedelk.google.drive.v3.internal.type.ItemResult.*;
+
+@Type(displayName = "ItemResult", mapKeyType = String.class, mapValueType = Serializable.class)
+@TypeProperty(name = ITEM, type = String.class)
+@TypeProperty(name = SUCCESS, type = Boolean.class)
+@TypeProperty(name = ID, type = String.class)
+@TypeProperty(name = ERROR, type = String.class)
+public class ItemResult extends HashMap<String, Serializable> {
+
+    static final String ITEM = "item";
+    static final String SUCCESS = "success";
+    static final String ID = "id";
+    static final String ERROR = "error";
+
+    private ItemResult(String item, boolean success, String id, String error) {
+        put(ITEM, item);
+        put(SUCCESS, success);
+        put(ID, id);
+        put(ERROR, error);
+    }
+
+    public static ItemResult success(String item, String id) {
+        return new ItemResult(item, true, id, null);
+    }
+
+    public static ItemResult failure(String item, Exception error) {
+        return new ItemResult(item, false, null, error.getMessage());
+    }
+
+    public boolean isSuccess() {
+        return (Boolean) get(SUCCESS);
+    }
+}
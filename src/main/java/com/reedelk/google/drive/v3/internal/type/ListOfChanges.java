@@ -0,0 +1,32 @@
+package com.reedelk.google.drive.v3.internal.type;
+
+import com.google.api.services.drive.model.Change;
+import com.reedelk.runtime.api.annotation.Type;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Type(listItemType = ChangeType.class)
+public class ListOfChanges extends ArrayList<ChangeType> {
+
+    private final String nextPageToken;
+    private final String newStartPageToken;
+
+    public ListOfChanges(List<Change> changes, String nextPageToken, String newStartPageToken) {
+        this.nextPageToken = nextPageToken;
+        this.newStartPageToken = newStartPageToken;
+        if (changes != null) {
+            changes.stream().map(ChangeType::new).forEach(this::add);
+        }
+    }
+
+    // Present when there are more changes to be fetched.
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    // Present on the last page: the token to be used to fetch future changes.
+    public String getNewStartPageToken() {
+        return newStartPageToken;
+    }
+}
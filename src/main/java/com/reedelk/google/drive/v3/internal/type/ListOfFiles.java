@@ -4,14 +4,30 @@ import com.google.api.services.drive.model.File;
 import com.reedelk.runtime.api.annotation.Type;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Type(listItemType = FileType.class)
 public class ListOfFiles extends ArrayList<FileType> {
 
+    private final String nextPageToken;
+
     public ListOfFiles(List<File> files) {
+        this(files, null);
+    }
+
+    public ListOfFiles(List<File> files, String nextPageToken) {
+        this(files, nextPageToken, Collections.emptyList());
+    }
+
+    public ListOfFiles(List<File> files, String nextPageToken, List<String> additionalFields) {
+        this.nextPageToken = nextPageToken;
         if (files != null) {
-            files.stream().map(FileType::new).forEach(this::add);
+            files.stream().map(file -> new FileType(file, additionalFields)).forEach(this::add);
         }
     }
+
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
 }
@@ -0,0 +1,13 @@
+package com.reedelk.google.drive.v3.internal.type;
+
+import com.reedelk.runtime.api.annotation.Type;
+
+import java.util.ArrayList;
+
+@Type(listItemType = ItemResult.class)
+public class ListOfItemResults extends ArrayList<ItemResult> {
+
+    public long successCount() {
+        return stream().filter(ItemResult::isSuccess).count();
+    }
+}
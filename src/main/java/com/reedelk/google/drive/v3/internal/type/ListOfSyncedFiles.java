@@ -0,0 +1,18 @@
+package com.reedelk.google.drive.v3.internal.type;
+
+import com.reedelk.google.drive.v3.internal.sync.SyncAction;
+import com.reedelk.runtime.api.annotation.Type;
+
+import java.util.ArrayList;
+
+@Type(listItemType = SyncedFile.class)
+public class ListOfSyncedFiles extends ArrayList<SyncedFile> {
+
+    public long successCount(SyncAction action) {
+        return stream().filter(file -> file.isSuccess() && file.getAction() == action).count();
+    }
+
+    public long failureCount() {
+        return stream().filter(file -> !file.isSuccess()).count();
+    }
+}
@@ -0,0 +1,53 @@
+package com.reedelk.google.drive.v3.internal.type;
+
+import com.reedelk.google.drive.v3.internal.sync.SyncAction;
+import com.reedelk.runtime.api.annotation.Type;
+import com.reedelk.runtime.api.annotation.TypeProperty;
+
+import java.io.Serializable;
+import java.util.HashMap;
+
+import static com.reedelk.google.drive.v3.internal.type.SyncedFile.*;
+
+@Type(displayName = "SyncedFile", mapKeyType = String.class, mapValueType = Serializable.class)
+@TypeProperty(name = PATH, type = String.class)
+@TypeProperty(name = ACTION, type = String.class)
+@TypeProperty(name = SUCCESS, type = Boolean.class)
+@TypeProperty(name = ID, type = String.class)
+@TypeProperty(name = ERROR, type = String.class)
+public class SyncedFile extends HashMap<String, Serializable> {
+
+    static final String PATH = "path";
+    static final String ACTION = "action";
+    static final String SUCCESS = "success";
+    static final String ID = "id";
+    static final String ERROR = "error";
+
+    private SyncedFile(String path, SyncAction action, boolean success, String id, String error) {
+        put(PATH, path);
+        put(ACTION, action.name());
+        put(SUCCESS, success);
+        put(ID, id);
+        put(ERROR, error);
+    }
+
+    public static SyncedFile success(String path, SyncAction action, String id) {
+        return new SyncedFile(path, action, true, id, null);
+    }
+
+    public static SyncedFile failure(String path, SyncAction action, Exception error) {
+        return new SyncedFile(path, action, false, null, error.getMessage());
+    }
+
+    public String getPath() {
+        return (String) get(PATH);
+    }
+
+    public SyncAction getAction() {
+        return SyncAction.valueOf((String) get(ACTION));
+    }
+
+    public boolean isSuccess() {
+        return (Boolean) get(SUCCESS);
+    }
+}
@@ -0,0 +1,45 @@
+package com.reedelk.google.drive.v3.internal.type;
+
+import com.reedelk.runtime.api.annotation.Type;
+import com.reedelk.runtime.api.annotation.TypeProperty;
+
+import java.io.Serializable;
+import java.util.HashMap;
+
+import static com.reedelk.google.drive.v3.internal.type.WalkedFile.*;
+
+@Type(displayName = "WalkedFile", mapKeyType = String.class, mapValueType = Serializable.class)
+@TypeProperty(name = PATH, type = String.class)
+@TypeProperty(name = DEPTH, type = Integer.class)
+@TypeProperty(name = PARENT_ID, type = String.class)
+@TypeProperty(name = FOLDER, type = Boolean.class)
+@TypeProperty(name = FILE, type = FileType.class)
+public class WalkedFile extends HashMap<String, Serializable> {
+
+    static final String PATH = "path";
+    static final String DEPTH = "depth";
+    static final String PARENT_ID = "parentId";
+    static final String FOLDER = "folder";
+    static final String FILE = "file";
+
+    public WalkedFile(String path, int depth, String parentId, boolean folder, FileType file) {
+        put(PATH, path);
+        put(DEPTH, depth);
+        put(PARENT_ID, parentId);
+        put(FOLDER, folder);
+        put(FILE, file);
+    }
+
+    // The path of the file relative to the walked folder, e.g. 'reports/2020/january.pdf'.
+    public String getPath() {
+        return (String) get(PATH);
+    }
+
+    public boolean isFolder() {
+        return (Boolean) get(FOLDER);
+    }
+
+    public FileType getFile() {
+        return (FileType) get(FILE);
+    }
+}
@@ -0,0 +1,163 @@
+package com.reedelk.google.drive.v3.internal.upload;
+
+import com.google.api.services.drive.model.File;
+import com.reedelk.google.drive.v3.component.UploadIfExists;
+import com.reedelk.google.drive.v3.internal.DriveApi;
+import com.reedelk.google.drive.v3.internal.command.FileListCommand;
+import com.reedelk.google.drive.v3.internal.command.FileUpdateCommand;
+import com.reedelk.google.drive.v3.internal.command.FileUploadCommand;
+import com.reedelk.google.drive.v3.internal.command.UploadConversion;
+import com.reedelk.google.drive.v3.internal.commons.Checksums;
+import com.reedelk.google.drive.v3.internal.exception.FileUploadException;
+import com.reedelk.google.drive.v3.internal.type.FileType;
+import com.reedelk.google.drive.v3.internal.type.ListOfFiles;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static com.reedelk.google.drive.v3.internal.commons.GoogleMimeTypes.FOLDER;
+import static com.reedelk.google.drive.v3.internal.commons.Messages.FileUpload.CONTENT_BUFFER_ERROR;
+import static com.reedelk.google.drive.v3.internal.commons.QueryUtils.escape;
+import static com.reedelk.runtime.api.commons.StringUtils.isNotBlank;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+// Uploads a file unless a file with the same name and the same content (MD5 checksum) already exists in
+// the parent folder, in which case the existing file is returned. The parent folder is searched first:
+// only when files with the same name exist the checksum of the content is needed. A streamed content is
+// then written to a temporary file while its checksum is computed, and uploaded from there if needed.
+// Google Drive computes no MD5 checksum for files converted to a Google Workspace format: uploads with
+// a conversion never match an existing file, they are always uploaded again (or update the existing one).
+public class DeduplicatingUpload {
+
+    private static final String MD5_CHECKSUM = "md5Checksum";
+    private static final List<String> FIELDS = Collections.singletonList(MD5_CHECKSUM);
+    private static final int MAX_CANDIDATES = 100;
+
+    private final UploadConversion conversion;
+    private final DriveApi driveApi;
+    private final UploadIfExists ifExists;
+    private final String fileName;
+    private final String fileDescription;
+    private final String parentFolderId;
+    private final boolean indexableText;
+    private final int chunkSize;
+
+    private boolean deduplicated;
+
+    public DeduplicatingUpload(DriveApi driveApi,
+                               UploadIfExists ifExists,
+                               String fileName,
+                               String fileDescription,
+                               String parentFolderId,
+                               boolean indexableText,
+                               int chunkSize) {
+        this(driveApi, ifExists, fileName, fileDescription, parentFolderId, indexableText, chunkSize, UploadConversion.NONE);
+    }
+
+    public DeduplicatingUpload(DriveApi driveApi,
+                               UploadIfExists ifExists,
+                               String fileName,
+                               String fileDescription,
+                               String parentFolderId,
+                               boolean indexableText,
+                               int chunkSize,
+                               UploadConversion conversion) {
+        this.conversion = conversion;
+        this.driveApi = driveApi;
+        this.ifExists = ifExists;
+        this.fileName = fileName;
+        this.fileDescription = fileDescription;
+        this.parentFolderId = parentFolderId;
+        this.indexableText = indexableText;
+        this.chunkSize = chunkSize;
+    }
+
+    public File upload(byte[] fileContent) {
+        byte[] content = Optional.ofNullable(fileContent).orElse(new byte[0]);
+        ListOfFiles candidates = candidates();
+        if (!candidates.isEmpty()) {
+            Optional<File> existing = existing(candidates, Checksums.md5Of(content));
+            if (existing.isPresent()) return existing.get();
+        }
+        return candidates.isEmpty() || ifExists != UploadIfExists.UPDATE_EXISTING ?
+                driveApi.execute(new FileUploadCommand(fileName, fileDescription, parentFolderId, indexableText, content, conversion)) :
+                driveApi.execute(new FileUpdateCommand(candidates.get(0).getId(), content, conversion));
+    }
+
+    public File upload(InputStream fileStream) {
+        ListOfFiles candidates = candidates();
+        if (candidates.isEmpty()) {
+            // Nothing to compare with: the stream is uploaded as it is consumed.
+            return driveApi.execute(new FileUploadCommand(fileName, fileDescription, parentFolderId, indexableText, fileStream, chunkSize, conversion));
+        }
+
+        Path buffer = null;
+        try {
+            buffer = Files.createTempFile("drive-upload-", ".tmp");
+            MessageDigest digest = Checksums.md5Digest();
+            try (InputStream content = new DigestInputStream(fileStream, digest)) {
+                Files.copy(content, buffer, REPLACE_EXISTING);
+            }
+
+            Optional<File> existing = existing(candidates, Checksums.hexOf(digest.digest()));
+            if (existing.isPresent()) return existing.get();
+
+            try (InputStream content = Files.newInputStream(buffer)) {
+                return ifExists != UploadIfExists.UPDATE_EXISTING ?
+                        driveApi.execute(new FileUploadCommand(fileName, fileDescription, parentFolderId, indexableText, content, chunkSize, conversion)) :
+                        driveApi.execute(new FileUpdateCommand(candidates.get(0).getId(), content, chunkSize, conversion));
+            }
+
+        } catch (IOException exception) {
+            String error = CONTENT_BUFFER_ERROR.format(fileName, exception.getMessage());
+            throw new FileUploadException(error, exception);
+        } finally {
+            deleteQuietly(buffer);
+        }
+    }
+
+    public boolean isDeduplicated() {
+        return deduplicated;
+    }
+
+    private ListOfFiles candidates() {
+        String query = "name = '" + escape(fileName) + "'" +
+                " and '" + escape(isNotBlank(parentFolderId) ? parentFolderId : "root") + "' in parents" +
+                " and mimeType != '" + FOLDER + "'" +
+                " and trashed = false";
+        return driveApi.execute(new FileListCommand(null, null, MAX_CANDIDATES, null, query, FIELDS));
+    }
+
+    private Optional<File> existing(ListOfFiles candidates, String md5Checksum) {
+        Optional<File> existing = candidates.stream()
+                .filter(candidate -> md5Checksum.equalsIgnoreCase(String.valueOf(candidate.get(MD5_CHECKSUM))))
+                .findFirst()
+                .map(DeduplicatingUpload::fileOf);
+        deduplicated = existing.isPresent();
+        return existing;
+    }
+
+    private static File fileOf(FileType file) {
+        return new File()
+                .setId(file.getId())
+                .setName((String) file.get("name"))
+                .setWebViewLink((String) file.get("webViewLink"))
+                .setWebContentLink((String) file.get("webContentLink"));
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException exception) {
+            // Temporary files are eventually removed by the operating system.
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.reedelk.google.drive.v3.internal.walk;
+
+import com.reedelk.google.drive.v3.internal.DriveApi;
+import com.reedelk.google.drive.v3.internal.command.FileListCommand;
+import com.reedelk.google.drive.v3.internal.exception.FolderWalkException;
+import com.reedelk.google.drive.v3.internal.type.FileType;
+import com.reedelk.google.drive.v3.internal.type.ListOfFiles;
+import com.reedelk.google.drive.v3.internal.type.WalkedFile;
+import reactor.core.publisher.Flux;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Collectors;
+
+import static com.reedelk.google.drive.v3.internal.commons.Futures.exceptionOf;
+import static com.reedelk.google.drive.v3.internal.commons.GoogleMimeTypes.FOLDER;
+import static com.reedelk.google.drive.v3.internal.commons.Messages.FolderWalk.INTERRUPTED;
+import static com.reedelk.google.drive.v3.internal.commons.QueryUtils.escape;
+import static com.reedelk.runtime.api.commons.StringUtils.isNotBlank;
+
+// Walks a folder hierarchy breadth first. Each page of each folder is listed on the I/O threads of the
+// client, and at most 'parallelism' list requests are in flight at any time; subfolders and next pages
+// found while listing are queued and listed next. No thread waits for a list request: walked files are
+// handed over to the consumer through a queue, and when the consumer falls behind by more than
+// BUFFER_SIZE files no further page is requested until it catches up.
+public class FolderWalker implements Iterator<WalkedFile>, AutoCloseable {
+
+    static final String MIME_TYPE = "mimeType";
+    static final String NAME = "name";
+
+    private static final int BUFFER_SIZE = 1000;
+    private static final Object END = new Object();
+
+    private final BlockingQueue<Object> walked = new LinkedBlockingQueue<>();
+    private final Deque<Page> queued = new ArrayDeque<>();
+    private final List<String> fields;
+    private final DriveApi driveApi;
+    private final String rootFolderId;
+    private final String mimeTypesFilter;
+    private final boolean includeFolders;
+    private final int parallelism;
+    private final int maxDepth;
+    private final int pageSize;
+
+    private Object next;
+    private int inFlight;
+    private volatile boolean closed;
+
+    FolderWalker(DriveApi driveApi,
+                 String rootFolderId,
+                 int maxDepth,
+                 int parallelism,
+                 int pageSize,
+                 List<String> mimeTypes,
+                 boolean includeFolders,
+                 List<String> additionalFields) {
+        this.driveApi = driveApi;
+        this.rootFolderId = rootFolderId;
+        this.maxDepth = maxDepth;
+        this.pageSize = pageSize;
+        this.parallelism = Math.max(1, parallelism);
+        this.includeFolders = includeFolders;
+        this.mimeTypesFilter = filterOf(mimeTypes);
+        this.fields = fieldsOf(additionalFields);
+    }
+
+    // A max depth less than or equal to 0 means no limit: 1 walks the children of the root folder only.
+    public static Flux<WalkedFile> walk(DriveApi driveApi,
+                                        String rootFolderId,
+                                        int maxDepth,
+                                        int parallelism,
+                                        int pageSize,
+                                        List<String> mimeTypes,
+                                        boolean includeFolders) {
+        return walk(driveApi, rootFolderId, maxDepth, parallelism, pageSize, mimeTypes, includeFolders, Collections.emptyList());
+    }
+
+    // The additional fields are requested for each walked file, on top of the ones mapped by the file type.
+    public static Flux<WalkedFile> walk(DriveApi driveApi,
+                                        String rootFolderId,
+                                        int maxDepth,
+                                        int parallelism,
+                                        int pageSize,
+                                        List<String> mimeTypes,
+                                        boolean includeFolders,
+                                        List<String> additionalFields) {
+        return Flux.using(() -> new FolderWalker(driveApi, rootFolderId, maxDepth, parallelism, pageSize, mimeTypes, includeFolders, additionalFields).start(),
+                walker -> Flux.fromIterable(() -> walker),
+                FolderWalker::close);
+    }
+
+    FolderWalker start() {
+        synchronized (this) {
+            queued.add(new Page(new Folder(rootFolderId, "", 0), null));
+        }
+        dispatch();
+        return this;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = walked.take();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new FolderWalkException(INTERRUPTED.format(rootFolderId), exception);
+            }
+            // A file has been consumed: a paused page might be requested now.
+            dispatch();
+        }
+        if (next instanceof RuntimeException) {
+            throw (RuntimeException) next;
+        }
+        if (next instanceof Exception) {
+            throw new FolderWalkException(((Exception) next).getMessage(), (Exception) next);
+        }
+        return next != END;
+    }
+
+    @Override
+    public WalkedFile next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        WalkedFile file = (WalkedFile) next;
+        next = null;
+        return file;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    // Requests the queued pages, as long as the limits allow it. Called whenever one of the limits might
+    // have changed: a page has been queued or completed, or a file has been consumed.
+    private void dispatch() {
+        while (true) {
+            Page page;
+            synchronized (this) {
+                if (closed || inFlight >= parallelism || walked.size() >= BUFFER_SIZE || queued.isEmpty()) return;
+                page = queued.poll();
+                inFlight++;
+            }
+            list(page);
+        }
+    }
+
+    private void list(Page page) {
+        // Files are handed over while the response is parsed: the files of a page are never all in memory.
+        FileListCommand command = new FileListCommand(null, null, pageSize, page.token,
+                queryOf(page.folder.id), fields, file -> handOver(page.folder, file));
+        driveApi.executeAsync(command).whenComplete((listed, exception) -> completed(page, listed, exception));
+    }
+
+    private void completed(Page page, ListOfFiles listed, Throwable exception) {
+        boolean end;
+        synchronized (this) {
+            inFlight--;
+            if (closed) return;
+            if (exception != null) {
+                // The first error ends the walk.
+                closed = true;
+                walked.clear();
+                walked.offer(exceptionOf(exception));
+                return;
+            }
+            if (isNotBlank(listed.getNextPageToken())) {
+                queued.add(new Page(page.folder, listed.getNextPageToken()));
+            }
+            end = inFlight == 0 && queued.isEmpty();
+        }
+        if (end) walked.offer(END);
+        else dispatch();
+    }
+
+    private void handOver(Folder folder, FileType file) {
+        if (closed) {
+            // Stops parsing the response of a walk nobody consumes anymore.
+            throw new WalkClosed();
+        }
+        int depth = folder.depth + 1;
+        boolean isFolder = FOLDER.equals(file.get(MIME_TYPE));
+        String name = (String) file.get(NAME);
+        String path = folder.path.isEmpty() ? name : folder.path + "/" + name;
+
+        if (isFolder && (maxDepth <= 0 || depth < maxDepth)) {
+            synchronized (this) {
+                queued.add(new Page(new Folder(file.getId(), path, depth), null));
+            }
+            dispatch();
+        }
+        if (!isFolder || includeFolders) {
+            walked.offer(new WalkedFile(path, depth, folder.id, isFolder, file));
+        }
+    }
+
+    private String queryOf(String folderId) {
+        String query = "'" + escape(folderId) + "' in parents and trashed = false";
+        return mimeTypesFilter == null ? query : query + " and " + mimeTypesFilter;
+    }
+
+    // The mime type is always needed to tell folders apart from files.
+    private static List<String> fieldsOf(List<String> additionalFields) {
+        List<String> fields = new ArrayList<>();
+        fields.add(MIME_TYPE);
+        additionalFields.stream()
+                .filter(field -> !fields.contains(field))
+                .forEach(fields::add);
+        return fields;
+    }
+
+    // Folders must always be listed, since they are needed to walk the hierarchy.
+    private static String filterOf(List<String> mimeTypes) {
+        if (mimeTypes.isEmpty()) return null;
+        return mimeTypes.stream()
+                .map(mimeType -> "mimeType = '" + escape(mimeType) + "'")
+                .collect(Collectors.joining(" or ", "(mimeType = '" + FOLDER + "' or ", ")"));
+    }
+
+    // Thrown by the consumer of a list command once the walk has been closed.
+    private static class WalkClosed extends RuntimeException {
+
+        WalkClosed() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static class Page {
+
+        private final Folder folder;
+        private final String token;
+
+        Page(Folder folder, String token) {
+            this.folder = folder;
+            this.token = token;
+        }
+    }
+
+    private static class Folder {
+
+        private final String id;
+        private final String path;
+        private final int depth;
+
+        Folder(String id, String path, int depth) {
+            this.id = id;
+            this.path = path;
+            this.depth = depth;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.reedelk.google.drive.v3.component;
 
 import com.reedelk.google.drive.v3.internal.DriveApi;
+import com.reedelk.google.drive.v3.internal.command.Command;
+import com.reedelk.runtime.api.component.OnResult;
+import com.reedelk.runtime.api.component.ProcessorAsync;
 import com.reedelk.runtime.api.converter.ConverterService;
 import com.reedelk.runtime.api.flow.FlowContext;
 import com.reedelk.runtime.api.message.Message;
@@ -12,6 +15,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -41,5 +47,48 @@ public abstract class AbstractComponentTest {
         lenient().doAnswer(invocation -> invocation.getArgument(0))
                 .when(converterService)
                 .convert(any(Object.class), any(Class.class));
+
+        // Asynchronous requests are executed on the calling thread, through the stubs of 'execute'.
+        lenient().doAnswer(invocation -> supply(() -> driveApi.execute(invocation.getArgument(0))))
+                .when(driveApi)
+                .executeAsync(any(Command.class));
+
+        lenient().doAnswer(invocation -> supply(invocation.getArgument(0)))
+                .when(driveApi)
+                .supplyAsync(any(Supplier.class));
+    }
+
+    // Applies an asynchronous component and returns its result: an error is thrown as it is.
+    protected Message apply(ProcessorAsync component, Message input) {
+        CompletableFuture<Message> result = new CompletableFuture<>();
+        component.apply(context, input, new OnResult() {
+            @Override
+            public void onResult(FlowContext flowContext, Message message) {
+                result.complete(message);
+            }
+
+            @Override
+            public void onError(FlowContext flowContext, Exception exception) {
+                result.completeExceptionally(exception);
+            }
+        });
+        try {
+            return result.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+            throw exception;
+        }
+    }
+
+    private static <T> CompletableFuture<T> supply(Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            future.complete(task.get());
+        } catch (RuntimeException exception) {
+            future.completeExceptionally(exception);
+        }
+        return future;
     }
 }
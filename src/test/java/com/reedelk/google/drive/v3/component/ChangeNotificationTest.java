@@ -0,0 +1,115 @@
+package com.reedelk.google.drive.v3.component;
+
+import com.reedelk.google.drive.v3.internal.change.ChannelRegistry;
+import com.reedelk.google.drive.v3.internal.exception.ChangeWatchException;
+import com.reedelk.runtime.api.message.Message;
+import com.reedelk.runtime.api.message.MessageAttributes;
+import com.reedelk.runtime.api.message.MessageBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ChangeNotificationTest extends AbstractComponentTest {
+
+    private ChangeNotification component = new ChangeNotification();
+
+    private AtomicInteger notifications = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        ChannelRegistry.unregister("channel1");
+    }
+
+    @Test
+    void shouldNotifyRegisteredChannel() {
+        // Given
+        ChannelRegistry.register("channel1", "token1", notifications::incrementAndGet);
+        Message input = notification("channel1", "token1", "change");
+
+        // When
+        Message actual = component.apply(context, input);
+
+        // Then
+        assertThat(notifications).hasValue(1);
+        assertThat(actual.<String>payload()).isEqualTo("change");
+        assertThat(actual.getAttributes())
+                .containsEntry("channelId", "channel1")
+                .containsEntry("resourceState", "change")
+                .containsEntry("accepted", true);
+    }
+
+    @Test
+    void shouldIgnoreSyncNotification() {
+        // Given
+        ChannelRegistry.register("channel1", "token1", notifications::incrementAndGet);
+        Message input = notification("channel1", "token1", "sync");
+
+        // When
+        Message actual = component.apply(context, input);
+
+        // Then
+        assertThat(notifications).hasValue(0);
+        assertThat(actual.getAttributes()).containsEntry("accepted", false);
+    }
+
+    @Test
+    void shouldIgnoreNotificationForUnknownChannel() {
+        // Given
+        Message input = notification("channel1", "token1", "change");
+
+        // When
+        Message actual = component.apply(context, input);
+
+        // Then
+        assertThat(actual.getAttributes()).containsEntry("accepted", false);
+    }
+
+    @Test
+    void shouldRejectNotificationWithWrongToken() {
+        // Given
+        ChannelRegistry.register("channel1", "token1", notifications::incrementAndGet);
+        Message input = notification("channel1", "token2", "change");
+
+        // When
+        ChangeWatchException thrown =
+                assertThrows(ChangeWatchException.class, () -> component.apply(context, input));
+
+        // Then
+        assertThat(notifications).hasValue(0);
+        assertThat(thrown).hasMessage("The token of the notification for the channel with ID=[channel1] " +
+                "does not match the token of the channel: the notification was rejected.");
+    }
+
+    @Test
+    void shouldThrowExceptionWhenChannelIdHeaderIsMissing() {
+        // Given
+        Message input = MessageBuilder.get(TestComponent.class)
+                .withJavaObject("")
+                .build();
+
+        // Expect
+        assertThrows(ChangeWatchException.class, () -> component.apply(context, input));
+    }
+
+    private Message notification(String channelId, String channelToken, String resourceState) {
+        // Header names are sent lower case by some HTTP servers.
+        HashMap<String, String> headers = new HashMap<>();
+        headers.put("x-goog-channel-id", channelId);
+        headers.put("X-Goog-Channel-Token", channelToken);
+        headers.put("X-Goog-Resource-State", resourceState);
+        headers.put("X-Goog-Message-Number", "1");
+
+        MessageAttributes attributes = new MessageAttributes();
+        attributes.put("headers", headers);
+
+        return MessageBuilder.get(TestComponent.class)
+                .withJavaObject("")
+                .attributes(attributes)
+                .build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.reedelk.google.drive.v3.component;
+
+import com.reedelk.google.drive.v3.internal.BatchResult;
+import com.reedelk.google.drive.v3.internal.command.FileDeleteCommand;
+import com.reedelk.google.drive.v3.internal.exception.FileDeleteException;
+import com.reedelk.google.drive.v3.internal.type.ItemResult;
+import com.reedelk.runtime.api.exception.ComponentInputException;
+import com.reedelk.runtime.api.message.Message;
+import com.reedelk.runtime.api.message.MessageAttributes;
+import com.reedelk.runtime.api.message.MessageBuilder;
+import com.reedelk.runtime.api.message.content.MimeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+
+class FileDeleteManyTest extends AbstractComponentTest {
+
+    @Captor
+    protected ArgumentCaptor<List<FileDeleteCommand>> captor;
+
+    private FileDeleteMany component = new FileDeleteMany();
+
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+        component.driveApi = driveApi;
+        component.converterService = converterService;
+    }
+
+    @Test
+    void shouldInvokeBatchWithOneCommandForEachFileId() {
+        // Given
+        Message input = MessageBuilder.get(TestComponent.class)
+                .withJavaObject(Arrays.asList("file1", "file2"))
+                .build();
+
+        doReturn(Arrays.asList(BatchResult.success(null), BatchResult.success(null)))
+                .when(driveApi)
+                .executeBatch(anyList());
+
+        // When
+        apply(component, input);
+
+        // Then
+        verify(driveApi).executeBatch(captor.capture());
+        List<FileDeleteCommand> commands = captor.getValue();
+
+        assertThat(commands).hasSize(2);
+        assertThat(commands.get(0)).hasFieldOrPropertyWithValue("fileId", "file1");
+        assertThat(commands.get(1)).hasFieldOrPropertyWithValue("fileId", "file2");
+    }
+
+    @Test
+    void shouldReturnItemResultsAndAttributes() {
+        // Given
+        Message input = MessageBuilder.get(TestComponent.class)
+                .withJavaObject(Arrays.asList("file1", "file2"))
+                .build();
+
+        doReturn(Arrays.asList(BatchResult.success(null), BatchResult.failure(new FileDeleteException("Not found"))))
+                .when(driveApi)
+                .executeBatch(anyList());
+
+        // When
+        Message actual = apply(component, input);
+
+        // Then
+        List<ItemResult> payload = actual.payload();
+        assertThat(payload).hasSize(2);
+        assertThat(payload.get(0))
+                .containsEntry("item", "file1")
+                .containsEntry("success", true)
+                .containsEntry("id", "file1");
+        assertThat(payload.get(1))
+                .containsEntry("item", "file2")
+                .containsEntry("success", false)
+                .containsEntry("error", "Not found");
+
+        MessageAttributes attributes = actual.getAttributes();
+        assertThat(attributes)
+                .containsEntry("total", 2)
+                .containsEntry("succeeded", 1L)
+                .containsEntry("failed", 1L);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenPayloadInputIsString() {
+        // Given
+        Message input = MessageBuilder.get(TestComponent.class)
+                .withString("file1", MimeType.TEXT_PLAIN)
+                .build();
+
+        // When
+        ComponentInputException thrown =
+                assertThrows(ComponentInputException.class, () -> apply(component, input));
+
+        // Then
+        assertThat(thrown)
+                .hasMessage("FileDeleteMany (com.reedelk.google.drive.v3.component.FileDeleteMany) " +
+                        "was invoked with a not supported Input Type: actual=[String], expected one of=[List].");
+    }
+}
@@ -44,7 +44,7 @@ class FileDeleteTest extends AbstractComponentTest {
         component.setFileId(DynamicString.from(fileIdToDelete));
 
         // When
-        component.apply(context, message);
+        apply(component, message);
 
         // Then
         verify(driveApi).execute(captor.capture());
@@ -62,7 +62,7 @@ class FileDeleteTest extends AbstractComponentTest {
                 .build();
 
         // When
-        component.apply(context, input);
+        apply(component, input);
 
         // Then
         verify(driveApi).execute(captor.capture());
@@ -78,7 +78,7 @@ class FileDeleteTest extends AbstractComponentTest {
         component.setFileId(DynamicString.from(fileIdToDelete));
 
         // When
-        Message actual = component.apply(context, message);
+        Message actual = apply(component, message);
 
         // Then
         MessageAttributes attributes = actual.getAttributes();
@@ -100,7 +100,7 @@ class FileDeleteTest extends AbstractComponentTest {
 
         // When
         FileDeleteException thrown =
-                assertThrows(FileDeleteException.class, () -> component.apply(context, message));
+                assertThrows(FileDeleteException.class, () -> apply(component, message));
 
         // Then
         assertThat(thrown)
@@ -116,7 +116,7 @@ class FileDeleteTest extends AbstractComponentTest {
 
         // When
         ComponentInputException thrown =
-                assertThrows(ComponentInputException.class, () -> component.apply(context, input));
+                assertThrows(ComponentInputException.class, () -> apply(component, input));
 
         // Then
         assertThat(thrown)
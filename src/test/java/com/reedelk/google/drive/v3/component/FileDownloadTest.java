@@ -1,6 +1,8 @@
 package com.reedelk.google.drive.v3.component;
 
 import com.reedelk.google.drive.v3.internal.command.FileDownloadCommand;
+import com.reedelk.google.drive.v3.internal.command.FileDownloadStreamCommand;
+import com.reedelk.google.drive.v3.internal.command.FileDownloadToPathCommand;
 import com.reedelk.google.drive.v3.internal.exception.FileDownloadException;
 import com.reedelk.runtime.api.commons.ModuleContext;
 import com.reedelk.runtime.api.exception.ComponentInputException;
@@ -14,7 +16,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import reactor.core.publisher.Flux;
 
+import java.io.ByteArrayInputStream;
+import java.nio.file.Paths;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -45,7 +50,7 @@ public class FileDownloadTest extends AbstractComponentTest {
         component.initialize();
 
         // When
-        component.apply(context, message);
+        apply(component, message);
 
         // Then
         verify(driveApi).execute(captor.capture());
@@ -65,7 +70,7 @@ public class FileDownloadTest extends AbstractComponentTest {
         component.initialize();
 
         // When
-        component.apply(context, input);
+        apply(component, input);
 
         // Then
         verify(driveApi).execute(captor.capture());
@@ -88,7 +93,7 @@ public class FileDownloadTest extends AbstractComponentTest {
                 .execute(any(FileDownloadCommand.class));
 
         // When
-        Message actual = component.apply(context, message);
+        Message actual = apply(component, message);
 
         // Then
         byte[] payload = actual.payload();
@@ -116,7 +121,7 @@ public class FileDownloadTest extends AbstractComponentTest {
                 .execute(any(FileDownloadCommand.class));
 
         // When
-        Message actual = component.apply(context, message);
+        Message actual = apply(component, message);
 
         // Then
         String payload = actual.payload();
@@ -142,7 +147,7 @@ public class FileDownloadTest extends AbstractComponentTest {
 
         // When
         FileDownloadException thrown =
-                assertThrows(FileDownloadException.class, () -> component.apply(context, message));
+                assertThrows(FileDownloadException.class, () -> apply(component, message));
 
         // Then
         assertThat(thrown)
@@ -160,11 +165,73 @@ public class FileDownloadTest extends AbstractComponentTest {
 
         // When
         ComponentInputException thrown =
-                assertThrows(ComponentInputException.class, () -> component.apply(context, input));
+                assertThrows(ComponentInputException.class, () -> apply(component, input));
 
         // Then
         assertThat(thrown)
                 .hasMessage("FileDownload (com.reedelk.google.drive.v3.component.FileDownload) " +
                         "was invoked with a not supported Input Type: actual=[Long], expected one of=[String,byte[]].");
     }
+
+    @Test
+    void shouldReturnContentStreamWhenModeIsStream() {
+        // Given
+        String fileContent = "My streamed content";
+
+        String fileIdToDownload = UUID.randomUUID().toString();
+        component.setFileId(DynamicString.from(fileIdToDownload));
+        component.setMode(DownloadMode.STREAM);
+        component.initialize();
+
+        doReturn(new ByteArrayInputStream(fileContent.getBytes()))
+                .when(driveApi)
+                .execute(any(FileDownloadStreamCommand.class));
+
+        // When
+        Message actual = apply(component, message);
+
+        // Then
+        TypedContent<Object, Object> content = actual.getContent();
+        assertThat(content.isStream()).isTrue();
+        assertThat(content.getMimeType()).isEqualTo(MimeType.APPLICATION_BINARY);
+
+        byte[] downloaded = Flux.from(content.stream())
+                .map(chunk -> (byte[]) chunk)
+                .reduce(new byte[0], (accumulated, chunk) -> {
+                    byte[] merged = new byte[accumulated.length + chunk.length];
+                    System.arraycopy(accumulated, 0, merged, 0, accumulated.length);
+                    System.arraycopy(chunk, 0, merged, accumulated.length, chunk.length);
+                    return merged;
+                })
+                .block();
+        assertThat(downloaded).isEqualTo(fileContent.getBytes());
+
+        MessageAttributes attributes = actual.getAttributes();
+        assertThat(attributes).containsEntry("id", fileIdToDownload);
+    }
+
+    @Test
+    void shouldDownloadToTargetPathWhenModeIsFile() {
+        // Given
+        String targetPath = "/tmp/downloads/my-file.pdf";
+        String fileIdToDownload = UUID.randomUUID().toString();
+        component.setFileId(DynamicString.from(fileIdToDownload));
+        component.setTargetPath(DynamicString.from(targetPath));
+        component.setMode(DownloadMode.FILE);
+        component.initialize();
+
+        // When
+        Message actual = apply(component, message);
+
+        // Then
+        ArgumentCaptor<FileDownloadToPathCommand> pathCaptor = ArgumentCaptor.forClass(FileDownloadToPathCommand.class);
+        verify(driveApi).execute(pathCaptor.capture());
+        FileDownloadToPathCommand value = pathCaptor.getValue();
+
+        assertThat(value).hasFieldOrPropertyWithValue("fileId", fileIdToDownload);
+        assertThat(value).hasFieldOrPropertyWithValue("targetPath", Paths.get(targetPath));
+
+        String payload = actual.payload();
+        assertThat(payload).isEqualTo(targetPath);
+    }
 }
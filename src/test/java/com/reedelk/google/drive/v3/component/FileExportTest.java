@@ -0,0 +1,119 @@
+package com.reedelk.google.drive.v3.component;
+
+import com.reedelk.google.drive.v3.internal.command.FileExportCommand;
+import com.reedelk.google.drive.v3.internal.exception.FileExportException;
+import com.reedelk.runtime.api.message.Message;
+import com.reedelk.runtime.api.message.MessageAttributes;
+import com.reedelk.runtime.api.message.content.MimeType;
+import com.reedelk.runtime.api.message.content.TypedContent;
+import com.reedelk.runtime.api.script.dynamicvalue.DynamicString;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayInputStream;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class FileExportTest extends AbstractComponentTest {
+
+    @Captor
+    protected ArgumentCaptor<FileExportCommand> captor = ArgumentCaptor.forClass(FileExportCommand.class);
+
+    private FileExport component = spy(new FileExport());
+
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+        component.scriptEngine = scriptEngine;
+        component.converterService = converterService;
+        doReturn(driveApi).when(component).createApi();
+    }
+
+    @Test
+    void shouldStreamExportedContentWithMimeTypeOfFormat() {
+        // Given
+        String fileContent = "name,amount\nfoo,1\n";
+        String fileIdToExport = UUID.randomUUID().toString();
+        component.setFileId(DynamicString.from(fileIdToExport));
+        component.setFormat(ExportFormat.CSV);
+        component.initialize();
+
+        doReturn(new ByteArrayInputStream(fileContent.getBytes()))
+                .when(driveApi)
+                .execute(any(FileExportCommand.class));
+
+        // When
+        Message actual = component.apply(context, message);
+
+        // Then
+        TypedContent<Object, Object> content = actual.getContent();
+        assertThat(content.isStream()).isTrue();
+        assertThat(content.getMimeType()).isEqualTo(MimeType.parse("text/csv", MimeType.APPLICATION_BINARY));
+
+        String exported = Flux.from(content.stream())
+                .map(chunk -> new String((byte[]) chunk))
+                .reduce("", String::concat)
+                .block();
+        assertThat(exported).isEqualTo(fileContent);
+
+        verify(driveApi).execute(captor.capture());
+        assertThat(captor.getValue()).hasFieldOrPropertyWithValue("fileId", fileIdToExport);
+        assertThat(captor.getValue()).hasFieldOrPropertyWithValue("mimeType", "text/csv");
+
+        MessageAttributes attributes = actual.getAttributes();
+        assertThat(attributes).containsEntry("id", fileIdToExport);
+        assertThat(attributes).containsEntry("mimeType", "text/csv");
+    }
+
+    @Test
+    void shouldNotExportBeforeStreamIsConsumed() {
+        // Given
+        component.setFileId(DynamicString.from("my-file-id"));
+        component.initialize();
+
+        // When
+        component.apply(context, message);
+
+        // Then
+        verifyNoMoreInteractions(driveApi);
+    }
+
+    @Test
+    void shouldTakeFileIdFromPayloadWhenFileIdIsEmpty() {
+        // Given
+        component.initialize();
+        doReturn("payload-file-id").when(message).payload();
+        doReturn(new ByteArrayInputStream(new byte[0]))
+                .when(driveApi)
+                .execute(any(FileExportCommand.class));
+
+        // When
+        Message actual = component.apply(context, message);
+        Flux.from(actual.getContent().stream()).blockLast();
+
+        // Then
+        verify(driveApi).execute(captor.capture());
+        assertThat(captor.getValue()).hasFieldOrPropertyWithValue("fileId", "payload-file-id");
+        assertThat(captor.getValue()).hasFieldOrPropertyWithValue("mimeType", "application/pdf");
+    }
+
+    @Test
+    void shouldThrowExceptionWhenFileIdIsEmpty() {
+        // Given
+        component.initialize();
+        doReturn(" ").when(message).payload();
+
+        // When
+        FileExportException thrown = assertThrows(FileExportException.class,
+                () -> component.apply(context, message));
+
+        // Then
+        assertThat(thrown).hasMessage("The File ID was empty: I cannot export a file from an empty File ID.");
+    }
+}
@@ -0,0 +1,82 @@
+package com.reedelk.google.drive.v3.component;
+
+import com.google.api.services.drive.model.File;
+import com.reedelk.google.drive.v3.internal.command.FileGetCommand;
+import com.reedelk.google.drive.v3.internal.type.FileType;
+import com.reedelk.runtime.api.message.Message;
+import com.reedelk.runtime.api.message.MessageAttributes;
+import com.reedelk.runtime.api.script.dynamicvalue.DynamicString;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class FileGetTest extends AbstractComponentTest {
+
+    @Captor
+    protected ArgumentCaptor<FileGetCommand> captor = ArgumentCaptor.forClass(FileGetCommand.class);
+
+    private FileGet component = new FileGet();
+
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+        component.driveApi = driveApi;
+        component.scriptEngine = scriptEngine;
+        component.converterService = converterService;
+    }
+
+    @Test
+    void shouldGetFileAndCacheItWhenNotCached() {
+        // Given
+        component.setFileId(DynamicString.from("file1"));
+
+        File file = new File();
+        file.setId("file1");
+        file.setName("report.pdf");
+        doReturn(file).when(driveApi).execute(any(FileGetCommand.class));
+
+        // When
+        Message actual = apply(component, message);
+
+        // Then
+        verify(driveApi).execute(captor.capture());
+        assertThat(captor.getValue()).hasFieldOrPropertyWithValue("fileId", "file1");
+        verify(driveApi).cacheMetadata(any(FileType.class));
+
+        FileType payload = actual.payload();
+        assertThat(payload).containsEntry("name", "report.pdf");
+
+        MessageAttributes attributes = actual.getAttributes();
+        assertThat(attributes)
+                .containsEntry("id", "file1")
+                .containsEntry("cached", false);
+    }
+
+    @Test
+    void shouldNotCallDriveWhenFileIsCached() {
+        // Given
+        component.setFileId(DynamicString.from("file1"));
+
+        File file = new File();
+        file.setId("file1");
+        file.setName("report.pdf");
+        doReturn(Optional.of(new FileType(file))).when(driveApi).cachedMetadata("file1");
+
+        // When
+        Message actual = apply(component, message);
+
+        // Then
+        verify(driveApi, never()).execute(any());
+
+        FileType payload = actual.payload();
+        assertThat(payload).containsEntry("name", "report.pdf");
+        assertThat(actual.getAttributes()).containsEntry("cached", true);
+    }
+}
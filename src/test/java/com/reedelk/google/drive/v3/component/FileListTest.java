@@ -1,6 +1,8 @@
 package com.reedelk.google.drive.v3.component;
 
+import com.google.api.services.drive.model.File;
 import com.reedelk.google.drive.v3.internal.command.FileListCommand;
+import com.reedelk.google.drive.v3.internal.type.FileType;
 import com.reedelk.google.drive.v3.internal.type.ListOfFiles;
 import com.reedelk.runtime.api.message.Message;
 import com.reedelk.runtime.api.message.MessageAttributes;
@@ -11,9 +13,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.stubbing.Answer;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
+
+import static java.util.Arrays.asList;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -49,7 +59,7 @@ class FileListTest extends AbstractComponentTest {
         component.initialize();
 
         // When
-        component.apply(context, message);
+        apply(component, message);
 
         // Then
         verify(driveApi).execute(captor.capture());
@@ -68,7 +78,7 @@ class FileListTest extends AbstractComponentTest {
         component.initialize();
 
         // When
-        component.apply(context, message);
+        apply(component, message);
 
         // Then
         verify(driveApi).execute(captor.capture());
@@ -93,7 +103,7 @@ class FileListTest extends AbstractComponentTest {
                 .execute(any(FileListCommand.class));
 
         // When
-        Message actual = component.apply(context, message);
+        Message actual = apply(component, message);
 
         // Then
         ListOfFiles payload = actual.payload();
@@ -105,4 +115,89 @@ class FileListTest extends AbstractComponentTest {
         TypedContent<Object, Object> content = actual.getContent();
         assertThat(content.getMimeType()).isEqualTo(MimeType.APPLICATION_JAVA);
     }
+
+    @Test
+    void shouldStreamFilesFromAllPagesWhenAllPagesIsTrue() {
+        // Given
+        component.setAllPages(true);
+        component.initialize();
+
+        ListOfFiles page1 = new ListOfFiles(asList(file("1"), file("2")), "page2");
+        ListOfFiles page2 = new ListOfFiles(new ArrayList<>(), "page3");
+        ListOfFiles page3 = new ListOfFiles(asList(file("3")), null);
+
+        doAnswer(handOver(page1)).doAnswer(handOver(page2)).doAnswer(handOver(page3))
+                .when(driveApi)
+                .execute(any(FileListCommand.class));
+
+        // When
+        Message actual = apply(component, message);
+
+        // Then
+        TypedContent<Object, Object> content = actual.getContent();
+        List<Object> files = Flux.from(content.stream()).collectList().block();
+
+        assertThat(files).hasSize(3);
+        assertThat(files).extracting("id").containsExactly("1", "2", "3");
+
+        verify(driveApi, times(3)).execute(captor.capture());
+        assertThat(captor.getAllValues())
+                .extracting("nextPageToken")
+                .containsExactly(null, "page2", "page3");
+        // Files are parsed one by one from the response: no page is materialized.
+        assertThat(captor.getAllValues())
+                .extracting("consumer")
+                .doesNotContainNull();
+    }
+
+    @Test
+    void shouldNotListNextPageUntilFilesAreRequested() {
+        // Given
+        component.setAllPages(true);
+        component.initialize();
+
+        ListOfFiles page1 = new ListOfFiles(asList(file("1"), file("2")), "page2");
+
+        doAnswer(handOver(page1))
+                .when(driveApi)
+                .execute(any(FileListCommand.class));
+
+        // When
+        Message actual = apply(component, message);
+
+        List<Object> received = new ArrayList<>();
+        TypedContent<Object, Object> content = actual.getContent();
+        Flux.from(content.stream()).subscribe(new BaseSubscriber<Object>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(1);
+            }
+
+            @Override
+            protected void hookOnNext(Object value) {
+                received.add(value);
+            }
+        });
+
+        // Then
+        assertThat(received).extracting("id").containsExactly("1");
+        verify(driveApi, times(1)).execute(any(FileListCommand.class));
+    }
+
+    // In all pages mode files are handed over to the consumer of the command: only the token is returned.
+    @SuppressWarnings("unchecked")
+    private static Answer<ListOfFiles> handOver(ListOfFiles page) {
+        return invocation -> {
+            java.lang.reflect.Field field = FileListCommand.class.getDeclaredField("consumer");
+            field.setAccessible(true);
+            page.forEach((Consumer<FileType>) field.get(invocation.getArgument(0)));
+            return new ListOfFiles(new ArrayList<>(), page.getNextPageToken());
+        };
+    }
+
+    private static File file(String id) {
+        File file = new File();
+        file.setId(id);
+        return file;
+    }
 }
@@ -47,7 +47,7 @@ class FileUpdateTest extends AbstractComponentTest {
                 .convert(fileContent, byte[].class);
 
         // When
-        component.apply(context, message);
+        apply(component, message);
 
         // Then
         verify(driveApi).execute(captor.capture());
@@ -73,7 +73,7 @@ class FileUpdateTest extends AbstractComponentTest {
                 .convert(fileContent, byte[].class);
 
         // When
-        component.apply(context, message);
+        apply(component, message);
 
         // Then
         verify(driveApi).execute(captor.capture());
@@ -97,7 +97,7 @@ class FileUpdateTest extends AbstractComponentTest {
                 .convert(fileContent, byte[].class);
 
         // When
-        Message actual = component.apply(context, message);
+        Message actual = apply(component, message);
 
         // Then
         String fileId = actual.payload();
@@ -119,7 +119,7 @@ class FileUpdateTest extends AbstractComponentTest {
 
         // When
         FileUpdateException thrown =
-                assertThrows(FileUpdateException.class, () -> component.apply(context, message));
+                assertThrows(FileUpdateException.class, () -> apply(component, message));
 
         // Then
         assertThat(thrown)
@@ -0,0 +1,131 @@
+package com.reedelk.google.drive.v3.component;
+
+import com.google.api.services.drive.model.File;
+import com.reedelk.google.drive.v3.internal.command.FileUploadCommand;
+import com.reedelk.google.drive.v3.internal.exception.FileUploadException;
+import com.reedelk.google.drive.v3.internal.type.ItemResult;
+import com.reedelk.runtime.api.message.Message;
+import com.reedelk.runtime.api.message.MessageAttributes;
+import com.reedelk.runtime.api.message.MessageBuilder;
+import com.reedelk.runtime.api.script.dynamicvalue.DynamicString;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.lang.reflect.Field;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class FileUploadManyTest extends AbstractComponentTest {
+
+    private FileUploadMany component = spy(new FileUploadMany());
+
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+        component.scriptEngine = scriptEngine;
+        component.converterService = converterService;
+        doReturn(driveApi).when(component).createApi();
+    }
+
+    @AfterEach
+    void tearDown() {
+        component.dispose();
+    }
+
+    @Test
+    void shouldUploadAllItemsAndReturnResultsInOrder() throws Exception {
+        // Given
+        component.setParentFolderId(DynamicString.from("default-parent"));
+        component.setParallelism(2);
+        doReturn(Optional.of("default-parent"))
+                .when(scriptEngine)
+                .evaluate(any(DynamicString.class), eq(context), any(Message.class));
+        component.initialize();
+
+        doAnswer(invocation -> new File().setId(fieldOf(invocation.getArgument(0), "fileName") + "-id"))
+                .when(driveApi).execute(any(FileUploadCommand.class));
+
+        Message input = inputOf(
+                item("a.txt", "content a", null),
+                item("b.txt", "content b", "other-parent"),
+                item("c.txt", "content c", null));
+
+        // When
+        Message result = apply(component, input);
+
+        // Then
+        List<ItemResult> results = result.payload();
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0)).containsEntry("item", "a.txt").containsEntry("id", "a.txt-id");
+        assertThat(results.get(1)).containsEntry("item", "b.txt").containsEntry("id", "b.txt-id");
+        assertThat(results.get(2)).containsEntry("item", "c.txt").containsEntry("id", "c.txt-id");
+
+        ArgumentCaptor<FileUploadCommand> captor = ArgumentCaptor.forClass(FileUploadCommand.class);
+        verify(driveApi, times(3)).execute(captor.capture());
+        Map<Object, Object> parents = new HashMap<>();
+        for (FileUploadCommand command : captor.getAllValues()) {
+            parents.put(fieldOf(command, "fileName"), fieldOf(command, "parentFolderId"));
+        }
+        assertThat(parents).containsEntry("a.txt", "default-parent")
+                .containsEntry("b.txt", "other-parent")
+                .containsEntry("c.txt", "default-parent");
+    }
+
+    @Test
+    void shouldReportFailedAndInvalidItemsWithoutStoppingOtherUploads() throws Exception {
+        // Given
+        component.initialize();
+
+        doAnswer(invocation -> {
+            if ("b.txt".equals(fieldOf(invocation.getArgument(0), "fileName"))) {
+                throw new FileUploadException("Upload failed");
+            }
+            return new File().setId("a-id");
+        }).when(driveApi).execute(any(FileUploadCommand.class));
+
+        Map<String, Object> withoutName = new HashMap<>();
+        withoutName.put("content", "content".getBytes());
+        Message input = inputOf(item("a.txt", "content a", null), item("b.txt", "content b", null), withoutName);
+
+        // When
+        Message result = apply(component, input);
+
+        // Then
+        List<ItemResult> results = result.payload();
+        assertThat(results.get(0).isSuccess()).isTrue();
+        assertThat(results.get(1).isSuccess()).isFalse();
+        assertThat(results.get(1)).containsEntry("error", "Upload failed");
+        assertThat(results.get(2).isSuccess()).isFalse();
+        assertThat((String) results.get(2).get("error")).contains("index=[2]");
+
+        MessageAttributes attributes = result.attributes();
+        assertThat(attributes).containsEntry("total", 3);
+        assertThat(attributes).containsEntry("succeeded", 1L);
+        assertThat(attributes).containsEntry("failed", 2L);
+    }
+
+    private Message inputOf(Map<?, ?>... items) {
+        return MessageBuilder.get(TestComponent.class)
+                .withJavaObject(Arrays.asList(items))
+                .build();
+    }
+
+    private static Map<String, Object> item(String name, String content, String parentFolderId) {
+        Map<String, Object> item = new HashMap<>();
+        item.put("name", name);
+        item.put("content", content.getBytes());
+        if (parentFolderId != null) item.put("parentFolderId", parentFolderId);
+        return item;
+    }
+
+    private static Object fieldOf(Object target, String name) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(target);
+    }
+}
@@ -6,12 +6,17 @@ import com.reedelk.google.drive.v3.internal.exception.FileUploadException;
 import com.reedelk.runtime.api.commons.ModuleContext;
 import com.reedelk.runtime.api.message.Message;
 import com.reedelk.runtime.api.message.MessageAttributes;
+import com.reedelk.runtime.api.message.MessageBuilder;
 import com.reedelk.runtime.api.script.dynamicvalue.DynamicString;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import reactor.core.publisher.Flux;
 
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.lang.reflect.Field;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -55,7 +60,7 @@ class FileUploadTest extends AbstractComponentTest {
         doReturn(uploadedFile).when(driveApi).execute(any(FileUploadCommand.class));
 
         // When
-        component.apply(context, message);
+        apply(component, message);
 
         // Then
         verify(driveApi).execute(captor.capture());
@@ -84,7 +89,7 @@ class FileUploadTest extends AbstractComponentTest {
         doReturn(uploadedFile).when(driveApi).execute(any(FileUploadCommand.class));
 
         // When
-        component.apply(context, message);
+        apply(component, message);
 
         // Then
         verify(driveApi).execute(captor.capture());
@@ -114,7 +119,7 @@ class FileUploadTest extends AbstractComponentTest {
         doReturn(uploadedFile).when(driveApi).execute(any(FileUploadCommand.class));
 
         // When
-        Message actual = component.apply(context, message);
+        Message actual = apply(component, message);
 
         // Then
         String actualFileId = actual.payload();
@@ -140,7 +145,7 @@ class FileUploadTest extends AbstractComponentTest {
         doReturn(uploadedFile).when(driveApi).execute(any(FileUploadCommand.class));
 
         // When
-        component.apply(context, message);
+        apply(component, message);
 
         // Then
         verify(driveApi).execute(captor.capture());
@@ -162,10 +167,48 @@ class FileUploadTest extends AbstractComponentTest {
 
         // When
         FileUploadException thrown =
-                assertThrows(FileUploadException.class, () -> component.apply(context, message));
+                assertThrows(FileUploadException.class, () -> apply(component, message));
 
         // Then
         assertThat(thrown)
                 .hasMessage("The File name was empty: I cannot upload a file with an empty file name (DynamicValue=[#[message.payload()]]).");
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldUploadStreamInChunksWhenStreamingIsTrue() {
+        // Given
+        Message input = MessageBuilder.get(TestComponent.class)
+                .withBinary(Flux.just("My test ".getBytes(), "file ".getBytes(), "content".getBytes()))
+                .build();
+
+        component.setFileName(DynamicString.from("my-file.txt"));
+        component.setStreaming(true);
+        component.setChunkSize(512);
+        component.initialize();
+
+        ByteArrayOutputStream uploaded = new ByteArrayOutputStream();
+        doAnswer(invocation -> {
+            FileUploadCommand command = invocation.getArgument(0);
+            Field fileStream = FileUploadCommand.class.getDeclaredField("fileStream");
+            fileStream.setAccessible(true);
+            InputStream stream = (InputStream) fileStream.get(command);
+            byte[] buffer = new byte[4];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                uploaded.write(buffer, 0, read);
+            }
+            return new File();
+        }).when(driveApi).execute(any(FileUploadCommand.class));
+
+        // When
+        apply(component, input);
+
+        // Then
+        verify(driveApi).execute(captor.capture());
+        FileUploadCommand value = captor.getValue();
+
+        assertThat(value).hasFieldOrPropertyWithValue("fileContent", null);
+        assertThat(value).hasFieldOrPropertyWithValue("chunkSize", 512 * 1024);
+        assertThat(uploaded.toString()).isEqualTo("My test file content");
+    }
+}
@@ -52,7 +52,7 @@ class FolderCreateTest extends AbstractComponentTest {
                 .when(driveApi)
                 .execute(any(FolderCreateCommand.class));
         // When
-        component.apply(context, message);
+        apply(component, message);
 
         // Then
         verify(driveApi).execute(captor.capture());
@@ -78,7 +78,7 @@ class FolderCreateTest extends AbstractComponentTest {
                 .execute(any(FolderCreateCommand.class));
 
         // When
-        component.apply(context, input);
+        apply(component, input);
 
         // Then
         verify(driveApi).execute(captor.capture());
@@ -100,7 +100,7 @@ class FolderCreateTest extends AbstractComponentTest {
                 .when(driveApi)
                 .execute(any(FolderCreateCommand.class));
         // When
-        component.apply(context, message);
+        apply(component, message);
 
         // Then
         verify(driveApi).execute(captor.capture());
@@ -132,7 +132,7 @@ class FolderCreateTest extends AbstractComponentTest {
                 .when(driveApi)
                 .execute(any(FolderCreateCommand.class));
         // When
-        Message actual = component.apply(context, message);
+        Message actual = apply(component, message);
 
         // Then
         String id = actual.payload();
@@ -158,7 +158,7 @@ class FolderCreateTest extends AbstractComponentTest {
 
         // When
         FolderCreateException thrown =
-                assertThrows(FolderCreateException.class, () -> component.apply(context, message));
+                assertThrows(FolderCreateException.class, () -> apply(component, message));
 
         // Then
         assertThat(thrown)
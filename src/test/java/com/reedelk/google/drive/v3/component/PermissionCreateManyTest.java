@@ -0,0 +1,140 @@
+package com.reedelk.google.drive.v3.component;
+
+import com.google.api.services.drive.model.Permission;
+import com.reedelk.google.drive.v3.internal.BatchResult;
+import com.reedelk.google.drive.v3.internal.command.PermissionCreateCommand;
+import com.reedelk.google.drive.v3.internal.exception.PermissionCreateException;
+import com.reedelk.google.drive.v3.internal.type.ItemResult;
+import com.reedelk.runtime.api.message.Message;
+import com.reedelk.runtime.api.message.MessageAttributes;
+import com.reedelk.runtime.api.message.MessageBuilder;
+import com.reedelk.runtime.api.script.dynamicvalue.DynamicString;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class PermissionCreateManyTest extends AbstractComponentTest {
+
+    @Captor
+    protected ArgumentCaptor<List<PermissionCreateCommand>> captor;
+
+    private PermissionCreateMany component = spy(new PermissionCreateMany());
+
+    private final String fileId = "1f1Vx-AanOdkVEQoewRhUQibOiyXq_RHG";
+
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+        component.scriptEngine = scriptEngine;
+        component.converterService = converterService;
+        doReturn(driveApi).when(component).createApi();
+        doReturn(Optional.of(fileId))
+                .when(scriptEngine)
+                .evaluate(any(DynamicString.class), eq(context), any(Message.class));
+        component.setFileId(DynamicString.from(fileId));
+    }
+
+    @Test
+    void shouldInvokeBatchWithEmailAddressesWhenTypeIsUser() {
+        // Given
+        component.setType(PermissionType.USER);
+        component.setRole(PermissionRole.WRITER);
+        component.setSendNotificationEmail(false);
+        component.initialize();
+
+        Message input = MessageBuilder.get(TestComponent.class)
+                .withJavaObject(Arrays.asList("user1@mydomain.com", "user2@mydomain.com"))
+                .build();
+
+        doReturn(Arrays.asList(BatchResult.success(new Permission()), BatchResult.success(new Permission())))
+                .when(driveApi)
+                .executeBatch(anyList());
+
+        // When
+        apply(component, input);
+
+        // Then
+        verify(driveApi).executeBatch(captor.capture());
+        List<PermissionCreateCommand> commands = captor.getValue();
+
+        assertThat(commands).hasSize(2);
+        assertThat(commands.get(0))
+                .hasFieldOrPropertyWithValue("fileId", fileId)
+                .hasFieldOrPropertyWithValue("emailAddress", "user1@mydomain.com")
+                .hasFieldOrPropertyWithValue("domain", null)
+                .hasFieldOrPropertyWithValue("role", PermissionRole.WRITER)
+                .hasFieldOrPropertyWithValue("sendNotificationEmail", false);
+        assertThat(commands.get(1))
+                .hasFieldOrPropertyWithValue("emailAddress", "user2@mydomain.com");
+    }
+
+    @Test
+    void shouldInvokeBatchWithDomainsWhenTypeIsDomain() {
+        // Given
+        component.setType(PermissionType.DOMAIN);
+        component.initialize();
+
+        Message input = MessageBuilder.get(TestComponent.class)
+                .withJavaObject(Arrays.asList("www.mydomain.com"))
+                .build();
+
+        doReturn(Arrays.asList(BatchResult.success(new Permission())))
+                .when(driveApi)
+                .executeBatch(anyList());
+
+        // When
+        apply(component, input);
+
+        // Then
+        verify(driveApi).executeBatch(captor.capture());
+        assertThat(captor.getValue().get(0))
+                .hasFieldOrPropertyWithValue("domain", "www.mydomain.com")
+                .hasFieldOrPropertyWithValue("emailAddress", null);
+    }
+
+    @Test
+    void shouldReturnItemResultsAndAttributes() {
+        // Given
+        component.initialize();
+
+        Message input = MessageBuilder.get(TestComponent.class)
+                .withJavaObject(Arrays.asList("user1@mydomain.com", "user2@mydomain.com"))
+                .build();
+
+        Permission permission = new Permission();
+        permission.setId("234234");
+        doReturn(Arrays.asList(BatchResult.success(permission), BatchResult.failure(new PermissionCreateException("Invalid sharing request"))))
+                .when(driveApi)
+                .executeBatch(anyList());
+
+        // When
+        Message actual = apply(component, input);
+
+        // Then
+        List<ItemResult> payload = actual.payload();
+        assertThat(payload.get(0))
+                .containsEntry("item", "user1@mydomain.com")
+                .containsEntry("success", true)
+                .containsEntry("id", "234234");
+        assertThat(payload.get(1))
+                .containsEntry("item", "user2@mydomain.com")
+                .containsEntry("success", false)
+                .containsEntry("error", "Invalid sharing request");
+
+        MessageAttributes attributes = actual.getAttributes();
+        assertThat(attributes)
+                .containsEntry("total", 2)
+                .containsEntry("succeeded", 1L)
+                .containsEntry("failed", 1L);
+    }
+}
@@ -48,7 +48,7 @@ class PermissionCreateTest extends AbstractComponentTest {
                 .execute(any(PermissionCreateCommand.class));
 
         // When
-        component.apply(context, message);
+        apply(component, message);
 
         // Then
         verify(driveApi).execute(captor.capture());
@@ -88,7 +88,7 @@ class PermissionCreateTest extends AbstractComponentTest {
                 .execute(any(PermissionCreateCommand.class));
 
         // When
-        Message actual = component.apply(context, message);
+        Message actual = apply(component, message);
 
         // Then
         String payload = actual.payload();
@@ -38,7 +38,7 @@ class PermissionDeleteTest extends AbstractComponentTest {
         component.setPermissionId(DynamicString.from(permissionId));
 
         // When
-        component.apply(context, message);
+        apply(component, message);
 
         // Then
         verify(driveApi).execute(captor.capture());
@@ -57,7 +57,7 @@ class PermissionDeleteTest extends AbstractComponentTest {
         component.setPermissionId(DynamicString.from(permissionId));
 
         // When
-        Message actual = component.apply(context, message);
+        Message actual = apply(component, message);
 
         // Then
         String payload = actual.payload();
@@ -78,7 +78,7 @@ class PermissionDeleteTest extends AbstractComponentTest {
         component.setFileId(DynamicString.from(fileId));
 
         // When
-        component.apply(context, message);
+        apply(component, message);
 
         // Then
         verify(driveApi).execute(captor.capture());
@@ -45,7 +45,7 @@ class PermissionListTest extends AbstractComponentTest {
                 .execute(any(PermissionListCommand.class));
 
         // When
-        component.apply(context, message);
+        apply(component, message);
 
         // Then
         verify(driveApi).execute(captor.capture());
@@ -66,7 +66,7 @@ class PermissionListTest extends AbstractComponentTest {
                 .execute(any(PermissionListCommand.class));
 
         // When
-        Message actual = component.apply(context, message);
+        Message actual = apply(component, message);
 
         // Then
         List<Map> payload = actual.payload();
@@ -47,7 +47,7 @@ class PermissionUpdateTest extends AbstractComponentTest {
                 .execute(any(PermissionUpdateCommand.class));
 
         // When
-        component.apply(context, message);
+        apply(component, message);
 
         // Then
         verify(driveApi).execute(captor.capture());
@@ -81,7 +81,7 @@ class PermissionUpdateTest extends AbstractComponentTest {
                 .execute(any(PermissionUpdateCommand.class));
 
         // When
-        Message actual = component.apply(context, message);
+        Message actual = apply(component, message);
 
         // Then
         String payload = actual.payload();
@@ -0,0 +1,274 @@
+package com.reedelk.google.drive.v3.emulator;
+
+import com.google.api.services.drive.model.File;
+import com.reedelk.google.drive.v3.component.DriveConfiguration;
+import com.reedelk.google.drive.v3.component.PermissionRole;
+import com.reedelk.google.drive.v3.component.PermissionType;
+import com.reedelk.google.drive.v3.component.RateLimitStrategy;
+import com.reedelk.google.drive.v3.component.TestComponent;
+import com.reedelk.google.drive.v3.internal.BatchResult;
+import com.reedelk.google.drive.v3.internal.DriveApi;
+import com.reedelk.google.drive.v3.internal.DriveApiPool;
+import com.reedelk.google.drive.v3.internal.command.*;
+import com.reedelk.google.drive.v3.internal.commons.GoogleMimeTypes;
+import com.reedelk.google.drive.v3.internal.exception.RateLimitException;
+import com.reedelk.google.drive.v3.internal.type.FileType;
+import com.reedelk.google.drive.v3.internal.type.ListOfChanges;
+import com.reedelk.google.drive.v3.internal.type.ListOfFiles;
+import com.reedelk.google.drive.v3.internal.type.ListOfPermissions;
+import com.reedelk.runtime.api.exception.PlatformException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Exercises the real HTTP stack (client library, JSON parsing, resumable uploads, batch
+// requests and retries) against the emulator, through the Drive API client of the module.
+class DriveEmulatorTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    private DriveEmulator emulator;
+    private DriveApi driveApi;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        emulator = DriveEmulator.start();
+        DriveConfiguration configuration = emulator.configuration(temporaryDirectory);
+        configuration.setRetryBaseDelay(1L);
+        driveApi = DriveApiPool.acquire(TestComponent.class, configuration);
+    }
+
+    @AfterEach
+    void tearDown() {
+        DriveApiPool.release(driveApi);
+        emulator.close();
+    }
+
+    @Test
+    void shouldUploadInChunksAndDownloadContent() {
+        // Given
+        byte[] content = new byte[600 * 1024];
+        new Random(7).nextBytes(content);
+
+        // When
+        File uploaded = driveApi.execute(new FileUploadCommand("data.bin", "Data", null, false,
+                new ByteArrayInputStream(content), 256 * 1024));
+        byte[] downloaded = driveApi.execute(new FileDownloadCommand(uploaded.getId()));
+
+        // Then
+        assertThat(emulator.content(uploaded.getId())).hasValue(content);
+        assertThat(downloaded).isEqualTo(content);
+    }
+
+    @Test
+    void shouldRetryRateLimitedUploadBeforeStreamIsRead() {
+        // Given
+        byte[] content = new byte[600 * 1024];
+        new Random(11).nextBytes(content);
+        emulator.failNext(1, 429);
+
+        // When
+        File uploaded = driveApi.execute(new FileUploadCommand("data.bin", "Data", null, false,
+                new ByteArrayInputStream(content), 256 * 1024));
+
+        // Then
+        assertThat(emulator.content(uploaded.getId())).hasValue(content);
+    }
+
+    @Test
+    void shouldNotResendPartiallyReadStreamWhenChunkIsRateLimited() {
+        // Given
+        byte[] content = new byte[600 * 1024];
+        new Random(13).nextBytes(content);
+        // The next request (the upload of the second chunk) is rate limited
+        // once the first chunk has been sent and the second one is being read.
+        InputStream stream = new FilterInputStream(new ByteArrayInputStream(content)) {
+            private int position;
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int read = super.read(buffer, offset, length);
+                if (read > 0 && position <= 300 * 1024 && (position += read) > 300 * 1024) {
+                    emulator.failNext(1, 429);
+                }
+                return read;
+            }
+        };
+        int filesBefore = emulator.fileCount();
+
+        // When
+        FileUploadCommand command = new FileUploadCommand("data.bin", "Data", null, false, stream, 256 * 1024);
+        assertThrows(PlatformException.class, () -> driveApi.execute(command));
+
+        // Then: the upload was not restarted with the rest of the stream as a new file.
+        assertThat(emulator.fileCount()).isEqualTo(filesBefore);
+    }
+
+    @Test
+    void shouldListFilesPageByPage() {
+        // Given
+        File folder = driveApi.execute(new FolderCreateCommand("reports", null, null));
+        for (int index = 0; index < 25; index++) {
+            emulator.addFile("report-" + index + ".csv", folder.getId(), "text/csv", new byte[]{1});
+        }
+        String query = "'" + folder.getId() + "' in parents and trashed = false";
+
+        // When
+        ListOfFiles first = driveApi.execute(new FileListCommand(null, null, 10, null, query));
+        ListOfFiles second = driveApi.execute(new FileListCommand(null, null, 10, first.getNextPageToken(), query));
+        ListOfFiles third = driveApi.execute(new FileListCommand(null, null, 10, second.getNextPageToken(), query));
+
+        // Then
+        assertThat(first).hasSize(10);
+        assertThat(second).hasSize(10);
+        assertThat(third).hasSize(5);
+        assertThat(third.getNextPageToken()).isNull();
+    }
+
+    @Test
+    void shouldHandOverListedFilesToConsumer() {
+        // Given
+        File folder = driveApi.execute(new FolderCreateCommand("reports", null, null));
+        for (int index = 0; index < 15; index++) {
+            emulator.addFile("report-" + index + ".csv", folder.getId(), "text/csv", new byte[]{1});
+        }
+        String query = "'" + folder.getId() + "' in parents and trashed = false";
+        List<FileType> consumed = new ArrayList<>();
+
+        // When
+        ListOfFiles page = driveApi.execute(new FileListCommand(null, null, 10, null, query,
+                Collections.singletonList("mimeType"), consumed::add));
+
+        // Then
+        assertThat(page).isEmpty();
+        assertThat(page.getNextPageToken()).isNotBlank();
+        assertThat(consumed).hasSize(10);
+        assertThat(consumed.get(0).get("mimeType")).isEqualTo("text/csv");
+    }
+
+    @Test
+    void shouldPointToFileExportWhenFileIsNotDownloadable() {
+        // Given
+        File document = emulator.addFile("notes", null, GoogleMimeTypes.DOCUMENT, "notes".getBytes());
+
+        // When
+        PlatformException thrown = assertThrows(PlatformException.class, () ->
+                driveApi.execute(new FileDownloadCommand(document.getId())));
+
+        // Then
+        assertThat(thrown).hasMessageContaining("'Drive File Export'");
+    }
+
+    @Test
+    void shouldDeleteFilesInBatch() {
+        // Given
+        File first = emulator.addFile("first.txt", null, "text/plain", new byte[0]);
+        File second = emulator.addFile("second.txt", null, "text/plain", new byte[0]);
+        List<FileDeleteCommand> commands = Arrays.asList(
+                new FileDeleteCommand(first.getId()),
+                new FileDeleteCommand("missing"),
+                new FileDeleteCommand(second.getId()));
+
+        // When
+        List<BatchResult<Void>> results = driveApi.executeBatch(commands);
+
+        // Then
+        assertThat(results).extracting(BatchResult::isSuccess).containsExactly(true, false, true);
+        assertThat(emulator.fileCount()).isZero();
+    }
+
+    @Test
+    void shouldFailEachCommandOfBatchWhenClientRateLimitIsExceeded() throws IOException {
+        // Given
+        DriveConfiguration configuration = emulator.configuration(temporaryDirectory);
+        configuration.setRateLimit(1d);
+        configuration.setRateLimitBurst(1);
+        configuration.setRateLimitStrategy(RateLimitStrategy.FAIL);
+        DriveApi limitedApi = DriveApiPool.acquire(TestComponent.class, configuration);
+        File first = emulator.addFile("first.txt", null, "text/plain", new byte[0]);
+        File second = emulator.addFile("second.txt", null, "text/plain", new byte[0]);
+
+        try {
+            // When
+            limitedApi.executeBatch(Collections.singletonList(new FileDeleteCommand(first.getId())));
+            List<BatchResult<Void>> results = limitedApi.executeBatch(Arrays.asList(
+                    new FileDeleteCommand(second.getId()),
+                    new FileDeleteCommand("missing")));
+
+            // Then
+            assertThat(results).extracting(BatchResult::isSuccess).containsExactly(false, false);
+            assertThat(results.get(0).getError()).hasCauseInstanceOf(RateLimitException.class);
+            assertThat(emulator.fileCount()).isEqualTo(1);
+        } finally {
+            DriveApiPool.release(limitedApi);
+        }
+    }
+
+    @Test
+    void shouldRetryInjectedServerErrorsAndThrottling() {
+        // Given
+        File file = emulator.addFile("file.txt", null, "text/plain", "content".getBytes());
+        emulator.failNext(1, 503);
+
+        // When
+        File fetched = driveApi.execute(new FileGetCommand(file.getId(), "id,name"));
+        emulator.failNext(1, 429);
+        File fetchedAgain = driveApi.execute(new FileGetCommand(file.getId(), "id,name"));
+
+        // Then
+        assertThat(fetched.getName()).isEqualTo("file.txt");
+        assertThat(fetchedAgain.getName()).isEqualTo("file.txt");
+        assertThat(emulator.requestCount()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldFailWhenFileDoesNotExist() {
+        // Expect
+        assertThrows(PlatformException.class, () -> driveApi.execute(new FileGetCommand("missing", "id")));
+    }
+
+    @Test
+    void shouldCreateAndListPermissions() {
+        // Given
+        File file = emulator.addFile("shared.txt", null, "text/plain", new byte[0]);
+
+        // When
+        driveApi.execute(new PermissionCreateCommand(file.getId(), PermissionRole.READER, PermissionType.USER,
+                "reader@example.com", null, false));
+        ListOfPermissions permissions = driveApi.execute(new PermissionListCommand(file.getId()));
+
+        // Then
+        assertThat(permissions).hasSize(2);
+    }
+
+    @Test
+    void shouldListChangesSinceStartPageToken() {
+        // Given
+        String startPageToken = driveApi.execute(new ChangeStartPageTokenCommand(null));
+        File created = driveApi.execute(new FolderCreateCommand("new folder", null, null));
+        driveApi.execute(new FileDeleteCommand(created.getId()));
+
+        // When
+        ListOfChanges changes = driveApi.execute(new ChangeListCommand(startPageToken, null, 100, true));
+
+        // Then
+        assertThat(changes).hasSize(2);
+        assertThat(changes.getNewStartPageToken()).isNotNull();
+    }
+}
@@ -0,0 +1,119 @@
+package com.reedelk.google.drive.v3.emulator;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Reads and writes the multipart bodies of batch requests (multipart/mixed) and multipart uploads
+// (multipart/related). Bodies are handled as ISO-8859-1 strings, which map bytes to characters one
+// to one, therefore binary content survives the conversion unchanged.
+class EmulatorMultipart {
+
+    private static final String CRLF = "\r\n";
+
+    private EmulatorMultipart() {
+    }
+
+    static String boundaryOf(String contentType) {
+        if (contentType == null) return null;
+        for (String parameter : contentType.split(";")) {
+            String trimmed = parameter.trim();
+            if (trimmed.toLowerCase().startsWith("boundary=")) {
+                return trimmed.substring("boundary=".length()).replace("\"", "");
+            }
+        }
+        return null;
+    }
+
+    static List<Part> parse(byte[] body, String boundary) {
+        String content = new String(body, StandardCharsets.ISO_8859_1);
+        String delimiter = "--" + boundary;
+        List<Part> parts = new ArrayList<>();
+        int start = content.indexOf(delimiter);
+        while (start >= 0) {
+            int partStart = start + delimiter.length();
+            if (content.startsWith("--", partStart)) break;
+            int end = content.indexOf(CRLF + delimiter, partStart);
+            if (end < 0) break;
+            parts.add(Part.parse(content.substring(skipLineBreak(content, partStart), end)));
+            start = end + CRLF.length();
+        }
+        return parts;
+    }
+
+    static byte[] write(List<EmulatorResponse> responses, String boundary) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        int index = 1;
+        for (EmulatorResponse response : responses) {
+            StringBuilder part = new StringBuilder()
+                    .append("--").append(boundary).append(CRLF)
+                    .append("Content-Type: application/http").append(CRLF)
+                    .append("Content-ID: <response-").append(index++).append(">").append(CRLF)
+                    .append(CRLF)
+                    .append("HTTP/1.1 ").append(response.status()).append(' ').append(response.reason()).append(CRLF);
+            response.headers().forEach((name, value) -> part.append(name).append(": ").append(value).append(CRLF));
+            part.append("Content-Length: ").append(response.body().length).append(CRLF).append(CRLF);
+            write(body, part.toString());
+            body.write(response.body(), 0, response.body().length);
+            write(body, CRLF);
+        }
+        write(body, "--" + boundary + "--" + CRLF);
+        return body.toByteArray();
+    }
+
+    private static void write(ByteArrayOutputStream body, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.ISO_8859_1);
+        body.write(bytes, 0, bytes.length);
+    }
+
+    private static int skipLineBreak(String content, int index) {
+        return content.startsWith(CRLF, index) ? index + CRLF.length() : index;
+    }
+
+    static class Part {
+
+        private final Map<String, String> headers;
+        private final String body;
+
+        private Part(Map<String, String> headers, String body) {
+            this.headers = headers;
+            this.body = body;
+        }
+
+        // Headers, an empty line and the body.
+        static Part parse(String content) {
+            Map<String, String> headers = new LinkedHashMap<>();
+            int index = 0;
+            while (true) {
+                int end = content.indexOf(CRLF, index);
+                if (end < 0) end = content.length();
+                String line = content.substring(index, end);
+                index = Math.min(content.length(), end + CRLF.length());
+                if (line.isEmpty()) break;
+                int colon = line.indexOf(':');
+                if (colon > 0) headers.put(line.substring(0, colon).trim().toLowerCase(), line.substring(colon + 1).trim());
+                if (index >= content.length()) break;
+            }
+            return new Part(headers, content.substring(index));
+        }
+
+        String header(String name) {
+            return headers.get(name.toLowerCase());
+        }
+
+        Map<String, String> headers() {
+            return headers;
+        }
+
+        String body() {
+            return body;
+        }
+
+        byte[] bodyBytes() {
+            return body.getBytes(StandardCharsets.ISO_8859_1);
+        }
+    }
+}
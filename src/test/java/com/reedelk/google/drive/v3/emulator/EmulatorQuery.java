@@ -0,0 +1,201 @@
+package com.reedelk.google.drive.v3.emulator;
+
+import com.google.api.client.util.DateTime;
+import com.google.api.services.drive.model.File;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+// Parses the subset of the Google Drive query language used by the module and by typical flows:
+//   'id' in parents, name/mimeType/fullText comparisons (=, !=, contains), trashed/starred = true|false,
+//   modifiedTime/createdTime comparisons (=, !=, <, <=, >, >=), combined with and, or, not and parentheses.
+// Anything else is rejected, as Google Drive does, with an 'invalid query' error.
+class EmulatorQuery {
+
+    private final List<String> tokens = new ArrayList<>();
+    private int position;
+
+    private EmulatorQuery(String query) {
+        tokenize(query);
+    }
+
+    static Predicate<File> parse(String query) {
+        if (query == null || query.trim().isEmpty()) return file -> true;
+        EmulatorQuery parser = new EmulatorQuery(query);
+        Predicate<File> predicate = parser.or();
+        if (parser.position != parser.tokens.size()) {
+            throw new IllegalArgumentException("Unexpected '" + parser.tokens.get(parser.position) + "'");
+        }
+        return predicate;
+    }
+
+    private Predicate<File> or() {
+        Predicate<File> predicate = and();
+        while (accept("or")) {
+            predicate = predicate.or(and());
+        }
+        return predicate;
+    }
+
+    private Predicate<File> and() {
+        Predicate<File> predicate = unary();
+        while (accept("and")) {
+            predicate = predicate.and(unary());
+        }
+        return predicate;
+    }
+
+    private Predicate<File> unary() {
+        if (accept("not")) return unary().negate();
+        if (accept("(")) {
+            Predicate<File> predicate = or();
+            expect(")");
+            return predicate;
+        }
+        return comparison();
+    }
+
+    private Predicate<File> comparison() {
+        String left = next();
+        if (isString(left)) {
+            expect("in");
+            expect("parents");
+            String parentId = unquote(left);
+            return file -> file.getParents() != null && file.getParents().contains(parentId);
+        }
+
+        String operator = next();
+        String right = next();
+        switch (left) {
+            case "name":
+            case "mimeType":
+            case "fullText":
+                return text(left, operator, unquote(right));
+            case "trashed":
+            case "starred":
+                boolean expected = Boolean.parseBoolean(right);
+                return file -> compare(Boolean.TRUE.equals(file.get(left)) == expected, operator);
+            case "modifiedTime":
+            case "createdTime":
+                long time = DateTime.parseRfc3339(unquote(right)).getValue();
+                return file -> {
+                    Object value = file.get(left);
+                    if (value == null) return false;
+                    return compare(Long.compare(((DateTime) value).getValue(), time), operator);
+                };
+            default:
+                throw new IllegalArgumentException("Unsupported field '" + left + "'");
+        }
+    }
+
+    private static Predicate<File> text(String field, String operator, String expected) {
+        return file -> {
+            String value = "fullText".equals(field) ?
+                    file.getName() + " " + Objects.toString(file.getDescription(), "") :
+                    (String) file.get(field);
+            if (value == null) return "!=".equals(operator);
+            switch (operator) {
+                case "=":
+                    return value.equals(expected);
+                case "!=":
+                    return !value.equals(expected);
+                case "contains":
+                    return value.toLowerCase().contains(expected.toLowerCase());
+                default:
+                    throw new IllegalArgumentException("Unsupported operator '" + operator + "' for " + field);
+            }
+        };
+    }
+
+    private static boolean compare(boolean equal, String operator) {
+        if ("=".equals(operator)) return equal;
+        if ("!=".equals(operator)) return !equal;
+        throw new IllegalArgumentException("Unsupported operator '" + operator + "'");
+    }
+
+    private static boolean compare(int comparison, String operator) {
+        switch (operator) {
+            case "=":
+                return comparison == 0;
+            case "!=":
+                return comparison != 0;
+            case "<":
+                return comparison < 0;
+            case "<=":
+                return comparison <= 0;
+            case ">":
+                return comparison > 0;
+            case ">=":
+                return comparison >= 0;
+            default:
+                throw new IllegalArgumentException("Unsupported operator '" + operator + "'");
+        }
+    }
+
+    private boolean accept(String token) {
+        if (position < tokens.size() && tokens.get(position).equalsIgnoreCase(token)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String token) {
+        if (!accept(token)) throw new IllegalArgumentException("Expected '" + token + "'");
+    }
+
+    private String next() {
+        if (position >= tokens.size()) throw new IllegalArgumentException("Unexpected end of query");
+        return tokens.get(position++);
+    }
+
+    private static boolean isString(String token) {
+        return token.startsWith("'");
+    }
+
+    private static String unquote(String token) {
+        if (!isString(token)) return token;
+        StringBuilder value = new StringBuilder();
+        for (int index = 1; index < token.length() - 1; index++) {
+            char character = token.charAt(index);
+            if (character == '\\' && index + 1 < token.length() - 1) character = token.charAt(++index);
+            value.append(character);
+        }
+        return value.toString();
+    }
+
+    private void tokenize(String query) {
+        int index = 0;
+        while (index < query.length()) {
+            char character = query.charAt(index);
+            if (Character.isWhitespace(character)) {
+                index++;
+            } else if (character == '\'') {
+                int end = index + 1;
+                while (end < query.length() && query.charAt(end) != '\'') {
+                    if (query.charAt(end) == '\\') end++;
+                    end++;
+                }
+                if (end >= query.length()) throw new IllegalArgumentException("Unterminated string");
+                tokens.add(query.substring(index, end + 1));
+                index = end + 1;
+            } else if (character == '(' || character == ')') {
+                tokens.add(String.valueOf(character));
+                index++;
+            } else if ("=!<>".indexOf(character) >= 0) {
+                int end = index + 1;
+                if (end < query.length() && query.charAt(end) == '=') end++;
+                tokens.add(query.substring(index, end));
+                index = end;
+            } else {
+                int end = index;
+                while (end < query.length() && !Character.isWhitespace(query.charAt(end)) &&
+                        "()'=!<>".indexOf(query.charAt(end)) < 0) end++;
+                tokens.add(query.substring(index, end));
+                index = end;
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.reedelk.google.drive.v3.emulator;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+
+// A request received by the emulator, either directly over HTTP or as a part of a batch request.
+class EmulatorRequest {
+
+    private static final String METHOD_OVERRIDE = "x-http-method-override";
+
+    private final Map<String, String> parameters = new TreeMap<>();
+    private final Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final String method;
+    private final String path;
+    private final byte[] body;
+
+    EmulatorRequest(String method, String path, String rawQuery, Map<String, String> headers, byte[] body) {
+        this.headers.putAll(headers);
+        // Methods not supported by the HTTP transport (e.g. PATCH) are sent as POST with this header.
+        String override = this.headers.get(METHOD_OVERRIDE);
+        this.method = override != null ? override.toUpperCase() : method.toUpperCase();
+        this.path = path;
+        this.body = body;
+        parseQuery(rawQuery);
+    }
+
+    String method() {
+        return method;
+    }
+
+    String path() {
+        return path;
+    }
+
+    String parameter(String name) {
+        return parameters.get(name);
+    }
+
+    String header(String name) {
+        return headers.get(name);
+    }
+
+    byte[] body() {
+        return body;
+    }
+
+    String bodyAsString() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    private void parseQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) return;
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            parameters.put(decode(name), decode(value));
+        }
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
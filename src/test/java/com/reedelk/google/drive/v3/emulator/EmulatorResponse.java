@@ -0,0 +1,88 @@
+package com.reedelk.google.drive.v3.emulator;
+
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.jackson2.JacksonFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// A response sent by the emulator, either directly over HTTP or as a part of a batch response.
+class EmulatorResponse {
+
+    static final JsonFactory JSON = JacksonFactory.getDefaultInstance();
+
+    private static final Map<Integer, String> REASONS = new LinkedHashMap<>();
+
+    static {
+        REASONS.put(200, "OK");
+        REASONS.put(204, "No Content");
+        REASONS.put(206, "Partial Content");
+        REASONS.put(308, "Resume Incomplete");
+        REASONS.put(400, "Bad Request");
+        REASONS.put(403, "Forbidden");
+        REASONS.put(404, "Not Found");
+        REASONS.put(416, "Requested Range Not Satisfiable");
+        REASONS.put(429, "Too Many Requests");
+        REASONS.put(500, "Internal Server Error");
+        REASONS.put(503, "Service Unavailable");
+    }
+
+    private final Map<String, String> headers = new LinkedHashMap<>();
+    private final int status;
+    private final byte[] body;
+
+    EmulatorResponse(int status, byte[] body, String contentType) {
+        this.status = status;
+        this.body = body;
+        if (contentType != null) headers.put("Content-Type", contentType);
+    }
+
+    static EmulatorResponse json(Object content) {
+        return json(200, content);
+    }
+
+    static EmulatorResponse json(int status, Object content) {
+        try {
+            byte[] body = JSON.toString(content).getBytes(StandardCharsets.UTF_8);
+            return new EmulatorResponse(status, body, "application/json; charset=UTF-8");
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    static EmulatorResponse empty(int status) {
+        return new EmulatorResponse(status, new byte[0], null);
+    }
+
+    // Same format of the Google API errors, so that the client library parses the reason.
+    static EmulatorResponse error(int status, String reason, String message) {
+        String escaped = message.replace("\\", "\\\\").replace("\"", "\\\"");
+        String body = "{\"error\":{\"code\":" + status + ",\"message\":\"" + escaped + "\"," +
+                "\"errors\":[{\"domain\":\"global\",\"reason\":\"" + reason + "\",\"message\":\"" + escaped + "\"}]}}";
+        return new EmulatorResponse(status, body.getBytes(StandardCharsets.UTF_8), "application/json; charset=UTF-8");
+    }
+
+    EmulatorResponse header(String name, String value) {
+        headers.put(name, value);
+        return this;
+    }
+
+    int status() {
+        return status;
+    }
+
+    String reason() {
+        return REASONS.getOrDefault(status, "Unknown");
+    }
+
+    Map<String, String> headers() {
+        return headers;
+    }
+
+    byte[] body() {
+        return body;
+    }
+}
@@ -0,0 +1,196 @@
+package com.reedelk.google.drive.v3.emulator;
+
+import com.google.api.client.util.DateTime;
+import com.google.api.services.drive.model.Change;
+import com.google.api.services.drive.model.File;
+import com.google.api.services.drive.model.Permission;
+import com.google.api.services.drive.model.User;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+// In memory state of the emulated Google Drive: files (metadata and content), permissions and
+// the log of changes. All the methods are synchronized: the emulator favours simplicity over
+// throughput, and a single lock is more than enough for load tests running on a single machine.
+class EmulatorStore {
+
+    static final String ROOT = "root";
+    static final String FOLDER = "application/vnd.google-apps.folder";
+    static final String GOOGLE_APPS_PREFIX = "application/vnd.google-apps.";
+    static final String OWNER_EMAIL = "emulator@drive-emulator.local";
+
+    private final Map<String, File> files = new LinkedHashMap<>();
+    private final Map<String, byte[]> contents = new HashMap<>();
+    private final Map<String, List<Permission>> permissions = new HashMap<>();
+    private final List<Change> changes = new ArrayList<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    synchronized File create(File metadata, byte[] content, String contentType) {
+        String id = "emu-" + ids.incrementAndGet();
+        File file = metadata.clone();
+        file.setId(id);
+        file.setKind("drive#file");
+        if (file.getName() == null) file.setName("Untitled");
+        if (file.getMimeType() == null) file.setMimeType(contentType != null ? contentType : "application/octet-stream");
+        if (file.getParents() == null || file.getParents().isEmpty()) file.setParents(Collections.singletonList(ROOT));
+        file.setTrashed(false);
+        file.setOwnedByMe(true);
+        file.setOwners(Collections.singletonList(new User().setEmailAddress(OWNER_EMAIL).setMe(true)));
+        file.setCreatedTime(new DateTime(System.currentTimeMillis()));
+        file.setWebViewLink("https://drive.google.com/file/d/" + id + "/view");
+        if (!FOLDER.equals(file.getMimeType())) {
+            file.setWebContentLink("https://drive.google.com/uc?id=" + id + "&export=download");
+        }
+        files.put(id, file);
+        permissions.put(id, new ArrayList<>(Collections.singletonList(new Permission()
+                .setId("owner").setKind("drive#permission").setType("user").setRole("owner").setEmailAddress(OWNER_EMAIL))));
+        setContent(file, content);
+        return file.clone();
+    }
+
+    synchronized Optional<File> get(String fileId) {
+        return Optional.ofNullable(files.get(fileId)).map(File::clone);
+    }
+
+    synchronized Optional<byte[]> content(String fileId) {
+        if (!files.containsKey(fileId)) return Optional.empty();
+        return Optional.of(contents.getOrDefault(fileId, new byte[0]));
+    }
+
+    // Metadata fields set in the patch replace the existing ones; the content is replaced if given.
+    synchronized Optional<File> update(String fileId, File patch, byte[] content) {
+        File file = files.get(fileId);
+        if (file == null) return Optional.empty();
+        if (patch != null) {
+            patch.forEach((name, value) -> {
+                if (!"id".equals(name)) file.set(name, value);
+            });
+        }
+        if (content != null) {
+            setContent(file, content);
+        } else {
+            file.setModifiedTime(new DateTime(System.currentTimeMillis()));
+            recordChange(fileId, false);
+        }
+        return Optional.of(file.clone());
+    }
+
+    // Deleting a folder deletes its content as well.
+    synchronized boolean delete(String fileId) {
+        if (files.remove(fileId) == null) return false;
+        contents.remove(fileId);
+        permissions.remove(fileId);
+        recordChange(fileId, true);
+        List<String> children = files.values().stream()
+                .filter(file -> file.getParents() != null && file.getParents().contains(fileId))
+                .map(File::getId)
+                .collect(Collectors.toList());
+        children.forEach(this::delete);
+        return true;
+    }
+
+    synchronized List<File> list(Predicate<File> filter) {
+        return files.values().stream()
+                .filter(filter)
+                .map(File::clone)
+                .collect(Collectors.toList());
+    }
+
+    synchronized Optional<List<Permission>> permissions(String fileId) {
+        return Optional.ofNullable(permissions.get(fileId))
+                .map(list -> list.stream().map(Permission::clone).collect(Collectors.toList()));
+    }
+
+    synchronized Optional<Permission> createPermission(String fileId, Permission permission) {
+        List<Permission> list = permissions.get(fileId);
+        if (list == null) return Optional.empty();
+        Permission created = permission.clone()
+                .setId("perm-" + ids.incrementAndGet())
+                .setKind("drive#permission");
+        list.add(created);
+        recordChange(fileId, false);
+        return Optional.of(created.clone());
+    }
+
+    synchronized Optional<Permission> updatePermission(String fileId, String permissionId, Permission patch) {
+        return permission(fileId, permissionId).map(permission -> {
+            patch.forEach((name, value) -> {
+                if (!"id".equals(name)) permission.set(name, value);
+            });
+            recordChange(fileId, false);
+            return permission.clone();
+        });
+    }
+
+    synchronized boolean deletePermission(String fileId, String permissionId) {
+        Optional<Permission> permission = permission(fileId, permissionId);
+        permission.ifPresent(existing -> {
+            permissions.get(fileId).remove(existing);
+            recordChange(fileId, false);
+        });
+        return permission.isPresent();
+    }
+
+    // Page tokens are 1 based positions in the log of changes.
+    synchronized String startPageToken() {
+        return String.valueOf(changes.size() + 1);
+    }
+
+    synchronized List<Change> changes(int from, int count) {
+        int start = Math.max(0, Math.min(from, changes.size()));
+        int end = Math.min(changes.size(), start + count);
+        return changes.subList(start, end).stream().map(Change::clone).collect(Collectors.toList());
+    }
+
+    synchronized int changeCount() {
+        return changes.size();
+    }
+
+    synchronized int size() {
+        return files.size();
+    }
+
+    private Optional<Permission> permission(String fileId, String permissionId) {
+        List<Permission> list = permissions.get(fileId);
+        if (list == null) return Optional.empty();
+        return list.stream().filter(permission -> permissionId.equals(permission.getId())).findFirst();
+    }
+
+    private void setContent(File file, byte[] content) {
+        byte[] value = content != null ? content : new byte[0];
+        contents.put(file.getId(), value);
+        file.setModifiedTime(new DateTime(System.currentTimeMillis()));
+        // Google Workspace files and folders have neither a size nor a checksum.
+        boolean binary = !file.getMimeType().startsWith(GOOGLE_APPS_PREFIX);
+        file.setSize(binary ? (long) value.length : null);
+        file.setMd5Checksum(binary ? md5Of(value) : null);
+        recordChange(file.getId(), false);
+    }
+
+    private void recordChange(String fileId, boolean removed) {
+        File file = files.get(fileId);
+        changes.add(new Change()
+                .setKind("drive#change")
+                .setType("file")
+                .setFileId(fileId)
+                .setRemoved(removed)
+                .setTime(new DateTime(System.currentTimeMillis()))
+                .setFile(removed || file == null ? null : file.clone()));
+    }
+
+    private static String md5Of(byte[] content) {
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte value : MessageDigest.getInstance("MD5").digest(content)) {
+                hex.append(String.format("%02x", value));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
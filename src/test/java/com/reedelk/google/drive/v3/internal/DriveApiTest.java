@@ -0,0 +1,241 @@
+package com.reedelk.google.drive.v3.internal;
+
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.services.drive.Drive;
+import com.reedelk.google.drive.v3.component.DriveConfiguration;
+import com.reedelk.google.drive.v3.component.TestComponent;
+import com.reedelk.google.drive.v3.internal.cache.MetadataCache;
+import com.reedelk.google.drive.v3.internal.command.Command;
+import com.reedelk.google.drive.v3.internal.exception.FileGetException;
+import com.reedelk.google.drive.v3.internal.http.RateLimiter;
+import com.reedelk.google.drive.v3.internal.http.RetryPolicy;
+import com.reedelk.google.drive.v3.internal.metrics.DriveMetrics;
+import com.reedelk.runtime.api.exception.PlatformException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DriveApiTest {
+
+    private DriveApi driveApi;
+
+    @BeforeEach
+    void setUp() {
+        DriveConfiguration configuration = new DriveConfiguration();
+        configuration.setRetryMaxAttempts(3);
+        configuration.setRetryBaseDelay(0L);
+        driveApi = new DriveApi(null, RetryPolicy.from(TestComponent.class, configuration), RateLimiter.UNLIMITED, MetadataCache.DISABLED);
+    }
+
+    @Test
+    void shouldRetryIdempotentCommandOnServerError() {
+        // Given
+        FailingCommand command = new FailingCommand(503, 2, true);
+
+        // When
+        String result = driveApi.execute(command);
+
+        // Then
+        assertThat(result).isEqualTo("done");
+        assertThat(command.attempts).hasValue(3);
+    }
+
+    @Test
+    void shouldNotRetryNonIdempotentCommandOnServerError() {
+        // Given
+        FailingCommand command = new FailingCommand(503, 1, false);
+
+        // When
+        assertThrows(PlatformException.class, () -> driveApi.execute(command));
+
+        // Then
+        assertThat(command.attempts).hasValue(1);
+    }
+
+    @Test
+    void shouldRetryNonIdempotentCommandWhenRateLimited() {
+        // Given
+        FailingCommand command = new FailingCommand(429, 1, false);
+
+        // When
+        String result = driveApi.execute(command);
+
+        // Then
+        assertThat(result).isEqualTo("done");
+        assertThat(command.attempts).hasValue(2);
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxAttempts() {
+        // Given
+        FailingCommand command = new FailingCommand(500, 10, true);
+
+        // When
+        PlatformException thrown = assertThrows(PlatformException.class, () -> driveApi.execute(command));
+
+        // Then
+        assertThat(command.attempts).hasValue(3);
+        assertThat(thrown).hasMessageContaining("500");
+    }
+
+    @Test
+    void shouldNotRetryClientErrors() {
+        // Given
+        FailingCommand command = new FailingCommand(404, 1, true);
+
+        // When
+        assertThrows(PlatformException.class, () -> driveApi.execute(command));
+
+        // Then
+        assertThat(command.attempts).hasValue(1);
+    }
+
+    @Test
+    void shouldNotRetryRateLimitedCommandWhichCannotBeReplayed() {
+        // Given
+        FailingCommand command = new FailingCommand(429, 1, false) {
+            @Override
+            public boolean replayable() {
+                return false;
+            }
+        };
+
+        // When
+        assertThrows(PlatformException.class, () -> driveApi.execute(command));
+
+        // Then
+        assertThat(command.attempts).hasValue(1);
+    }
+
+    @Test
+    void shouldRecordMetricsOfEachAttempt() {
+        // Given
+        List<String> recorded = new ArrayList<>();
+        DriveMetrics metrics = new DriveMetrics() {
+            @Override
+            public void commandSucceeded(Class<?> command, long durationNanos) {
+                recorded.add("succeeded:" + command.getSimpleName());
+            }
+
+            @Override
+            public void commandFailed(Class<?> command, long durationNanos, int statusCode) {
+                recorded.add("failed:" + command.getSimpleName() + ":" + statusCode);
+            }
+
+            @Override
+            public void commandRetried(Class<?> command) {
+                recorded.add("retried:" + command.getSimpleName());
+            }
+        };
+        DriveConfiguration configuration = new DriveConfiguration();
+        configuration.setRetryBaseDelay(0L);
+        DriveApi meteredApi = new DriveApi(null, RetryPolicy.from(TestComponent.class, configuration),
+                RateLimiter.UNLIMITED, MetadataCache.DISABLED, metrics);
+
+        // When
+        meteredApi.execute(new FailingCommand(503, 1, true));
+
+        // Then
+        assertThat(recorded).containsExactly(
+                "failed:FailingCommand:503",
+                "retried:FailingCommand",
+                "succeeded:FailingCommand");
+    }
+
+    @Test
+    void shouldExecuteCommandAsynchronouslyWithRetries() {
+        // Given
+        FailingCommand command = new FailingCommand(503, 1, true);
+
+        // When
+        CompletableFuture<String> result = driveApi.executeAsync(command);
+
+        // Then
+        assertThat(result.join()).isEqualTo("done");
+        assertThat(command.attempts).hasValue(2);
+    }
+
+    @Test
+    void shouldRunAsynchronousTasksOnIoThreads() {
+        // When
+        String threadName = driveApi.supplyAsync(() -> Thread.currentThread().getName()).join();
+
+        // Then
+        assertThat(threadName).startsWith("drive-io-");
+    }
+
+    @Test
+    void shouldFailFutureWithExceptionOfCommand() {
+        // Given
+        FailingCommand command = new FailingCommand(404, 1, true);
+
+        // When
+        CompletableFuture<String> result = driveApi.executeAsync(command);
+
+        // Then
+        assertThatThrownBy(result::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(FileGetException.class);
+        assertThat(command.attempts).hasValue(1);
+    }
+
+    @Test
+    void shouldFailFutureWhenIoExecutorIsShutdown() {
+        // Given
+        IoExecutor ioExecutor = new IoExecutor(1);
+        ioExecutor.shutdown();
+        DriveApi disposedApi = new DriveApi(null, RetryPolicy.NONE, RateLimiter.UNLIMITED,
+                MetadataCache.DISABLED, DriveMetrics.NONE, ioExecutor);
+        FailingCommand command = new FailingCommand(503, 0, true);
+
+        // When
+        CompletableFuture<String> result = disposedApi.executeAsync(command);
+
+        // Then
+        assertThatThrownBy(result::join).hasCauseInstanceOf(FileGetException.class);
+        assertThat(command.attempts).hasValue(0);
+    }
+
+    static class FailingCommand implements Command<String> {
+
+        private final AtomicInteger attempts = new AtomicInteger();
+        private final boolean idempotent;
+        private final int statusCode;
+        private final int failures;
+
+        FailingCommand(int statusCode, int failures, boolean idempotent) {
+            this.statusCode = statusCode;
+            this.failures = failures;
+            this.idempotent = idempotent;
+        }
+
+        @Override
+        public String execute(Drive drive) throws IOException {
+            if (attempts.incrementAndGet() <= failures) {
+                throw new HttpResponseException.Builder(statusCode, "Error", new HttpHeaders()).build();
+            }
+            return "done";
+        }
+
+        @Override
+        public boolean idempotent() {
+            return idempotent;
+        }
+
+        @Override
+        public PlatformException onException(Exception exception) {
+            return new FileGetException(exception.getMessage(), exception);
+        }
+    }
+}
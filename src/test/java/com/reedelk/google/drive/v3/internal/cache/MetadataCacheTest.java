@@ -0,0 +1,102 @@
+package com.reedelk.google.drive.v3.internal.cache;
+
+import com.google.api.services.drive.model.File;
+import com.reedelk.google.drive.v3.component.DriveConfiguration;
+import com.reedelk.google.drive.v3.internal.type.FileType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetadataCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private MetadataCache cache = new MetadataCache(2, 60, now::get);
+
+    @Test
+    void shouldReturnCachedFile() {
+        // Given
+        cache.put(fileType("file1", "report.pdf"));
+
+        // When
+        Optional<FileType> cached = cache.get("file1");
+
+        // Then
+        assertThat(cached).isPresent();
+        assertThat(cached.get()).containsEntry("name", "report.pdf");
+    }
+
+    @Test
+    void shouldExpireFileAfterTimeToLive() {
+        // Given
+        cache.put(fileType("file1", "report.pdf"));
+
+        // When
+        now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        // Then
+        assertThat(cache.get("file1")).isNotPresent();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedFileWhenFull() {
+        // Given
+        cache.put(fileType("file1", "report1.pdf"));
+        cache.put(fileType("file2", "report2.pdf"));
+        cache.get("file1");
+
+        // When
+        cache.put(fileType("file3", "report3.pdf"));
+
+        // Then
+        assertThat(cache.get("file1")).isPresent();
+        assertThat(cache.get("file2")).isNotPresent();
+        assertThat(cache.get("file3")).isPresent();
+    }
+
+    @Test
+    void shouldInvalidateFile() {
+        // Given
+        cache.put(fileType("file1", "report.pdf"));
+
+        // When
+        cache.invalidate("file1");
+
+        // Then
+        assertThat(cache.get("file1")).isNotPresent();
+    }
+
+    @Test
+    void shouldNotShareCachedInstances() {
+        // Given
+        FileType file = fileType("file1", "report.pdf");
+        cache.put(file);
+
+        // When
+        file.put("name", "changed.pdf");
+        cache.get("file1").get().put("name", "changed-again.pdf");
+
+        // Then
+        assertThat(cache.get("file1").get()).containsEntry("name", "report.pdf");
+    }
+
+    @Test
+    void shouldBeDisabledByDefault() {
+        assertThat(MetadataCache.from(new DriveConfiguration())).isSameAs(MetadataCache.DISABLED);
+
+        MetadataCache.DISABLED.put(fileType("file1", "report.pdf"));
+        assertThat(MetadataCache.DISABLED.get("file1")).isNotPresent();
+    }
+
+    private FileType fileType(String id, String name) {
+        File file = new File();
+        file.setId(id);
+        file.setName(name);
+        return new FileType(file);
+    }
+}
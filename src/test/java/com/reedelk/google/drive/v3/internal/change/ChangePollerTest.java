@@ -0,0 +1,131 @@
+package com.reedelk.google.drive.v3.internal.change;
+
+import com.google.api.services.drive.model.Change;
+import com.google.api.services.drive.model.File;
+import com.reedelk.google.drive.v3.internal.DriveApi;
+import com.reedelk.google.drive.v3.internal.command.ChangeListCommand;
+import com.reedelk.google.drive.v3.internal.command.ChangeStartPageTokenCommand;
+import com.reedelk.google.drive.v3.internal.type.ListOfChanges;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangePollerTest {
+
+    @Mock
+    private DriveApi driveApi;
+
+    @TempDir
+    Path tmpDir;
+
+    private PageTokenStore store;
+    private List<ListOfChanges> processed;
+
+    @BeforeEach
+    void setUp() {
+        store = new PageTokenStore(tmpDir.resolve("changes.token"));
+        processed = new ArrayList<>();
+    }
+
+    @Test
+    void shouldStoreStartPageTokenWhenNoTokenIsStored() {
+        // Given
+        doReturn("100").when(driveApi).execute(any(ChangeStartPageTokenCommand.class));
+        ChangePoller poller = poller(changes -> processed.add(changes));
+
+        // When
+        poller.poll();
+
+        // Then
+        assertThat(store.load()).isEqualTo("100");
+        assertThat(processed).isEmpty();
+        verify(driveApi, never()).execute(any(ChangeListCommand.class));
+    }
+
+    @Test
+    void shouldProcessAllPagesAndStoreNewStartPageToken() {
+        // Given
+        store.save("100");
+        doReturn(changes("page-2", null, "file1", "file2"),
+                changes(null, "200", "file3"))
+                .when(driveApi).execute(any(ChangeListCommand.class));
+        ChangePoller poller = poller(changes -> processed.add(changes));
+
+        // When
+        poller.poll();
+
+        // Then
+        assertThat(processed).hasSize(2);
+        assertThat(processed.get(0)).hasSize(2);
+        assertThat(processed.get(1).get(0)).containsEntry("fileId", "file3");
+        assertThat(new PageTokenStore(tmpDir.resolve("changes.token")).load()).isEqualTo("200");
+
+        ArgumentCaptor<ChangeListCommand> captor = ArgumentCaptor.forClass(ChangeListCommand.class);
+        verify(driveApi, times(2)).execute(captor.capture());
+        assertThat(captor.getAllValues().get(0)).hasFieldOrPropertyWithValue("pageToken", "100");
+        assertThat(captor.getAllValues().get(1)).hasFieldOrPropertyWithValue("pageToken", "page-2");
+    }
+
+    @Test
+    void shouldNotMoveTokenForwardWhenProcessingFails() {
+        // Given
+        store.save("100");
+        doReturn(changes(null, "200", "file1"))
+                .when(driveApi).execute(any(ChangeListCommand.class));
+        ChangePoller poller = poller(changes -> false);
+
+        // When
+        poller.poll();
+
+        // Then
+        assertThat(store.load()).isEqualTo("100");
+    }
+
+    @Test
+    void shouldNotProcessEmptyPages() {
+        // Given
+        store.save("100");
+        doReturn(changes(null, "101"))
+                .when(driveApi).execute(any(ChangeListCommand.class));
+        ChangePoller poller = poller(changes -> processed.add(changes));
+
+        // When
+        poller.poll();
+
+        // Then
+        assertThat(processed).isEmpty();
+        assertThat(store.load()).isEqualTo("101");
+    }
+
+    private ChangePoller poller(Predicate<ListOfChanges> processor) {
+        return new ChangePoller(driveApi, store, null, 100, true, processor);
+    }
+
+    private ListOfChanges changes(String nextPageToken, String newStartPageToken, String... fileIds) {
+        List<Change> changes = new ArrayList<>();
+        for (String fileId : fileIds) {
+            File file = new File();
+            file.setId(fileId);
+            Change change = new Change();
+            change.setFileId(fileId);
+            change.setRemoved(false);
+            change.setFile(file);
+            changes.add(change);
+        }
+        return new ListOfChanges(changes, nextPageToken, newStartPageToken);
+    }
+}
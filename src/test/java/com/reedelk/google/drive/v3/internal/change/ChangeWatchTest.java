@@ -0,0 +1,175 @@
+package com.reedelk.google.drive.v3.internal.change;
+
+import com.google.api.services.drive.model.Channel;
+import com.reedelk.google.drive.v3.internal.DriveApi;
+import com.reedelk.google.drive.v3.internal.command.ChangeWatchCommand;
+import com.reedelk.google.drive.v3.internal.command.Command;
+import com.reedelk.google.drive.v3.internal.command.ChannelStopCommand;
+import com.reedelk.google.drive.v3.internal.exception.ChangeWatchException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeWatchTest {
+
+    private static final long TTL = TimeUnit.HOURS.toMillis(1);
+    private static final long FALLBACK = TimeUnit.MINUTES.toMillis(5);
+
+    @Mock
+    private DriveApi driveApi;
+    @Mock
+    private ChangePoller poller;
+    @Mock
+    private ScheduledExecutorService scheduler;
+
+    private ChangeWatch changeWatch;
+
+    @BeforeEach
+    void setUp() {
+        PageTokenStore store = new PageTokenStore(null);
+        store.save("100");
+        changeWatch = new ChangeWatch(driveApi, store, poller, null, "https://myhost/notifications", TTL, FALLBACK, scheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        String channelId = changeWatch.channelId();
+        if (channelId != null) ChannelRegistry.unregister(channelId);
+    }
+
+    @Test
+    void shouldCreateChannelAndScheduleRenewal() {
+        // Given
+        doReturn(channel("resource1", System.currentTimeMillis() + TTL))
+                .when(driveApi).execute(any(ChangeWatchCommand.class));
+
+        // When
+        changeWatch.renew();
+
+        // Then
+        ChangeWatchCommand command = watchCommand();
+        assertThat(command)
+                .hasFieldOrPropertyWithValue("pageToken", "100")
+                .hasFieldOrPropertyWithValue("address", "https://myhost/notifications")
+                .hasFieldOrPropertyWithValue("channelId", changeWatch.channelId());
+
+        ArgumentCaptor<Long> delay = ArgumentCaptor.forClass(Long.class);
+        verify(scheduler).schedule(any(Runnable.class), delay.capture(), eq(TimeUnit.MILLISECONDS));
+        assertThat(delay.getValue()).isBetween(TTL * 9 / 10 - 1000, TTL * 9 / 10);
+    }
+
+    @Test
+    void shouldPollWhenNotifiedOnRegisteredChannel() {
+        // Given
+        doReturn(channel("resource1", null)).when(driveApi).execute(any(ChangeWatchCommand.class));
+        changeWatch.renew();
+        ChangeWatchCommand command = watchCommand();
+        String channelToken = (String) field(command, "channelToken");
+
+        // When
+        boolean accepted = ChannelRegistry.notify(changeWatch.channelId(), channelToken);
+
+        // Then
+        assertThat(accepted).isTrue();
+        verify(scheduler).execute(any(Runnable.class));
+    }
+
+    @Test
+    void shouldRejectNotificationWithWrongToken() {
+        // Given
+        doReturn(channel("resource1", null)).when(driveApi).execute(any(ChangeWatchCommand.class));
+        changeWatch.renew();
+
+        // Expect
+        assertThrows(ChangeWatchException.class,
+                () -> ChannelRegistry.notify(changeWatch.channelId(), "wrong-token"));
+    }
+
+    @Test
+    void shouldStopPreviousChannelWhenRenewed() {
+        // Given
+        doReturn(channel("resource1", null)).when(driveApi).execute(any(ChangeWatchCommand.class));
+        changeWatch.renew();
+        String previousChannelId = changeWatch.channelId();
+
+        // When
+        changeWatch.renew();
+
+        // Then
+        assertThat(changeWatch.channelId()).isNotEqualTo(previousChannelId);
+        assertThat(ChannelRegistry.notify(previousChannelId, "any")).isFalse();
+
+        ArgumentCaptor<Command<?>> captor = ArgumentCaptor.forClass(Command.class);
+        verify(driveApi, times(3)).execute(captor.capture());
+        assertThat(captor.getAllValues().get(2))
+                .isInstanceOf(ChannelStopCommand.class)
+                .hasFieldOrPropertyWithValue("channelId", previousChannelId)
+                .hasFieldOrPropertyWithValue("resourceId", "resource1");
+    }
+
+    @Test
+    void shouldRetryChannelCreationAfterFallbackIntervalWhenItFails() {
+        // Given
+        doThrow(new ChangeWatchException("Unauthorized WebHook callback channel"))
+                .when(driveApi).execute(any(ChangeWatchCommand.class));
+
+        // When
+        changeWatch.renew();
+
+        // Then
+        assertThat(changeWatch.channelId()).isNull();
+        verify(scheduler).schedule(any(Runnable.class), eq(FALLBACK), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void shouldPollAtFallbackIntervalWhenNoNotificationIsReceived() {
+        // When
+        changeWatch.fallbackPoll();
+
+        // Then
+        verify(poller).poll();
+
+        // When
+        changeWatch.fallbackPoll();
+
+        // Then: a poll just happened.
+        verify(poller, times(1)).poll();
+        verify(scheduler, never()).schedule(any(Runnable.class), anyLong(), any());
+    }
+
+    private ChangeWatchCommand watchCommand() {
+        ArgumentCaptor<ChangeWatchCommand> captor = ArgumentCaptor.forClass(ChangeWatchCommand.class);
+        verify(driveApi, atLeastOnce()).execute(captor.capture());
+        return captor.getValue();
+    }
+
+    private static Channel channel(String resourceId, Long expiration) {
+        return new Channel().setResourceId(resourceId).setExpiration(expiration);
+    }
+
+    private static Object field(Object target, String name) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            return field.get(target);
+        } catch (ReflectiveOperationException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.reedelk.google.drive.v3.internal.command;
+
+import com.reedelk.google.drive.v3.internal.commons.PartFiles;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileDownloadToPathCommandTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReplaceExistingFileAndRemovePartFile() throws IOException {
+        // Given
+        String content = "{\"content\":\"new\"}";
+        Path target = directory.resolve("report.json");
+        Files.write(target, "old content which is longer than the new one".getBytes(StandardCharsets.UTF_8));
+        RecordingTransport transport = new RecordingTransport(content);
+        FileDownloadToPathCommand command = new FileDownloadToPathCommand("file1", target);
+
+        // When
+        long written = command.execute(transport.drive());
+
+        // Then
+        assertThat(written).isEqualTo(content.length());
+        assertThat(new String(Files.readAllBytes(target), StandardCharsets.UTF_8)).isEqualTo(content);
+        assertThat(Files.exists(PartFiles.partOf(target))).isFalse();
+    }
+}
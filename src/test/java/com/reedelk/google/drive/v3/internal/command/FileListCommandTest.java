@@ -1,8 +1,16 @@
 package com.reedelk.google.drive.v3.internal.command;
 
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.reedelk.google.drive.v3.internal.type.FileType;
 import com.reedelk.runtime.api.exception.PlatformException;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
 
 class FileListCommandTest {
@@ -21,4 +29,61 @@ class FileListCommandTest {
                 "orderBy=[name,description], driveId=[my-drive-id], nextPageToken=[aabb], " +
                 "pageSize=[21], cause=[test].");
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldRequestOnlyFileTypeFieldsByDefault() {
+        // When
+        String fields = FileListCommand.fields(emptyList());
+
+        // Then
+        assertThat(fields).isEqualTo("nextPageToken,files(id,name,kind,driveId,ownedByMe,webViewLink," +
+                "webContentLink,description,fileExtension,originalFilename,owners(emailAddress))");
+    }
+
+    @Test
+    void shouldRequestAdditionalFields() {
+        // When
+        String fields = FileListCommand.fields(asList("mimeType", "name", "capabilities/canEdit"));
+
+        // Then
+        assertThat(fields).isEqualTo("nextPageToken,files(id,name,kind,driveId,ownedByMe,webViewLink," +
+                "webContentLink,description,fileExtension,originalFilename,owners(emailAddress)," +
+                "mimeType,capabilities/canEdit)");
+    }
+
+    @Test
+    void shouldParseFilesOneByOneAndSkipUnknownFields() throws IOException {
+        // Given
+        String response = "{\"kind\":\"drive#fileList\",\"incompleteSearch\":false," +
+                "\"files\":[{\"id\":\"1\",\"name\":\"a.txt\",\"mimeType\":\"text/plain\"}," +
+                "{\"id\":\"2\",\"name\":\"b.txt\",\"owners\":[{\"emailAddress\":\"me@test.com\"}]}]," +
+                "\"nextPageToken\":\"next\"}";
+        List<FileType> consumed = new ArrayList<>();
+
+        // When
+        String nextPageToken = FileListCommand.parse(JacksonFactory.getDefaultInstance().createJsonParser(response),
+                asList("mimeType"), consumed::add);
+
+        // Then
+        assertThat(nextPageToken).isEqualTo("next");
+        assertThat(consumed).hasSize(2);
+        assertThat(consumed.get(0).getId()).isEqualTo("1");
+        assertThat(consumed.get(0).get("mimeType")).isEqualTo("text/plain");
+        assertThat(consumed.get(1).get("name")).isEqualTo("b.txt");
+        assertThat((List<?>) consumed.get(1).get("owners")).hasSize(1);
+    }
+
+    @Test
+    void shouldReturnNullTokenOnLastPage() throws IOException {
+        // Given
+        List<FileType> consumed = new ArrayList<>();
+
+        // When
+        String nextPageToken = FileListCommand.parse(JacksonFactory.getDefaultInstance()
+                .createJsonParser("{\"files\":[]}"), emptyList(), consumed::add);
+
+        // Then
+        assertThat(nextPageToken).isNull();
+        assertThat(consumed).isEmpty();
+    }
+}
@@ -0,0 +1,50 @@
+package com.reedelk.google.drive.v3.internal.command;
+
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.services.drive.model.File;
+import com.reedelk.google.drive.v3.internal.commons.GoogleMimeTypes;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileUpdateCommandTest {
+
+    private static final String UPDATED =
+            "{\"id\":\"file1\",\"name\":\"report.csv\",\"webViewLink\":\"https://drive/file1\"}";
+
+    @Test
+    void shouldRequestUploadAttributes() throws IOException {
+        // Given
+        RecordingTransport transport = new RecordingTransport(UPDATED);
+        FileUpdateCommand command = new FileUpdateCommand("file1", "a,b".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        File updated = command.execute(transport.drive());
+
+        // Then
+        assertThat(updated.getName()).isEqualTo("report.csv");
+        assertThat(updated.getWebViewLink()).isEqualTo("https://drive/file1");
+        assertThat(transport.uploadInitiation().map(MockLowLevelHttpRequest::getUrl).orElse(""))
+                .contains("fields=", "webContentLink", "webViewLink");
+    }
+
+    @Test
+    void shouldSendSourceMimeTypeAndOcrLanguage() throws IOException {
+        // Given
+        RecordingTransport transport = new RecordingTransport(UPDATED);
+        UploadConversion conversion = new UploadConversion("text/csv", GoogleMimeTypes.SPREADSHEET, "en");
+        FileUpdateCommand command = new FileUpdateCommand("file1", "a,b".getBytes(StandardCharsets.UTF_8), conversion);
+
+        // When
+        command.execute(transport.drive());
+
+        // Then
+        assertThat(transport.uploadInitiation().map(MockLowLevelHttpRequest::getUrl).orElse(""))
+                .contains("ocrLanguage=en");
+        assertThat(transport.lastRequest().map(MockLowLevelHttpRequest::getContentType).orElse(null))
+                .isEqualTo("text/csv");
+    }
+}
@@ -1,8 +1,13 @@
 package com.reedelk.google.drive.v3.internal.command;
 
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.reedelk.google.drive.v3.internal.commons.GoogleMimeTypes;
 import com.reedelk.runtime.api.exception.PlatformException;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class FileUploadCommandTest {
@@ -20,4 +25,47 @@ class FileUploadCommandTest {
         assertThat(actual).hasMessage("Could not upload file on Google Drive with configuration fileName=[my-file.txt], " +
                 "fileDescription=[My file description], indexableText=[true], parentFolderId=[aabbcc], cause=[test].");
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldRoundChunkSizeUpToMultipleOfMinimumChunkSize() {
+        // Expect
+        assertThat(FileUploadCommand.chunkSizeOf(1)).isEqualTo(256 * 1024);
+        assertThat(FileUploadCommand.chunkSizeOf(256 * 1024)).isEqualTo(256 * 1024);
+        assertThat(FileUploadCommand.chunkSizeOf(300 * 1024)).isEqualTo(512 * 1024);
+    }
+
+    @Test
+    void shouldSendConversionWithCreateRequest() throws IOException {
+        // Given
+        RecordingTransport transport = new RecordingTransport("{\"id\":\"file1\"}");
+        UploadConversion conversion = new UploadConversion("text/csv", GoogleMimeTypes.SPREADSHEET, "en");
+        FileUploadCommand command = new FileUploadCommand("report.csv", null, null, false,
+                "a,b".getBytes(StandardCharsets.UTF_8), conversion);
+
+        // When
+        command.execute(transport.drive());
+
+        // Then
+        MockLowLevelHttpRequest initiation = transport.uploadInitiation().orElseThrow(AssertionError::new);
+        assertThat(initiation.getUrl()).contains("ocrLanguage=en");
+        assertThat(initiation.getContentAsString()).contains("\"mimeType\":\"" + GoogleMimeTypes.SPREADSHEET + "\"");
+        assertThat(transport.lastRequest().map(MockLowLevelHttpRequest::getContentType).orElse(null))
+                .isEqualTo("text/csv");
+    }
+
+    @Test
+    void shouldNotSendConversionWhenNone() throws IOException {
+        // Given
+        RecordingTransport transport = new RecordingTransport("{\"id\":\"file1\"}");
+        FileUploadCommand command = new FileUploadCommand("report.csv", null, null, false,
+                "a,b".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        command.execute(transport.drive());
+
+        // Then
+        MockLowLevelHttpRequest initiation = transport.uploadInitiation().orElseThrow(AssertionError::new);
+        assertThat(initiation.getUrl()).doesNotContain("ocrLanguage");
+        assertThat(initiation.getContentAsString()).doesNotContain("mimeType");
+    }
+}
@@ -0,0 +1,55 @@
+package com.reedelk.google.drive.v3.internal.command;
+
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.json.Json;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.services.drive.Drive;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Http transport recording the requests built by the Google Drive client. Each request is answered with
+// the given JSON body, except the initiation of a resumable upload which is answered with the session URL.
+class RecordingTransport extends MockHttpTransport {
+
+    private final List<MockLowLevelHttpRequest> requests = new CopyOnWriteArrayList<>();
+    private final String json;
+
+    RecordingTransport(String json) {
+        this.json = json;
+    }
+
+    Drive drive() {
+        return new Drive.Builder(this, JacksonFactory.getDefaultInstance(), null)
+                .setApplicationName("test")
+                .build();
+    }
+
+    @Override
+    public LowLevelHttpRequest buildRequest(String method, String url) {
+        MockLowLevelHttpResponse response = isUploadInitiation(url) ?
+                new MockLowLevelHttpResponse().addHeader("Location", url + "&upload_id=session") :
+                new MockLowLevelHttpResponse().setContentType(Json.MEDIA_TYPE).setContent(json);
+        MockLowLevelHttpRequest request = new MockLowLevelHttpRequest(url).setResponse(response);
+        requests.add(request);
+        return request;
+    }
+
+    // The request starting a resumable upload: it carries the query parameters and the file metadata.
+    Optional<MockLowLevelHttpRequest> uploadInitiation() {
+        return requests.stream().filter(request -> isUploadInitiation(request.getUrl())).findFirst();
+    }
+
+    // The last request sent, carrying the content of the file.
+    Optional<MockLowLevelHttpRequest> lastRequest() {
+        return requests.isEmpty() ? Optional.empty() : Optional.of(requests.get(requests.size() - 1));
+    }
+
+    private static boolean isUploadInitiation(String url) {
+        return url.contains("uploadType=resumable") && !url.contains("upload_id=");
+    }
+}
@@ -0,0 +1,46 @@
+package com.reedelk.google.drive.v3.internal.command;
+
+import com.google.api.services.drive.model.File;
+import com.reedelk.google.drive.v3.internal.commons.GoogleMimeTypes;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UploadConversionTest {
+
+    @Test
+    void shouldSetTargetMimeTypeOnFileMetadata() {
+        // Given
+        UploadConversion conversion = new UploadConversion("text/csv", GoogleMimeTypes.SPREADSHEET, null);
+        File fileMetadata = new File().setName("report.csv");
+
+        // When
+        conversion.applyTo(fileMetadata);
+
+        // Then
+        assertThat(fileMetadata.getMimeType()).isEqualTo(GoogleMimeTypes.SPREADSHEET);
+        assertThat(conversion.sourceMimeType()).isEqualTo("text/csv");
+    }
+
+    @Test
+    void shouldNotChangeFileMetadataWhenNoConversion() {
+        // Given
+        File fileMetadata = new File().setName("report.csv");
+
+        // When
+        UploadConversion.NONE.applyTo(fileMetadata);
+
+        // Then
+        assertThat(fileMetadata.getMimeType()).isNull();
+        assertThat(UploadConversion.NONE.sourceMimeType()).isNull();
+    }
+
+    @Test
+    void shouldReturnNullSourceMimeTypeWhenBlank() {
+        // Given
+        UploadConversion conversion = new UploadConversion(" ", GoogleMimeTypes.DOCUMENT, "en");
+
+        // Expect
+        assertThat(conversion.sourceMimeType()).isNull();
+    }
+}
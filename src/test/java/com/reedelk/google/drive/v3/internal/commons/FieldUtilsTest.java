@@ -0,0 +1,37 @@
+package com.reedelk.google.drive.v3.internal.commons;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FieldUtilsTest {
+
+    @Test
+    void shouldReturnEmptyListWhenFieldsBlank() {
+        // When
+        List<String> fields = FieldUtils.parse("  ");
+
+        // Then
+        assertThat(fields).isEmpty();
+    }
+
+    @Test
+    void shouldSplitAndTrimFields() {
+        // When
+        List<String> fields = FieldUtils.parse("mimeType, size ,modifiedTime,,size");
+
+        // Then
+        assertThat(fields).containsExactly("mimeType", "size", "modifiedTime");
+    }
+
+    @Test
+    void shouldNotSplitNestedFieldsSelection() {
+        // When
+        List<String> fields = FieldUtils.parse("imageMediaMetadata(width,height),md5Checksum");
+
+        // Then
+        assertThat(fields).containsExactly("imageMediaMetadata(width,height)", "md5Checksum");
+    }
+}
@@ -0,0 +1,146 @@
+package com.reedelk.google.drive.v3.internal.download;
+
+import com.reedelk.google.drive.v3.internal.DriveApi;
+import com.reedelk.google.drive.v3.internal.command.FileDownloadRangeCommand;
+import com.reedelk.google.drive.v3.internal.commons.PartFiles;
+import com.reedelk.google.drive.v3.internal.exception.FileDownloadException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class RangedDownloadTest {
+
+    @Mock
+    private DriveApi driveApi;
+
+    @TempDir
+    Path tmpDir;
+
+    private final byte[] content = new byte[10_000];
+
+    @BeforeEach
+    void setUp() {
+        new Random(7).nextBytes(content);
+        lenient().doAnswer(invocation -> {
+            FileDownloadRangeCommand command = invocation.getArgument(0);
+            int from = (int) longField(command, "from");
+            int to = (int) longField(command, "to");
+            return new ByteArrayInputStream(Arrays.copyOfRange(content, from, to + 1));
+        }).when(driveApi).execute(any(FileDownloadRangeCommand.class));
+
+        // Parts are downloaded on the calling thread.
+        lenient().doAnswer(invocation -> supply(invocation.getArgument(0)))
+                .when(driveApi).supplyAsync(any(Supplier.class));
+        lenient().doReturn((Executor) Runnable::run).when(driveApi).ioExecutor();
+    }
+
+    @Test
+    void shouldComputeNumberOfParts() {
+        // Expect
+        assertThat(new RangedDownload(driveApi, "id", 10_000, 1_000, 3).parts()).isEqualTo(10);
+        assertThat(new RangedDownload(driveApi, "id", 10_001, 1_000, 3).parts()).isEqualTo(11);
+    }
+
+    @Test
+    void shouldDownloadAllPartsToPath() throws Exception {
+        // Given
+        Path target = tmpDir.resolve("downloads").resolve("file.bin");
+        RangedDownload download = new RangedDownload(driveApi, "id", content.length, 999, 4);
+
+        // When
+        long written = download.toPath(target).join();
+
+        // Then
+        assertThat(written).isEqualTo(content.length);
+        assertThat(Files.readAllBytes(target)).isEqualTo(content);
+        assertThat(Files.exists(PartFiles.partOf(target))).isFalse();
+    }
+
+    @Test
+    void shouldKeepExistingFileWhenPartFails() throws Exception {
+        // Given
+        Path target = tmpDir.resolve("file.bin");
+        Files.write(target, new byte[]{1, 2, 3});
+        doAnswer(invocation -> new ByteArrayInputStream(new byte[10]))
+                .when(driveApi).execute(any(FileDownloadRangeCommand.class));
+        RangedDownload download = new RangedDownload(driveApi, "my-file-id", content.length, 5_000, 2);
+
+        // When
+        CompletionException thrown = assertThrows(CompletionException.class, () -> download.toPath(target).join());
+
+        // Then
+        assertThat(thrown).hasCauseInstanceOf(FileDownloadException.class);
+        assertThat(Files.readAllBytes(target)).isEqualTo(new byte[]{1, 2, 3});
+        assertThat(Files.exists(PartFiles.partOf(target))).isFalse();
+    }
+
+    @Test
+    void shouldStreamAllPartsInOrder() throws Exception {
+        // Given
+        RangedDownload download = new RangedDownload(driveApi, "id", content.length, 999, 4);
+
+        // When
+        ByteArrayOutputStream downloaded = new ByteArrayOutputStream();
+        for (byte[] part : download.toStream().toIterable()) {
+            downloaded.write(part);
+        }
+
+        // Then
+        assertThat(downloaded.toByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenPartIsIncomplete() {
+        // Given
+        doAnswer(invocation -> new ByteArrayInputStream(new byte[10]))
+                .when(driveApi).execute(any(FileDownloadRangeCommand.class));
+        RangedDownload download = new RangedDownload(driveApi, "my-file-id", content.length, 5_000, 2);
+
+        // When
+        FileDownloadException thrown = assertThrows(FileDownloadException.class, () ->
+                Flux.from(download.toStream()).blockLast());
+
+        // Then
+        assertThat(thrown).hasMessageStartingWith("The bytes range=[");
+        assertThat(thrown).hasMessageContaining("of the file with File ID=[my-file-id] could not be downloaded");
+    }
+
+    private static <T> CompletableFuture<T> supply(Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            future.complete(task.get());
+        } catch (RuntimeException exception) {
+            future.completeExceptionally(exception);
+        }
+        return future;
+    }
+
+    private static long longField(Object target, String name) throws Exception {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.getLong(target);
+    }
+}
@@ -0,0 +1,117 @@
+package com.reedelk.google.drive.v3.internal.http;
+
+import com.reedelk.google.drive.v3.component.DriveConfiguration;
+import com.reedelk.google.drive.v3.component.RateLimitStrategy;
+import com.reedelk.google.drive.v3.internal.exception.RateLimitException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RateLimiterTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong(1000 * MILLIS);
+
+    @Test
+    void shouldAllowBurstWithoutWaiting() {
+        // Given
+        RateLimiter limiter = new RateLimiter(10, 3, RateLimitStrategy.WAIT, now::get);
+
+        // Expect
+        assertThat(limiter.reserve(1)).isZero();
+        assertThat(limiter.reserve(1)).isZero();
+        assertThat(limiter.reserve(1)).isZero();
+        assertThat(limiter.reserve(1)).isEqualTo(100 * MILLIS);
+        assertThat(limiter.reserve(1)).isEqualTo(200 * MILLIS);
+    }
+
+    @Test
+    void shouldRefillOverTime() {
+        // Given
+        RateLimiter limiter = new RateLimiter(10, 1, RateLimitStrategy.WAIT, now::get);
+        limiter.reserve(1);
+
+        // When
+        now.addAndGet(100 * MILLIS);
+
+        // Then
+        assertThat(limiter.reserve(1)).isZero();
+    }
+
+    @Test
+    void shouldCountEachPermitOfABatch() {
+        // Given
+        RateLimiter limiter = new RateLimiter(10, 5, RateLimitStrategy.WAIT, now::get);
+
+        // Expect
+        assertThat(limiter.reserve(5)).isZero();
+        assertThat(limiter.reserve(5)).isEqualTo(500 * MILLIS);
+    }
+
+    @Test
+    void shouldAllowBatchBiggerThanBurstWhenBucketIsFull() {
+        // Given
+        RateLimiter limiter = new RateLimiter(10, 5, RateLimitStrategy.FAIL, now::get);
+
+        // Expect
+        assertThat(limiter.reserve(100)).isZero();
+    }
+
+    @Test
+    void shouldFailWithoutReservingWhenStrategyIsFail() {
+        // Given
+        RateLimiter limiter = new RateLimiter(10, 1, RateLimitStrategy.FAIL, now::get);
+        limiter.reserve(1);
+
+        // When
+        RateLimitException thrown = assertThrows(RateLimitException.class, () -> limiter.reserve(1));
+
+        // Then
+        assertThat(thrown).hasMessage("The client side rate limit of [10.0] requests per second (burst=[1]) was exceeded: " +
+                "the request was not sent to Google Drive.");
+
+        now.addAndGet(100 * MILLIS);
+        assertThat(limiter.reserve(1)).isZero();
+    }
+
+    @Test
+    void shouldNotLimitWhenRateIsNotConfigured() {
+        assertThat(RateLimiter.from(new DriveConfiguration())).isSameAs(RateLimiter.UNLIMITED);
+    }
+
+    @Test
+    void shouldNotGrantMorePermitsThanRateUnderConcurrency() throws InterruptedException {
+        // Given
+        RateLimiter limiter = new RateLimiter(1000, 10, RateLimitStrategy.FAIL, now::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(800);
+        AtomicLong granted = new AtomicLong();
+
+        // When
+        for (int i = 0; i < 800; i++) {
+            executor.submit(() -> {
+                try {
+                    limiter.reserve(1);
+                    granted.incrementAndGet();
+                } catch (RateLimitException exception) {
+                    // Rejected.
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Then: the clock never moves, therefore only the burst is granted.
+        assertThat(granted).hasValue(10);
+    }
+}
@@ -0,0 +1,110 @@
+package com.reedelk.google.drive.v3.internal.http;
+
+import com.google.api.client.googleapis.media.MediaHttpUploader;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.client.util.BackOff;
+import com.reedelk.google.drive.v3.internal.metrics.DriveMetrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResumableUploadRequestInitializerTest {
+
+    private static final String SESSION_URL = "https://www.googleapis.com/upload/drive/v3/files?uploadType=resumable&upload_id=session";
+
+    @Mock
+    private DriveMetrics metrics;
+
+    @Test
+    void shouldUseDelaysAndMaxAttemptsOfRetryPolicy() throws IOException {
+        // Given
+        RetryPolicy policy = new RetryPolicy(3, 1000, 8000, 0, new HashSet<>(Arrays.asList(429, 503)), () -> 0.5);
+        BackOff backOff = new ResumableUploadRequestInitializer.RetryPolicyBackOff(policy, metrics);
+
+        // Expect
+        assertThat(backOff.nextBackOffMillis()).isEqualTo(1000);
+        assertThat(backOff.nextBackOffMillis()).isEqualTo(2000);
+        assertThat(backOff.nextBackOffMillis()).isEqualTo(BackOff.STOP);
+        verify(metrics, times(2)).commandRetried(MediaHttpUploader.class);
+    }
+
+    @Test
+    void shouldRetryUploadSessionRequestOnRetryableStatusCode() throws IOException {
+        // Given
+        MockHttpTransport transport = transportAnswering(503, 200);
+        HttpRequest request = requestOf(transport, SESSION_URL);
+
+        // When
+        int statusCode = request.execute().getStatusCode();
+
+        // Then
+        assertThat(statusCode).isEqualTo(200);
+        verify(metrics).commandRetried(MediaHttpUploader.class);
+    }
+
+    @Test
+    void shouldNotRetryStatusCodeNotRetriedByRetryPolicy() throws IOException {
+        // Given
+        MockHttpTransport transport = transportAnswering(404, 200);
+        HttpRequest request = requestOf(transport, SESSION_URL);
+
+        // When
+        HttpResponseException thrown = assertThrows(HttpResponseException.class, request::execute);
+
+        // Then
+        assertThat(thrown.getStatusCode()).isEqualTo(404);
+        verify(metrics, never()).commandRetried(any());
+    }
+
+    @Test
+    void shouldNotRetryRequestsOutsideUploadSession() throws IOException {
+        // Given
+        MockHttpTransport transport = transportAnswering(503, 200);
+        HttpRequest request = requestOf(transport, "https://www.googleapis.com/drive/v3/files");
+
+        // When
+        HttpResponseException thrown = assertThrows(HttpResponseException.class, request::execute);
+
+        // Then
+        assertThat(thrown.getStatusCode()).isEqualTo(503);
+        verify(metrics, never()).commandRetried(any());
+    }
+
+    private HttpRequest requestOf(MockHttpTransport transport, String url) throws IOException {
+        RetryPolicy policy = new RetryPolicy(3, 0, 0, 0, new HashSet<>(Arrays.asList(429, 503)), () -> 0.5);
+        ResumableUploadRequestInitializer initializer =
+                new ResumableUploadRequestInitializer(request -> {}, policy, metrics);
+        return transport.createRequestFactory(initializer).buildGetRequest(new GenericUrl(url));
+    }
+
+    // Answers each request with the next of the given status codes.
+    private static MockHttpTransport transportAnswering(Integer... statusCodes) {
+        Queue<Integer> responses = new ConcurrentLinkedQueue<>(Arrays.asList(statusCodes));
+        return new MockHttpTransport() {
+            @Override
+            public LowLevelHttpRequest buildRequest(String method, String url) {
+                return new MockLowLevelHttpRequest(url)
+                        .setResponse(new MockLowLevelHttpResponse().setStatusCode(responses.remove()));
+            }
+        };
+    }
+}
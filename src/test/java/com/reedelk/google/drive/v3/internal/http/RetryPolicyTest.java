@@ -0,0 +1,105 @@
+package com.reedelk.google.drive.v3.internal.http;
+
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
+import com.reedelk.google.drive.v3.component.DriveConfiguration;
+import com.reedelk.google.drive.v3.component.TestComponent;
+import com.reedelk.runtime.api.exception.ComponentConfigurationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RetryPolicyTest {
+
+    private RetryPolicy policy = new RetryPolicy(5, 1000, 8000, 0.5,
+            new HashSet<>(Arrays.asList(429, 500, 503)), () -> 0.5);
+
+    @Test
+    void shouldRetryServerErrorsOnlyForIdempotentCommands() {
+        assertThat(policy.isRetryable(503, null, true)).isTrue();
+        assertThat(policy.isRetryable(503, null, false)).isFalse();
+    }
+
+    @Test
+    void shouldRetryRateLimitedRequestsForAllCommands() {
+        assertThat(policy.isRetryable(429, null, false)).isTrue();
+        assertThat(policy.isRetryable(403, "userRateLimitExceeded", false)).isTrue();
+        assertThat(policy.isRetryable(403, "rateLimitExceeded", true)).isTrue();
+    }
+
+    @Test
+    void shouldNotRetryNotConfiguredStatusCodes() {
+        assertThat(policy.isRetryable(404, null, true)).isFalse();
+        assertThat(policy.isRetryable(502, null, true)).isFalse();
+        assertThat(policy.isRetryable(403, "insufficientFilePermissions", true)).isFalse();
+    }
+
+    @Test
+    void shouldRetryConnectionErrorsOnlyForIdempotentCommands() {
+        IOException exception = new SocketTimeoutException("Read timed out");
+        assertThat(policy.isRetryable(exception, true)).isTrue();
+        assertThat(policy.isRetryable(exception, false)).isFalse();
+    }
+
+    @Test
+    void shouldUseStatusCodeOfHttpResponseException() {
+        IOException exception = new HttpResponseException.Builder(500, "Internal Server Error", new HttpHeaders()).build();
+        assertThat(policy.isRetryable(exception, true)).isTrue();
+        assertThat(policy.isRetryable(exception, false)).isFalse();
+    }
+
+    @Test
+    void shouldDoubleDelayAtEachAttemptUpToMaxDelay() {
+        assertThat(policy.delayOf(1, null)).isEqualTo(1000);
+        assertThat(policy.delayOf(2, null)).isEqualTo(2000);
+        assertThat(policy.delayOf(3, null)).isEqualTo(4000);
+        assertThat(policy.delayOf(4, null)).isEqualTo(8000);
+        assertThat(policy.delayOf(5, null)).isEqualTo(8000);
+    }
+
+    @Test
+    void shouldApplyJitterToDelay() {
+        RetryPolicy lowest = new RetryPolicy(5, 1000, 8000, 0.5, new HashSet<>(), () -> 0.0);
+        RetryPolicy highest = new RetryPolicy(5, 1000, 8000, 0.5, new HashSet<>(), () -> 1.0);
+
+        assertThat(lowest.delayOf(2, null)).isEqualTo(1000);
+        assertThat(highest.delayOf(2, null)).isEqualTo(3000);
+    }
+
+    @Test
+    void shouldHonorRetryAfterSecondsCappedByMaxDelay() {
+        assertThat(policy.delayOf(1, "3")).isEqualTo(3000);
+        assertThat(policy.delayOf(1, "120")).isEqualTo(8000);
+    }
+
+    @Test
+    void shouldIgnoreInvalidRetryAfter() {
+        assertThat(RetryPolicy.parseRetryAfter("soon")).isNull();
+        assertThat(RetryPolicy.parseRetryAfter("Wed, 21 Oct 2015 07:28:00 GMT")).isZero();
+    }
+
+    @Test
+    void shouldUseDefaultsWhenConfigurationIsEmpty() {
+        RetryPolicy fromConfig = RetryPolicy.from(TestComponent.class, new DriveConfiguration());
+
+        assertThat(fromConfig.getMaxAttempts()).isEqualTo(3);
+        assertThat(fromConfig.isRetryable(502, null, true)).isTrue();
+    }
+
+    @Test
+    void shouldThrowExceptionWhenStatusCodesAreInvalid() {
+        DriveConfiguration configuration = new DriveConfiguration();
+        configuration.setRetryStatusCodes("429,five hundred");
+
+        ComponentConfigurationException thrown =
+                assertThrows(ComponentConfigurationException.class, () -> RetryPolicy.from(TestComponent.class, configuration));
+
+        assertThat(thrown.getMessage()).contains("Retryable Status Codes must be a comma separated list");
+    }
+}
@@ -0,0 +1,92 @@
+package com.reedelk.google.drive.v3.internal.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JmxDriveMetricsTest {
+
+    private MBeanServer server;
+
+    @BeforeEach
+    void setUp() {
+        server = MBeanServerFactory.newMBeanServer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        MBeanServerFactory.releaseMBeanServer(server);
+    }
+
+    @Test
+    void shouldExposeCommandMetricsAsMBean() throws Exception {
+        // Given
+        JmxDriveMetrics metrics = new JmxDriveMetrics(server, "my-config");
+
+        // When
+        metrics.commandSucceeded(String.class, TimeUnit.MILLISECONDS.toNanos(20));
+        metrics.commandFailed(String.class, TimeUnit.MILLISECONDS.toNanos(40), 503);
+        metrics.commandRetried(String.class);
+
+        // Then
+        ObjectName name = new ObjectName(JmxDriveMetrics.DOMAIN + ":type=Command,name=\"my-config\",command=String");
+        assertThat(server.getAttribute(name, "Count")).isEqualTo(2L);
+        assertThat(server.getAttribute(name, "FailureCount")).isEqualTo(1L);
+        assertThat(server.getAttribute(name, "RetryCount")).isEqualTo(1L);
+        assertThat((double) server.getAttribute(name, "MaxMillis")).isEqualTo(40d);
+        TabularData errorsByStatus = (TabularData) server.getAttribute(name, "ErrorsByStatus");
+        assertThat(errorsByStatus.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldExposeTransferMetricsAsMBean() throws Exception {
+        // Given
+        JmxDriveMetrics metrics = new JmxDriveMetrics(server, "my-config");
+
+        // When
+        metrics.bytesUploaded(100);
+        metrics.bytesDownloaded(250);
+        metrics.rateLimitWaited(TimeUnit.MILLISECONDS.toNanos(5));
+
+        // Then
+        ObjectName name = new ObjectName(JmxDriveMetrics.DOMAIN + ":type=DriveApi,name=\"my-config\"");
+        assertThat(server.getAttribute(name, "BytesUploaded")).isEqualTo(100L);
+        assertThat(server.getAttribute(name, "BytesDownloaded")).isEqualTo(250L);
+        assertThat(server.getAttribute(name, "RateLimitWaitCount")).isEqualTo(1L);
+        assertThat(server.getAttribute(name, "RateLimitWaitMillis")).isEqualTo(5d);
+    }
+
+    @Test
+    void shouldAppendSuffixWhenNameIsAlreadyRegistered() {
+        // Given
+        JmxDriveMetrics first = new JmxDriveMetrics(server, "my-config");
+
+        // When
+        JmxDriveMetrics second = new JmxDriveMetrics(server, "my-config");
+
+        // Then
+        assertThat(first.getName()).isEqualTo("my-config");
+        assertThat(second.getName()).isEqualTo("my-config-2");
+    }
+
+    @Test
+    void shouldUnregisterMBeansOnClose() throws Exception {
+        // Given
+        JmxDriveMetrics metrics = new JmxDriveMetrics(server, "my-config");
+        metrics.commandSucceeded(String.class, 1000);
+
+        // When
+        metrics.close();
+
+        // Then
+        assertThat(server.queryNames(new ObjectName(JmxDriveMetrics.DOMAIN + ":*"), null)).isEmpty();
+    }
+}
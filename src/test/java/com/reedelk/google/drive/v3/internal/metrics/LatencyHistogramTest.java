@@ -0,0 +1,63 @@
+package com.reedelk.google.drive.v3.internal.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    void shouldReportPercentilesWithinBucketPrecision() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // When: 1 to 100 milliseconds.
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        // Then
+        assertThat(histogram.count()).isEqualTo(100);
+        assertThat(histogram.meanMillis()).isCloseTo(50.5, within(0.01));
+        assertThat(histogram.maxMillis()).isEqualTo(100d);
+        assertThat(histogram.percentileMillis(0.50)).isBetween(50d, 50 * 1.125);
+        assertThat(histogram.percentileMillis(0.95)).isBetween(95d, 95 * 1.125);
+        assertThat(histogram.percentileMillis(0.99)).isBetween(99d, 100d);
+    }
+
+    @Test
+    void shouldReturnZeroWhenEmpty() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // Expect
+        assertThat(histogram.percentileMillis(0.99)).isEqualTo(0d);
+        assertThat(histogram.meanMillis()).isEqualTo(0d);
+    }
+
+    @Test
+    void shouldMapEachValueToBucketContainingIt() {
+        for (long micros : new long[]{0, 1, 7, 8, 15, 16, 17, 1000, 123456789L}) {
+            int index = LatencyHistogram.indexOf(micros);
+            assertThat(LatencyHistogram.upperBoundOf(index)).isGreaterThanOrEqualTo(micros);
+            assertThat(index == 0 || LatencyHistogram.upperBoundOf(index - 1) < micros).isTrue();
+        }
+    }
+
+    @Test
+    void shouldClearValuesOnReset() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(10));
+
+        // When
+        histogram.reset();
+
+        // Then
+        assertThat(histogram.count()).isZero();
+        assertThat(histogram.maxMillis()).isZero();
+    }
+}
@@ -0,0 +1,43 @@
+package com.reedelk.google.drive.v3.internal.stream;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ByteStreamInputStreamTest {
+
+    @Test
+    void shouldReadAllChunks() throws IOException {
+        // Given
+        InputStream stream = new ByteStreamInputStream(Flux.just("ab".getBytes(), new byte[0], "cde".getBytes()));
+        byte[] buffer = new byte[10];
+
+        // When
+        int first = stream.read(buffer, 0, 10);
+        int second = stream.read(buffer, first, 10 - first);
+        int end = stream.read(buffer, first + second, 10 - first - second);
+
+        // Then
+        assertThat(new String(buffer, 0, first + second)).isEqualTo("abcde");
+        assertThat(end).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldThrowUpstreamErrorAsIOException() throws IOException {
+        // Given
+        IllegalStateException error = new IllegalStateException("Payload stream failed");
+        InputStream stream = new ByteStreamInputStream(Flux.concat(Flux.just("ab".getBytes()), Flux.error(error)));
+        stream.read(new byte[2], 0, 2);
+
+        // When & Then
+        assertThatThrownBy(stream::read)
+                .isInstanceOf(IOException.class)
+                .hasMessage("Payload stream failed")
+                .hasCause(error);
+    }
+}
@@ -0,0 +1,224 @@
+package com.reedelk.google.drive.v3.internal.sync;
+
+import com.google.api.services.drive.model.File;
+import com.reedelk.google.drive.v3.internal.DriveApi;
+import com.reedelk.google.drive.v3.internal.command.Command;
+import com.reedelk.google.drive.v3.internal.command.FileDownloadToPathCommand;
+import com.reedelk.google.drive.v3.internal.command.FileListCommand;
+import com.reedelk.google.drive.v3.internal.commons.PartFiles;
+import com.reedelk.google.drive.v3.internal.exception.FileDownloadException;
+import com.reedelk.google.drive.v3.internal.type.FileType;
+import com.reedelk.google.drive.v3.internal.type.ListOfFiles;
+import com.reedelk.google.drive.v3.internal.type.ListOfSyncedFiles;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static com.reedelk.google.drive.v3.internal.commons.GoogleMimeTypes.FOLDER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DriveToLocalMirrorTest {
+
+    @Mock
+    private DriveApi driveApi;
+
+    @TempDir
+    Path tmpDir;
+
+    private Path localDirectory;
+    private Path manifestFile;
+
+    // Folder ID -> files in the folder.
+    private Map<String, List<File>> remote;
+    // File ID -> content of the file.
+    private Map<String, String> contents;
+
+    @BeforeEach
+    void setUp() {
+        localDirectory = tmpDir.resolve("mirror");
+        manifestFile = tmpDir.resolve("manifest.properties");
+        remote = new ConcurrentHashMap<>();
+        contents = new ConcurrentHashMap<>();
+        lenient().doAnswer(invocation -> {
+            FileListCommand command = invocation.getArgument(0);
+            String query = (String) field(command, "query");
+            String folderId = query.substring(1, query.indexOf('\'', 1));
+            // Files are handed over to the consumer of the walker as the response is parsed.
+            new ListOfFiles(remote.getOrDefault(folderId, new ArrayList<>()), null,
+                    Arrays.asList("mimeType", "md5Checksum", "modifiedTime")).forEach(consumerOf(command));
+            return new ListOfFiles(new ArrayList<>());
+        }).when(driveApi).execute(any(FileListCommand.class));
+        lenient().doAnswer(invocation -> {
+            FileDownloadToPathCommand command = invocation.getArgument(0);
+            String content = contents.get((String) field(command, "fileId"));
+            Path target = (Path) field(command, "targetPath");
+            Files.createDirectories(target.getParent());
+            Files.write(target, content.getBytes(StandardCharsets.UTF_8));
+            return (long) content.length();
+        }).when(driveApi).execute(any(FileDownloadToPathCommand.class));
+
+        // Transfers run on other threads, through the stubs of 'execute', as on the I/O threads of the client.
+        lenient().doAnswer(invocation -> CompletableFuture.supplyAsync(() -> driveApi.execute(invocation.getArgument(0))))
+                .when(driveApi)
+                .executeAsync(any(Command.class));
+    }
+
+    @Test
+    void shouldDownloadAllFilesOfFolderHierarchy() throws IOException {
+        // Given
+        remoteFile("root", "a-id", "a.txt", "content a", "md5-a");
+        remoteFolder("root", "docs-id", "docs");
+        remoteFile("docs-id", "b-id", "b.txt", "content b", "md5-b");
+
+        // When
+        ListOfSyncedFiles mirrored = mirror(false).mirror();
+
+        // Then
+        assertThat(summaryOf(mirrored)).containsExactlyInAnyOrder("CREATED a.txt", "CREATED docs/b.txt");
+        assertThat(read("a.txt")).isEqualTo("content a");
+        assertThat(read("docs/b.txt")).isEqualTo("content b");
+        assertThat(Files.exists(localDirectory.resolve("a.txt" + PartFiles.PART_SUFFIX))).isFalse();
+    }
+
+    @Test
+    void shouldSkipUnchangedFilesAndDownloadChangedFiles() throws IOException {
+        // Given
+        remoteFile("root", "a-id", "a.txt", "content a", "md5-a");
+        remoteFile("root", "b-id", "b.txt", "content b", "md5-b");
+        mirror(false).mirror();
+
+        remote.clear();
+        remoteFile("root", "a-id", "a.txt", "content a", "md5-a");
+        remoteFile("root", "b-id", "b.txt", "new content b", "md5-b2");
+
+        // When
+        DriveToLocalMirror mirror = mirror(false);
+        ListOfSyncedFiles mirrored = mirror.mirror();
+
+        // Then
+        assertThat(summaryOf(mirrored)).containsExactly("UPDATED b.txt");
+        assertThat(mirror.getSkipped()).isEqualTo(1);
+        assertThat(read("b.txt")).isEqualTo("new content b");
+        verify(driveApi, times(3)).execute(any(FileDownloadToPathCommand.class));
+    }
+
+    @Test
+    void shouldDownloadAgainFileRecordedInManifestButMissingLocally() throws IOException {
+        // Given
+        remoteFile("root", "a-id", "a.txt", "content a", "md5-a");
+        mirror(false).mirror();
+        Files.delete(localDirectory.resolve("a.txt"));
+
+        // When
+        ListOfSyncedFiles mirrored = mirror(false).mirror();
+
+        // Then
+        assertThat(summaryOf(mirrored)).containsExactly("UPDATED a.txt");
+        assertThat(read("a.txt")).isEqualTo("content a");
+    }
+
+    @Test
+    void shouldNotRecordFailedDownloadsInManifest() throws IOException {
+        // Given
+        remoteFile("root", "a-id", "a.txt", "content a", "md5-a");
+        doThrow(new FileDownloadException("Download failed"))
+                .when(driveApi).execute(any(FileDownloadToPathCommand.class));
+
+        // When
+        ListOfSyncedFiles mirrored = mirror(false).mirror();
+
+        // Then
+        assertThat(mirrored.failureCount()).isEqualTo(1);
+        MirrorManifest manifest = new MirrorManifest(manifestFile);
+        manifest.load();
+        assertThat(manifest.paths()).isEmpty();
+        assertThat(Files.exists(localDirectory.resolve("a.txt"))).isFalse();
+    }
+
+    @Test
+    void shouldDeleteOnlyMirroredFilesRemovedFromDrive() throws IOException {
+        // Given
+        remoteFile("root", "a-id", "a.txt", "content a", "md5-a");
+        remoteFile("root", "b-id", "b.txt", "content b", "md5-b");
+        mirror(false).mirror();
+        Files.write(localDirectory.resolve("local.txt"), "local".getBytes(StandardCharsets.UTF_8));
+
+        remote.clear();
+        remoteFile("root", "a-id", "a.txt", "content a", "md5-a");
+
+        // When
+        ListOfSyncedFiles mirrored = mirror(true).mirror();
+
+        // Then
+        assertThat(summaryOf(mirrored)).containsExactly("DELETED b.txt");
+        assertThat(Files.exists(localDirectory.resolve("b.txt"))).isFalse();
+        assertThat(Files.exists(localDirectory.resolve("local.txt"))).isTrue();
+    }
+
+    @Test
+    void shouldNotMirrorFilesOutsideOfLocalDirectory() {
+        // Given
+        remoteFile("root", "evil-id", "../evil.txt", "evil", "md5-evil");
+
+        // When
+        ListOfSyncedFiles mirrored = mirror(false).mirror();
+
+        // Then
+        assertThat(mirrored.failureCount()).isEqualTo(1);
+        assertThat(Files.exists(tmpDir.resolve("evil.txt"))).isFalse();
+        verify(driveApi, never()).execute(any(FileDownloadToPathCommand.class));
+    }
+
+    private DriveToLocalMirror mirror(boolean deleteRemoved) {
+        return new DriveToLocalMirror(driveApi, "root", localDirectory,
+                new MirrorManifest(manifestFile), 2, deleteRemoved);
+    }
+
+    private String read(String relativePath) throws IOException {
+        return new String(Files.readAllBytes(localDirectory.resolve(relativePath)), StandardCharsets.UTF_8);
+    }
+
+    private void remoteFile(String parentId, String id, String name, String content, String md5Checksum) {
+        contents.put(id, content);
+        remote.computeIfAbsent(parentId, key -> new ArrayList<>())
+                .add(new File().setId(id).setName(name).setMimeType("text/plain").setMd5Checksum(md5Checksum));
+    }
+
+    private void remoteFolder(String parentId, String id, String name) {
+        remote.computeIfAbsent(parentId, key -> new ArrayList<>())
+                .add(new File().setId(id).setName(name).setMimeType(FOLDER));
+    }
+
+    private static List<String> summaryOf(ListOfSyncedFiles mirrored) {
+        return mirrored.stream()
+                .map(file -> file.get("action") + " " + file.getPath())
+                .collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Consumer<FileType> consumerOf(FileListCommand command) throws ReflectiveOperationException {
+        return (Consumer<FileType>) field(command, "consumer");
+    }
+
+    private static Object field(Object target, String name) throws ReflectiveOperationException {
+        java.lang.reflect.Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(target);
+    }
+}
@@ -0,0 +1,251 @@
+package com.reedelk.google.drive.v3.internal.sync;
+
+import com.google.api.services.drive.model.File;
+import com.reedelk.google.drive.v3.internal.BatchResult;
+import com.reedelk.google.drive.v3.internal.DriveApi;
+import com.reedelk.google.drive.v3.internal.command.*;
+import com.reedelk.google.drive.v3.internal.commons.Checksums;
+import com.reedelk.google.drive.v3.internal.exception.FileUploadException;
+import com.reedelk.google.drive.v3.internal.type.FileType;
+import com.reedelk.google.drive.v3.internal.type.ListOfFiles;
+import com.reedelk.google.drive.v3.internal.type.ListOfSyncedFiles;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static com.reedelk.google.drive.v3.internal.commons.GoogleMimeTypes.FOLDER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LocalToDriveSyncTest {
+
+    @Mock
+    private DriveApi driveApi;
+
+    @TempDir
+    Path localDirectory;
+
+    // Folder ID -> files in the folder.
+    private Map<String, List<File>> remote;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentHashMap<>();
+        lenient().doAnswer(invocation -> {
+            FileListCommand command = invocation.getArgument(0);
+            String query = (String) field(command, "query");
+            String folderId = query.substring(1, query.indexOf('\'', 1));
+            // Files are handed over to the consumer of the walker as the response is parsed.
+            new ListOfFiles(remote.getOrDefault(folderId, new ArrayList<>()), null,
+                    Arrays.asList("mimeType", "md5Checksum", "size", "modifiedTime")).forEach(consumerOf(command));
+            return new ListOfFiles(new ArrayList<>());
+        }).when(driveApi).execute(any(FileListCommand.class));
+        lenient().doAnswer(invocation -> new File().setId("uploaded-" + field(invocation.getArgument(0), "fileName")))
+                .when(driveApi).execute(any(FileUploadCommand.class));
+        lenient().doAnswer(invocation -> new File().setId("folder-" + field(invocation.getArgument(0), "folderName")))
+                .when(driveApi).execute(any(FolderCreateCommand.class));
+        lenient().doReturn(new File()).when(driveApi).execute(any(FileUpdateCommand.class));
+
+        // Transfers run on other threads, through the stubs of 'execute', as on the I/O threads of the client.
+        lenient().doAnswer(invocation -> CompletableFuture.supplyAsync(() -> driveApi.execute(invocation.getArgument(0))))
+                .when(driveApi)
+                .executeAsync(any(Command.class));
+    }
+
+    @Test
+    void shouldUploadNewFilesAndUpdateChangedFilesOnly() throws IOException {
+        // Given
+        write("new.txt", "new content");
+        write("same.txt", "same content");
+        write("changed.txt", "changed content");
+        remoteFile("root", "same-id", "same.txt", "same content");
+        remoteFile("root", "changed-id", "changed.txt", "old content");
+
+        // When
+        LocalToDriveSync sync = sync(false);
+        ListOfSyncedFiles synced = sync.sync();
+
+        // Then
+        assertThat(sync.getSkipped()).isEqualTo(1);
+        assertThat(summaryOf(synced)).containsExactlyInAnyOrder(
+                "CREATED new.txt uploaded-new.txt",
+                "UPDATED changed.txt changed-id");
+
+        assertThat(executed(FileUpdateCommand.class)).hasSize(1);
+        assertThat(executed(FileUpdateCommand.class).get(0)).hasFieldOrPropertyWithValue("fileId", "changed-id");
+        verify(driveApi).invalidateMetadata("changed-id");
+    }
+
+    @Test
+    void shouldUpdateFileWithSameSizeAndDifferentChecksum() throws IOException {
+        // Given
+        write("report.csv", "a,b,c");
+        remoteFile("root", "report-id", "report.csv", "x,y,z");
+
+        // When
+        ListOfSyncedFiles synced = sync(false).sync();
+
+        // Then
+        assertThat(summaryOf(synced)).containsExactly("UPDATED report.csv report-id");
+    }
+
+    @Test
+    void shouldCreateMissingFoldersBeforeUploadingTheirFiles() throws IOException {
+        // Given
+        write("docs/inner/a.txt", "content");
+        remoteFolder("root", "docs-id", "docs");
+
+        // When
+        ListOfSyncedFiles synced = sync(false).sync();
+
+        // Then
+        assertThat(summaryOf(synced)).containsExactlyInAnyOrder(
+                "CREATED docs/inner folder-inner",
+                "CREATED docs/inner/a.txt uploaded-a.txt");
+
+        assertThat(executed(FolderCreateCommand.class)).hasSize(1);
+        assertThat(executed(FolderCreateCommand.class).get(0)).hasFieldOrPropertyWithValue("parentFolderId", "docs-id");
+        assertThat(executed(FileUploadCommand.class)).hasSize(1);
+        assertThat(executed(FileUploadCommand.class).get(0)).hasFieldOrPropertyWithValue("parentFolderId", "folder-inner");
+    }
+
+    @Test
+    void shouldDeleteTopMostRemovedFilesWhenDeleteRemovedIsTrue() throws IOException {
+        // Given
+        write("kept.txt", "kept");
+        remoteFile("root", "kept-id", "kept.txt", "kept");
+        remoteFile("root", "removed-id", "removed.txt", "removed");
+        remoteFolder("root", "old-id", "old");
+        remoteFile("old-id", "old-file-id", "file.txt", "old");
+        doAnswer(invocation -> {
+            List<?> commands = invocation.getArgument(0);
+            return commands.stream().map(command -> BatchResult.success(null)).collect(Collectors.toList());
+        }).when(driveApi).executeBatch(anyList());
+
+        // When
+        ListOfSyncedFiles synced = sync(true).sync();
+
+        // Then
+        assertThat(summaryOf(synced)).containsExactly(
+                "DELETED old old-id",
+                "DELETED removed.txt removed-id");
+    }
+
+    @Test
+    void shouldNotDeleteRemovedFilesWhenDeleteRemovedIsFalse() {
+        // Given
+        remoteFile("root", "removed-id", "removed.txt", "removed");
+
+        // When
+        ListOfSyncedFiles synced = sync(false).sync();
+
+        // Then
+        assertThat(synced).isEmpty();
+        verify(driveApi, never()).executeBatch(anyList());
+    }
+
+    @Test
+    void shouldReportFailedUploadAndContinue() throws IOException {
+        // Given
+        write("a.txt", "a");
+        write("b.txt", "b");
+        doAnswer(invocation -> {
+            if ("a.txt".equals(field(invocation.getArgument(0), "fileName"))) {
+                throw new FileUploadException("Upload failed");
+            }
+            return new File().setId("uploaded-b.txt");
+        }).when(driveApi).execute(any(FileUploadCommand.class));
+
+        // When
+        ListOfSyncedFiles synced = sync(false).sync();
+
+        // Then
+        assertThat(synced).hasSize(2);
+        assertThat(synced.failureCount()).isEqualTo(1);
+        assertThat(synced.successCount(SyncAction.CREATED)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldComputeMd5Checksum() throws IOException {
+        // Given
+        Path file = write("hello.txt", "hello");
+
+        // When
+        String md5 = Checksums.md5Of(file);
+
+        // Then
+        assertThat(md5).isEqualTo("5d41402abc4b2a76b9719d911017c592");
+    }
+
+    private LocalToDriveSync sync(boolean deleteRemoved) {
+        return new LocalToDriveSync(driveApi, localDirectory, "root", 2, 0, deleteRemoved);
+    }
+
+    private Path write(String relativePath, String content) throws IOException {
+        Path file = localDirectory.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        return Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void remoteFile(String parentId, String id, String name, String content) {
+        try {
+            Path tmp = Files.createTempFile("remote", ".txt");
+            Files.write(tmp, content.getBytes(StandardCharsets.UTF_8));
+            File file = new File().setId(id).setName(name).setMimeType("text/plain")
+                    .setSize((long) content.length())
+                    .setMd5Checksum(Checksums.md5Of(tmp));
+            Files.delete(tmp);
+            remote.computeIfAbsent(parentId, key -> new ArrayList<>()).add(file);
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private void remoteFolder(String parentId, String id, String name) {
+        remote.computeIfAbsent(parentId, key -> new ArrayList<>())
+                .add(new File().setId(id).setName(name).setMimeType(FOLDER));
+    }
+
+    private <T extends Command<?>> List<T> executed(Class<T> type) {
+        ArgumentCaptor<Command<?>> captor = ArgumentCaptor.forClass(Command.class);
+        verify(driveApi, atLeastOnce()).execute(captor.capture());
+        return captor.getAllValues().stream()
+                .filter(type::isInstance)
+                .map(type::cast)
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> summaryOf(ListOfSyncedFiles synced) {
+        return synced.stream()
+                .map(file -> file.get("action") + " " + file.getPath() + " " + file.get("id"))
+                .collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Consumer<FileType> consumerOf(FileListCommand command) throws ReflectiveOperationException {
+        return (Consumer<FileType>) field(command, "consumer");
+    }
+
+    private static Object field(Object target, String name) throws ReflectiveOperationException {
+        java.lang.reflect.Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(target);
+    }
+}
@@ -0,0 +1,142 @@
+package com.reedelk.google.drive.v3.internal.type;
+
+import com.google.api.services.drive.model.File;
+import com.google.api.services.drive.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileTypeTest {
+
+    @Test
+    void shouldReadEntriesWithoutCopyingTheFile() {
+        // Given
+        File file = file();
+        FileType fileType = new FileType(file, Collections.singletonList("size"));
+
+        // When
+        file.setName("renamed.txt");
+
+        // Then: not copied yet, the wrapped file is read.
+        assertThat(fileType.get("name")).isEqualTo("renamed.txt");
+        assertThat(fileType.get("size")).isEqualTo(42L);
+        assertThat(fileType.get("unknown")).isNull();
+        assertThat(fileType.containsKey("description")).isTrue();
+        assertThat(fileType.containsKey("size")).isTrue();
+        assertThat(fileType.containsKey("unknown")).isFalse();
+        assertThat(fileType.getId()).isEqualTo("file-id");
+    }
+
+    @Test
+    void shouldContainSameEntriesOfEagerCopy() {
+        // Given
+        FileType fileType = new FileType(file(), Arrays.asList("size", "capabilities/canEdit"));
+
+        // When
+        Map<String, Object> copy = new HashMap<>(fileType);
+
+        // Then
+        assertThat(copy).containsEntry("id", "file-id")
+                .containsEntry("name", "my-file.txt")
+                .containsEntry("size", 42L)
+                .containsKey("capabilities")
+                .containsKey("description");
+        assertThat(copy).hasSize(13);
+        assertThat((ListOfUsers) fileType.get("owners")).hasSize(1);
+    }
+
+    @Test
+    void shouldKeepModificationsOnceCopied() {
+        // Given
+        File file = file();
+        FileType fileType = new FileType(file);
+
+        // When
+        fileType.put("name", "changed.txt");
+        file.setName("renamed.txt");
+
+        // Then
+        assertThat(fileType.get("name")).isEqualTo("changed.txt");
+        assertThat(fileType.getId()).isEqualTo("file-id");
+    }
+
+    @Test
+    void shouldBeEqualToMapWithSameEntries() {
+        // Given
+        FileType first = new FileType(file());
+        FileType second = new FileType(file());
+
+        // Expect
+        assertThat(first).isEqualTo(second);
+        assertThat(first.hashCode()).isEqualTo(second.hashCode());
+        assertThat(new FileType(first)).isEqualTo(second);
+    }
+
+    @Test
+    void shouldSerializeEntries() throws Exception {
+        // Given
+        FileType fileType = new FileType(file(), Collections.singletonList("size"));
+
+        // When
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(fileType);
+        }
+        FileType deserialized;
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserialized = (FileType) input.readObject();
+        }
+
+        // Then
+        assertThat(deserialized).isEqualTo(fileType);
+        assertThat(deserialized.get("size")).isEqualTo(42L);
+    }
+
+    @Test
+    void shouldReadEntriesWhileAnotherThreadCopiesTheFile() throws Exception {
+        for (int round = 0; round < 200; round++) {
+            // Given
+            FileType fileType = new FileType(file(), Arrays.asList("size", "mimeType"));
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService readers = Executors.newFixedThreadPool(4);
+            List<Future<Boolean>> reads = new ArrayList<>();
+            for (int reader = 0; reader < 4; reader++) {
+                reads.add(readers.submit(() -> {
+                    start.await();
+                    return "my-file.txt".equals(fileType.get("name")) &&
+                            Long.valueOf(42L).equals(fileType.get("size")) &&
+                            fileType.containsKey("description");
+                }));
+            }
+
+            // When
+            start.countDown();
+            fileType.size();
+
+            // Then
+            for (Future<Boolean> read : reads) {
+                assertThat(read.get()).isTrue();
+            }
+            readers.shutdown();
+        }
+    }
+
+    private static File file() {
+        File file = new File()
+                .setId("file-id")
+                .setName("my-file.txt")
+                .setKind("drive#file")
+                .setDescription("My file")
+                .setSize(42L)
+                .setOwners(Collections.singletonList(new User().setEmailAddress("owner@example.com")));
+        file.set("capabilities", null);
+        return file;
+    }
+}
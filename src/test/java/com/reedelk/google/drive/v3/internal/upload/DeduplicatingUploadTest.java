@@ -0,0 +1,163 @@
+package com.reedelk.google.drive.v3.internal.upload;
+
+import com.google.api.services.drive.model.File;
+import com.reedelk.google.drive.v3.component.UploadIfExists;
+import com.reedelk.google.drive.v3.internal.DriveApi;
+import com.reedelk.google.drive.v3.internal.command.FileListCommand;
+import com.reedelk.google.drive.v3.internal.command.FileUpdateCommand;
+import com.reedelk.google.drive.v3.internal.command.FileUploadCommand;
+import com.reedelk.google.drive.v3.internal.commons.Checksums;
+import com.reedelk.google.drive.v3.internal.type.ListOfFiles;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeduplicatingUploadTest {
+
+    private static final byte[] CONTENT = "My file content".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private DriveApi driveApi;
+
+    @Test
+    void shouldUploadNewFileWhenNoFileWithSameNameExists() {
+        // Given
+        candidates();
+        doReturn(new File().setId("new-id")).when(driveApi).execute(any(FileUploadCommand.class));
+        DeduplicatingUpload upload = upload(UploadIfExists.SKIP_IDENTICAL);
+
+        // When
+        File file = upload.upload(CONTENT);
+
+        // Then
+        assertThat(file.getId()).isEqualTo("new-id");
+        assertThat(upload.isDeduplicated()).isFalse();
+
+        ArgumentCaptor<FileListCommand> captor = ArgumentCaptor.forClass(FileListCommand.class);
+        verify(driveApi, times(2)).execute(captor.capture());
+        assertThat(captor.getAllValues().get(0)).hasFieldOrPropertyWithValue("query",
+                "name = 'report\\'s.txt' and 'parent-id' in parents " +
+                        "and mimeType != 'application/vnd.google-apps.folder' and trashed = false");
+    }
+
+    @Test
+    void shouldReturnExistingFileWhenIdenticalFileExists() {
+        // Given
+        candidates(candidate("other-id", "different"), candidate("existing-id", Checksums.md5Of(CONTENT)));
+        DeduplicatingUpload upload = upload(UploadIfExists.SKIP_IDENTICAL);
+
+        // When
+        File file = upload.upload(CONTENT);
+
+        // Then
+        assertThat(file.getId()).isEqualTo("existing-id");
+        assertThat(upload.isDeduplicated()).isTrue();
+        verify(driveApi, never()).execute(any(FileUploadCommand.class));
+    }
+
+    @Test
+    void shouldUploadNewFileWhenExistingFileIsDifferent() {
+        // Given
+        candidates(candidate("existing-id", "different"));
+        doReturn(new File().setId("new-id")).when(driveApi).execute(any(FileUploadCommand.class));
+        DeduplicatingUpload upload = upload(UploadIfExists.SKIP_IDENTICAL);
+
+        // When
+        File file = upload.upload(CONTENT);
+
+        // Then
+        assertThat(file.getId()).isEqualTo("new-id");
+        assertThat(upload.isDeduplicated()).isFalse();
+    }
+
+    @Test
+    void shouldUpdateExistingFileWhenExistingFileIsDifferent() {
+        // Given
+        candidates(candidate("existing-id", "different"));
+        doReturn(new File().setId("existing-id")).when(driveApi).execute(any(FileUpdateCommand.class));
+        DeduplicatingUpload upload = upload(UploadIfExists.UPDATE_EXISTING);
+
+        // When
+        File file = upload.upload(CONTENT);
+
+        // Then
+        assertThat(file.getId()).isEqualTo("existing-id");
+        verify(driveApi, never()).execute(any(FileUploadCommand.class));
+        ArgumentCaptor<FileUpdateCommand> captor = ArgumentCaptor.forClass(FileUpdateCommand.class);
+        verify(driveApi, times(2)).execute(captor.capture());
+        assertThat(captor.getAllValues().get(1)).hasFieldOrPropertyWithValue("fileId", "existing-id");
+    }
+
+    @Test
+    void shouldReturnExistingFileWhenIdenticalToStreamedContent() {
+        // Given
+        candidates(candidate("existing-id", Checksums.md5Of(CONTENT)));
+        DeduplicatingUpload upload = upload(UploadIfExists.SKIP_IDENTICAL);
+
+        // When
+        File file = upload.upload(new ByteArrayInputStream(CONTENT));
+
+        // Then
+        assertThat(file.getId()).isEqualTo("existing-id");
+        assertThat(upload.isDeduplicated()).isTrue();
+        verify(driveApi, never()).execute(any(FileUploadCommand.class));
+    }
+
+    @Test
+    void shouldUploadBufferedStreamedContentWhenExistingFileIsDifferent() {
+        // Given
+        candidates(candidate("existing-id", "different"));
+        AtomicReference<byte[]> uploaded = new AtomicReference<>();
+        doAnswer(invocation -> {
+            FileUploadCommand command = invocation.getArgument(0);
+            java.lang.reflect.Field field = FileUploadCommand.class.getDeclaredField("fileStream");
+            field.setAccessible(true);
+            uploaded.set(readAll((InputStream) field.get(command)));
+            return new File().setId("new-id");
+        }).when(driveApi).execute(any(FileUploadCommand.class));
+        DeduplicatingUpload upload = upload(UploadIfExists.SKIP_IDENTICAL);
+
+        // When
+        File file = upload.upload(new ByteArrayInputStream(CONTENT));
+
+        // Then
+        assertThat(file.getId()).isEqualTo("new-id");
+        assertThat(uploaded.get()).isEqualTo(CONTENT);
+    }
+
+    private DeduplicatingUpload upload(UploadIfExists ifExists) {
+        return new DeduplicatingUpload(driveApi, ifExists, "report's.txt", null, "parent-id", false, 0);
+    }
+
+    private void candidates(File... files) {
+        ListOfFiles candidates = new ListOfFiles(Arrays.asList(files), null, singletonList("md5Checksum"));
+        doReturn(candidates).when(driveApi).execute(any(FileListCommand.class));
+    }
+
+    private static File candidate(String id, String md5Checksum) {
+        return new File().setId(id).setName("report's.txt").setMd5Checksum(md5Checksum);
+    }
+
+    private static byte[] readAll(InputStream stream) throws java.io.IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = stream.read(buffer)) != -1) output.write(buffer, 0, read);
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,191 @@
+package com.reedelk.google.drive.v3.internal.walk;
+
+import com.google.api.services.drive.model.File;
+import com.reedelk.google.drive.v3.internal.DriveApi;
+import com.reedelk.google.drive.v3.internal.command.Command;
+import com.reedelk.google.drive.v3.internal.command.FileListCommand;
+import com.reedelk.google.drive.v3.internal.exception.FileListException;
+import com.reedelk.google.drive.v3.internal.type.FileType;
+import com.reedelk.google.drive.v3.internal.type.ListOfFiles;
+import com.reedelk.google.drive.v3.internal.type.WalkedFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static com.reedelk.google.drive.v3.internal.commons.GoogleMimeTypes.FOLDER;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FolderWalkerTest {
+
+    @Mock
+    private DriveApi driveApi;
+
+    // Query -> page token -> listed page.
+    private Map<String, Map<String, ListOfFiles>> pages;
+
+    @BeforeEach
+    void setUp() {
+        pages = new ConcurrentHashMap<>();
+        lenient().doAnswer(invocation -> {
+            FileListCommand command = invocation.getArgument(0);
+            String query = (String) field(command, "query");
+            String pageToken = (String) field(command, "nextPageToken");
+            ListOfFiles page = pages.getOrDefault(folderIdOf(query), Collections.emptyMap())
+                    .getOrDefault(String.valueOf(pageToken), new ListOfFiles(emptyList()));
+            return handOver(command, page);
+        }).when(driveApi).execute(any(FileListCommand.class));
+
+        // Pages are listed on other threads, through the stubs of 'execute', as on the I/O threads of the client.
+        lenient().doAnswer(invocation -> CompletableFuture.supplyAsync(() -> driveApi.execute(invocation.getArgument(0))))
+                .when(driveApi)
+                .executeAsync(any(Command.class));
+    }
+
+    @Test
+    void shouldWalkAllFilesOfFolderHierarchy() {
+        // Given
+        page("root", null, null, folder("sub1", "docs"), file("f1", "a.txt"));
+        page("sub1", null, null, folder("sub2", "inner"), file("f2", "b.txt"));
+        page("sub2", null, null, file("f3", "c.txt"));
+
+        // When
+        List<WalkedFile> walked = walk(0, emptyList(), true);
+
+        // Then
+        assertThat(pathsOf(walked)).containsExactlyInAnyOrder(
+                "docs", "a.txt", "docs/inner", "docs/b.txt", "docs/inner/c.txt");
+        WalkedFile deepest = walked.stream()
+                .filter(file -> file.getPath().equals("docs/inner/c.txt"))
+                .findFirst()
+                .get();
+        assertThat(deepest).containsEntry("depth", 3).containsEntry("parentId", "sub2");
+        assertThat(deepest.isFolder()).isFalse();
+    }
+
+    @Test
+    void shouldWalkAllPagesOfFolder() {
+        // Given
+        page("root", null, "page-2", file("f1", "a.txt"));
+        page("root", "page-2", null, file("f2", "b.txt"));
+
+        // When
+        List<WalkedFile> walked = walk(0, emptyList(), true);
+
+        // Then
+        assertThat(pathsOf(walked)).containsExactlyInAnyOrder("a.txt", "b.txt");
+    }
+
+    @Test
+    void shouldNotWalkDeeperThanMaxDepth() {
+        // Given
+        page("root", null, null, folder("sub1", "docs"), file("f1", "a.txt"));
+        page("sub1", null, null, file("f2", "b.txt"));
+
+        // When
+        List<WalkedFile> walked = walk(1, emptyList(), true);
+
+        // Then
+        assertThat(pathsOf(walked)).containsExactlyInAnyOrder("docs", "a.txt");
+        verify(driveApi, times(1)).execute(any(FileListCommand.class));
+    }
+
+    @Test
+    void shouldExcludeFoldersWhenIncludeFoldersIsFalse() {
+        // Given
+        page("root", null, null, folder("sub1", "docs"));
+        page("sub1", null, null, file("f2", "b.txt"));
+
+        // When
+        List<WalkedFile> walked = walk(0, emptyList(), false);
+
+        // Then
+        assertThat(pathsOf(walked)).containsExactly("docs/b.txt");
+    }
+
+    @Test
+    void shouldFilterByMimeTypesButAlwaysListFolders() {
+        // When
+        walk(0, asList("application/pdf", "image/png"), true);
+
+        // Then
+        ArgumentCaptor<FileListCommand> captor = ArgumentCaptor.forClass(FileListCommand.class);
+        verify(driveApi).execute(captor.capture());
+        assertThat(captor.getValue()).hasFieldOrPropertyWithValue("query",
+                "'root' in parents and trashed = false and " +
+                        "(mimeType = '" + FOLDER + "' or mimeType = 'application/pdf' or mimeType = 'image/png')");
+    }
+
+    @Test
+    void shouldPropagateListError() {
+        // Given
+        page("root", null, null, folder("sub1", "docs"));
+        doAnswer(invocation -> {
+            FileListCommand command = invocation.getArgument(0);
+            if ("sub1".equals(folderIdOf((String) field(command, "query")))) {
+                throw new FileListException("List failed");
+            }
+            return handOver(command, pages.get("root").get("null"));
+        }).when(driveApi).execute(any(FileListCommand.class));
+
+        // When & Then
+        assertThatThrownBy(() -> walk(0, emptyList(), true))
+                .isInstanceOf(FileListException.class)
+                .hasMessage("List failed");
+    }
+
+    private List<WalkedFile> walk(int maxDepth, List<String> mimeTypes, boolean includeFolders) {
+        return FolderWalker.walk(driveApi, "root", maxDepth, 3, 100, mimeTypes, includeFolders)
+                .collectList()
+                .block();
+    }
+
+    private void page(String folderId, String pageToken, String nextPageToken, File... files) {
+        pages.computeIfAbsent(folderId, id -> new ConcurrentHashMap<>())
+                .put(String.valueOf(pageToken), new ListOfFiles(asList(files), nextPageToken, singletonList("mimeType")));
+    }
+
+    private static List<String> pathsOf(List<WalkedFile> walked) {
+        return walked.stream().map(WalkedFile::getPath).collect(Collectors.toList());
+    }
+
+    private static String folderIdOf(String query) {
+        return query.substring(1, query.indexOf('\'', 1));
+    }
+
+    private static File folder(String id, String name) {
+        return new File().setId(id).setName(name).setMimeType(FOLDER);
+    }
+
+    private static File file(String id, String name) {
+        return new File().setId(id).setName(name).setMimeType("text/plain");
+    }
+
+    // The walker lists pages with a consumer: files are handed over and only the token is returned.
+    @SuppressWarnings("unchecked")
+    private static ListOfFiles handOver(FileListCommand command, ListOfFiles page) throws ReflectiveOperationException {
+        page.forEach((Consumer<FileType>) field(command, "consumer"));
+        return new ListOfFiles(emptyList(), page.getNextPageToken());
+    }
+
+    private static Object field(Object target, String name) throws ReflectiveOperationException {
+        java.lang.reflect.Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(target);
+    }
+}